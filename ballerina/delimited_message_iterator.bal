@@ -0,0 +1,76 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+
+# Iterator of the stream returned by the `deserializeDelimited` function. The state of the input is kept by the
+# native reader, which deserializes a value once all of its bytes are available.
+isolated class DelimitedMessageIterator {
+
+    public isolated function next() returns record {| anydata value; |}|Error? {
+        while !check self.hasMessage() {
+            stream<byte[], error?>? blocks = self.getBlocks();
+            if blocks is () {
+                return self.checkEndOfInput();
+            }
+            record {| byte[] value; |}|error? block = blocks.next();
+            if block is error {
+                return error Error("Failed to read the encoded messages: " + block.message(), block);
+            }
+            if block is () {
+                return self.checkEndOfInput();
+            }
+            self.appendBlock(block.value);
+        }
+        return {value: check self.readMessage()};
+    }
+
+    public isolated function close() returns Error? {
+        stream<byte[], error?>? blocks = self.getBlocks();
+        if blocks !is () {
+            error? result = blocks.close();
+            if result is error {
+                return error Error("Failed to close the encoded messages: " + result.message(), result);
+            }
+        }
+    }
+
+    isolated function hasMessage() returns boolean|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.DelimitedMessageIterator"
+    } external;
+
+    isolated function readMessage() returns anydata|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.DelimitedMessageIterator"
+    } external;
+
+    isolated function getBlocks() returns stream<byte[], error?>? =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.DelimitedMessageIterator"
+    } external;
+
+    isolated function appendBlock(byte[] block) =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.DelimitedMessageIterator"
+    } external;
+
+    isolated function checkEndOfInput() returns Error? =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.DelimitedMessageIterator"
+    } external;
+}
@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/io;
 import ballerina/jballerina.java;
 
 public class Proto3Schema {
@@ -23,10 +24,11 @@ public class Proto3Schema {
     # Generates a schema for a given data type.
     #
     # + ballerinaDataType - The data type of the value that needs to be serialized
+    # + options - The options used to generate the schema
     # + return - A `serdes:Error` if the data type is not supported or else `()`
-    public isolated function init(typedesc<anydata> ballerinaDataType) returns Error? {
+    public isolated function init(typedesc<anydata> ballerinaDataType, *SchemaOptions options) returns Error? {
         self.dataType = ballerinaDataType;
-        check generateSchema(self, ballerinaDataType);
+        check generateSchema(self, ballerinaDataType, options);
     }
 
     # Serializes a given value.
@@ -38,6 +40,59 @@ public class Proto3Schema {
         'class: "io.ballerina.stdlib.serdes.Serializer"
     }  external;
 
+    # Serializes a given value into a byte array, starting from the given offset.
+    #
+    # + data - The value that is being serialized
+    # + buffer - The byte array to which the encoded value is written
+    # + offset - The index of the buffer from which the encoded value is written
+    # + return - The number of bytes written or a `serdes:Error` if the encoded value does not fit in the buffer
+    public isolated function serializeInto(anydata data, byte[] buffer, int offset = 0) returns int|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Serializer"
+    }  external;
+
+    # Serializes a given value and prefixes it with the length of the encoded value as a varint. The result is
+    # compatible with the protobuf `writeDelimitedTo` function and can be concatenated with other delimited values.
+    #
+    # + data - The value that is being serialized
+    # + return - A byte array containing the length prefix and the encoded value
+    public isolated function serializeDelimited(anydata data) returns byte[]|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Serializer"
+    }  external;
+
+    # Serializes a given value prefixed by its length into a byte array, starting from the given offset.
+    #
+    # + data - The value that is being serialized
+    # + buffer - The byte array to which the length prefix and the encoded value are written
+    # + offset - The index of the buffer from which the length prefix is written
+    # + return - The number of bytes written or a `serdes:Error` if the delimited value does not fit in the buffer
+    public isolated function serializeDelimitedInto(anydata data, byte[] buffer, int offset = 0) returns int|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Serializer"
+    }  external;
+
+    # Serializes the given values. The schema state and the serialization buffers are shared by all the values,
+    # which makes serializing many small values faster than serializing them one at a time.
+    #
+    # + data - The values that are being serialized
+    # + return - The byte arrays corresponding to the encoded values, in the order of the values
+    public isolated function serializeBatch(anydata[] data) returns byte[][]|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Serializer"
+    }  external;
+
+    # Serializes a given value to a byte channel or a file. The encoded value is written through a bounded buffer as
+    # it is produced, so it is not held in memory as a byte array.
+    #
+    # + data - The value that is being serialized
+    # + destination - The byte channel to which the encoded value is written from its current position, or the path of
+    #                 the file to which it is written. The channel is not closed and an existing file is overwritten
+    # + return - A `serdes:Error` if the value can't be serialized or written or else `()`
+    public isolated function serializeTo(anydata data, io:WritableByteChannel|string destination) returns Error? =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Serializer"
+    }  external;
 
     # Deserializes a given array of bytes.
     #
@@ -49,6 +104,92 @@ public class Proto3Schema {
     'class: "io.ballerina.stdlib.serdes.Deserializer"
     }  external;
 
+    # Deserializes a value read from a byte channel or a file. The encoded value is read through a bounded buffer
+    # until the end of the channel or the file, without reading it into a byte array.
+    #
+    # + source - The byte channel from which the encoded value is read from its current position, or the path of the
+    #            file from which it is read. The channel is not closed
+    # + T - The type of the deserialized data. This will be inferred from the expected type
+    # + return - The value represented by the encoded bytes or a `serdes:Error` if they can't be read or deserialized
+    public isolated function deserializeFrom(io:ReadableByteChannel|string source, typedesc<anydata> T = <>)
+            returns T|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Deserializer"
+    }  external;
+
+    # Deserializes the given arrays of bytes.
+    #
+    # + encodedMessages - The encoded byte arrays of the values that are serialized
+    # + T - The type of the deserialized values. This will be inferred from the expected type
+    # + return - The values represented by the encoded byte arrays, in the order of the byte arrays
+    public isolated function deserializeBatch(byte[][] encodedMessages, typedesc<anydata> T = <>) returns T[]|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Deserializer"
+    }  external;
+
+    # Creates a view of an encoded record value. The fields of the record are located when the view is created and
+    # each field is deserialized when it is first read, so reading a few fields of a wide record does not
+    # deserialize the rest of the record.
+    #
+    # + encodedMessage - The encoded byte array of the record value that is serialized
+    # + return - A view of the record value or a `serdes:Error` if the schema is not created for a record type or the
+    #            encoded value is malformed
+    public isolated function deserializeView(byte[] encodedMessage) returns RecordView|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Deserializer"
+    }  external;
+
+    # Reads a field of an encoded record value without deserializing the other fields. The path is a dot separated
+    # list of record field names, such as `order.region`, in which the fields before the last one are record fields.
+    #
+    # + encodedMessage - The encoded byte array of the record value that is serialized
+    # + path - The path of the field
+    # + T - The type of the field value. This will be inferred from the expected type
+    # + return - The value of the field, `()` when an optional field is absent, or a `serdes:Error` if the schema is
+    #            not created for a record type, the path doesn't refer to a field of the record type or the value is not
+    #            of the type `T`
+    public isolated function extractField(byte[] encodedMessage, string path, typedesc<anydata> T = <>)
+            returns T|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Deserializer"
+    }  external;
+
+    # Deserializes the rows of an encoded array or table of records that match all the given predicates. The fields
+    # the predicates refer to are read from each encoded row, and only the matching rows are deserialized.
+    #
+    # + encodedMessage - The encoded byte array of the array or table value that is serialized
+    # + predicates - The conditions the rows must match, all the rows are returned when there are no predicates
+    # + T - The type of the array or table. This will be inferred from the expected type
+    # + return - An array or table of the matching rows, in the order of the rows, or a `serdes:Error` if the schema
+    #            is not created for an array or a table of records or a predicate doesn't match the row record type
+    public isolated function scan(byte[] encodedMessage, RowPredicate[] predicates, typedesc<anydata> T = <>)
+            returns T|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Deserializer"
+    }  external;
+
+    # Deserializes a sequence of length prefixed values, such as values written by the `serializeDelimited` function
+    # or the protobuf `writeDelimitedTo` function. The values are deserialized one at a time as the stream is read.
+    #
+    # + encodedMessages - The length prefixed values as a byte array or as a stream of byte arrays
+    # + T - The type of the deserialized values. This will be inferred from the expected type
+    # + return - A stream of the deserialized values
+    public isolated function deserializeDelimited(byte[]|stream<byte[], error?> encodedMessages,
+            typedesc<anydata> T = <>) returns stream<T, Error?>|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.Deserializer"
+    }  external;
+
+    # Returns the codec mode used by the schema. A schema created in the `SPECIALIZED` mode reports `INTERPRETED`
+    # when none of its record types could be specialized.
+    #
+    # + return - The codec mode used to serialize and deserialize values
+    public isolated function codecMode() returns CodecMode =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.SchemaGenerator",
+        name: "getCodecMode"
+    } external;
+
     # Writes dynamically generated proto message defintion to a file.
     #
     # + filePath - File path along with file name
@@ -60,7 +201,28 @@ public class Proto3Schema {
 
 }
 
-public isolated function generateSchema(Schema serdes, typedesc<anydata> T) returns Error? =
+public isolated function generateSchema(Schema serdes, typedesc<anydata> T, SchemaOptions options = {})
+        returns Error? =
 @java:Method {
     'class: "io.ballerina.stdlib.serdes.SchemaGenerator"
 }  external;
+
+# Hit and miss counts of the cache that shares generated schemas between `Proto3Schema` objects of the same type.
+#
+# + hits - Number of schemas created from a cached schema
+# + misses - Number of schemas generated because the type was not cached
+# + size - Number of cached schemas
+public type SchemaCacheStatistics record {|
+    int hits;
+    int misses;
+    int size;
+|};
+
+# Returns the hit and miss counts of the schema cache.
+#
+# + return - The schema cache statistics
+public isolated function getSchemaCacheStatistics() returns SchemaCacheStatistics =
+@java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaCache",
+    name: "getStatistics"
+} external;
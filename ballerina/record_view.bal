@@ -0,0 +1,44 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+
+# A record value returned by the `deserializeView` function. Each field is deserialized from the encoded record when
+# it is first read, and later reads return the same value.
+public isolated class RecordView {
+
+    # Returns the value of a field of the record.
+    #
+    # + fieldName - The name of the field
+    # + T - The type of the field value. This will be inferred from the expected type
+    # + return - The value of the field, `()` when an optional field is absent, or a `serdes:Error` if the record type
+    #            has no such field, the field can't be deserialized or its value is not of the type `T`
+    public isolated function get(string fieldName, typedesc<anydata> T = <>) returns T|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.RecordView"
+    } external;
+
+    # Deserializes the fields that are not read yet and returns the record.
+    #
+    # + T - The type of the record. This will be inferred from the expected type
+    # + return - The record value or a `serdes:Error` if a field can't be deserialized or the record is not of the type
+    #            `T`
+    public isolated function toRecord(typedesc<anydata> T = <>) returns T|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.serdes.RecordView"
+    } external;
+}
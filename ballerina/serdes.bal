@@ -20,3 +20,126 @@ public type Schema object {
     public isolated function serialize(anydata data) returns byte[]|Error;
     public isolated function deserialize(byte[] encodedMessage, typedesc<anydata> T = <>) returns T|Error;
 };
+
+# The options used to generate a schema.
+#
+# + codecMode - The way values are serialized and deserialized
+# + parallelThreshold - The minimum number of elements of an array or rows of a table that are serialized and
+#                       deserialized in parallel. Arrays and tables with fewer elements, and all values when the
+#                       threshold is `0`, are serialized and deserialized on the calling strand
+# + tableLayout - The way a schema created for a table type encodes the rows of the table
+# + stringEncoding - The way string values are encoded. Values serialized with the `DICTIONARY` encoding can only be
+#                    deserialized by a schema created with the same encoding
+# + nilableFieldEncoding - The way nilable record fields are encoded. Values serialized with the `OPTIONAL_FIELD`
+#                          encoding can only be deserialized by a schema created with the same encoding
+# + unionEncoding - The way union record fields are encoded. Values serialized with the `ONEOF` encoding can only be
+#                   deserialized by a schema created with the same encoding
+# + byteEncoding - The way `byte` values are encoded. Values serialized with the `VARINT` encoding can only be
+#                  deserialized by a schema created with the same encoding
+# + decimalEncoding - The way `decimal` values are encoded. Values serialized with the `COMPACT` encoding can only be
+#                     deserialized by a schema created with the same encoding
+public type SchemaOptions record {|
+    CodecMode codecMode = INTERPRETED;
+    int parallelThreshold = 0;
+    TableLayout tableLayout = ROW;
+    StringEncoding stringEncoding = PLAIN;
+    NilableFieldEncoding nilableFieldEncoding = UNION_MESSAGE;
+    UnionEncoding unionEncoding = NESTED_MESSAGE;
+    ByteEncoding byteEncoding = BYTES;
+    DecimalEncoding decimalEncoding = UNSCALED_BYTES;
+|};
+
+# The ways a schema serializes and deserializes values.
+public enum CodecMode {
+    # Values are serialized and deserialized by walking the plan compiled for the schema
+    INTERPRETED,
+    # Record types are serialized and deserialized by code generated for the record type when the schema is
+    # created. Fields and types that are not supported by the generated code use the interpreted plan
+    SPECIALIZED
+}
+
+# The ways a schema created for a table type encodes the rows of the table.
+public enum TableLayout {
+    # Each row is encoded as a nested message of a repeated field
+    ROW,
+    # Each field of the rows is encoded as a column that holds the values of the field in row order. Only tables of
+    # closed records with `int`, `byte`, `float`, `decimal`, `string` and `boolean` fields, which may be optional or
+    # nilable but not both, are supported
+    COLUMNAR
+}
+
+# The ways a schema encodes string values.
+public enum StringEncoding {
+    # Each string is encoded as a protobuf `string` field
+    PLAIN,
+    # Each distinct string is written once to a string table of the message and string fields are encoded as
+    # `uint32` indexes into the table. Serialization and deserialization of schemas with this encoding run on the
+    # calling strand
+    DICTIONARY
+}
+
+# The ways a schema encodes nilable record fields.
+public enum NilableFieldEncoding {
+    # Each nilable field is encoded as a nested union message
+    UNION_MESSAGE,
+    # Required record fields of type `int?`, `byte?`, `float?`, `string?` and `boolean?` are encoded as proto3
+    # `optional` fields, which are absent when the value is nil. Other nilable fields are encoded as union messages
+    OPTIONAL_FIELD
+}
+
+# The ways a schema encodes union record fields.
+public enum UnionEncoding {
+    # Each union field is encoded as a nested union message
+    NESTED_MESSAGE,
+    # Record fields of unions of `()`, `int`, `byte`, `float`, `decimal`, `string` and `boolean` are encoded as a
+    # `oneof` of the record message, with a field for each member. Other union fields are encoded as union messages
+    ONEOF
+}
+
+# The ways a schema encodes `byte` values.
+public enum ByteEncoding {
+    # Each `byte` value is encoded as a protobuf `bytes` field holding the byte
+    BYTES,
+    # Each `byte` value is encoded as a protobuf `uint32` field. Byte arrays are still encoded as `bytes` fields
+    VARINT
+}
+
+# The ways a schema encodes `decimal` values.
+public enum DecimalEncoding {
+    # Each `decimal` value is encoded as a `DecimalValue` message holding the scale, the precision and the bytes of
+    # the unscaled value
+    UNSCALED_BYTES,
+    # A `decimal` value whose unscaled value fits in 64 bits is encoded as a `DecimalValue` message holding the scale
+    # and the unscaled value as a `sint64` field. Other values are encoded as with `UNSCALED_BYTES`
+    COMPACT
+}
+
+# A condition on a field of the rows read by the `scan` function.
+#
+# + fieldName - The name of a field of the row record type. The field must be of type `int`, `byte`, `float`,
+#               `decimal`, `string`, `boolean` or an enum, and may be optional but not nilable
+# + operator - The comparison of the field value with the given value. `boolean` fields are only compared with
+#              `EQUAL` and `NOT_EQUAL`
+# + value - The value the field value is compared with, which must be of the type of the field. Enum fields are
+#           compared with `string` values
+public type RowPredicate record {|
+    string fieldName;
+    ComparisonOperator operator = EQUAL;
+    int|float|decimal|string|boolean value;
+|};
+
+# The comparisons of a row predicate. A row whose optional field is absent doesn't match any comparison.
+public enum ComparisonOperator {
+    # The field value is equal to the value
+    EQUAL,
+    # The field value is not equal to the value
+    NOT_EQUAL,
+    # The field value is less than the value. Strings are compared by their characters
+    LESS_THAN,
+    # The field value is less than or equal to the value
+    LESS_THAN_OR_EQUAL,
+    # The field value is greater than the value
+    GREATER_THAN,
+    # The field value is greater than or equal to the value
+    GREATER_THAN_OR_EQUAL
+}
@@ -0,0 +1,72 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type BatchRecord record {
+    int id;
+    string label;
+    boolean active;
+};
+
+@test:Config {}
+public function testSerializeBatchMatchesSerialize() returns error? {
+    Proto3Schema ser = check new (BatchRecord);
+    BatchRecord[] records = [];
+    foreach int i in 0 ..< 100 {
+        records.push({id: i, label: i.toString(), active: i % 2 == 0});
+    }
+
+    byte[][] encodedMessages = check ser.serializeBatch(records);
+    test:assertEquals(encodedMessages.length(), records.length());
+    foreach int i in 0 ..< records.length() {
+        test:assertEquals(encodedMessages[i], check ser.serialize(records[i]));
+    }
+
+    BatchRecord[] decoded = check ser.deserializeBatch(encodedMessages);
+    test:assertEquals(decoded, records);
+}
+
+@test:Config {}
+public function testBatchOfPrimitives() returns error? {
+    Proto3Schema ser = check new (int);
+    int[] values = [0, 1, -1, int:MAX_VALUE, int:MIN_VALUE];
+
+    byte[][] encodedMessages = check ser.serializeBatch(values);
+    int[] decoded = check ser.deserializeBatch(encodedMessages);
+    test:assertEquals(decoded, values);
+}
+
+@test:Config {}
+public function testEmptyBatch() returns error? {
+    Proto3Schema ser = check new (BatchRecord);
+
+    byte[][] encodedMessages = check ser.serializeBatch([]);
+    test:assertEquals(encodedMessages.length(), 0);
+    BatchRecord[] decoded = check ser.deserializeBatch([]);
+    test:assertEquals(decoded.length(), 0);
+}
+
+@test:Config {}
+public function testSerializeBatchTypeMismatch() returns error? {
+    Proto3Schema ser = check new (BatchRecord);
+
+    byte[][]|Error result = ser.serializeBatch([{id: 1, label: "valid", active: true}, "invalid"]);
+    test:assertTrue(result is Error);
+    if result is Error {
+        test:assertEquals(result.message(), "Failed to Serialize data: Type mismatch");
+    }
+}
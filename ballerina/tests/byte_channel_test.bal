@@ -0,0 +1,93 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/test;
+
+type ArchivedReading record {|
+    int sensor;
+    float value;
+    string unit;
+|};
+
+type ArchivedSeries record {|
+    string name;
+    ArchivedReading[] readings;
+    map<string> labels;
+|};
+
+isolated function createArchivedSeries(int count) returns ArchivedSeries {
+    ArchivedReading[] readings = [];
+    foreach int i in 0 ..< count {
+        readings.push({sensor: i % 16, value: <float>i / 3.0, unit: i % 2 == 0 ? "celsius" : "kelvin"});
+    }
+    return {name: string `series-${count}`, readings: readings, labels: {site: "colombo", rack: "r-12"}};
+}
+
+@test:Config {}
+public isolated function testSerializeToFile() returns error? {
+    string filePath = "archived_series.bin";
+    ArchivedSeries series = createArchivedSeries(100);
+    Proto3Schema ser = check new (ArchivedSeries);
+    check ser.serializeTo(series, filePath);
+
+    byte[] written = check io:fileReadBytes(filePath);
+    test:assertEquals(written, check ser.serialize(series));
+    ArchivedSeries decoded = check ser.deserializeFrom(filePath);
+    test:assertEquals(decoded, series);
+}
+
+@test:Config {}
+public isolated function testSerializeToByteChannel() returns error? {
+    string filePath = "archived_series_channel.bin";
+    ArchivedSeries series = createArchivedSeries(100);
+    Proto3Schema ser = check new (ArchivedSeries);
+
+    io:WritableByteChannel writableChannel = check io:openWritableFile(filePath);
+    check ser.serializeTo(series, writableChannel);
+    check writableChannel.close();
+
+    io:ReadableByteChannel readableChannel = check io:openReadableFile(filePath);
+    ArchivedSeries decoded = check ser.deserializeFrom(readableChannel);
+    check readableChannel.close();
+    test:assertEquals(decoded, series);
+}
+
+@test:Config {}
+public isolated function testSerializeLargeValueToFile() returns error? {
+    ArchivedSeries series = createArchivedSeries(200000);
+    Proto3Schema[] schemas = [
+        check new (ArchivedSeries),
+        check new (ArchivedSeries, stringEncoding = DICTIONARY),
+        check new (ArchivedSeries, parallelThreshold = 1000)
+    ];
+    foreach Proto3Schema ser in schemas {
+        string filePath = "archived_large_series.bin";
+        check ser.serializeTo(series, filePath);
+        ArchivedSeries decoded = check ser.deserializeFrom(filePath);
+        test:assertEquals(decoded, series);
+    }
+}
+
+@test:Config {}
+public isolated function testDeserializeFromMissingFile() returns error? {
+    Proto3Schema des = check new (ArchivedSeries);
+    ArchivedSeries|Error decoded = des.deserializeFrom("missing_archived_series.bin");
+    test:assertTrue(decoded is Error);
+    if decoded is Error {
+        test:assertTrue(decoded.message().startsWith("Failed to Deserialize data: "));
+    }
+}
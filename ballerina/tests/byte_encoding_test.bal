@@ -0,0 +1,127 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type Pixel record {|
+    byte red;
+    byte green;
+    byte blue;
+    byte? alpha;
+    byte|string label;
+    byte[] mask;
+|};
+
+type Pixels Pixel[];
+
+type PixelChannels map<byte>;
+
+isolated function createPixels(int count) returns Pixel[] {
+    Pixel[] pixels = [];
+    foreach int i in 0 ..< count {
+        pixels.push({
+            red: <byte>(i % 256),
+            green: <byte>((i * 7) % 256),
+            blue: <byte>((i * 31) % 256),
+            alpha: i % 3 == 0 ? () : <byte>((i * 13) % 256),
+            label: i % 2 == 0 ? <byte>(i % 128) : string `pixel-${i}`,
+            mask: [<byte>(i % 256), 0, 255]
+        });
+    }
+    return pixels;
+}
+
+@test:Config {}
+public isolated function testVarintByteRoundTrip() returns error? {
+    Proto3Schema ser = check new (Pixel, byteEncoding = VARINT);
+
+    foreach Pixel pixel in createPixels(300) {
+        Pixel decoded = check ser.deserialize(check ser.serialize(pixel));
+        test:assertEquals(decoded, pixel);
+    }
+}
+
+@test:Config {}
+public isolated function testVarintByteKeepsZeroValues() returns error? {
+    Proto3Schema ser = check new (Pixel, byteEncoding = VARINT, nilableFieldEncoding = OPTIONAL_FIELD,
+        unionEncoding = ONEOF);
+    Pixel data = {red: 0, green: 0, blue: 0, alpha: 0, label: 0, mask: []};
+
+    Pixel decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+
+    data.alpha = ();
+    data.label = 255;
+    decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testVarintByteEncodingIsSmaller() returns error? {
+    Proto3Schema plain = check new (Pixels);
+    Proto3Schema varint = check new (Pixels, byteEncoding = VARINT);
+    Pixel[] data = createPixels(100);
+
+    byte[] plainEncoded = check plain.serialize(data);
+    byte[] varintEncoded = check varint.serialize(data);
+    test:assertTrue(varintEncoded.length() < plainEncoded.length());
+
+    Pixel[] decoded = check varint.deserialize(varintEncoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testVarintByteMapAndPrimitive() returns error? {
+    Proto3Schema mapSer = check new (PixelChannels, byteEncoding = VARINT);
+    PixelChannels channels = {red: 0, green: 127, blue: 128, alpha: 255};
+
+    PixelChannels decodedChannels = check mapSer.deserialize(check mapSer.serialize(channels));
+    test:assertEquals(decodedChannels, channels);
+
+    Proto3Schema byteSer = check new (byte, byteEncoding = VARINT);
+    byte[] values = [0, 1, 127, 128, 255];
+    foreach byte value in values {
+        byte decoded = check byteSer.deserialize(check byteSer.serialize(value));
+        test:assertEquals(decoded, value);
+    }
+}
+
+@test:Config {}
+public isolated function testVarintByteSpecializedCodec() returns error? {
+    Proto3Schema interpreted = check new (Pixels, byteEncoding = VARINT);
+    Proto3Schema specialized = check new (Pixels, byteEncoding = VARINT, codecMode = SPECIALIZED);
+    Pixel[] data = createPixels(50);
+
+    byte[] encoded = check specialized.serialize(data);
+    test:assertEquals(encoded, check interpreted.serialize(data));
+
+    Pixel[] decoded = check specialized.deserialize(encoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testVarintByteEncodingDiffersFromBytes() returns error? {
+    Proto3Schema plain = check new (Pixel);
+    Proto3Schema varint = check new (Pixel, byteEncoding = VARINT);
+    Pixel data = createPixels(5)[4];
+
+    byte[] encoded = check varint.serialize(data);
+    test:assertNotEquals(encoded, check plain.serialize(data));
+
+    Pixel decoded = check plain.deserialize(check plain.serialize(data));
+    test:assertEquals(decoded, data);
+}
@@ -0,0 +1,135 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type AccountArray Account[];
+
+type RecordWithDefaultValues record {
+    int count;
+    string label;
+    float ratio;
+    boolean enabled;
+    byte flags;
+    int[] values;
+};
+
+@test:Config {}
+public function testSpecializedCodecModeWithRecord() returns error? {
+    Employee data = {
+        name: "Jane",
+        age: 28,
+        weight: 52,
+        height: 1.65,
+        isMarried: false,
+        salary: 1000.56
+    };
+
+    Proto3Schema ser = check new (Employee, codecMode = SPECIALIZED);
+    test:assertEquals(ser.codecMode(), SPECIALIZED);
+    byte[] encode = check ser.serialize(data);
+
+    Proto3Schema interpreted = check new (Employee);
+    test:assertEquals(interpreted.codecMode(), INTERPRETED);
+    test:assertEquals(encode, check interpreted.serialize(data));
+
+    Proto3Schema des = check new (Employee, codecMode = SPECIALIZED);
+    Employee decoded = check des.deserialize(encode);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public function testSpecializedCodecModeWithDefaultValues() returns error? {
+    RecordWithDefaultValues data = {count: 0, label: "", ratio: 0.0, enabled: false, flags: 0, values: []};
+
+    Proto3Schema ser = check new (RecordWithDefaultValues, codecMode = SPECIALIZED);
+    byte[] encode = check ser.serialize(data);
+
+    Proto3Schema interpreted = check new (RecordWithDefaultValues);
+    test:assertEquals(encode, check interpreted.serialize(data));
+
+    RecordWithDefaultValues decoded = check ser.deserialize(encode);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public function testSpecializedCodecModeWithOptionalFields() returns error? {
+    Account[] data = [
+        {
+            name: "Jane",
+            age: 28,
+            img: base16 `ffeeddccbbaa`,
+            contacts: [{mobile: "+94111111111", home: "+94112222222"}],
+            address: {street: {street1: "first street", street2: "second street"}, country: "Sri Lanka"},
+            rating: 4
+        },
+        {
+            name: "John",
+            age: 30,
+            img: [],
+            contacts: [],
+            address: ()
+        }
+    ];
+
+    Proto3Schema ser = check new (AccountArray, codecMode = SPECIALIZED);
+    test:assertEquals(ser.codecMode(), SPECIALIZED);
+    byte[] encode = check ser.serialize(data);
+
+    Proto3Schema interpreted = check new (AccountArray);
+    test:assertEquals(encode, check interpreted.serialize(data));
+
+    Account[] decoded = check ser.deserialize(encode);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public function testSpecializedCodecModeWithCyclicReference() returns error? {
+    RecordWithCyclicReference data = {
+        name: "ballerina",
+        nodeArray: [{name: "module", nodeArray: (), nodeWithNil: ()}],
+        nodeWithNil: {name: "serdes", nodeArray: (), nodeWithNil: ()},
+        optional: {name: "stdlib", nodeArray: (), nodeWithNil: ()}
+    };
+
+    Proto3Schema ser = check new (RecordWithCyclicReference, codecMode = SPECIALIZED);
+    byte[] encode = check ser.serialize(data);
+
+    RecordWithCyclicReference decoded = check ser.deserialize(encode);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public function testSpecializedCodecModeWithTypeMismatch() returns error? {
+    Engineer data = {name: "Jane Doe", id: 123};
+
+    Proto3Schema ser = check new (Chairman, codecMode = SPECIALIZED);
+    byte[]|Error encode = ser.serialize(data);
+    test:assertTrue(encode is Error);
+    test:assertEquals((<Error>encode).message(), "Failed to Serialize data: Type mismatch");
+}
+
+@test:Config {}
+public function testSpecializedCodecModeFallback() returns error? {
+    int[] data = [1, 2, 3];
+
+    Proto3Schema ser = check new (IntArray, codecMode = SPECIALIZED);
+    test:assertEquals(ser.codecMode(), INTERPRETED);
+    byte[] encode = check ser.serialize(data);
+
+    int[] decoded = check ser.deserialize(encode);
+    test:assertEquals(decoded, data);
+}
@@ -0,0 +1,150 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type Measurement record {|
+    readonly int id;
+    float value;
+    boolean valid;
+    byte sensor;
+    string label;
+    decimal cost;
+    string? unit;
+    int count?;
+|};
+
+type MeasurementTable table<Measurement> key(id);
+
+type OpenMeasurementTable table<record {int id;}>;
+
+type NestedColumnRow record {|
+    int id;
+    int[] values;
+|};
+
+type NestedColumnTable table<NestedColumnRow>;
+
+type OptionalNilableRow record {|
+    int id;
+    int? count?;
+|};
+
+type OptionalNilableTable table<OptionalNilableRow>;
+
+isolated function createMeasurements(int count) returns MeasurementTable {
+    MeasurementTable measurements = table [];
+    foreach int i in 0 ..< count {
+        Measurement measurement = {
+            id: i,
+            value: <float>i * 0.5,
+            valid: i % 2 == 0,
+            sensor: <byte>(i % 256),
+            label: i % 5 == 0 ? "" : string `label-${i}`,
+            cost: <decimal>i / 100,
+            unit: i % 3 == 0 ? () : "kg"
+        };
+        if i % 4 != 0 {
+            measurement.count = -i;
+        }
+        measurements.add(measurement);
+    }
+    return measurements;
+}
+
+@test:Config {}
+public isolated function testColumnarTableRoundTrip() returns error? {
+    Proto3Schema ser = check new (MeasurementTable, tableLayout = COLUMNAR);
+    MeasurementTable data = createMeasurements(100);
+
+    MeasurementTable decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+    test:assertEquals(decoded.keys(), data.keys());
+}
+
+@test:Config {}
+public isolated function testColumnarTableIsSmallerThanRowTable() returns error? {
+    Proto3Schema rowSchema = check new (MeasurementTable);
+    Proto3Schema columnarSchema = check new (MeasurementTable, tableLayout = COLUMNAR);
+    MeasurementTable data = createMeasurements(1000);
+
+    byte[] rowEncoded = check rowSchema.serialize(data);
+    byte[] columnarEncoded = check columnarSchema.serialize(data);
+    test:assertTrue(columnarEncoded.length() < rowEncoded.length());
+}
+
+@test:Config {}
+public isolated function testColumnarEmptyTable() returns error? {
+    Proto3Schema ser = check new (MeasurementTable, tableLayout = COLUMNAR);
+    MeasurementTable data = table [];
+
+    byte[] encoded = check ser.serialize(data);
+    test:assertEquals(encoded.length(), 0);
+    MeasurementTable decoded = check ser.deserialize(encoded);
+    test:assertEquals(decoded.length(), 0);
+}
+
+@test:Config {}
+public isolated function testColumnarTableWithAbsentOptionalValues() returns error? {
+    Proto3Schema ser = check new (MeasurementTable, tableLayout = COLUMNAR);
+    MeasurementTable data = table [
+        {id: 1, value: 1.5, valid: true, sensor: 1, label: "a", cost: 1.5, unit: ()},
+        {id: 2, value: 2.5, valid: false, sensor: 2, label: "b", cost: 2.5, unit: ()}
+    ];
+
+    MeasurementTable decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+    test:assertFalse(decoded.get(1).hasKey("count"));
+}
+
+@test:Config {}
+public isolated function testColumnarLayoutRequiresTable() {
+    Proto3Schema|Error ser = new (Measurement, tableLayout = COLUMNAR);
+    test:assertTrue(ser is Error);
+    if ser is Error {
+        test:assertTrue(ser.message().startsWith("Columnar table layout is only supported for tables of closed"));
+    }
+}
+
+@test:Config {}
+public isolated function testColumnarLayoutRequiresClosedRecord() {
+    Proto3Schema|Error ser = new (OpenMeasurementTable, tableLayout = COLUMNAR);
+    test:assertTrue(ser is Error);
+}
+
+@test:Config {}
+public isolated function testColumnarLayoutRejectsUnsupportedField() {
+    Proto3Schema|Error ser = new (NestedColumnTable, tableLayout = COLUMNAR);
+    test:assertTrue(ser is Error);
+    if ser is Error {
+        test:assertTrue(ser.message().startsWith("Columnar table layout does not support field values"));
+    }
+}
+
+@test:Config {}
+public isolated function testColumnarLayoutRejectsOptionalNilableField() {
+    Proto3Schema|Error ser = new (OptionalNilableTable, tableLayout = COLUMNAR);
+    test:assertTrue(ser is Error);
+}
+
+@test:Config {}
+public isolated function testColumnarLayoutDoesNotShareRowSchema() returns error? {
+    Proto3Schema rowSchema = check new (MeasurementTable);
+    Proto3Schema columnarSchema = check new (MeasurementTable, tableLayout = COLUMNAR);
+    MeasurementTable data = createMeasurements(10);
+
+    test:assertNotEquals(check columnarSchema.serialize(data), check rowSchema.serialize(data));
+}
@@ -0,0 +1,103 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type LedgerEntry record {|
+    string account;
+    decimal amount;
+    decimal? fee;
+    decimal|string adjustment;
+    decimal[] installments;
+    map<decimal> taxes;
+|};
+
+type LedgerEntries LedgerEntry[];
+
+isolated function createLedgerEntries(int count) returns LedgerEntry[] {
+    LedgerEntry[] entries = [];
+    foreach int i in 0 ..< count {
+        decimal amount = <decimal>(i * 1999) / 100;
+        entries.push({
+            account: string `account-${i % 7}`,
+            amount: i % 2 == 0 ? amount : -amount,
+            fee: i % 3 == 0 ? () : <decimal>i / 4,
+            adjustment: i % 2 == 0 ? <decimal>i * 0.001 : "none",
+            installments: [amount / 3, amount - amount / 3],
+            taxes: {vat: amount * 0.15, levy: <decimal>i}
+        });
+    }
+    return entries;
+}
+
+@test:Config {}
+public isolated function testCompactDecimalRoundTrip() returns error? {
+    Proto3Schema ser = check new (LedgerEntry, decimalEncoding = COMPACT);
+
+    foreach LedgerEntry entry in createLedgerEntries(50) {
+        LedgerEntry decoded = check ser.deserialize(check ser.serialize(entry));
+        test:assertEquals(decoded, entry);
+    }
+}
+
+@test:Config {}
+public isolated function testCompactDecimalLargeValues() returns error? {
+    Proto3Schema ser = check new (decimal, decimalEncoding = COMPACT);
+    decimal[] values = [0, -0.00, 1.5, -922337203685477.5808, 922337203685477.5807, 9223372036854775808,
+        -9223372036854775809, 1234567890123456789012345678.901234, 0.000000000000000000000000000001];
+
+    foreach decimal value in values {
+        decimal decoded = check ser.deserialize(check ser.serialize(value));
+        test:assertEquals(decoded, value);
+    }
+}
+
+@test:Config {}
+public isolated function testCompactDecimalEncodingIsSmaller() returns error? {
+    Proto3Schema plain = check new (LedgerEntries);
+    Proto3Schema compact = check new (LedgerEntries, decimalEncoding = COMPACT);
+    LedgerEntry[] data = createLedgerEntries(100);
+
+    byte[] plainEncoded = check plain.serialize(data);
+    byte[] compactEncoded = check compact.serialize(data);
+    test:assertTrue(compactEncoded.length() < plainEncoded.length());
+
+    LedgerEntry[] decoded = check compact.deserialize(compactEncoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testCompactDecimalColumnarTable() returns error? {
+    Proto3Schema ser = check new (MeasurementTable, tableLayout = COLUMNAR, decimalEncoding = COMPACT);
+    MeasurementTable data = createMeasurements(100);
+
+    MeasurementTable decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testCompactDecimalEncodingDiffersFromUnscaledBytes() returns error? {
+    Proto3Schema plain = check new (decimal);
+    Proto3Schema compact = check new (decimal, decimalEncoding = COMPACT);
+    decimal value = 1234.56;
+
+    byte[] encoded = check compact.serialize(value);
+    test:assertNotEquals(encoded, check plain.serialize(value));
+
+    decimal decoded = check compact.deserialize(encoded);
+    test:assertEquals(decoded, value);
+}
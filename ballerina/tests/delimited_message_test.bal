@@ -0,0 +1,114 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type DelimitedRecord record {
+    int id;
+    string name;
+    float[] scores;
+};
+
+isolated function createDelimitedRecords(int count) returns DelimitedRecord[] {
+    DelimitedRecord[] records = [];
+    foreach int i in 0 ..< count {
+        records.push({id: i, name: string `record-${i}`, scores: [<float>i, <float>i * 0.5]});
+    }
+    return records;
+}
+
+@test:Config {}
+public function testSerializeDelimitedPrefixesLength() returns error? {
+    Proto3Schema ser = check new (DelimitedRecord);
+    DelimitedRecord data = {id: 1, name: "first", scores: [1.5]};
+
+    byte[] encoded = check ser.serialize(data);
+    byte[] delimited = check ser.serializeDelimited(data);
+    test:assertEquals(delimited[0], encoded.length());
+    test:assertEquals(delimited.slice(1), encoded);
+}
+
+@test:Config {}
+public function testDeserializeDelimitedByteArray() returns error? {
+    Proto3Schema ser = check new (DelimitedRecord);
+    DelimitedRecord[] records = createDelimitedRecords(50);
+
+    byte[] encodedMessages = [];
+    foreach DelimitedRecord item in records {
+        encodedMessages.push(...check ser.serializeDelimited(item));
+    }
+
+    stream<DelimitedRecord, Error?> decoded = check ser.deserializeDelimited(encodedMessages);
+    DelimitedRecord[] decodedRecords = check from DelimitedRecord item in decoded select item;
+    test:assertEquals(decodedRecords, records);
+}
+
+@test:Config {}
+public function testSerializeDelimitedIntoSharedBuffer() returns error? {
+    Proto3Schema ser = check new (DelimitedRecord);
+    DelimitedRecord[] records = createDelimitedRecords(10);
+
+    byte[] buffer = [];
+    buffer.setLength(1024);
+    int offset = 0;
+    foreach DelimitedRecord item in records {
+        offset += check ser.serializeDelimitedInto(item, buffer, offset);
+    }
+
+    stream<DelimitedRecord, Error?> decoded = check ser.deserializeDelimited(buffer.slice(0, offset));
+    DelimitedRecord[] decodedRecords = check from DelimitedRecord item in decoded select item;
+    test:assertEquals(decodedRecords, records);
+}
+
+@test:Config {}
+public function testDeserializeDelimitedBlockStream() returns error? {
+    Proto3Schema ser = check new (DelimitedRecord);
+    DelimitedRecord[] records = createDelimitedRecords(20);
+
+    byte[] encodedMessages = [];
+    foreach DelimitedRecord item in records {
+        encodedMessages.push(...check ser.serializeDelimited(item));
+    }
+    // Blocks smaller than a message split the messages and their length prefixes between blocks
+    byte[][] blocks = [];
+    int blockSize = 3;
+    foreach int i in int:range(0, encodedMessages.length(), blockSize) {
+        int end = int:min(i + blockSize, encodedMessages.length());
+        blocks.push(encodedMessages.slice(i, end));
+    }
+
+    stream<DelimitedRecord, Error?> decoded = check ser.deserializeDelimited(blocks.toStream());
+    DelimitedRecord[] decodedRecords = check from DelimitedRecord item in decoded select item;
+    test:assertEquals(decodedRecords, records);
+}
+
+@test:Config {}
+public function testDeserializeDelimitedTruncatedMessage() returns error? {
+    Proto3Schema ser = check new (DelimitedRecord);
+    byte[] encodedMessages = check ser.serializeDelimited({id: 1, name: "first", scores: []});
+    encodedMessages.push(...check ser.serializeDelimited({id: 2, name: "second", scores: []}));
+    encodedMessages.setLength(encodedMessages.length() - 2);
+
+    stream<DelimitedRecord, Error?> decoded = check ser.deserializeDelimited(encodedMessages);
+    record {| DelimitedRecord value; |}|Error? first = decoded.next();
+    test:assertTrue(first is record {| DelimitedRecord value; |});
+
+    record {| DelimitedRecord value; |}|Error? second = decoded.next();
+    test:assertTrue(second is Error);
+    if second is Error {
+        test:assertTrue(second.message().startsWith("Failed to Deserialize data: Delimited message is truncated"));
+    }
+}
@@ -0,0 +1,174 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type RoutingRegion record {|
+    string code;
+    int zone;
+|};
+
+type RoutingOrder record {|
+    int id;
+    RoutingRegion region;
+    decimal total;
+    string[] skus;
+    RoutingRegion fallbackRegion?;
+|};
+
+type RoutedMessage record {|
+    string customerId;
+    RoutingOrder purchase;
+    map<int> counters;
+    int|string? priority;
+    boolean urgent;
+    string note?;
+|};
+
+isolated function createRoutedMessage(int id) returns RoutedMessage {
+    return {
+        customerId: string `customer-${id}`,
+        purchase: {
+            id: id,
+            region: {code: string `region-${id % 3}`, zone: id % 5},
+            total: <decimal>id / 8,
+            skus: ["sku-1", string `sku-${id}`]
+        },
+        counters: {views: id, clicks: id * 2},
+        priority: id % 2 == 0 ? id : "high",
+        urgent: true,
+        note: string `note-${id}`
+    };
+}
+
+@test:Config {}
+public isolated function testExtractFieldFromRecord() returns error? {
+    Proto3Schema ser = check new (RoutedMessage);
+    RoutedMessage message = createRoutedMessage(7);
+    byte[] encoded = check ser.serialize(message);
+
+    string customerId = check ser.extractField(encoded, "customerId");
+    test:assertEquals(customerId, message.customerId);
+    string regionCode = check ser.extractField(encoded, "purchase.region.code");
+    test:assertEquals(regionCode, message.purchase.region.code);
+    int zone = check ser.extractField(encoded, "purchase.region.zone");
+    test:assertEquals(zone, message.purchase.region.zone);
+    RoutingRegion region = check ser.extractField(encoded, "purchase.region");
+    test:assertEquals(region, message.purchase.region);
+    decimal total = check ser.extractField(encoded, "purchase.total");
+    test:assertEquals(total, message.purchase.total);
+    string[] skus = check ser.extractField(encoded, "purchase.skus");
+    test:assertEquals(skus, message.purchase.skus);
+    map<int> counters = check ser.extractField(encoded, "counters");
+    test:assertEquals(counters, message.counters);
+    int|string? priority = check ser.extractField(encoded, "priority");
+    test:assertEquals(priority, message.priority);
+    string? note = check ser.extractField(encoded, "note");
+    test:assertEquals(note, message.note);
+}
+
+@test:Config {}
+public isolated function testExtractAbsentFields() returns error? {
+    Proto3Schema ser = check new (RoutedMessage);
+    RoutedMessage message = {
+        customerId: "",
+        purchase: {id: 0, region: {code: "", zone: 0}, total: 0, skus: []},
+        counters: {},
+        priority: (),
+        urgent: false
+    };
+    byte[] encoded = check ser.serialize(message);
+    RoutedMessage decoded = check ser.deserialize(encoded);
+
+    boolean urgent = check ser.extractField(encoded, "urgent");
+    test:assertEquals(urgent, decoded.urgent);
+    int id = check ser.extractField(encoded, "purchase.id");
+    test:assertEquals(id, decoded.purchase.id);
+    string[] skus = check ser.extractField(encoded, "purchase.skus");
+    test:assertEquals(skus, decoded.purchase.skus);
+    int|string? priority = check ser.extractField(encoded, "priority");
+    test:assertEquals(priority, decoded.priority);
+    string? note = check ser.extractField(encoded, "note");
+    test:assertEquals(note, ());
+    RoutingRegion? fallbackRegion = check ser.extractField(encoded, "purchase.fallbackRegion");
+    test:assertEquals(fallbackRegion, ());
+    string? fallbackCode = check ser.extractField(encoded, "purchase.fallbackRegion.code");
+    test:assertEquals(fallbackCode, ());
+}
+
+@test:Config {}
+public isolated function testExtractFieldWithEncodings() returns error? {
+    Proto3Schema[] schemas = [
+        check new (RoutedMessage, codecMode = SPECIALIZED),
+        check new (RoutedMessage, stringEncoding = DICTIONARY),
+        check new (RoutedMessage, unionEncoding = ONEOF, nilableFieldEncoding = OPTIONAL_FIELD)
+    ];
+    foreach Proto3Schema ser in schemas {
+        foreach int id in 0 ..< 4 {
+            RoutedMessage message = createRoutedMessage(id);
+            message.purchase.fallbackRegion = message.purchase.region;
+            byte[] encoded = check ser.serialize(message);
+
+            string customerId = check ser.extractField(encoded, "customerId");
+            test:assertEquals(customerId, message.customerId);
+            string fallbackCode = check ser.extractField(encoded, "purchase.fallbackRegion.code");
+            test:assertEquals(fallbackCode, message.purchase.region.code);
+            int|string? priority = check ser.extractField(encoded, "priority");
+            test:assertEquals(priority, message.priority);
+        }
+    }
+}
+
+@test:Config {}
+public isolated function testInvalidFieldPath() returns error? {
+    Proto3Schema ser = check new (RoutedMessage);
+    byte[] encoded = check ser.serialize(createRoutedMessage(1));
+
+    foreach string path in ["", "discount", "customerId.length", "purchase..id", "counters.views", "purchase.skus.0"] {
+        anydata|Error value = ser.extractField(encoded, path);
+        test:assertTrue(value is Error);
+        if value is Error {
+            test:assertEquals(value.message(), "Invalid field path: " + path);
+        }
+    }
+
+    Proto3Schema arraySer = check new (RoutingRegion[]);
+    byte[] encodedArray = check arraySer.serialize([{code: "north", zone: 1}]);
+    anydata|Error value = arraySer.extractField(encodedArray, "code");
+    test:assertTrue(value is Error);
+    if value is Error {
+        test:assertEquals(value.message(), "Field extraction is only supported for schemas of record types");
+    }
+}
+
+@test:Config {}
+public isolated function testExtractFieldOfUnexpectedType() returns error? {
+    Proto3Schema ser = check new (RoutedMessage);
+    byte[] encoded = check ser.serialize(createRoutedMessage(3));
+
+    int|Error customerId = ser.extractField(encoded, "customerId");
+    test:assertTrue(customerId is Error);
+    if customerId is Error {
+        test:assertEquals(customerId.message(), "Value of the field is not a value of the expected type: customerId");
+    }
+    string|Error zone = ser.extractField(encoded, "purchase.region.zone");
+    test:assertTrue(zone is Error);
+
+    RoutedMessage withoutNote = createRoutedMessage(4);
+    _ = withoutNote.remove("note");
+    string|Error note = ser.extractField(check ser.serialize(withoutNote), "note");
+    test:assertTrue(note is Error);
+}
@@ -54,3 +54,52 @@ public isolated function testGenerateProtoFileForRecord() returns error? {
     string protoFileContent = check io:fileReadString(protofileName);
     test:assertEquals(protoFileContent, expectedProtoFileContent);
 }
+
+type OptionalFieldModule record {
+    string name;
+    string|int id;
+    int? stars;
+    string? homepage;
+};
+
+@test:Config {}
+public isolated function testGenerateProtoFileWithOptionalFields() returns error? {
+    string protofileName = "OptionalFieldModule.proto";
+    string expectedProtoFileContent = check io:fileReadString(TARGET_PROTO_FILE_DIRECTORY + protofileName);
+
+    Proto3Schema ser = check new (OptionalFieldModule, nilableFieldEncoding = OPTIONAL_FIELD);
+    check ser.generateProtoFile(protofileName);
+
+    string protoFileContent = check io:fileReadString(protofileName);
+    test:assertEquals(protoFileContent, expectedProtoFileContent);
+}
+
+@test:Config {}
+public isolated function testGenerateProtoFileWithOneofFields() returns error? {
+    string protofileName = "OneofFieldModule.proto";
+    string expectedProtoFileContent = check io:fileReadString(TARGET_PROTO_FILE_DIRECTORY + protofileName);
+
+    Proto3Schema ser = check new (OptionalFieldModule, nilableFieldEncoding = OPTIONAL_FIELD, unionEncoding = ONEOF);
+    check ser.generateProtoFile(protofileName);
+
+    string protoFileContent = check io:fileReadString(protofileName);
+    test:assertEquals(protoFileContent, expectedProtoFileContent);
+}
+
+type DictionaryModule record {|
+    string name;
+    int stars;
+    string[] tags;
+|};
+
+@test:Config {}
+public isolated function testGenerateProtoFileWithStringTable() returns error? {
+    string protofileName = "DictionaryModule.proto";
+    string expectedProtoFileContent = check io:fileReadString(TARGET_PROTO_FILE_DIRECTORY + protofileName);
+
+    Proto3Schema ser = check new (DictionaryModule, stringEncoding = DICTIONARY);
+    check ser.generateProtoFile(protofileName);
+
+    string protoFileContent = check io:fileReadString(protofileName);
+    test:assertEquals(protoFileContent, expectedProtoFileContent);
+}
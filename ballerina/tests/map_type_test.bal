@@ -46,6 +46,7 @@ type RecordWithNonReferencedMapField record {
 type MapWithTuple map<TupleWithUnion>;
 type MapWithNonReferencedRecord map<record {string name;}>;
 type MapWithNonReferencedRecordArray map<record {string name;}[][]>;
+type MapStringArray MapString[];
 
 @test:Config{}
 public isolated function testMapInt() returns error? {
@@ -171,6 +172,24 @@ public isolated function testMapArray() returns error? {
     test:assertEquals(decode, data);
 }
 
+@test:Config{}
+public isolated function testMapArrayWithMultipleEntries() returns error? {
+
+    MapArray data = {
+        "children" : [[0,10],[11,17]],
+        "adults" : [[18,60]],
+        "seniors" : [[61, 100]]
+    };
+
+    Proto3Schema ser = check new(MapArray);
+    byte[] encode = check ser.serialize(data);
+
+    Proto3Schema des = check new(MapArray);
+    MapArray decode = check des.deserialize(encode);
+
+    test:assertEquals(decode, data);
+}
+
 @test:Config{}
 public isolated function testMapRecord() returns error? {
 
@@ -304,3 +323,20 @@ public isolated function testMapWithNonReferencedRecordArray() returns error? {
 
     test:assertEquals(decode, data);
 }
+
+@test:Config{}
+public isolated function testMapsWithRecurringKeys() returns error? {
+    string longKey = "a key that is longer than the keys that are cached by the deserializer of a map";
+    MapStringArray data = [];
+    foreach int i in 0 ..< 100 {
+        data.push({"name": string `name-${i}`, "city": "Colombo", "": "empty", [longKey]: "long", "ключ": "κλειδί"});
+    }
+
+    Proto3Schema ser = check new(MapStringArray);
+    byte[] encode = check ser.serialize(data);
+
+    MapStringArray decode = check ser.deserialize(encode);
+    test:assertEquals(decode, data);
+    MapStringArray decodeAgain = check ser.deserialize(encode);
+    test:assertEquals(decodeAgain, data);
+}
@@ -0,0 +1,128 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type Reading record {|
+    int id;
+    int? count;
+    byte? level;
+    float? ratio;
+    string? note;
+    boolean? verified;
+    decimal? cost;
+    int? 'limit?;
+|};
+
+type ReadingTable table<Reading>;
+
+type ReadingFlags record {|
+    int? count;
+    string? note;
+    boolean? verified;
+|};
+
+isolated function createReadings(int count) returns Reading[] {
+    Reading[] readings = [];
+    foreach int i in 0 ..< count {
+        Reading reading = {
+            id: i,
+            count: i % 3 == 0 ? () : i % 3 - 1,
+            level: i % 4 == 0 ? () : <byte>(i % 4 - 1),
+            ratio: i % 5 == 0 ? () : <float>(i % 5) * 0.5,
+            note: i % 2 == 0 ? () : i % 3 == 0 ? "" : string `note-${i}`,
+            verified: i % 3 == 1 ? () : i % 3 == 0,
+            cost: i % 2 == 0 ? () : <decimal>i / 10
+        };
+        if i % 7 == 0 {
+            reading.'limit = ();
+        } else if i % 7 == 1 {
+            reading.'limit = i;
+        }
+        readings.push(reading);
+    }
+    return readings;
+}
+
+@test:Config {}
+public isolated function testOptionalFieldRoundTrip() returns error? {
+    Proto3Schema ser = check new (Reading, nilableFieldEncoding = OPTIONAL_FIELD);
+
+    foreach Reading reading in createReadings(30) {
+        Reading decoded = check ser.deserialize(check ser.serialize(reading));
+        test:assertEquals(decoded, reading);
+    }
+}
+
+@test:Config {}
+public isolated function testOptionalFieldKeepsZeroValues() returns error? {
+    Proto3Schema ser = check new (Reading, nilableFieldEncoding = OPTIONAL_FIELD);
+    Reading data = {id: 0, count: 0, level: 0, ratio: 0.0, note: "", verified: false, cost: ()};
+
+    Reading decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+    test:assertFalse(decoded.hasKey("limit"));
+}
+
+@test:Config {}
+public isolated function testOptionalFieldOmitsNilValues() returns error? {
+    Proto3Schema ser = check new (ReadingFlags, nilableFieldEncoding = OPTIONAL_FIELD);
+    ReadingFlags data = {count: (), note: (), verified: ()};
+
+    byte[] encoded = check ser.serialize(data);
+    test:assertEquals(encoded.length(), 0);
+    ReadingFlags decoded = check ser.deserialize(encoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testOptionalFieldEncodingIsSmaller() returns error? {
+    Proto3Schema unionSchema = check new (ReadingTable);
+    Proto3Schema optionalSchema = check new (ReadingTable, nilableFieldEncoding = OPTIONAL_FIELD);
+    ReadingTable data = table [];
+    foreach Reading reading in createReadings(100) {
+        data.add(reading);
+    }
+
+    byte[] unionEncoded = check unionSchema.serialize(data);
+    byte[] optionalEncoded = check optionalSchema.serialize(data);
+    test:assertTrue(optionalEncoded.length() < unionEncoded.length());
+    ReadingTable decoded = check optionalSchema.deserialize(optionalEncoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testOptionalFieldWithSpecializedCodec() returns error? {
+    Proto3Schema ser = check new (Reading, codecMode = SPECIALIZED, nilableFieldEncoding = OPTIONAL_FIELD);
+    Proto3Schema interpretedSchema = check new (Reading, nilableFieldEncoding = OPTIONAL_FIELD);
+
+    foreach Reading reading in createReadings(10) {
+        byte[] encoded = check ser.serialize(reading);
+        test:assertEquals(encoded, check interpretedSchema.serialize(reading));
+        Reading decoded = check ser.deserialize(encoded);
+        test:assertEquals(decoded, reading);
+    }
+}
+
+@test:Config {}
+public isolated function testOptionalFieldEncodingDoesNotShareUnionSchema() returns error? {
+    Proto3Schema unionSchema = check new (Reading);
+    Proto3Schema optionalSchema = check new (Reading, nilableFieldEncoding = OPTIONAL_FIELD);
+    Reading data = {id: 1, count: 5, level: 1, ratio: 1.5, note: "note", verified: true, cost: 1.5};
+
+    test:assertNotEquals(check optionalSchema.serialize(data), check unionSchema.serialize(data));
+}
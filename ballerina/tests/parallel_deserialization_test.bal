@@ -0,0 +1,75 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type ParallelIntMatrix int[][];
+
+@test:Config {}
+public function testParallelArrayDeserializationMatchesSequential() returns error? {
+    Proto3Schema sequential = check new (ParallelRecordArray);
+    Proto3Schema parallel = check new (ParallelRecordArray, parallelThreshold = 16);
+    ParallelRecord[] records = createParallelRecords(1000);
+    byte[] encoded = check sequential.serialize(records);
+
+    ParallelRecord[] sequentialValue = check sequential.deserialize(encoded);
+    ParallelRecord[] parallelValue = check parallel.deserialize(encoded);
+    test:assertEquals(parallelValue, sequentialValue);
+    test:assertEquals(parallelValue, records);
+}
+
+@test:Config {}
+public function testParallelTableDeserializationKeepsRowOrder() returns error? {
+    Proto3Schema parallel = check new (ParallelRecordTable, parallelThreshold = 16);
+    ParallelRecordTable data = table [];
+    foreach ParallelRecord item in createParallelRecords(1000) {
+        data.add(item);
+    }
+
+    ParallelRecordTable decoded = check parallel.deserialize(check parallel.serialize(data));
+    test:assertEquals(decoded, data);
+    test:assertEquals(decoded.keys(), data.keys());
+}
+
+@test:Config {}
+public function testParallelNestedArrayDeserialization() returns error? {
+    Proto3Schema parallel = check new (ParallelIntMatrix, parallelThreshold = 8);
+    int[][] data = [];
+    foreach int i in 0 ..< 200 {
+        data.push(i % 2 == 0 ? [] : [i, -i, 0]);
+    }
+
+    int[][] decoded = check parallel.deserialize(check parallel.serialize(data));
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public function testParallelDeserializationOfRecordArrayField() returns error? {
+    Proto3Schema parallel = check new (ParallelRecord, parallelThreshold = 1);
+    ParallelRecord data = {id: 1, name: "item", price: 1.5, tags: ["a", "b", "c"]};
+
+    ParallelRecord decoded = check parallel.deserialize(check parallel.serialize(data));
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public function testParallelDeserializationOfTruncatedInput() returns error? {
+    Proto3Schema parallel = check new (ParallelRecordArray, parallelThreshold = 16);
+    byte[] encoded = check parallel.serialize(createParallelRecords(100));
+
+    ParallelRecord[]|Error decoded = parallel.deserialize(encoded.slice(0, encoded.length() - 3));
+    test:assertTrue(decoded is Error);
+}
@@ -0,0 +1,92 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type ParallelRecord record {
+    readonly int id;
+    string name;
+    decimal price;
+    string[] tags;
+};
+
+type ParallelRecordTable table<ParallelRecord> key(id);
+
+type ParallelRecordArray ParallelRecord[];
+
+type ParallelStringMatrix string[][];
+
+isolated function createParallelRecords(int count) returns ParallelRecord[] {
+    ParallelRecord[] records = [];
+    foreach int i in 0 ..< count {
+        string[] tags = i % 3 == 0 ? [] : ["a", i.toString()];
+        records.push({id: i, name: string `item-${i}`, price: <decimal>i / 4, tags});
+    }
+    return records;
+}
+
+@test:Config {}
+public function testParallelArraySerializationMatchesSequential() returns error? {
+    Proto3Schema sequential = check new (ParallelRecordArray);
+    Proto3Schema parallel = check new (ParallelRecordArray, parallelThreshold = 16);
+    ParallelRecord[] records = createParallelRecords(1000);
+
+    byte[] sequentialBytes = check sequential.serialize(records);
+    byte[] parallelBytes = check parallel.serialize(records);
+    test:assertEquals(parallelBytes, sequentialBytes);
+
+    ParallelRecord[] decoded = check parallel.deserialize(parallelBytes);
+    test:assertEquals(decoded, records);
+}
+
+@test:Config {}
+public function testParallelTableSerializationMatchesSequential() returns error? {
+    Proto3Schema sequential = check new (ParallelRecordTable);
+    Proto3Schema parallel = check new (ParallelRecordTable, parallelThreshold = 16);
+    ParallelRecordTable data = table [];
+    foreach ParallelRecord item in createParallelRecords(1000) {
+        data.add(item);
+    }
+
+    byte[] sequentialBytes = check sequential.serialize(data);
+    byte[] parallelBytes = check parallel.serialize(data);
+    test:assertEquals(parallelBytes, sequentialBytes);
+
+    ParallelRecordTable decoded = check parallel.deserialize(parallelBytes);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public function testParallelNestedArraySerialization() returns error? {
+    Proto3Schema sequential = check new (ParallelStringMatrix);
+    Proto3Schema parallel = check new (ParallelStringMatrix, parallelThreshold = 8);
+    string[][] data = [];
+    foreach int i in 0 ..< 200 {
+        data.push(i % 2 == 0 ? [] : ["", i.toString(), "value"]);
+    }
+
+    test:assertEquals(check parallel.serialize(data), check sequential.serialize(data));
+}
+
+@test:Config {}
+public function testParallelSerializationBelowThreshold() returns error? {
+    Proto3Schema sequential = check new (ParallelRecordArray);
+    Proto3Schema parallel = check new (ParallelRecordArray, parallelThreshold = 1000);
+    ParallelRecord[] records = createParallelRecords(10);
+
+    test:assertEquals(check parallel.serialize(records), check sequential.serialize(records));
+}
+
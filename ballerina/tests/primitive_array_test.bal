@@ -94,3 +94,38 @@ public isolated function testDecimalArray() returns error? {
     DecimalArray decoded = check des.deserialize(encoded);
     test:assertEquals(decoded, data);
 }
+
+@test:Config {}
+public isolated function testLargeIntArray() returns error? {
+    IntArray data = [];
+    foreach int i in 0 ..< 100000 {
+        data.push(i % 2 == 0 ? i * 1000003 : -i);
+    }
+    data.push(int:MAX_VALUE, int:MIN_VALUE, 0);
+
+    Proto3Schema ser = check new (IntArray);
+    byte[] encoded = check ser.serialize(data);
+
+    Proto3Schema des = check new (IntArray);
+    IntArray decoded = check des.deserialize(encoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testLargeFloatAndBooleanArrays() returns error? {
+    FloatArray floats = [];
+    BooleanArray booleans = [];
+    foreach int i in 0 ..< 100000 {
+        floats.push(<float>i / 7.0);
+        booleans.push(i % 3 == 0);
+    }
+    floats.push(-0.0, float:Infinity, float:NaN);
+
+    Proto3Schema floatSchema = check new (FloatArray);
+    FloatArray decodedFloats = check floatSchema.deserialize(check floatSchema.serialize(floats));
+    test:assertEquals(decodedFloats, floats);
+
+    Proto3Schema booleanSchema = check new (BooleanArray);
+    BooleanArray decodedBooleans = check booleanSchema.deserialize(check booleanSchema.serialize(booleans));
+    test:assertEquals(decodedBooleans, booleans);
+}
@@ -0,0 +1,209 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type AuditActor record {|
+    string name;
+    string role;
+    string[] permissions;
+|};
+
+type AuditEntry record {|
+    string message;
+    int level;
+    float[] samples;
+|};
+
+type AuditEvent record {|
+    int id;
+    string kind;
+    AuditActor actor;
+    map<string> labels;
+    AuditEntry[] entries;
+    int|string? correlation;
+    decimal amount;
+|};
+
+type AuditEvents AuditEvent[];
+
+type AuditEventSummary record {|
+    int id;
+    string kind;
+|};
+
+type AuditActorName record {|
+    string name;
+|};
+
+type AuditEntryLevel record {|
+    int level;
+|};
+
+type AuditEventRouting record {|
+    int id;
+    AuditActorName actor;
+    AuditEntryLevel[] entries;
+    int|string? correlation;
+|};
+
+type OpenAuditEventSummary record {
+    int id;
+};
+
+type AuditEventOrigin record {|
+    int id;
+    string origin;
+|};
+
+type AuditNote record {|
+    int id;
+    string note?;
+|};
+
+type AuditNoteText record {|
+    string note;
+|};
+
+type OptionalAuditNoteText record {|
+    string note?;
+|};
+
+isolated function createAuditEvents(int count) returns AuditEvent[] {
+    AuditEvent[] events = [];
+    foreach int i in 0 ..< count {
+        AuditEntry[] entries = [];
+        foreach int j in 0 ..< 3 {
+            entries.push({message: string `entry-${i}-${j}`, level: j, samples: [<float>j * 0.5, <float>i]});
+        }
+        events.push({
+            id: i,
+            kind: i % 2 == 0 ? "login" : "logout",
+            actor: {name: string `user-${i}`, role: "admin", permissions: ["read", "write"]},
+            labels: {region: "eu", host: string `host-${i % 4}`},
+            entries: entries,
+            correlation: i % 3 == 0 ? () : i % 3 == 1 ? i * 10 : string `corr-${i}`,
+            amount: <decimal>i / 8
+        });
+    }
+    return events;
+}
+
+isolated function toRouting(AuditEvent event) returns AuditEventRouting {
+    return {
+        id: event.id,
+        actor: {name: event.actor.name},
+        entries: from AuditEntry entry in event.entries select {level: entry.level},
+        correlation: event.correlation
+    };
+}
+
+@test:Config {}
+public isolated function testProjectRecordFields() returns error? {
+    Proto3Schema ser = check new (AuditEvent);
+    foreach AuditEvent event in createAuditEvents(6) {
+        byte[] encoded = check ser.serialize(event);
+
+        AuditEventSummary summary = check ser.deserialize(encoded);
+        test:assertEquals(summary, {id: event.id, kind: event.kind});
+        AuditEventRouting routing = check ser.deserialize(encoded);
+        test:assertEquals(routing, toRouting(event));
+
+        AuditEvent decoded = check ser.deserialize(encoded);
+        test:assertEquals(decoded, event);
+    }
+}
+
+@test:Config {}
+public isolated function testProjectArrayOfRecords() returns error? {
+    Proto3Schema ser = check new (AuditEvents);
+    AuditEvent[] events = createAuditEvents(20);
+    byte[] encoded = check ser.serialize(events);
+
+    AuditEventSummary[] summaries = check ser.deserialize(encoded);
+    test:assertEquals(summaries, from AuditEvent event in events select {id: event.id, kind: event.kind});
+    AuditEventRouting[] routings = check ser.deserialize(encoded);
+    test:assertEquals(routings, from AuditEvent event in events select toRouting(event));
+}
+
+@test:Config {}
+public isolated function testProjectWithEncodings() returns error? {
+    Proto3Schema[] schemas = [
+        check new (AuditEvent, codecMode = SPECIALIZED),
+        check new (AuditEvent, stringEncoding = DICTIONARY),
+        check new (AuditEvent, unionEncoding = ONEOF, nilableFieldEncoding = OPTIONAL_FIELD)
+    ];
+    foreach Proto3Schema ser in schemas {
+        foreach AuditEvent event in createAuditEvents(6) {
+            AuditEventRouting routing = check ser.deserialize(check ser.serialize(event));
+            test:assertEquals(routing, toRouting(event));
+        }
+    }
+}
+
+@test:Config {}
+public function testProjectBatchAndDelimited() returns error? {
+    Proto3Schema ser = check new (AuditEvent);
+    AuditEvent[] events = createAuditEvents(10);
+    AuditEventSummary[] expected = from AuditEvent event in events select {id: event.id, kind: event.kind};
+
+    AuditEventSummary[] batch = check ser.deserializeBatch(check ser.serializeBatch(events));
+    test:assertEquals(batch, expected);
+
+    byte[] encodedMessages = [];
+    foreach AuditEvent event in events {
+        encodedMessages.push(...check ser.serializeDelimited(event));
+    }
+    stream<AuditEventSummary, Error?> decoded = check ser.deserializeDelimited(encodedMessages);
+    AuditEventSummary[] delimited = check from AuditEventSummary summary in decoded select summary;
+    test:assertEquals(delimited, expected);
+}
+
+@test:Config {}
+public isolated function testOpenRecordTargetGetsFullValue() returns error? {
+    Proto3Schema ser = check new (AuditEvent);
+    AuditEvent event = createAuditEvents(2)[1];
+
+    OpenAuditEventSummary decoded = check ser.deserialize(check ser.serialize(event));
+    test:assertEquals(decoded, event);
+}
+
+@test:Config {}
+public isolated function testTargetTypeWithUnknownFieldIsRejected() returns error? {
+    Proto3Schema ser = check new (AuditEvent);
+    byte[] encoded = check ser.serialize(createAuditEvents(1)[0]);
+
+    AuditEventOrigin|Error origin = ser.deserialize(encoded);
+    test:assertTrue(origin is Error);
+    if origin is Error {
+        test:assertTrue(origin.message().includes("not a value of the expected type"));
+    }
+    string|Error text = ser.deserialize(encoded);
+    test:assertTrue(text is Error);
+}
+
+@test:Config {}
+public isolated function testOptionalFieldIsNotReadIntoRequiredField() returns error? {
+    Proto3Schema ser = check new (AuditNote);
+    AuditNote note = {id: 1, note: "checked"};
+    byte[] encoded = check ser.serialize(note);
+
+    AuditNoteText|Error text = ser.deserialize(encoded);
+    test:assertTrue(text is Error);
+    OptionalAuditNoteText optionalText = check ser.deserialize(encoded);
+    test:assertEquals(optionalText, {note: "checked"});
+}
@@ -0,0 +1,192 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type ShipmentItem record {|
+    readonly string sku;
+    int quantity;
+    decimal price;
+|};
+
+type ShipmentItemTable table<ShipmentItem> key(sku);
+
+type ShipmentAddress record {|
+    string street;
+    string city;
+    string[] lines;
+|};
+
+type Shipment record {|
+    int id;
+    string carrier;
+    boolean express;
+    int[] parcels;
+    string[] tags;
+    map<string> attributes;
+    ShipmentItemTable items;
+    ShipmentAddress destination;
+    int|string? tracking;
+    string note?;
+|};
+
+isolated function createShipment(int id) returns Shipment {
+    ShipmentItemTable items = table [];
+    foreach int i in 0 ..< 5 {
+        items.add({sku: string `sku-${id}-${i}`, quantity: i + 1, price: <decimal>i / 4});
+    }
+    return {
+        id: id,
+        carrier: string `carrier-${id % 3}`,
+        express: id % 2 == 0,
+        parcels: [id, id + 1, id + 2],
+        tags: ["fragile", "priority", string `zone-${id % 4}`],
+        attributes: {origin: "warehouse-1", destination: string `hub-${id}`},
+        items: items,
+        destination: {street: string `${id} Main Street`, city: "Colombo", lines: ["floor 2", "gate B"]},
+        tracking: id % 3 == 0 ? () : id % 3 == 1 ? id * 100 : string `track-${id}`
+    };
+}
+
+@test:Config {}
+public isolated function testRecordViewFields() returns error? {
+    Proto3Schema ser = check new (Shipment);
+    Shipment shipment = createShipment(7);
+    shipment.note = "leave at the door";
+    RecordView view = check ser.deserializeView(check ser.serialize(shipment));
+
+    string carrier = check view.get("carrier");
+    test:assertEquals(carrier, shipment.carrier);
+    ShipmentAddress destination = check view.get("destination");
+    test:assertEquals(destination, shipment.destination);
+    string[] tags = check view.get("tags");
+    test:assertEquals(tags, shipment.tags);
+    ShipmentItemTable items = check view.get("items");
+    test:assertEquals(items, shipment.items);
+    int|string? tracking = check view.get("tracking");
+    test:assertEquals(tracking, shipment.tracking);
+    string? note = check view.get("note");
+    test:assertEquals(note, shipment.note);
+
+    // Later reads return the value read first
+    string carrierAgain = check view.get("carrier");
+    test:assertEquals(carrierAgain, carrier);
+}
+
+@test:Config {}
+public isolated function testRecordViewToRecord() returns error? {
+    Proto3Schema ser = check new (Shipment);
+    foreach int id in 0 ..< 6 {
+        Shipment shipment = createShipment(id);
+        byte[] encoded = check ser.serialize(shipment);
+        RecordView view = check ser.deserializeView(encoded);
+
+        int[] parcels = check view.get("parcels");
+        test:assertEquals(parcels, shipment.parcels);
+        Shipment viewed = check view.toRecord();
+        Shipment decoded = check ser.deserialize(encoded);
+        test:assertEquals(viewed, decoded);
+        test:assertEquals(viewed, shipment);
+    }
+}
+
+@test:Config {}
+public isolated function testRecordViewDefaultValues() returns error? {
+    Proto3Schema ser = check new (Shipment);
+    Shipment shipment = createShipment(1);
+    shipment.id = 0;
+    shipment.carrier = "";
+    shipment.express = false;
+    shipment.parcels = [];
+    RecordView view = check ser.deserializeView(check ser.serialize(shipment));
+
+    int id = check view.get("id");
+    test:assertEquals(id, 0);
+    string carrier = check view.get("carrier");
+    test:assertEquals(carrier, "");
+    boolean express = check view.get("express");
+    test:assertFalse(express);
+    int[] parcels = check view.get("parcels");
+    test:assertEquals(parcels, []);
+    string? note = check view.get("note");
+    test:assertEquals(note, ());
+}
+
+@test:Config {}
+public isolated function testRecordViewWithEncodings() returns error? {
+    Proto3Schema dictionarySer = check new (Shipment, stringEncoding = DICTIONARY);
+    Proto3Schema oneofSer = check new (Shipment, unionEncoding = ONEOF, codecMode = SPECIALIZED);
+    foreach int id in 0 ..< 3 {
+        Shipment shipment = createShipment(id);
+        foreach Proto3Schema ser in [dictionarySer, oneofSer] {
+            RecordView view = check ser.deserializeView(check ser.serialize(shipment));
+            int|string? tracking = check view.get("tracking");
+            test:assertEquals(tracking, shipment.tracking);
+            map<string> attributes = check view.get("attributes");
+            test:assertEquals(attributes, shipment.attributes);
+            Shipment viewed = check view.toRecord();
+            test:assertEquals(viewed, shipment);
+        }
+    }
+}
+
+@test:Config {}
+public isolated function testRecordViewUnknownField() returns error? {
+    Proto3Schema ser = check new (Shipment);
+    RecordView view = check ser.deserializeView(check ser.serialize(createShipment(2)));
+
+    string|Error value = view.get("weight");
+    test:assertTrue(value is Error);
+    test:assertEquals((<Error>value).message(), "Record field not found: weight");
+}
+
+@test:Config {}
+public isolated function testRecordViewUnexpectedType() returns error? {
+    Proto3Schema ser = check new (Shipment);
+    RecordView view = check ser.deserializeView(check ser.serialize(createShipment(4)));
+
+    string|Error id = view.get("id");
+    test:assertTrue(id is Error);
+    test:assertEquals((<Error>id).message(), "Value of the field is not a value of the expected type: id");
+    int|Error carrier = view.get("carrier");
+    test:assertTrue(carrier is Error);
+
+    ShipmentAddress|Error address = view.toRecord();
+    test:assertTrue(address is Error);
+    Shipment shipment = check view.toRecord();
+    test:assertEquals(shipment, createShipment(4));
+}
+
+@test:Config {}
+public isolated function testRecordViewOfNonRecordSchema() returns error? {
+    Proto3Schema ser = check new (int[]);
+
+    RecordView|Error view = ser.deserializeView(check ser.serialize([1, 2, 3]));
+    test:assertTrue(view is Error);
+    test:assertEquals((<Error>view).message(), "Record views are only supported for schemas of record types");
+}
+
+@test:Config {}
+public isolated function testRecordViewOfMalformedRecord() returns error? {
+    Proto3Schema ser = check new (Shipment);
+    byte[] encoded = check ser.serialize(createShipment(3));
+    // A length delimited field whose payload is missing
+    encoded.push(0x0A, 0x7F);
+
+    RecordView|Error view = ser.deserializeView(encoded);
+    test:assertTrue(view is Error);
+}
@@ -0,0 +1,213 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+enum PaymentState {
+    PAYMENT_PENDING = "PENDING",
+    PAYMENT_SETTLED = "SETTLED",
+    PAYMENT_FAILED = "FAILED"
+}
+
+type ScannedPayment record {|
+    readonly int id;
+    string customer;
+    decimal amount;
+    float fee;
+    boolean refunded;
+    PaymentState state;
+    byte priority;
+    string note?;
+|};
+
+type ScannedPaymentTable table<ScannedPayment> key(id);
+
+type ScannedPaymentAmount record {|
+    int id;
+    decimal amount;
+|};
+
+type ScannedTransfer record {|
+    readonly int id;
+    string account;
+    decimal amount;
+    boolean flagged;
+|};
+
+type ScannedTransferTable table<ScannedTransfer> key(id);
+
+isolated function createScannedPayments(int count) returns ScannedPayment[] {
+    PaymentState[] states = [PAYMENT_PENDING, PAYMENT_SETTLED, PAYMENT_FAILED];
+    ScannedPayment[] payments = [];
+    foreach int id in 0 ..< count {
+        ScannedPayment payment = {
+            id: id,
+            customer: string `customer-${id % 5}`,
+            amount: <decimal>(id * 250),
+            fee: <float>id / 2.0,
+            refunded: id % 4 == 0,
+            state: states[id % 3],
+            priority: <byte>(id % 8)
+        };
+        if id % 2 == 0 {
+            payment.note = string `note-${id}`;
+        }
+        payments.push(payment);
+    }
+    return payments;
+}
+
+isolated function createScannedTransfers(int count) returns ScannedTransferTable {
+    ScannedTransferTable transfers = table [];
+    foreach int id in 0 ..< count {
+        transfers.add({id: id, account: string `account-${id % 3}`, amount: <decimal>id / 4, flagged: id % 5 == 0});
+    }
+    return transfers;
+}
+
+@test:Config {}
+public isolated function testScanTableOfRecords() returns error? {
+    ScannedPayment[] payments = createScannedPayments(40);
+    ScannedPaymentTable paymentTable = table key(id) from ScannedPayment payment in payments select payment;
+    Proto3Schema ser = check new (ScannedPaymentTable);
+    byte[] encoded = check ser.serialize(paymentTable);
+
+    ScannedPaymentTable failedPayments = check ser.scan(encoded, [
+        {fieldName: "state", value: "FAILED"},
+        {fieldName: "amount", operator: GREATER_THAN, value: 1000d}
+    ]);
+    ScannedPayment[] expected = from ScannedPayment payment in payments
+        where payment.state == PAYMENT_FAILED && payment.amount > 1000d
+        select payment;
+    test:assertEquals(failedPayments.toArray(), expected);
+
+    ScannedPaymentTable allPayments = check ser.scan(encoded, []);
+    test:assertEquals(allPayments.toArray(), payments);
+}
+
+@test:Config {}
+public isolated function testScanArrayWithOperators() returns error? {
+    ScannedPayment[] payments = createScannedPayments(24);
+    Proto3Schema ser = check new (ScannedPayment[]);
+    byte[] encoded = check ser.serialize(payments);
+
+    ScannedPayment[] result = check ser.scan(encoded, [{fieldName: "id", operator: LESS_THAN, value: 5}]);
+    test:assertEquals(result, from ScannedPayment payment in payments where payment.id < 5 select payment);
+
+    result = check ser.scan(encoded, [{fieldName: "fee", operator: GREATER_THAN_OR_EQUAL, value: 8.0}]);
+    test:assertEquals(result, from ScannedPayment payment in payments where payment.fee >= 8.0 select payment);
+
+    result = check ser.scan(encoded, [{fieldName: "customer", operator: NOT_EQUAL, value: "customer-1"}]);
+    test:assertEquals(result, from ScannedPayment payment in payments where payment.customer != "customer-1"
+        select payment);
+
+    result = check ser.scan(encoded, [{fieldName: "refunded", value: false}]);
+    test:assertEquals(result, from ScannedPayment payment in payments where !payment.refunded select payment);
+
+    result = check ser.scan(encoded, [{fieldName: "priority", operator: LESS_THAN_OR_EQUAL, value: 2}]);
+    test:assertEquals(result, from ScannedPayment payment in payments where payment.priority <= 2 select payment);
+
+    // Rows without the optional field don't match
+    result = check ser.scan(encoded, [{fieldName: "note", operator: GREATER_THAN, value: "note-1"}]);
+    test:assertEquals(result, from ScannedPayment payment in payments
+        let string? note = payment.note
+        where note is string && note > "note-1"
+        select payment);
+
+    result = check ser.scan(encoded, [
+        {fieldName: "amount", operator: GREATER_THAN, value: 0d},
+        {fieldName: "amount", operator: LESS_THAN_OR_EQUAL, value: 1500d},
+        {fieldName: "state", operator: NOT_EQUAL, value: "PENDING"}
+    ]);
+    test:assertEquals(result, from ScannedPayment payment in payments
+        where payment.amount > 0d && payment.amount <= 1500d && payment.state != PAYMENT_PENDING
+        select payment);
+}
+
+@test:Config {}
+public isolated function testScanWithEncodings() returns error? {
+    ScannedTransferTable transfers = createScannedTransfers(30);
+    Proto3Schema[] schemas = [
+        check new (ScannedTransferTable, codecMode = SPECIALIZED),
+        check new (ScannedTransferTable, stringEncoding = DICTIONARY),
+        check new (ScannedTransferTable, tableLayout = COLUMNAR),
+        check new (ScannedTransferTable, decimalEncoding = COMPACT)
+    ];
+    ScannedTransfer[] expected = from ScannedTransfer transfer in transfers
+        where transfer.account == "account-2" && !transfer.flagged
+        select transfer;
+    foreach Proto3Schema ser in schemas {
+        byte[] encoded = check ser.serialize(transfers);
+        ScannedTransferTable result = check ser.scan(encoded, [
+            {fieldName: "account", value: "account-2"},
+            {fieldName: "flagged", operator: NOT_EQUAL, value: true}
+        ]);
+        test:assertEquals(result.toArray(), expected);
+    }
+}
+
+@test:Config {}
+public isolated function testInvalidScan() returns error? {
+    Proto3Schema ser = check new (ScannedPayment[]);
+    byte[] encoded = check ser.serialize(createScannedPayments(4));
+
+    RowPredicate[] predicates = [
+        {fieldName: "currency", value: "USD"},
+        {fieldName: "amount", value: 1000},
+        {fieldName: "refunded", operator: LESS_THAN, value: true}
+    ];
+    foreach RowPredicate predicate in predicates {
+        ScannedPayment[]|Error result = ser.scan(encoded, [predicate]);
+        test:assertTrue(result is Error);
+        if result is Error {
+            test:assertEquals(result.message(), "Invalid predicate for field: " + predicate.fieldName);
+        }
+    }
+
+    Proto3Schema recordSer = check new (ScannedTransfer);
+    ScannedTransfer transfer = {id: 1, account: "account-1", amount: 1, flagged: false};
+    byte[] encodedRecord = check recordSer.serialize(transfer);
+    ScannedTransfer|Error result = recordSer.scan(encodedRecord, []);
+    test:assertTrue(result is Error);
+    if result is Error {
+        test:assertEquals(result.message(), "Scanning is only supported for schemas of arrays and tables of records");
+    }
+}
+
+@test:Config {}
+public isolated function testScanIntoExpectedType() returns error? {
+    ScannedPayment[] payments = createScannedPayments(12);
+    Proto3Schema ser = check new (ScannedPayment[]);
+    byte[] encoded = check ser.serialize(payments);
+
+    ScannedPaymentAmount[] amounts = check ser.scan(encoded, [
+        {fieldName: "amount", operator: GREATER_THAN, value: 500d}
+    ]);
+    test:assertEquals(amounts, from ScannedPayment payment in payments
+        where payment.amount > 500d
+        select {id: payment.id, amount: payment.amount});
+
+    ScannedTransfer[]|Error transfers = ser.scan(encoded, []);
+    test:assertTrue(transfers is Error);
+    if transfers is Error {
+        test:assertTrue(transfers.message().includes("not a value of the expected type"));
+    }
+    ScannedPaymentAmount[]|Error result = ser.scan(encoded, [{fieldName: "customer", value: "customer-1"}]);
+    test:assertTrue(result is Error);
+    if result is Error {
+        test:assertEquals(result.message(), "Invalid predicate for field: customer");
+    }
+}
@@ -0,0 +1,52 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type CachedRecord record {
+    string name;
+    int[] values;
+};
+
+type CachedRecordArray CachedRecord[];
+
+@test:Config {}
+public function testSchemaCacheHitsAndMisses() returns error? {
+    SchemaCacheStatistics initial = getSchemaCacheStatistics();
+
+    Proto3Schema first = check new (CachedRecordArray);
+    SchemaCacheStatistics afterFirst = getSchemaCacheStatistics();
+    test:assertTrue(afterFirst.misses > initial.misses);
+    test:assertTrue(afterFirst.size > 0);
+
+    Proto3Schema second = check new (CachedRecordArray);
+    SchemaCacheStatistics afterSecond = getSchemaCacheStatistics();
+    test:assertTrue(afterSecond.hits > afterFirst.hits);
+
+    CachedRecord[] data = [{name: "first", values: [1, 2, 3]}, {name: "second", values: []}];
+    byte[] encoded = check first.serialize(data);
+    CachedRecord[] decoded = check second.deserialize(encoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public function testSchemaCacheSeparatesCodecModes() returns error? {
+    Proto3Schema interpreted = check new (CachedRecord);
+    Proto3Schema specialized = check new (CachedRecord, codecMode = SPECIALIZED);
+
+    test:assertEquals(interpreted.codecMode(), INTERPRETED);
+    test:assertEquals(specialized.codecMode(), SPECIALIZED);
+}
@@ -0,0 +1,82 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type BufferedRecord record {
+    string name;
+    int[] values;
+    decimal amount;
+};
+
+@test:Config {}
+public function testSerializeIntoMatchesSerialize() returns error? {
+    Proto3Schema ser = check new (BufferedRecord);
+    BufferedRecord data = {name: "buffered", values: [1, -2, 300], amount: 12.5};
+
+    byte[] expected = check ser.serialize(data);
+    byte[] buffer = [];
+    buffer.setLength(expected.length + 8);
+    buffer[0] = 42;
+
+    int length = check ser.serializeInto(data, buffer, 1);
+    test:assertEquals(length, expected.length);
+    test:assertEquals(buffer[0], 42);
+    test:assertEquals(buffer.slice(1, 1 + length), expected);
+
+    BufferedRecord decoded = check ser.deserialize(buffer.slice(1, 1 + length));
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public function testSerializeIntoReusedBuffer() returns error? {
+    Proto3Schema ser = check new (BufferedRecord);
+    byte[] buffer = [];
+    buffer.setLength(256);
+
+    foreach int i in 0 ..< 10 {
+        BufferedRecord data = {name: i.toString(), values: [i, i * i], amount: <decimal>i};
+        int length = check ser.serializeInto(data, buffer);
+        BufferedRecord decoded = check ser.deserialize(buffer.slice(0, length));
+        test:assertEquals(decoded, data);
+    }
+}
+
+@test:Config {}
+public function testSerializeIntoBufferTooSmall() returns error? {
+    Proto3Schema ser = check new (string);
+    byte[] buffer = [0, 0, 0, 0];
+
+    int|Error result = ser.serializeInto("a value that does not fit", buffer);
+    test:assertTrue(result is Error);
+    if result is Error {
+        string expectedMessage = "Failed to Serialize data: Buffer too small, 27 bytes required but 4 bytes available";
+        test:assertEquals(result.message(), expectedMessage);
+    }
+    test:assertEquals(buffer, [0, 0, 0, 0]);
+}
+
+@test:Config {}
+public function testSerializeIntoInvalidOffset() returns error? {
+    Proto3Schema ser = check new (int);
+    byte[] buffer = [0, 0, 0, 0];
+
+    int|Error result = ser.serializeInto(1, buffer, 5);
+    test:assertTrue(result is Error);
+    if result is Error {
+        test:assertEquals(result.message(), "Failed to Serialize data: Invalid buffer offset: 5");
+    }
+}
@@ -0,0 +1,222 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/io;
+import ballerina/test;
+
+type Employee record {|
+    readonly int id;
+    string name;
+    string department;
+    string location;
+    string? manager;
+|};
+
+type EmployeeTable table<Employee> key(id);
+
+type DepartmentNames string[];
+
+type LocationsByTeam map<map<string>>;
+
+isolated function createEmployees(int count) returns EmployeeTable {
+    string[] departments = ["engineering", "marketing", "finance"];
+    EmployeeTable employees = table [];
+    foreach int i in 0 ..< count {
+        employees.add({
+            id: i,
+            name: string `employee-${i}`,
+            department: departments[i % departments.length()],
+            location: i % 2 == 0 ? "Colombo" : "San Jose",
+            manager: i % 4 == 0 ? () : "employee-0"
+        });
+    }
+    return employees;
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedTableRoundTrip() returns error? {
+    Proto3Schema ser = check new (EmployeeTable, stringEncoding = DICTIONARY);
+    EmployeeTable data = createEmployees(100);
+
+    EmployeeTable decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+    test:assertEquals(decoded.keys(), data.keys());
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedTableIsSmaller() returns error? {
+    Proto3Schema plainSchema = check new (EmployeeTable);
+    Proto3Schema dictionarySchema = check new (EmployeeTable, stringEncoding = DICTIONARY);
+    EmployeeTable data = createEmployees(1000);
+
+    byte[] plainEncoded = check plainSchema.serialize(data);
+    byte[] dictionaryEncoded = check dictionarySchema.serialize(data);
+    test:assertTrue(dictionaryEncoded.length() < plainEncoded.length());
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedSpecializedTable() returns error? {
+    Proto3Schema ser = check new (EmployeeTable, codecMode = SPECIALIZED, stringEncoding = DICTIONARY);
+    Proto3Schema interpretedSchema = check new (EmployeeTable, stringEncoding = DICTIONARY);
+    EmployeeTable data = createEmployees(50);
+
+    byte[] encoded = check ser.serialize(data);
+    test:assertEquals(encoded, check interpretedSchema.serialize(data));
+    EmployeeTable decoded = check ser.deserialize(encoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedColumnarTable() returns error? {
+    Proto3Schema ser = check new (EmployeeTable, tableLayout = COLUMNAR, stringEncoding = DICTIONARY);
+    EmployeeTable data = createEmployees(50);
+
+    EmployeeTable decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedStringArray() returns error? {
+    Proto3Schema ser = check new (DepartmentNames, stringEncoding = DICTIONARY);
+    DepartmentNames data = ["engineering", "hr", "", "engineering", "hr", "finance", "engineering", "finance"];
+
+    DepartmentNames decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedMapKeys() returns error? {
+    Proto3Schema ser = check new (LocationsByTeam, stringEncoding = DICTIONARY);
+    LocationsByTeam data = {
+        "platform": {"primary": "Colombo", "secondary": "San Jose"},
+        "payments": {"primary": "San Jose", "secondary": "Colombo"},
+        "search": {"primary": "Colombo"}
+    };
+
+    LocationsByTeam decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedBatch() returns error? {
+    Proto3Schema ser = check new (DepartmentNames, stringEncoding = DICTIONARY);
+    DepartmentNames[] data = [["finance", "finance"], ["finance", "marketing"], []];
+
+    byte[][] encoded = check ser.serializeBatch(data);
+    // Each message has its own string table, so "finance" is written in full in both messages
+    test:assertEquals(encoded[0].length(), 15);
+    test:assertEquals(encoded[1].length(), 26);
+    DepartmentNames[] decoded = check ser.deserializeBatch(encoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedDistinctStrings() returns error? {
+    Proto3Schema ser = check new (DepartmentNames, stringEncoding = DICTIONARY);
+    DepartmentNames data = ["engineering", "marketing", "hr"];
+
+    // The string table holds each string once, followed by one byte indexes in the value
+    byte[] encoded = check ser.serialize(data);
+    test:assertEquals(encoded.length(), 35);
+    DepartmentNames decoded = check ser.deserialize(encoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedStringArrayIsPacked() returns error? {
+    Proto3Schema ser = check new (DepartmentNames, stringEncoding = DICTIONARY);
+
+    // The table holds "finance" and the value holds the indexes 1, 0 and 1 as a single packed field
+    byte[] encoded = check ser.serialize(["finance", "", "finance"]);
+    test:assertEquals(encoded, [10, 7, 102, 105, 110, 97, 110, 99, 101, 18, 5, 10, 3, 1, 0, 1]);
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedPrimitiveString() returns error? {
+    Proto3Schema ser = check new (string, stringEncoding = DICTIONARY);
+
+    foreach string data in ["Colombo", ""] {
+        string decoded = check ser.deserialize(check ser.serialize(data));
+        test:assertEquals(decoded, data);
+    }
+}
+
+type Office record {|
+    string city;
+    "OPEN"|"CLOSED" status;
+    string|int code;
+    map<string> phones;
+|};
+
+@test:Config {}
+public isolated function testDictionaryEncodedUnionsAndSingletons() returns error? {
+    Proto3Schema ser = check new (Office[], stringEncoding = DICTIONARY);
+    Proto3Schema oneofSer = check new (Office[], stringEncoding = DICTIONARY, unionEncoding = ONEOF);
+    Office[] data = [
+        {city: "Colombo", status: "OPEN", code: "CMB", phones: {"front": "011", "CMB": "012"}},
+        {city: "San Jose", status: "CLOSED", code: 408, phones: {"front": "408"}},
+        {city: "Colombo", status: "OPEN", code: "OPEN", phones: {}}
+    ];
+
+    foreach Proto3Schema schema in [ser, oneofSer] {
+        Office[] decoded = check schema.deserialize(check schema.serialize(data));
+        test:assertEquals(decoded, data);
+    }
+}
+
+@test:Config {}
+public isolated function testDictionaryEncodedStreamedValue() returns error? {
+    Proto3Schema ser = check new (EmployeeTable, stringEncoding = DICTIONARY);
+    EmployeeTable data = createEmployees(200);
+    string filePath = "dictionary_encoded_employees.bin";
+
+    check ser.serializeTo(data, filePath);
+    test:assertEquals(check io:fileReadBytes(filePath), check ser.serialize(data));
+    EmployeeTable decoded = check ser.deserializeFrom(filePath);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testPlainSchemaDoesNotReadStringTable() returns error? {
+    Proto3Schema plainSchema = check new (DepartmentNames);
+    Proto3Schema dictionarySchema = check new (DepartmentNames, stringEncoding = DICTIONARY);
+
+    // String fields of a dictionary encoded message are indexes, so the schemas are not wire compatible
+    byte[] encoded = check dictionarySchema.serialize(["finance", "finance"]);
+    DepartmentNames|Error decoded = plainSchema.deserialize(encoded);
+    test:assertTrue(decoded is Error || decoded != ["finance", "finance"]);
+}
+
+@test:Config {}
+public isolated function testStringTableIndexOutOfRange() returns error? {
+    Proto3Schema ser = check new (DepartmentNames, stringEncoding = DICTIONARY);
+    // The table holds "hr" and the value refers to the fifth string
+    byte[] encoded = [10, 2, 104, 114, 18, 2, 8, 5];
+
+    DepartmentNames|Error decoded = ser.deserialize(encoded);
+    test:assertTrue(decoded is Error);
+}
+
+@test:Config {}
+public isolated function testStringTableAfterValue() returns error? {
+    Proto3Schema ser = check new (DepartmentNames, stringEncoding = DICTIONARY);
+    // Byte arrays are read whatever the order of the fields, the value refers to "hr" and ""
+    byte[] encoded = [18, 4, 8, 1, 8, 0, 10, 2, 104, 114];
+
+    DepartmentNames decoded = check ser.deserialize(encoded);
+    test:assertEquals(decoded, ["hr", ""]);
+}
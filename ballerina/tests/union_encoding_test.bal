@@ -0,0 +1,139 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type Payment record {|
+    string id;
+    int|string|decimal amount;
+    int|string? reference;
+    byte|string|() level;
+    float|boolean score?;
+    int|int[] quantity;
+|};
+
+type Payments Payment[];
+
+type PaymentSummary record {|
+    int? count;
+    int|string code;
+    string? note;
+|};
+
+isolated function createPayments(int count) returns Payment[] {
+    Payment[] payments = [];
+    foreach int i in 0 ..< count {
+        Payment payment = {
+            id: string `payment-${i}`,
+            amount: i % 3 == 0 ? i : i % 3 == 1 ? string `${i}.00` : <decimal>i / 4,
+            reference: i % 4 == 0 ? () : i % 4 == 1 ? i * 10 : string `ref-${i}`,
+            level: i % 3 == 0 ? () : i % 3 == 1 ? <byte>(i % 256) : "high",
+            quantity: i % 2 == 0 ? i : [i, i + 1]
+        };
+        if i % 5 == 1 {
+            payment.score = <float>i * 0.5;
+        } else if i % 5 == 2 {
+            payment.score = i % 2 == 0;
+        }
+        payments.push(payment);
+    }
+    return payments;
+}
+
+@test:Config {}
+public isolated function testOneofUnionRoundTrip() returns error? {
+    Proto3Schema ser = check new (Payment, unionEncoding = ONEOF);
+
+    foreach Payment payment in createPayments(30) {
+        Payment decoded = check ser.deserialize(check ser.serialize(payment));
+        test:assertEquals(decoded, payment);
+    }
+}
+
+@test:Config {}
+public isolated function testOneofUnionKeepsZeroValues() returns error? {
+    Proto3Schema ser = check new (Payment, unionEncoding = ONEOF);
+    Payment data = {id: "", amount: 0, reference: "", level: 0, score: 0.0, quantity: 0};
+
+    Payment decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+
+    data.score = false;
+    data.amount = <decimal>0;
+    decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testOneofUnionKeepsAbsentOptionalField() returns error? {
+    Proto3Schema ser = check new (Payment, unionEncoding = ONEOF);
+    Payment data = {id: "payment", amount: "10.00", reference: (), level: (), quantity: [1, 2]};
+
+    Payment decoded = check ser.deserialize(check ser.serialize(data));
+    test:assertEquals(decoded, data);
+    test:assertFalse(decoded.hasKey("score"));
+}
+
+@test:Config {}
+public isolated function testOneofUnionEncodingIsSmaller() returns error? {
+    Proto3Schema messageSchema = check new (Payments);
+    Proto3Schema oneofSchema = check new (Payments, unionEncoding = ONEOF);
+    Payment[] data = createPayments(100);
+
+    byte[] messageEncoded = check messageSchema.serialize(data);
+    byte[] oneofEncoded = check oneofSchema.serialize(data);
+    test:assertTrue(oneofEncoded.length() < messageEncoded.length());
+    Payment[] decoded = check oneofSchema.deserialize(oneofEncoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testOneofUnionWithSpecializedCodec() returns error? {
+    Proto3Schema ser = check new (Payment, codecMode = SPECIALIZED, unionEncoding = ONEOF);
+    Proto3Schema interpretedSchema = check new (Payment, unionEncoding = ONEOF);
+
+    foreach Payment payment in createPayments(10) {
+        byte[] encoded = check ser.serialize(payment);
+        test:assertEquals(encoded, check interpretedSchema.serialize(payment));
+        Payment decoded = check ser.deserialize(encoded);
+        test:assertEquals(decoded, payment);
+    }
+}
+
+@test:Config {}
+public isolated function testOneofUnionWithOptionalFields() returns error? {
+    Proto3Schema ser = check new (PaymentSummary, nilableFieldEncoding = OPTIONAL_FIELD, unionEncoding = ONEOF);
+    PaymentSummary[] data = [
+        {count: (), code: 0, note: ()},
+        {count: 0, code: "", note: ""},
+        {count: 12, code: "A-12", note: "settled"}
+    ];
+
+    foreach PaymentSummary summary in data {
+        PaymentSummary decoded = check ser.deserialize(check ser.serialize(summary));
+        test:assertEquals(decoded, summary);
+    }
+}
+
+@test:Config {}
+public isolated function testOneofUnionEncodingDoesNotShareMessageSchema() returns error? {
+    Proto3Schema messageSchema = check new (Payment);
+    Proto3Schema oneofSchema = check new (Payment, unionEncoding = ONEOF);
+    Payment data = {id: "payment", amount: 10, reference: 1, level: 1, quantity: 1};
+
+    test:assertNotEquals(check oneofSchema.serialize(data), check messageSchema.serialize(data));
+}
@@ -193,3 +193,27 @@ public isolated function testUnionWithConstantValues()returns error? {
     Options decoded = check des.deserialize(encoded);
     test:assertEquals(decoded, data);
 }
+
+type UnionArray UnionOfPrimitiveAndArrays[];
+
+@test:Config {}
+public isolated function testArrayOfUnionMembers() returns error? {
+    UnionArray data = [1.5d, <byte>7, 42, 2.5, true, "text", ["a", "b"], [[1, 2], [3]], (), "again", 43, ["c"]];
+    Proto3Schema ser = check new (UnionArray);
+
+    // The second serialization uses the member writers resolved by the first
+    byte[] encoded = check ser.serialize(data);
+    test:assertEquals(check ser.serialize(data), encoded);
+    UnionArray decoded = check ser.deserialize(encoded);
+    test:assertEquals(decoded, data);
+}
+
+@test:Config {}
+public isolated function testUnionRejectsValueOfOtherType() returns error? {
+    Proto3Schema ser = check new (PrimitiveUnion);
+
+    byte[]|Error encoded = ser.serialize(["text"]);
+    test:assertTrue(encoded is Error);
+    encoded = ser.serialize(["text"]);
+    test:assertTrue(encoded is Error);
+}
@@ -0,0 +1,118 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/jballerina.java;
+import ballerina/serdes;
+
+const int WARMUP_ITERATIONS = 20000;
+const int MEASURED_ITERATIONS = 100000;
+const int PAYLOAD_SIZE = 1000;
+const int PAYLOAD_ITERATIONS = 200;
+
+type Order record {
+    int id;
+    string customer;
+    decimal total;
+    float[] weights;
+    boolean shipped;
+};
+
+type OrderLine record {
+    int lineId;
+    string sku;
+    string warehouse;
+    string status;
+    int quantity;
+    float price;
+    boolean gift;
+};
+
+type OrderLines OrderLine[];
+
+type Attributes map<string>[];
+
+// Allocation per call is measured with the allocated bytes counter of the current thread. The measured loops do not
+// yield, so the strand stays on the same thread.
+public function main() returns error? {
+    serdes:Proto3Schema ser = check new (Order);
+    Order 'order = {id: 1024, customer: "Jane Doe", total: 149.99, weights: [0.5, 1.25, 2.0], shipped: true};
+
+    byte[] encoded = check ser.serialize('order);
+    byte[] buffer = [];
+    buffer.setLength(encoded.length);
+
+    check measure("serialize", function() returns error? {
+        _ = check ser.serialize('order);
+    });
+    check measure("serializeInto", function() returns error? {
+        _ = check ser.serializeInto('order, buffer);
+    });
+
+    serdes:Proto3Schema linesSchema = check new (OrderLines);
+    OrderLines lines = [];
+    serdes:Proto3Schema attributesSchema = check new (Attributes);
+    Attributes attributes = [];
+    foreach int i in 0 ..< PAYLOAD_SIZE {
+        lines.push({lineId: i, sku: string `SKU-${i % 50}`, warehouse: "WH-1", status: "PACKED", quantity: i % 7,
+            price: 9.99, gift: i % 2 == 0});
+        attributes.push({"color": "red", "size": "M", "material": "cotton", "origin": string `country-${i % 20}`});
+    }
+    byte[] encodedLines = check linesSchema.serialize(lines);
+    byte[] encodedAttributes = check attributesSchema.serialize(attributes);
+
+    check measure("deserialize records", function() returns error? {
+        OrderLines _ = check linesSchema.deserialize(encodedLines);
+    }, PAYLOAD_ITERATIONS);
+    check measure("deserialize maps", function() returns error? {
+        Attributes _ = check attributesSchema.deserialize(encodedAttributes);
+    }, PAYLOAD_ITERATIONS);
+}
+
+function measure(string name, function () returns error? operation, int iterations = MEASURED_ITERATIONS)
+        returns error? {
+    foreach int i in 0 ..< int:min(iterations, WARMUP_ITERATIONS) {
+        check operation();
+    }
+    int startBytes = allocatedBytes();
+    foreach int i in 0 ..< iterations {
+        check operation();
+    }
+    int bytesPerCall = (allocatedBytes() - startBytes) / iterations;
+    io:println(string `${name}: ${bytesPerCall} bytes allocated per call`);
+}
+
+function allocatedBytes() returns int {
+    return getThreadAllocatedBytes(getThreadMXBean(), getThreadId(currentThread()));
+}
+
+function getThreadMXBean() returns handle = @java:Method {
+    'class: "java.lang.management.ManagementFactory"
+} external;
+
+function currentThread() returns handle = @java:Method {
+    'class: "java.lang.Thread"
+} external;
+
+function getThreadId(handle thread) returns int = @java:Method {
+    'class: "java.lang.Thread",
+    name: "getId"
+} external;
+
+function getThreadAllocatedBytes(handle threadMXBean, int threadId) returns int = @java:Method {
+    'class: "com.sun.management.ThreadMXBean",
+    paramTypes: ["long"]
+} external;
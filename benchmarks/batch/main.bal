@@ -0,0 +1,70 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/serdes;
+import ballerina/time;
+
+const int BATCH_SIZE = 1000;
+const int ROUNDS = 200;
+
+type Reading record {
+    int sensorId;
+    string location;
+    float value;
+    boolean valid;
+};
+
+// Compares the throughput of a batch call against a loop of single calls for the same values
+public function main() returns error? {
+    serdes:Proto3Schema ser = check new (Reading);
+    Reading[] readings = [];
+    foreach int i in 0 ..< BATCH_SIZE {
+        readings.push({sensorId: i, location: string `zone-${i % 16}`, value: <float>i * 0.25, valid: i % 7 != 0});
+    }
+    byte[][] encodedReadings = check ser.serializeBatch(readings);
+
+    check measure("serialize loop", function() returns error? {
+        foreach Reading reading in readings {
+            _ = check ser.serialize(reading);
+        }
+    });
+    check measure("serializeBatch", function() returns error? {
+        _ = check ser.serializeBatch(readings);
+    });
+    check measure("deserialize loop", function() returns error? {
+        foreach byte[] encodedReading in encodedReadings {
+            Reading _ = check ser.deserialize(encodedReading);
+        }
+    });
+    check measure("deserializeBatch", function() returns error? {
+        Reading[] _ = check ser.deserializeBatch(encodedReadings);
+    });
+}
+
+function measure(string name, function () returns error? operation) returns error? {
+    // The first half of the rounds warms up the code paths
+    foreach int i in 0 ..< ROUNDS / 2 {
+        check operation();
+    }
+    decimal startTime = time:monotonicNow();
+    foreach int i in 0 ..< ROUNDS {
+        check operation();
+    }
+    decimal elapsedSeconds = time:monotonicNow() - startTime;
+    decimal valuesPerSecond = <decimal>(ROUNDS * BATCH_SIZE) / elapsedSeconds;
+    io:println(string `${name}: ${valuesPerSecond.round()} values per second`);
+}
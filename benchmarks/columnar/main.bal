@@ -0,0 +1,73 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/serdes;
+import ballerina/time;
+
+const int ROW_COUNT = 100000;
+const int ROUNDS = 20;
+
+type Sample record {|
+    readonly int id;
+    int timestamp;
+    float temperature;
+    float humidity;
+    boolean alarm;
+    string site;
+    float? pressure;
+|};
+
+type SampleTable table<Sample> key(id);
+
+// Compares the encoded size and the serialization and deserialization time of an analytics table in the row and
+// the columnar table layouts
+public function main() returns error? {
+    SampleTable samples = table [];
+    foreach int i in 0 ..< ROW_COUNT {
+        samples.add({
+            id: i,
+            timestamp: 1660000000 + i,
+            temperature: 20.0 + <float>(i % 100) / 10,
+            humidity: <float>(i % 60),
+            alarm: i % 97 == 0,
+            site: string `site-${i % 8}`,
+            pressure: i % 10 == 0 ? () : 1013.25
+        });
+    }
+    serdes:Proto3Schema rowSchema = check new (SampleTable);
+    serdes:Proto3Schema columnarSchema = check new (SampleTable, tableLayout = serdes:COLUMNAR);
+    check report("row", rowSchema, samples);
+    check report("columnar", columnarSchema, samples);
+}
+
+function report(string layout, serdes:Proto3Schema schema, SampleTable samples) returns error? {
+    byte[] encoded = check schema.serialize(samples);
+    decimal startTime = time:monotonicNow();
+    foreach int i in 0 ..< ROUNDS {
+        _ = check schema.serialize(samples);
+    }
+    decimal serializeSeconds = ((time:monotonicNow() - startTime) / ROUNDS).round(4);
+
+    startTime = time:monotonicNow();
+    foreach int i in 0 ..< ROUNDS {
+        SampleTable _ = check schema.deserialize(encoded);
+    }
+    decimal deserializeSeconds = ((time:monotonicNow() - startTime) / ROUNDS).round(4);
+
+    io:println(string `${layout}: ${encoded.length()} bytes, serialize ${serializeSeconds} s, `
+        + string `deserialize ${deserializeSeconds} s per table`);
+}
@@ -0,0 +1,73 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/io;
+import ballerina/serdes;
+import ballerina/time;
+
+const int ROW_COUNT = 100000;
+const int ROUNDS = 20;
+
+type Event record {|
+    readonly int id;
+    string status;
+    string region;
+    string currency;
+    float amount;
+|};
+
+type EventTable table<Event> key(id);
+
+// Compares the encoded size and the serialization and deserialization time of an event table whose string fields
+// take a few distinct values in the plain and the dictionary string encodings
+public function main() returns error? {
+    string[] statuses = ["PENDING", "COMPLETED", "FAILED", "REFUNDED"];
+    string[] regions = ["us-east", "us-west", "eu-central", "ap-south", "ap-east"];
+    string[] currencies = ["USD", "EUR", "LKR"];
+    EventTable events = table [];
+    foreach int i in 0 ..< ROW_COUNT {
+        events.add({
+            id: i,
+            status: statuses[i % statuses.length()],
+            region: regions[i % regions.length()],
+            currency: currencies[i % currencies.length()],
+            amount: <float>(i % 1000) / 4
+        });
+    }
+    serdes:Proto3Schema plainSchema = check new (EventTable);
+    serdes:Proto3Schema dictionarySchema = check new (EventTable, stringEncoding = serdes:DICTIONARY);
+    check report("plain", plainSchema, events);
+    check report("dictionary", dictionarySchema, events);
+}
+
+function report(string encoding, serdes:Proto3Schema schema, EventTable events) returns error? {
+    byte[] encoded = check schema.serialize(events);
+    decimal startTime = time:monotonicNow();
+    foreach int i in 0 ..< ROUNDS {
+        _ = check schema.serialize(events);
+    }
+    decimal serializeSeconds = ((time:monotonicNow() - startTime) / ROUNDS).round(4);
+
+    startTime = time:monotonicNow();
+    foreach int i in 0 ..< ROUNDS {
+        EventTable _ = check schema.deserialize(encoded);
+    }
+    decimal deserializeSeconds = ((time:monotonicNow() - startTime) / ROUNDS).round(4);
+
+    io:println(string `${encoding}: ${encoded.length()} bytes, serialize ${serializeSeconds} s, `
+        + string `deserialize ${deserializeSeconds} s per table`);
+}
@@ -0,0 +1,141 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/serdes;
+import ballerina/time;
+
+const int WARMUP_ITERATIONS = 2000;
+const int MEASURED_ITERATIONS = 10000;
+
+type Customer record {|
+    int id;
+    string name;
+    string email;
+    string phone;
+    string[] addresses;
+|};
+
+type LineItem record {|
+    readonly int lineId;
+    string sku;
+    int quantity;
+    decimal price;
+    string warehouse;
+|};
+
+type LineItemTable table<LineItem> key(lineId);
+
+type StatusChange record {|
+    int timestamp;
+    string status;
+    string actor;
+|};
+
+type Envelope record {|
+    int id;
+    string region;
+    int priority;
+    string tenant;
+    string channel;
+    string currency;
+    boolean express;
+    boolean gift;
+    int createdAt;
+    int updatedAt;
+    float weight;
+    float volume;
+    Customer customer;
+    LineItemTable lines;
+    map<string> attributes;
+    StatusChange[] history;
+    float[] measurements;
+    string[] notes;
+|};
+
+// Compares reading three routing fields of a wide record from a deserialized record and from a record view
+public function main() returns error? {
+    serdes:Proto3Schema schema = check new (Envelope);
+    byte[] encoded = check schema.serialize(createEnvelope());
+    io:println(string `encoded record: ${encoded.length()} bytes`);
+
+    check measure("deserialize and read 3 fields", function() returns error? {
+        Envelope envelope = check schema.deserialize(encoded);
+        _ = [envelope.id, envelope.region, envelope.priority];
+    });
+    check measure("view and read 3 fields", function() returns error? {
+        serdes:RecordView view = check schema.deserializeView(encoded);
+        int _ = check view.get("id");
+        string _ = check view.get("region");
+        int _ = check view.get("priority");
+    });
+    check measure("view and read all fields", function() returns error? {
+        serdes:RecordView view = check schema.deserializeView(encoded);
+        Envelope _ = check view.toRecord();
+    });
+}
+
+function createEnvelope() returns Envelope {
+    LineItemTable lines = table [];
+    StatusChange[] history = [];
+    map<string> attributes = {};
+    float[] measurements = [];
+    string[] notes = [];
+    foreach int i in 0 ..< 50 {
+        lines.add({lineId: i, sku: string `SKU-${i}`, quantity: i % 5 + 1, price: <decimal>i * 2.5,
+            warehouse: string `WH-${i % 4}`});
+        history.push({timestamp: 1660000000 + i * 60, status: i % 2 == 0 ? "PACKED" : "SHIPPED",
+            actor: string `user-${i % 7}`});
+        attributes[string `attribute-${i}`] = string `value-${i}`;
+        notes.push(string `note ${i} for the shipment`);
+    }
+    foreach int i in 0 ..< 200 {
+        measurements.push(<float>i * 0.25);
+    }
+    return {
+        id: 4242,
+        region: "eu-west",
+        priority: 3,
+        tenant: "acme",
+        channel: "web",
+        currency: "EUR",
+        express: true,
+        gift: false,
+        createdAt: 1660000000,
+        updatedAt: 1660003600,
+        weight: 12.5,
+        volume: 0.75,
+        customer: {id: 7, name: "Jane Doe", email: "jane@example.com", phone: "+44 20 7946 0000",
+            addresses: ["1 Main Street", "2 High Street"]},
+        lines: lines,
+        attributes: attributes,
+        history: history,
+        measurements: measurements,
+        notes: notes
+    };
+}
+
+function measure(string name, function () returns error? operation) returns error? {
+    foreach int i in 0 ..< WARMUP_ITERATIONS {
+        check operation();
+    }
+    decimal startTime = time:monotonicNow();
+    foreach int i in 0 ..< MEASURED_ITERATIONS {
+        check operation();
+    }
+    decimal microseconds = ((time:monotonicNow() - startTime) * 1000000 / MEASURED_ITERATIONS).round(2);
+    io:println(string `${name}: ${microseconds} us per call`);
+}
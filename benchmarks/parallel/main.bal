@@ -0,0 +1,85 @@
+// Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+
+// http://www.apache.org/licenses/LICENSE-2.0
+
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/jballerina.java;
+import ballerina/serdes;
+import ballerina/time;
+
+const int ROW_COUNT = 500000;
+const int ROUNDS = 10;
+
+type Row record {
+    readonly int id;
+    string name;
+    float amount;
+    string[] labels;
+};
+
+type RowTable table<Row> key(id);
+
+// Compares sequential and parallel serialization and deserialization of a large table. The number of workers used by the parallel
+// encoder is the number of processors available to the JVM.
+public function main() returns error? {
+    RowTable rows = table [];
+    foreach int i in 0 ..< ROW_COUNT {
+        rows.add({id: i, name: string `row-${i}`, amount: <float>i * 1.5, labels: ["label", i.toString()]});
+    }
+    serdes:Proto3Schema sequential = check new (RowTable);
+    serdes:Proto3Schema parallel = check new (RowTable, parallelThreshold = 10000);
+
+    io:println(string `available processors: ${availableProcessors(getRuntime())}`);
+    decimal sequentialSeconds = check measureSerialize(sequential, rows);
+    decimal parallelSeconds = check measureSerialize(parallel, rows);
+    report("serialize", sequentialSeconds, parallelSeconds);
+
+    byte[] encoded = check sequential.serialize(rows);
+    sequentialSeconds = check measureDeserialize(sequential, encoded);
+    parallelSeconds = check measureDeserialize(parallel, encoded);
+    report("deserialize", sequentialSeconds, parallelSeconds);
+}
+
+function measureSerialize(serdes:Proto3Schema schema, RowTable rows) returns decimal|error {
+    _ = check schema.serialize(rows);
+    decimal startTime = time:monotonicNow();
+    foreach int i in 0 ..< ROUNDS {
+        _ = check schema.serialize(rows);
+    }
+    return ((time:monotonicNow() - startTime) / ROUNDS).round(4);
+}
+
+function measureDeserialize(serdes:Proto3Schema schema, byte[] encoded) returns decimal|error {
+    RowTable _ = check schema.deserialize(encoded);
+    decimal startTime = time:monotonicNow();
+    foreach int i in 0 ..< ROUNDS {
+        RowTable _ = check schema.deserialize(encoded);
+    }
+    return ((time:monotonicNow() - startTime) / ROUNDS).round(4);
+}
+
+function report(string operation, decimal sequentialSeconds, decimal parallelSeconds) {
+    io:println(string `${operation} sequential: ${sequentialSeconds} s per table`);
+    io:println(string `${operation} parallel: ${parallelSeconds} s per table`);
+    io:println(string `${operation} speedup: ${(sequentialSeconds / parallelSeconds).round(2)}`);
+}
+
+function getRuntime() returns handle = @java:Method {
+    'class: "java.lang.Runtime"
+} external;
+
+function availableProcessors(handle runtime) returns int = @java:Method {
+    'class: "java.lang.Runtime"
+} external;
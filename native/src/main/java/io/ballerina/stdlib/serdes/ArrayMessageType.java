@@ -119,7 +119,7 @@ public class ArrayMessageType extends MessageType {
 
     @Override
     public void setStringField(StringType stringType) {
-        String protoType = DataTypeMapper.mapBallerinaTypeToProtoType(stringType.getTag());
+        String protoType = mapScalarTypeToProtoType(stringType.getTag());
         addMessageFieldInMessageBuilder(REPEATED_LABEL, protoType);
     }
 
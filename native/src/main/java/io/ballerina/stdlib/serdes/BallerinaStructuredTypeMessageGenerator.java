@@ -49,8 +49,37 @@ import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
  */
 public class BallerinaStructuredTypeMessageGenerator {
     private MessageType messageType;
+    // Nilable scalar record fields are proto3 optional fields instead of union messages
+    private boolean optionalNilableFields;
+    // Simple union record fields are oneofs of the record message instead of union messages
+    private boolean oneofUnionFields;
+    // Scalar bytes are uint32 fields instead of single byte bytes fields
+    private boolean varintBytes;
+    // Decimal messages have a varint field for unscaled values that fit in a long
+    private boolean compactDecimals;
+    // Strings are uint32 indexes into the string table of the message instead of string fields
+    private boolean indexedStrings;
 
     public BallerinaStructuredTypeMessageGenerator(Type type, ProtobufMessageBuilder messageBuilder) {
+        this(type, messageBuilder, false, false, false, false, false);
+    }
+
+    public BallerinaStructuredTypeMessageGenerator(Type type, ProtobufMessageBuilder messageBuilder,
+                                                   SchemaOptions options) {
+        this(type, messageBuilder, options.isOptionalFieldNilableEncoding(), options.isOneofUnionEncoding(),
+                options.isVarintByteEncoding(), options.isCompactDecimalEncoding(),
+                options.isDictionaryStringEncoding());
+    }
+
+    private BallerinaStructuredTypeMessageGenerator(Type type, ProtobufMessageBuilder messageBuilder,
+                                                    boolean optionalNilableFields, boolean oneofUnionFields,
+                                                    boolean varintBytes, boolean compactDecimals,
+                                                    boolean indexedStrings) {
+        this.optionalNilableFields = optionalNilableFields;
+        this.oneofUnionFields = oneofUnionFields;
+        this.varintBytes = varintBytes;
+        this.compactDecimals = compactDecimals;
+        this.indexedStrings = indexedStrings;
         switch (type.getTag()) {
             case TypeTags.RECORD_TYPE_TAG:
                 setMessageType(new RecordMessageType(type, messageBuilder, this));
@@ -75,6 +104,22 @@ public class BallerinaStructuredTypeMessageGenerator {
         }
     }
 
+    private BallerinaStructuredTypeMessageGenerator() {
+    }
+
+    /**
+     * Generates the message definition of a table of closed records in the columnar layout.
+     */
+    public static ProtobufMessageBuilder generateColumnarTableMessageDefinition(TableType tableType,
+                                                                                ProtobufMessageBuilder messageBuilder,
+                                                                                SchemaOptions options) {
+        BallerinaStructuredTypeMessageGenerator messageGenerator = new BallerinaStructuredTypeMessageGenerator();
+        messageGenerator.compactDecimals = options.isCompactDecimalEncoding();
+        messageGenerator.indexedStrings = options.isDictionaryStringEncoding();
+        messageGenerator.setMessageType(new ColumnarTableMessageType(tableType, messageBuilder, messageGenerator));
+        return messageGenerator.generateMessageDefinition();
+    }
+
     public MessageType getMessageType() {
         return messageType;
     }
@@ -83,6 +128,26 @@ public class BallerinaStructuredTypeMessageGenerator {
         this.messageType = messageType;
     }
 
+    public boolean hasOptionalNilableFields() {
+        return optionalNilableFields;
+    }
+
+    public boolean hasOneofUnionFields() {
+        return oneofUnionFields;
+    }
+
+    public boolean hasVarintBytes() {
+        return varintBytes;
+    }
+
+    public boolean hasCompactDecimals() {
+        return compactDecimals;
+    }
+
+    public boolean hasIndexedStrings() {
+        return indexedStrings;
+    }
+
     public ProtobufMessageBuilder generateMessageDefinition() {
         List<Map.Entry<String, Type>> fieldNamesAndTypes = messageType.getFieldNameAndBallerinaTypeEntryList();
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.BooleanType;
+import io.ballerina.runtime.api.types.ByteType;
+import io.ballerina.runtime.api.types.DecimalType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.FiniteType;
+import io.ballerina.runtime.api.types.FloatType;
+import io.ballerina.runtime.api.types.IntegerType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.NullType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.StringType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.stdlib.serdes.protobuf.DataTypeMapper;
+import io.ballerina.stdlib.serdes.protobuf.ProtobufMessageBuilder;
+import io.ballerina.stdlib.serdes.protobuf.ProtobufMessageFieldBuilder;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.ballerina.stdlib.serdes.Constants.BYTES;
+import static io.ballerina.stdlib.serdes.Constants.COLUMNAR_TABLE_NOT_SUPPORTED;
+import static io.ballerina.stdlib.serdes.Constants.COLUMN_NOT_SUPPORTED;
+import static io.ballerina.stdlib.serdes.Constants.OPTIONAL_LABEL;
+import static io.ballerina.stdlib.serdes.Constants.PRESENCE_SUFFIX;
+import static io.ballerina.stdlib.serdes.Constants.REPEATED_LABEL;
+import static io.ballerina.stdlib.serdes.Constants.ROW_COUNT_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.UINT32;
+import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * {@link ColumnarTableMessageType} class generate protobuf message definition for ballerina tables of closed records
+ * in the columnar layout.
+ * <p>
+ * The message has the number of rows and a repeated field, or a bytes field for byte columns, per record field that
+ * holds the values of that field in row order. Optional and nilable record fields have a presence bitmap field right
+ * after their column, the column only holds the values of the rows that have a bit set in the bitmap.
+ */
+public class ColumnarTableMessageType extends MessageType {
+    private static final int ROW_COUNT_FIELD_NUMBER = 1;
+
+    private final RecordType rowType;
+
+    public ColumnarTableMessageType(Type ballerinaType, ProtobufMessageBuilder messageBuilder,
+                                    BallerinaStructuredTypeMessageGenerator messageGenerator) {
+        super(ballerinaType, messageBuilder, messageGenerator);
+        this.rowType = getRowType((TableType) ballerinaType);
+        ProtobufMessageFieldBuilder rowCountField = new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, UINT32,
+                ROW_COUNT_FIELD_NAME, ROW_COUNT_FIELD_NUMBER);
+        messageBuilder.addField(rowCountField);
+        setCurrentFieldNumber(ROW_COUNT_FIELD_NUMBER + 1);
+    }
+
+    /**
+     * Returns the record type of the rows, if the table can be encoded in the columnar layout.
+     */
+    public static RecordType getRowType(TableType tableType) {
+        Type rowType = TypeUtils.getReferredType(tableType.getConstrainedType());
+        if (rowType.getTag() != TypeTags.RECORD_TYPE_TAG || !((RecordType) rowType).isSealed()) {
+            throw createSerdesError(COLUMNAR_TABLE_NOT_SUPPORTED + tableType, SERDES_ERROR);
+        }
+        return (RecordType) rowType;
+    }
+
+    // A column holds the values of a record field, the values of nilable fields are the non nil member type
+    public static Type getColumnType(Field field) {
+        Type fieldType = TypeUtils.getReferredType(field.getFieldType());
+        if (fieldType.getTag() != TypeTags.UNION_TAG || !((UnionType) fieldType).isNilable()) {
+            return fieldType;
+        }
+        List<Type> memberTypes = ((UnionType) fieldType).getMemberTypes();
+        if (memberTypes.size() != 2) {
+            return fieldType;
+        }
+        Type memberType = memberTypes.get(0).getTag() == TypeTags.NULL_TAG ? memberTypes.get(1) : memberTypes.get(0);
+        return TypeUtils.getReferredType(memberType);
+    }
+
+    public static boolean isOptional(Field field) {
+        return SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.OPTIONAL);
+    }
+
+    public static boolean isNilable(Field field) {
+        return getColumnType(field) != TypeUtils.getReferredType(field.getFieldType());
+    }
+
+    @Override
+    public void setIntField(IntegerType integerType) {
+        addColumnField(REPEATED_LABEL, DataTypeMapper.mapBallerinaTypeToProtoType(integerType.getTag()));
+    }
+
+    @Override
+    public void setByteField(ByteType byteType) {
+        // The bytes of a byte column are written as a single bytes field
+        addColumnField(OPTIONAL_LABEL, BYTES);
+    }
+
+    @Override
+    public void setFloatField(FloatType floatType) {
+        addColumnField(REPEATED_LABEL, DataTypeMapper.mapBallerinaTypeToProtoType(floatType.getTag()));
+    }
+
+    @Override
+    public void setDecimalField(DecimalType decimalType) {
+        getMessageBuilder().addNestedMessage(generateDecimalMessageDefinition());
+        addColumnField(REPEATED_LABEL, DataTypeMapper.mapBallerinaTypeToProtoType(decimalType.getTag()));
+    }
+
+    @Override
+    public void setStringField(StringType stringType) {
+        addColumnField(REPEATED_LABEL, mapScalarTypeToProtoType(stringType.getTag()));
+    }
+
+    @Override
+    public void setBooleanField(BooleanType booleanType) {
+        addColumnField(REPEATED_LABEL, DataTypeMapper.mapBallerinaTypeToProtoType(booleanType.getTag()));
+    }
+
+    @Override
+    public void setEnumField(FiniteType finiteType) {
+        throw createColumnNotSupportedError();
+    }
+
+    @Override
+    public void setNullField(NullType nullType) {
+        throw createColumnNotSupportedError();
+    }
+
+    @Override
+    public void setRecordField(RecordType recordType) {
+        throw createColumnNotSupportedError();
+    }
+
+    @Override
+    public void setMapField(MapType mapType) {
+        throw createColumnNotSupportedError();
+    }
+
+    @Override
+    public void setTableField(TableType tableType) {
+        throw createColumnNotSupportedError();
+    }
+
+    @Override
+    public void setArrayField(ArrayType arrayType) {
+        throw createColumnNotSupportedError();
+    }
+
+    @Override
+    public void setUnionField(UnionType unionType) {
+        throw createColumnNotSupportedError();
+    }
+
+    @Override
+    public void setTupleField(TupleType tupleType) {
+        throw createColumnNotSupportedError();
+    }
+
+    @Override
+    public List<Map.Entry<String, Type>> getFieldNameAndBallerinaTypeEntryList() {
+        return rowType.getFields().values().stream().sorted(Comparator.comparing(Field::getFieldName))
+                .map(field -> Map.entry(field.getFieldName(), getColumnType(field)))
+                .collect(Collectors.toList());
+    }
+
+    private void addColumnField(String fieldLabel, String fieldType) {
+        addMessageFieldInMessageBuilder(fieldLabel, fieldType);
+        Field field = rowType.getFields().get(getCurrentFieldName());
+        boolean isOptional = isOptional(field);
+        boolean isNilable = isNilable(field);
+        if (isOptional && isNilable) {
+            // Absent and nil values can't be told apart with a single presence bit
+            throw createColumnNotSupportedError();
+        }
+        if (isOptional || isNilable) {
+            incrementFieldNumber();
+            addMessageFieldInMessageBuilder(OPTIONAL_LABEL, BYTES, getCurrentFieldName() + PRESENCE_SUFFIX);
+        }
+    }
+
+    private void addMessageFieldInMessageBuilder(String fieldLabel, String fieldType, String fieldName) {
+        ProtobufMessageFieldBuilder messageField = new ProtobufMessageFieldBuilder(fieldLabel, fieldType, fieldName,
+                getCurrentFieldNumber());
+        getMessageBuilder().addField(messageField);
+    }
+
+    private BError createColumnNotSupportedError() {
+        Field field = rowType.getFields().get(getCurrentFieldName());
+        return createSerdesError(COLUMN_NOT_SUPPORTED + field.getFieldName() + " of type " + field.getFieldType(),
+                SERDES_ERROR);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import io.ballerina.stdlib.serdes.wire.DeserializationPlan;
+import io.ballerina.stdlib.serdes.wire.SerializationPlan;
+
+/**
+ * {@link CompiledSchema} class holds everything generated for a typedesc when a schema is created.
+ * A compiled schema is shared by every schema created for the same typedesc, so all parts are safe for concurrent use.
+ * The descriptor and the proto3 definition are immutable. The plans only mutate their caches of projections, field
+ * paths and row scanners, which are concurrent maps and a volatile lazily created field, and union writers publish
+ * their dispatch maps by copying them on write.
+ */
+public class CompiledSchema {
+    private final Descriptor messageDescriptor;
+    private final String proto3;
+    private final SerializationPlan serializationPlan;
+    private final DeserializationPlan deserializationPlan;
+    private final String codecMode;
+
+    public CompiledSchema(Descriptor messageDescriptor, String proto3, SerializationPlan serializationPlan,
+                          DeserializationPlan deserializationPlan, String codecMode) {
+        this.messageDescriptor = messageDescriptor;
+        this.proto3 = proto3;
+        this.serializationPlan = serializationPlan;
+        this.deserializationPlan = deserializationPlan;
+        this.codecMode = codecMode;
+    }
+
+    public Descriptor getMessageDescriptor() {
+        return messageDescriptor;
+    }
+
+    public String getProto3() {
+        return proto3;
+    }
+
+    public SerializationPlan getSerializationPlan() {
+        return serializationPlan;
+    }
+
+    public DeserializationPlan getDeserializationPlan() {
+        return deserializationPlan;
+    }
+
+    public String getCodecMode() {
+        return codecMode;
+    }
+}
@@ -36,6 +36,12 @@ public final class Constants {
 
     // Constants related to protobuf schema
     public static final String SCHEMA_NAME = "schema";
+    public static final String SERIALIZATION_PLAN = "serializationPlan";
+    public static final String DESERIALIZATION_PLAN = "deserializationPlan";
+    public static final String CODEC_MODE = "codecMode";
+    public static final String DELIMITED_MESSAGE_READER = "delimitedMessageReader";
+    public static final String MESSAGE_BLOCKS = "messageBlocks";
+    public static final String LAZY_RECORD_READER = "lazyRecordReader";
     public static final String UNION_BUILDER_NAME = "UnionBuilder";
     public static final String UNION_FIELD_NAME = "unionField";
     public static final String ARRAY_BUILDER_NAME = "ArrayBuilder";
@@ -47,6 +53,7 @@ public final class Constants {
     public static final String SCALE = "scale";
     public static final String PRECISION = "precision";
     public static final String VALUE = "value";
+    public static final String COMPACT_VALUE = "compactValue";
     public static final String SYNTAX = "syntax";
     public static final String MAP_BUILDER = "MapBuilder";
     public static final String MAP_FIELD_ENTRY = "MapFieldEntry";
@@ -55,9 +62,14 @@ public final class Constants {
     public static final String VALUE_NAME = "value";
     public static final String TABLE_BUILDER = "TableBuilder";
     public static final String TABLE_ENTRY = "tableEntry";
+    public static final String COLUMNAR_TABLE_BUILDER = "ColumnarTableBuilder";
+    public static final String ROW_COUNT_FIELD_NAME = "___rowCount";
+    public static final String PRESENCE_SUFFIX = "___presence";
     public static final String TUPLE_BUILDER = "TupleBuilder";
     public static final String TUPLE_FIELD_NAME = "element";
     public static final String RECORD_BUILDER = "RecordBuilder";
+    public static final String STRING_TABLE_BUILDER = "StringTableBuilder";
+    public static final String STRING_TABLE_FIELD_NAME = "strings";
 
     public static final String SEPARATOR = "_";
     public static final String TYPE_SEPARATOR = "___";
@@ -70,6 +82,7 @@ public final class Constants {
     public static final String REPEATED_LABEL = "repeated";
     public static final String BYTES = "bytes";
     public static final String UINT32 = "uint32";
+    public static final String SINT64 = "sint64";
     public static final String BOOL = "bool";
 
     // Constants related to error messages
@@ -77,8 +90,28 @@ public final class Constants {
     public static final String DESERIALIZATION_ERROR_MESSAGE = "Failed to Deserialize data: ";
     public static final String SERIALIZATION_ERROR_MESSAGE = "Failed to Serialize data: ";
     public static final String TYPE_MISMATCH_ERROR_MESSAGE = "Type mismatch";
+    public static final String BUFFER_TOO_SMALL = "Buffer too small, %d bytes required but %d bytes available";
+    public static final String INVALID_BUFFER_OFFSET = "Invalid buffer offset: ";
+    public static final String READ_ONLY_BUFFER = "Buffer is read-only";
+    public static final String TRUNCATED_DELIMITED_MESSAGE = "Delimited message is truncated, %d bytes remaining";
+    public static final String RECORD_VIEW_NOT_SUPPORTED = "Record views are only supported for schemas of record"
+            + " types";
+    public static final String RECORD_FIELD_NOT_FOUND = "Record field not found: ";
+    public static final String TARGET_TYPE_MISMATCH = "Value of the schema type is not a value of the expected type: ";
+    public static final String FIELD_EXTRACTION_NOT_SUPPORTED = "Field extraction is only supported for schemas of"
+            + " record types";
+    public static final String INVALID_FIELD_PATH = "Invalid field path: ";
+    public static final String FIELD_TYPE_MISMATCH = "Value of the field is not a value of the expected type: ";
+    public static final String SCAN_NOT_SUPPORTED = "Scanning is only supported for schemas of arrays and tables of"
+            + " records";
+    public static final String INVALID_PREDICATE = "Invalid predicate for field: ";
+    public static final String COLUMNAR_TABLE_NOT_SUPPORTED = "Columnar table layout is only supported for tables of"
+            + " closed records: ";
+    public static final String COLUMN_NOT_SUPPORTED = "Columnar table layout does not support field ";
+    public static final String MALFORMED_COLUMN = "Column does not match the row count: ";
     public static final String SCHEMA_GENERATION_FAILURE = "Failed to generate schema: ";
     public static final String FAILED_WRITE_FILE = "Failed to write proto file: ";
+    public static final String INVALID_FILE_PATH = "Invalid file path: ";
     public static final String MAP_MEMBER_NOT_YET_SUPPORTED = "Serdes not yet support map type as union member";
     public static final String TABLE_MEMBER_NOT_YET_SUPPORTED = "Serdes not yet support table type as union member";
     public static final String ARRAY_OF_MAP_AS_UNION_MEMBER_NOT_YET_SUPPORTED = "Serdes not yet support array of maps"
@@ -86,4 +119,32 @@ public final class Constants {
     public static final String ARRAY_OF_TABLE_AS_UNION_MEMBER_NOT_YET_SUPPORTED = "Serdes not yet support array of"
             + " tables as union member";
     public static final BString BALLERINA_TYPEDESC_ATTRIBUTE_NAME = StringUtils.fromString("dataType");
+
+    // Constants related to schema options
+    public static final BString CODEC_MODE_OPTION = StringUtils.fromString("codecMode");
+    public static final BString PARALLEL_THRESHOLD_OPTION = StringUtils.fromString("parallelThreshold");
+    public static final BString TABLE_LAYOUT_OPTION = StringUtils.fromString("tableLayout");
+    public static final BString STRING_ENCODING_OPTION = StringUtils.fromString("stringEncoding");
+    public static final BString NILABLE_FIELD_ENCODING_OPTION = StringUtils.fromString("nilableFieldEncoding");
+    public static final BString UNION_ENCODING_OPTION = StringUtils.fromString("unionEncoding");
+    public static final BString BYTE_ENCODING_OPTION = StringUtils.fromString("byteEncoding");
+    public static final BString DECIMAL_ENCODING_OPTION = StringUtils.fromString("decimalEncoding");
+    public static final String INTERPRETED_CODEC_MODE = "INTERPRETED";
+    public static final String SPECIALIZED_CODEC_MODE = "SPECIALIZED";
+    public static final String COLUMNAR_TABLE_LAYOUT = "COLUMNAR";
+    public static final String DICTIONARY_STRING_ENCODING = "DICTIONARY";
+    public static final String OPTIONAL_FIELD_NILABLE_ENCODING = "OPTIONAL_FIELD";
+    public static final String ONEOF_UNION_ENCODING = "ONEOF";
+    public static final String VARINT_BYTE_ENCODING = "VARINT";
+    public static final String COMPACT_DECIMAL_ENCODING = "COMPACT";
+
+    // Constants related to row predicates
+    public static final BString PREDICATE_FIELD_NAME = StringUtils.fromString("fieldName");
+    public static final BString PREDICATE_OPERATOR = StringUtils.fromString("operator");
+    public static final BString PREDICATE_VALUE = StringUtils.fromString("value");
+
+    // Constants related to schema cache
+    public static final String SCHEMA_CACHE_STATISTICS = "SchemaCacheStatistics";
+    public static final String DELIMITED_MESSAGE_ITERATOR = "DelimitedMessageIterator";
+    public static final String RECORD_VIEW = "RecordView";
 }
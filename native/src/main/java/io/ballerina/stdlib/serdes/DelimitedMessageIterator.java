@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.stdlib.serdes.wire.DelimitedMessageReader;
+
+import static io.ballerina.stdlib.serdes.Constants.DELIMITED_MESSAGE_READER;
+import static io.ballerina.stdlib.serdes.Constants.DESERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Constants.MESSAGE_BLOCKS;
+import static io.ballerina.stdlib.serdes.Constants.TRUNCATED_DELIMITED_MESSAGE;
+import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * {@link DelimitedMessageIterator} class reads the values of the stream returned by the deserializeDelimited
+ * function. The blocks of a byte array stream are read by the ballerina iterator and appended to the reader.
+ */
+public class DelimitedMessageIterator {
+
+    private DelimitedMessageIterator() {
+    }
+
+    @SuppressWarnings("unused")
+    public static Object hasMessage(BObject iterator) {
+        try {
+            return getReader(iterator).hasMessage();
+        } catch (Exception e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static Object readMessage(BObject iterator) {
+        try {
+            return getReader(iterator).readMessage();
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (Exception e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static Object getBlocks(BObject iterator) {
+        return iterator.getNativeData(MESSAGE_BLOCKS);
+    }
+
+    @SuppressWarnings("unused")
+    public static void appendBlock(BObject iterator, BArray block) {
+        getReader(iterator).append(block.getByteArray(), block.size());
+    }
+
+    // Bytes left after the last message are part of a message that was not fully written
+    @SuppressWarnings("unused")
+    public static Object checkEndOfInput(BObject iterator) {
+        int remainingBytes = getReader(iterator).getRemainingBytes();
+        if (remainingBytes > 0) {
+            String errorMessage = String.format(TRUNCATED_DELIMITED_MESSAGE, remainingBytes);
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + errorMessage, SERDES_ERROR);
+        }
+        return null;
+    }
+
+    private static DelimitedMessageReader getReader(BObject iterator) {
+        return (DelimitedMessageReader) iterator.getNativeData(DELIMITED_MESSAGE_READER);
+    }
+}
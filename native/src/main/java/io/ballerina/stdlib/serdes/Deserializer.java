@@ -18,58 +18,41 @@
 
 package io.ballerina.stdlib.serdes;
 
-import com.google.protobuf.ByteString;
-import com.google.protobuf.Descriptors.Descriptor;
-import com.google.protobuf.Descriptors.FieldDescriptor;
-import com.google.protobuf.DynamicMessage;
-import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.PredefinedTypes;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.types.ArrayType;
-import io.ballerina.runtime.api.types.MapType;
-import io.ballerina.runtime.api.types.RecordType;
-import io.ballerina.runtime.api.types.TableType;
-import io.ballerina.runtime.api.types.TupleType;
 import io.ballerina.runtime.api.types.Type;
-import io.ballerina.runtime.api.types.UnionType;
-import io.ballerina.runtime.api.utils.StringUtils;
-import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.utils.TypeChecker;
 import io.ballerina.runtime.api.values.BArray;
-import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
-import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.api.values.BTypedesc;
-
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.math.MathContext;
-import java.util.Collection;
-import java.util.Map;
-
-import static io.ballerina.stdlib.serdes.Constants.ARRAY_BUILDER_NAME;
-import static io.ballerina.stdlib.serdes.Constants.ARRAY_FIELD_NAME;
-import static io.ballerina.stdlib.serdes.Constants.ATOMIC_FIELD_NAME;
-import static io.ballerina.stdlib.serdes.Constants.BALLERINA_TYPEDESC_ATTRIBUTE_NAME;
-import static io.ballerina.stdlib.serdes.Constants.CURLY_BRACE;
-import static io.ballerina.stdlib.serdes.Constants.DECIMAL_VALUE;
+import io.ballerina.stdlib.serdes.wire.DelimitedMessageReader;
+import io.ballerina.stdlib.serdes.wire.DeserializationPlan;
+import io.ballerina.stdlib.serdes.wire.LazyRecordReader;
+import io.ballerina.stdlib.serdes.wire.RowPredicate;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static io.ballerina.stdlib.serdes.Constants.DELIMITED_MESSAGE_ITERATOR;
+import static io.ballerina.stdlib.serdes.Constants.DELIMITED_MESSAGE_READER;
 import static io.ballerina.stdlib.serdes.Constants.DESERIALIZATION_ERROR_MESSAGE;
-import static io.ballerina.stdlib.serdes.Constants.KEY_NAME;
-import static io.ballerina.stdlib.serdes.Constants.MAP_FIELD;
-import static io.ballerina.stdlib.serdes.Constants.NULL_FIELD_NAME;
-import static io.ballerina.stdlib.serdes.Constants.PRECISION;
-import static io.ballerina.stdlib.serdes.Constants.SCALE;
-import static io.ballerina.stdlib.serdes.Constants.SCHEMA_NAME;
-import static io.ballerina.stdlib.serdes.Constants.SEPARATOR;
-import static io.ballerina.stdlib.serdes.Constants.TABLE_ENTRY;
-import static io.ballerina.stdlib.serdes.Constants.TUPLE_BUILDER;
-import static io.ballerina.stdlib.serdes.Constants.TUPLE_FIELD_NAME;
-import static io.ballerina.stdlib.serdes.Constants.TYPE_SEPARATOR;
-import static io.ballerina.stdlib.serdes.Constants.UNSUPPORTED_DATA_TYPE;
-import static io.ballerina.stdlib.serdes.Constants.VALUE;
-import static io.ballerina.stdlib.serdes.Constants.VALUE_NAME;
+import static io.ballerina.stdlib.serdes.Constants.DESERIALIZATION_PLAN;
+import static io.ballerina.stdlib.serdes.Constants.FIELD_TYPE_MISMATCH;
+import static io.ballerina.stdlib.serdes.Constants.INVALID_FILE_PATH;
+import static io.ballerina.stdlib.serdes.Constants.LAZY_RECORD_READER;
+import static io.ballerina.stdlib.serdes.Constants.MESSAGE_BLOCKS;
+import static io.ballerina.stdlib.serdes.Constants.PREDICATE_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.PREDICATE_OPERATOR;
+import static io.ballerina.stdlib.serdes.Constants.PREDICATE_VALUE;
+import static io.ballerina.stdlib.serdes.Constants.RECORD_VIEW;
 import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
 import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
 
@@ -89,10 +72,9 @@ public class Deserializer {
     @SuppressWarnings("unused")
     public static Object deserialize(BObject des, BArray encodedMessage, BTypedesc dataType) {
         try {
-            Descriptor messageDescriptor = (Descriptor) des.getNativeData(SCHEMA_NAME);
-            DynamicMessage message = DynamicMessage.parseFrom(messageDescriptor, encodedMessage.getBytes());
-            BTypedesc bTypedesc = (BTypedesc) des.get(BALLERINA_TYPEDESC_ATTRIBUTE_NAME);
-            return dynamicMessageToBallerinaType(message, bTypedesc.getDescribingType());
+            DeserializationPlan deserializationPlan = getDeserializationPlan(des, dataType);
+            // getByteArray returns the backing array of the ballerina byte array, which avoids copying the input
+            return deserializationPlan.deserialize(encodedMessage.getByteArray(), encodedMessage.size());
         } catch (BError ballerinaError) {
             return ballerinaError;
         } catch (Exception e) {
@@ -100,571 +82,173 @@ public class Deserializer {
         }
     }
 
-    private static Object dynamicMessageToBallerinaType(DynamicMessage dynamicMessage, Type ballerinaType) {
-        Type referredType = TypeUtils.getReferredType(ballerinaType);
-
-        switch (referredType.getTag()) {
-            case TypeTags.INT_TAG:
-            case TypeTags.BYTE_TAG:
-            case TypeTags.FLOAT_TAG:
-            case TypeTags.STRING_TAG:
-            case TypeTags.BOOLEAN_TAG: {
-                Descriptor messageDescriptor = dynamicMessage.getDescriptorForType();
-                FieldDescriptor fieldDescriptor = messageDescriptor.findFieldByName(ATOMIC_FIELD_NAME);
-                Object messageFieldValue = dynamicMessage.getField(fieldDescriptor);
-                return getPrimitiveTypeValueFromMessage(messageFieldValue);
-            }
-
-            case TypeTags.DECIMAL_TAG: {
-                return getDecimalPrimitiveTypeValueFromMessage(dynamicMessage);
-            }
-
-            case TypeTags.UNION_TAG: {
-                return getUnionTypeValueFromMessage(dynamicMessage, referredType);
-            }
-
-            case TypeTags.ARRAY_TAG: {
-                Type elementType = ((ArrayType) referredType).getElementType();
-                Descriptor messageDescriptor = dynamicMessage.getDescriptorForType();
-                FieldDescriptor fieldDescriptor = messageDescriptor.findFieldByName(ARRAY_FIELD_NAME);
-                Object messageFieldValue = dynamicMessage.getField(fieldDescriptor);
-                return getArrayTypeValueFromMessage(messageFieldValue, elementType, messageDescriptor);
-            }
-
-            case TypeTags.RECORD_TYPE_TAG: {
-                return getRecordTypeValueFromMessage(dynamicMessage, (RecordType) referredType);
-            }
-
-            case TypeTags.MAP_TAG: {
-                return getMapTypeValueFromMessage(dynamicMessage, (MapType) referredType);
-            }
-
-            case TypeTags.TABLE_TAG: {
-                return getTableTypeValueFromMessage(dynamicMessage, (TableType) referredType);
-            }
-
-            case TypeTags.TUPLE_TAG: {
-                return getTupleTypeValueFromMessage(dynamicMessage, (TupleType) referredType);
-            }
-
-            default:
-                throw createSerdesError(UNSUPPORTED_DATA_TYPE + referredType.getName(), SERDES_ERROR);
-        }
-    }
-
-    private static Object getDecimalPrimitiveTypeValueFromMessage(DynamicMessage decimalMessage) {
-        Descriptor decimalSchema = decimalMessage.getDescriptorForType();
-
-        FieldDescriptor valueField = decimalSchema.findFieldByName(VALUE);
-        FieldDescriptor scaleField = decimalSchema.findFieldByName(SCALE);
-        FieldDescriptor precisionField = decimalSchema.findFieldByName(PRECISION);
-
-        BigInteger value = new BigInteger(((ByteString) decimalMessage.getField(valueField)).toByteArray());
-        Integer scale = (Integer) decimalMessage.getField(scaleField);
-        MathContext precision = new MathContext((int) decimalMessage.getField(precisionField));
-
-        BigDecimal bigDecimal = new BigDecimal(value, scale, precision);
-        return ValueCreator.createDecimalValue(bigDecimal);
-    }
-
-    private static Object getPrimitiveTypeValueFromMessage(Object value) {
-        if (value instanceof DynamicMessage) {
-            DynamicMessage decimalMessage = ((DynamicMessage) value);
-            return getDecimalPrimitiveTypeValueFromMessage(decimalMessage);
-        }
-
-        if (value instanceof ByteString) {
-            return ((ByteString) value).byteAt(0);
-        }
-
-        if (value instanceof String) {
-            return StringUtils.fromString((String) value);
-        }
-
-        return value;
-    }
-
-    private static Object getUnionTypeValueFromMessage(DynamicMessage dynamicMessage, Type type) {
-        Descriptor messageDescriptor = dynamicMessage.getDescriptorForType();
-
-        for (Map.Entry<FieldDescriptor, Object> entry : dynamicMessage.getAllFields().entrySet()) {
-            Object value = entry.getValue();
-            FieldDescriptor fieldDescriptor = entry.getKey();
-
-            // Handle null value
-            if (fieldDescriptor.getName().equals(NULL_FIELD_NAME) && (boolean) value) {
-                return null;
-            }
-
-            if (fieldDescriptor.isRepeated()) {
-                // Handle array values
-                String fieldName = fieldDescriptor.getName();
-                String[] tokens = fieldName.split(TYPE_SEPARATOR);
-                String ballerinaTypeName = tokens[0];
-                int dimention = Integer.parseInt(tokens[1].split(SEPARATOR)[1]);
-                ArrayType arrayType = getBallerinaArrayTypeFromUnion((UnionType) type, ballerinaTypeName, dimention);
-                return getArrayTypeValueFromMessage(value, arrayType.getElementType(), messageDescriptor, dimention,
-                        ballerinaTypeName);
-            }
-
-            if (value instanceof ByteString && fieldDescriptor.getName().contains(ARRAY_FIELD_NAME)) {
-                // Handle byte array values
-                ByteString byteString = (ByteString) value;
-                return ValueCreator.createArrayValue(byteString.toByteArray());
-            }
-
-            if (value instanceof DynamicMessage && fieldDescriptor.getMessageType().getName().contains(TUPLE_BUILDER)) {
-                // Handle tuple values
-                String ballerinaTypeName = fieldDescriptor.getMessageType().getName().split(TYPE_SEPARATOR)[0];
-                TupleType tupleType = getBallerinaTupleTypeFromUnion((UnionType) type, ballerinaTypeName);
-                return getTupleTypeValueFromMessage((DynamicMessage) value, tupleType);
-            }
-
-            if (value instanceof DynamicMessage && !fieldDescriptor.getMessageType().getName()
-                    .contains(DECIMAL_VALUE)) {
-                // Handle record values
-                String fieldName = fieldDescriptor.getName();
-                String[] tokens = fieldName.split(TYPE_SEPARATOR);
-                String ballerinaType = tokens[0];
-                RecordType recordType = getBallerinaRecordTypeFromUnion((UnionType) type, ballerinaType);
-                return getRecordTypeValueFromMessage((DynamicMessage) value, recordType);
-            }
-
-            // Handle primitive values
-            return getPrimitiveTypeValueFromMessage(value);
-        }
-
-        throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
-    }
-
-    private static Object getArrayTypeValueFromMessage(Object value, Type elementType, Descriptor messageDescriptor) {
-        return getArrayTypeValueFromMessage(value, elementType, messageDescriptor, -1, null);
-    }
-
-    private static Object getArrayTypeValueFromMessage(Object value, Type elementType, Descriptor messageDescriptor,
-                                                       int dimensions, String prefixName) {
-        // Handle byte array value
-        if (value instanceof ByteString) {
-            ByteString byteString = (ByteString) value;
-            return ValueCreator.createArrayValue(byteString.toByteArray());
-        }
-
-        Collection<?> collection = ((Collection<?>) value);
-        Type referredElementType = TypeUtils.getReferredType(elementType);
-        BArray bArray = ValueCreator.createArrayValue(TypeCreator.createArrayType(referredElementType));
-
-        for (Object element : collection) {
-            switch (referredElementType.getTag()) {
-                case TypeTags.INT_TAG:
-                case TypeTags.BYTE_TAG:
-                case TypeTags.FLOAT_TAG:
-                case TypeTags.BOOLEAN_TAG: {
-                    bArray.append(element);
-                    break;
-                }
-
-                case TypeTags.DECIMAL_TAG: {
-                    BDecimal decimal = (BDecimal) getDecimalPrimitiveTypeValueFromMessage((DynamicMessage) element);
-                    bArray.append(decimal);
-                    break;
-                }
-
-                case TypeTags.STRING_TAG: {
-                    BString bString = StringUtils.fromString((String) element);
-                    bArray.append(bString);
-                    break;
-                }
-
-                case TypeTags.UNION_TAG: {
-                    DynamicMessage nestedDynamicMessage = (DynamicMessage) element;
-                    Object unionValue = getUnionTypeValueFromMessage(nestedDynamicMessage, referredElementType);
-                    bArray.append(unionValue);
-                    break;
-                }
-
-                case TypeTags.ARRAY_TAG: {
-                    ArrayType arrayType = (ArrayType) referredElementType;
-                    String typeName = ARRAY_BUILDER_NAME;
-
-                    // prefix can be type of union member, type of record field,
-                    if (prefixName != null) {
-                        typeName = ARRAY_BUILDER_NAME + SEPARATOR + (dimensions - 1);
-                        typeName = prefixName + TYPE_SEPARATOR + typeName;
-                    }
-
-                    Descriptor nestedSchema = messageDescriptor.findNestedTypeByName(typeName);
-                    DynamicMessage nestedDynamicMessage = (DynamicMessage) element;
-                    FieldDescriptor fieldDescriptor = nestedSchema.findFieldByName(ARRAY_FIELD_NAME);
-                    Object nestedArrayContent = nestedDynamicMessage.getField(fieldDescriptor);
-                    BArray nestedArray = (BArray) getArrayTypeValueFromMessage(nestedArrayContent,
-                            arrayType.getElementType(), nestedSchema);
-                    bArray.append(nestedArray);
-                    break;
-                }
-
-                case TypeTags.RECORD_TYPE_TAG: {
-                    RecordType recordType = (RecordType) referredElementType;
-                    Object record = getRecordTypeValueFromMessage((DynamicMessage) element, recordType);
-                    bArray.append(record);
-                    break;
-                }
-
-                case TypeTags.MAP_TAG: {
-                    MapType mapType = (MapType) referredElementType;
-                    Object map = getMapTypeValueFromMessage((DynamicMessage) element, mapType);
-                    bArray.append(map);
-                    break;
-                }
-
-                case TypeTags.TABLE_TAG: {
-                    TableType tableType = (TableType) referredElementType;
-                    Object table = getTableTypeValueFromMessage((DynamicMessage) element, tableType);
-                    bArray.append(table);
-                    break;
-                }
-
-                case TypeTags.TUPLE_TAG: {
-                    TupleType tupleType = (TupleType) referredElementType;
-                    Object tuple = getTupleTypeValueFromMessage((DynamicMessage) element, tupleType);
-                    bArray.append(tuple);
-                    break;
-                }
-
-                default:
-                    throw createSerdesError(UNSUPPORTED_DATA_TYPE + referredElementType.getName(), SERDES_ERROR);
-            }
+    /**
+     * Creates an array of anydata values from byte arrays after deserializing each of them.
+     *
+     * @param des             Deserializer object.
+     * @param encodedMessages Byte arrays corresponding to encoded values.
+     * @param dataType        Data type of the encoded values.
+     * @return Array of anydata values.
+     */
+    @SuppressWarnings("unused")
+    public static Object deserializeBatch(BObject des, BArray encodedMessages, BTypedesc dataType) {
+        try {
+            DeserializationPlan deserializationPlan = getDeserializationPlan(des, dataType);
+            BArray values = ValueCreator.createArrayValue(TypeCreator.createArrayType(dataType.getDescribingType()));
+            deserializationPlan.deserializeBatch(encodedMessages, values);
+            return values;
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (Exception e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
-        return bArray;
     }
 
-    private static Object getRecordTypeValueFromMessage(DynamicMessage dynamicMessage, RecordType recordType) {
-        // getEmptyValue method is used to set false value to boolean fields in the ballerina record
-        // protobuf doesn't serialize false value in the protobuf message
-        BMap<BString, Object> record = recordType.getEmptyValue();
-
-        FieldDescriptor fieldDescriptor;
-        Object ballerinaValue;
-
-        for (Map.Entry<FieldDescriptor, Object> entry : dynamicMessage.getAllFields().entrySet()) {
-            fieldDescriptor = entry.getKey();
-            Object value = entry.getValue();
-            String entryFieldName = fieldDescriptor.getName();
-            Type entryFieldType = recordType.getFields().get(entryFieldName).getFieldType();
-            Type referredEntryFieldType = TypeUtils.getReferredType(entryFieldType);
-            switch (referredEntryFieldType.getTag()) {
-                case TypeTags.INT_TAG:
-                case TypeTags.BYTE_TAG:
-                case TypeTags.FLOAT_TAG:
-                case TypeTags.STRING_TAG:
-                case TypeTags.BOOLEAN_TAG: {
-                    ballerinaValue = getPrimitiveTypeValueFromMessage(value);
-                    break;
-                }
-
-                case TypeTags.DECIMAL_TAG: {
-                    ballerinaValue = getDecimalPrimitiveTypeValueFromMessage((DynamicMessage) value);
-                    break;
-                }
-
-                case TypeTags.UNION_TAG: {
-                    ballerinaValue = getUnionTypeValueFromMessage((DynamicMessage) value, referredEntryFieldType);
-                    break;
-                }
-
-                case TypeTags.ARRAY_TAG: {
-                    ArrayType arrayType = (ArrayType) referredEntryFieldType;
-                    Descriptor recordSchema = fieldDescriptor.getContainingType();
-
-                    Type basicType = Utils.getBaseElementTypeOfBallerinaArray(arrayType);
-                    String prefixName = isMapTableOrNonReferencedRecord(basicType) ? entryFieldName :
-                            basicType.getName();
-                    int dimention = Utils.getArrayDimensions(arrayType);
-
-                    ballerinaValue = getArrayTypeValueFromMessage(value, arrayType.getElementType(), recordSchema,
-                            dimention, prefixName);
-                    break;
-                }
-
-                case TypeTags.RECORD_TYPE_TAG: {
-                    Object recordMessage = dynamicMessage.getField(fieldDescriptor);
-                    ballerinaValue = getRecordTypeValueFromMessage((DynamicMessage) recordMessage,
-                            (RecordType) referredEntryFieldType);
-                    break;
-                }
-
-                case TypeTags.MAP_TAG: {
-                    Object mapMessage = dynamicMessage.getField(fieldDescriptor);
-                    ballerinaValue = getMapTypeValueFromMessage((DynamicMessage) mapMessage,
-                            (MapType) referredEntryFieldType);
-                    break;
-                }
-
-                case TypeTags.TABLE_TAG: {
-                    Object tableMessage = dynamicMessage.getField(fieldDescriptor);
-                    ballerinaValue = getTableTypeValueFromMessage((DynamicMessage) tableMessage,
-                            (TableType) referredEntryFieldType);
-                    break;
-                }
-
-                case TypeTags.TUPLE_TAG: {
-                    Object tupleMessage = dynamicMessage.getField(fieldDescriptor);
-                    ballerinaValue = getTupleTypeValueFromMessage((DynamicMessage) tupleMessage,
-                            (TupleType) referredEntryFieldType);
-                    break;
+    /**
+     * Creates an anydata object from a byte channel or a file after deserializing, without reading the encoded value
+     * into a byte array.
+     *
+     * @param des      Deserializer object.
+     * @param source   Byte channel or path of the file to read the encoded value.
+     * @param dataType Data type of the encoded value.
+     * @return anydata object.
+     */
+    @SuppressWarnings("unused")
+    public static Object deserializeFrom(BObject des, Object source, BTypedesc dataType) {
+        try {
+            DeserializationPlan deserializationPlan = getDeserializationPlan(des, dataType);
+            if (source instanceof BString) {
+                try (InputStream inputStream = Files.newInputStream(Paths.get(((BString) source).getValue()))) {
+                    return deserializationPlan.deserialize(inputStream);
                 }
-
-                default:
-                    throw createSerdesError(UNSUPPORTED_DATA_TYPE + referredEntryFieldType.getName(), SERDES_ERROR);
             }
-            record.put(StringUtils.fromString(entryFieldName), ballerinaValue);
+            // The channel is owned by the caller, so the stream is not closed
+            return deserializationPlan.deserialize(Channels.newInputStream(Utils.getByteChannel((BObject) source)));
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (InvalidPathException e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + INVALID_FILE_PATH + e.getMessage(), SERDES_ERROR);
+        } catch (Exception e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
-        return record;
     }
 
-
-    private static Object getMapTypeValueFromMessage(DynamicMessage dynamicMessage, MapType mapType) {
-        BMap<BString, Object> ballerinaMap = ValueCreator.createMapValue(mapType);
-
-        Type constrainedType = mapType.getConstrainedType();
-        Type referredConstrainedType = TypeUtils.getReferredType(constrainedType);
-        FieldDescriptor mapFieldDescriptor = dynamicMessage.getDescriptorForType().findFieldByName(MAP_FIELD);
-        Collection<?> mapEntries = (Collection<?>) dynamicMessage.getField(mapFieldDescriptor);
-
-        Object ballerinaValue;
-
-        for (Object mapEntry : mapEntries) {
-            DynamicMessage mapEntryMessage = (DynamicMessage) mapEntry;
-            Descriptor mapEntryMessageDescriptor = mapEntryMessage.getDescriptorForType();
-            FieldDescriptor keyFieldDescriptor = mapEntryMessageDescriptor.findFieldByName(KEY_NAME);
-            FieldDescriptor valueFieldDescriptor = mapEntryMessageDescriptor.findFieldByName(VALUE_NAME);
-
-            String key = (String) mapEntryMessage.getField(keyFieldDescriptor);
-            Object value = mapEntryMessage.getField(valueFieldDescriptor);
-
-            switch (referredConstrainedType.getTag()) {
-                case TypeTags.INT_TAG:
-                case TypeTags.BYTE_TAG:
-                case TypeTags.FLOAT_TAG:
-                case TypeTags.STRING_TAG:
-                case TypeTags.BOOLEAN_TAG: {
-                    ballerinaValue = getPrimitiveTypeValueFromMessage(value);
-                    break;
-                }
-
-                case TypeTags.DECIMAL_TAG: {
-                    ballerinaValue = getDecimalPrimitiveTypeValueFromMessage((DynamicMessage) value);
-                    break;
-                }
-
-                case TypeTags.UNION_TAG: {
-                    ballerinaValue = getUnionTypeValueFromMessage((DynamicMessage) value, referredConstrainedType);
-                    break;
-                }
-
-                case TypeTags.ARRAY_TAG: {
-                    ArrayType arrayType = (ArrayType) referredConstrainedType;
-                    Descriptor recordSchema = valueFieldDescriptor.getContainingType();
-
-                    ballerinaValue = getArrayTypeValueFromMessage(value, arrayType.getElementType(), recordSchema);
-                    break;
-                }
-
-                case TypeTags.RECORD_TYPE_TAG: {
-                    ballerinaValue = getRecordTypeValueFromMessage((DynamicMessage) value,
-                            (RecordType) referredConstrainedType);
-                    break;
-                }
-
-                case TypeTags.MAP_TAG: {
-                    ballerinaValue = getMapTypeValueFromMessage((DynamicMessage) value,
-                            (MapType) referredConstrainedType);
-                    break;
-                }
-
-                case TypeTags.TABLE_TAG: {
-                    ballerinaValue = getTableTypeValueFromMessage((DynamicMessage) value,
-                            (TableType) referredConstrainedType);
-                    break;
-                }
-
-                case TypeTags.TUPLE_TAG: {
-                    ballerinaValue = getTupleTypeValueFromMessage((DynamicMessage) value,
-                            (TupleType) referredConstrainedType);
-                    break;
-                }
-
-                default:
-                    throw createSerdesError(UNSUPPORTED_DATA_TYPE + referredConstrainedType.getName(), SERDES_ERROR);
-            }
-            ballerinaMap.put(StringUtils.fromString(key), ballerinaValue);
+    /**
+     * Creates a stream of anydata values from a sequence of length prefixed encoded values.
+     *
+     * @param des             Deserializer object.
+     * @param encodedMessages Byte array or stream of byte arrays containing the length prefixed encoded values.
+     * @param dataType        Data type of the encoded values.
+     * @return Stream of anydata values.
+     */
+    @SuppressWarnings("unused")
+    public static Object deserializeDelimited(BObject des, Object encodedMessages, BTypedesc dataType) {
+        DeserializationPlan deserializationPlan;
+        try {
+            deserializationPlan = getDeserializationPlan(des, dataType);
+        } catch (BError ballerinaError) {
+            return ballerinaError;
         }
-        return ballerinaMap;
-    }
-
-    private static Object getTableTypeValueFromMessage(DynamicMessage dynamicMessage, TableType tableType) {
-        BTable table = ValueCreator.createTableValue(tableType);
-
-        Type constrainedType = tableType.getConstrainedType();
-        Type referredConstrainedType = TypeUtils.getReferredType(constrainedType);
-
-        FieldDescriptor tableEntryFieldDescriptor = dynamicMessage.getDescriptorForType().findFieldByName(TABLE_ENTRY);
-        Collection<?> tableEntries = (Collection<?>) dynamicMessage.getField(tableEntryFieldDescriptor);
-
-        for (Object tableEntry : tableEntries) {
-            DynamicMessage tableEntryMessage = (DynamicMessage) tableEntry;
-            Object ballerinaValue;
-
-            switch (referredConstrainedType.getTag()) {
-                case TypeTags.RECORD_TYPE_TAG: {
-                    ballerinaValue = getRecordTypeValueFromMessage(tableEntryMessage,
-                            (RecordType) referredConstrainedType);
-                    break;
-                }
-
-                case TypeTags.MAP_TAG: {
-                    ballerinaValue = getMapTypeValueFromMessage(tableEntryMessage, (MapType) referredConstrainedType);
-                    break;
-                }
-
-                default:
-                    throw createSerdesError(UNSUPPORTED_DATA_TYPE + referredConstrainedType.getName(), SERDES_ERROR);
-
-            }
-            table.add(ballerinaValue);
+        BObject iterator = ValueCreator.createObjectValue(Utils.getModule(), DELIMITED_MESSAGE_ITERATOR);
+        if (encodedMessages instanceof BArray) {
+            BArray messages = (BArray) encodedMessages;
+            iterator.addNativeData(DELIMITED_MESSAGE_READER,
+                    new DelimitedMessageReader(deserializationPlan, messages.getByteArray(), messages.size()));
+        } else {
+            iterator.addNativeData(DELIMITED_MESSAGE_READER, new DelimitedMessageReader(deserializationPlan));
+            iterator.addNativeData(MESSAGE_BLOCKS, encodedMessages);
         }
-        return table;
+        Type completionType = TypeCreator.createUnionType(Utils.getSerdesErrorType(), PredefinedTypes.TYPE_NULL);
+        return ValueCreator.createStreamValue(
+                TypeCreator.createStreamType(dataType.getDescribingType(), completionType), iterator);
     }
 
-    private static Object getTupleTypeValueFromMessage(DynamicMessage dynamicMessage, TupleType tupleType) {
-        BArray tuple = ValueCreator.createTupleValue(tupleType);
-        for (Map.Entry<FieldDescriptor, Object> tupleField : dynamicMessage.getAllFields().entrySet()) {
-            int tupleElementIndex = tupleField.getKey().getNumber() - 1;
-            Type tupleElementType = tupleType.getTupleTypes().get(tupleElementIndex);
-            Type referredElementType = TypeUtils.getReferredType(tupleElementType);
-            Object tupleFieldValue = tupleField.getValue();
-            Object ballerinaValue;
-
-            switch (referredElementType.getTag()) {
-                case TypeTags.INT_TAG:
-                case TypeTags.BYTE_TAG:
-                case TypeTags.FLOAT_TAG:
-                case TypeTags.STRING_TAG:
-                case TypeTags.BOOLEAN_TAG: {
-                    ballerinaValue = getPrimitiveTypeValueFromMessage(tupleFieldValue);
-                    break;
-                }
-
-                case TypeTags.DECIMAL_TAG: {
-                    ballerinaValue = getDecimalPrimitiveTypeValueFromMessage((DynamicMessage) tupleFieldValue);
-                    break;
-                }
-
-                case TypeTags.UNION_TAG: {
-                    ballerinaValue = getUnionTypeValueFromMessage((DynamicMessage) tupleFieldValue,
-                            referredElementType);
-                    break;
-                }
-
-                case TypeTags.ARRAY_TAG: {
-                    ArrayType arrayType = (ArrayType) referredElementType;
-                    Descriptor recordSchema = tupleField.getKey().getContainingType();
-
-
-                    Type basicType = Utils.getBaseElementTypeOfBallerinaArray(arrayType);
-                    String prefixName = isMapTableOrNonReferencedRecord(basicType) ?
-                            TUPLE_FIELD_NAME + SEPARATOR + (tupleElementIndex + 1) : basicType.getName();
-                    int dimention = Utils.getArrayDimensions(arrayType);
-
-                    ballerinaValue = getArrayTypeValueFromMessage(tupleFieldValue, arrayType.getElementType(),
-                            recordSchema, dimention, prefixName);
-                    break;
-                }
-
-                case TypeTags.RECORD_TYPE_TAG: {
-                    ballerinaValue = getRecordTypeValueFromMessage((DynamicMessage) tupleFieldValue,
-                            (RecordType) referredElementType);
-                    break;
-                }
-
-                case TypeTags.MAP_TAG: {
-                    ballerinaValue = getMapTypeValueFromMessage((DynamicMessage) tupleFieldValue,
-                            (MapType) referredElementType);
-                    break;
-                }
-
-                case TypeTags.TABLE_TAG: {
-                    ballerinaValue = getTableTypeValueFromMessage((DynamicMessage) tupleFieldValue,
-                            (TableType) referredElementType);
-                    break;
-                }
-
-                case TypeTags.TUPLE_TAG: {
-                    ballerinaValue = getTupleTypeValueFromMessage((DynamicMessage) tupleFieldValue,
-                            (TupleType) referredElementType);
-                    break;
-                }
-
-                default:
-                    throw createSerdesError(UNSUPPORTED_DATA_TYPE + referredElementType.getName(), SERDES_ERROR);
-
-            }
-            tuple.add(tupleElementIndex, ballerinaValue);
+    /**
+     * Creates a record view that deserializes the fields of an encoded record when they are first read.
+     *
+     * @param des            Deserializer object.
+     * @param encodedMessage Byte array corresponding to the encoded record.
+     * @return Record view object.
+     */
+    @SuppressWarnings("unused")
+    public static Object deserializeView(BObject des, BArray encodedMessage) {
+        try {
+            DeserializationPlan deserializationPlan = (DeserializationPlan) des.getNativeData(DESERIALIZATION_PLAN);
+            // The fields are read after this call returns, so the view keeps a copy of the input
+            byte[] buffer = Arrays.copyOf(encodedMessage.getByteArray(), encodedMessage.size());
+            LazyRecordReader reader = deserializationPlan.createLazyRecordReader(buffer, buffer.length);
+            BObject view = ValueCreator.createObjectValue(Utils.getModule(), RECORD_VIEW);
+            view.addNativeData(LAZY_RECORD_READER, reader);
+            return view;
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (Exception e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
-        return tuple;
     }
 
-    private static TupleType getBallerinaTupleTypeFromUnion(UnionType unionType, String targetBallerinaTypeName) {
-        TupleType targetTupleType = null;
-
-        for (Type memberType : unionType.getMemberTypes()) {
-            memberType = TypeUtils.getReferredType(memberType);
-            if (memberType.getTag() == TypeTags.TUPLE_TAG) {
-                String tupleTypeName = memberType.getName();
-                if (tupleTypeName.equals(targetBallerinaTypeName)) {
-                    targetTupleType = (TupleType) memberType;
-                    break;
-                }
-            }
+    /**
+     * Reads a field of an encoded record without deserializing the other fields.
+     *
+     * @param des            Deserializer object.
+     * @param encodedMessage Byte array corresponding to the encoded record.
+     * @param path           Dot separated path of record field names.
+     * @param dataType       Type of the field value.
+     * @return anydata object.
+     */
+    @SuppressWarnings("unused")
+    public static Object extractField(BObject des, BArray encodedMessage, BString path, BTypedesc dataType) {
+        try {
+            DeserializationPlan deserializationPlan = (DeserializationPlan) des.getNativeData(DESERIALIZATION_PLAN);
+            Object value = deserializationPlan.extractField(encodedMessage.getByteArray(), encodedMessage.size(),
+                    path.getValue());
+            Type fieldType = dataType.getDescribingType();
+            if (!TypeChecker.checkIsType(value, fieldType)) {
+                return createSerdesError(FIELD_TYPE_MISMATCH + path.getValue(), SERDES_ERROR);
+            }
+            return value;
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (Exception e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
-        return targetTupleType;
     }
 
-    private static RecordType getBallerinaRecordTypeFromUnion(UnionType unionType, String targetBallerinaTypeName) {
-        RecordType targetRecordType = null;
-
-        for (Type memberType : unionType.getMemberTypes()) {
-            memberType = TypeUtils.getReferredType(memberType);
-            if (memberType.getTag() == TypeTags.RECORD_TYPE_TAG) {
-                String recordType = memberType.getName();
-                if (recordType.equals(targetBallerinaTypeName)) {
-                    targetRecordType = (RecordType) memberType;
-                    break;
-                }
-            }
+    /**
+     * Deserializes the rows of an encoded array or table of records that match the given predicates.
+     *
+     * @param des            Deserializer object.
+     * @param encodedMessage Byte array corresponding to the encoded array or table.
+     * @param predicates     Predicates that the rows must match.
+     * @param dataType       Type of the array or table.
+     * @return Array or table of the matching rows.
+     */
+    @SuppressWarnings("unused")
+    public static Object scan(BObject des, BArray encodedMessage, BArray predicates, BTypedesc dataType) {
+        try {
+            DeserializationPlan deserializationPlan = getDeserializationPlan(des, dataType);
+            return deserializationPlan.scan(encodedMessage.getByteArray(), encodedMessage.size(),
+                    createRowPredicates(predicates));
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (Exception e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
-        return targetRecordType;
     }
 
-    private static ArrayType getBallerinaArrayTypeFromUnion(UnionType unionType, String targetBallerinaTypeName,
-                                                            int dimention) {
-        ArrayType targetArrayType = null;
-
-        for (Type memberType : unionType.getMemberTypes()) {
-            memberType = TypeUtils.getReferredType(memberType);
-            if (memberType.getTag() == TypeTags.ARRAY_TAG) {
-                String arrayBasicType = Utils.getBaseElementTypeNameOfBallerinaArray((ArrayType) memberType);
-                int arrayDimention = Utils.getArrayDimensions((ArrayType) memberType);
-                if (arrayDimention == dimention && arrayBasicType.equals(targetBallerinaTypeName)) {
-                    targetArrayType = (ArrayType) memberType;
-                    break;
-                }
-            }
+    private static RowPredicate[] createRowPredicates(BArray predicates) {
+        RowPredicate[] rowPredicates = new RowPredicate[predicates.size()];
+        for (int i = 0; i < rowPredicates.length; i++) {
+            BMap<?, ?> predicate = (BMap<?, ?>) predicates.get(i);
+            rowPredicates[i] = new RowPredicate(((BString) predicate.get(PREDICATE_FIELD_NAME)).getValue(),
+                    ((BString) predicate.get(PREDICATE_OPERATOR)).getValue(), predicate.get(PREDICATE_VALUE));
         }
-        return targetArrayType;
+        return rowPredicates;
     }
 
-    private static boolean isMapTableOrNonReferencedRecord(Type type) {
-        return type.getTag() == TypeTags.MAP_TAG || type.getTag() == TypeTags.TABLE_TAG || type.getName()
-                .contains(CURLY_BRACE);
+    // Values are read into the expected type when it is a narrower type than the type of the schema
+    private static DeserializationPlan getDeserializationPlan(BObject des, BTypedesc dataType) {
+        DeserializationPlan deserializationPlan = (DeserializationPlan) des.getNativeData(DESERIALIZATION_PLAN);
+        return deserializationPlan.forTargetType(dataType.getDescribingType());
     }
 }
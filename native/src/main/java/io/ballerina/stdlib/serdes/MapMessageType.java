@@ -18,6 +18,7 @@
 
 package io.ballerina.stdlib.serdes;
 
+import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.BooleanType;
 import io.ballerina.runtime.api.types.ByteType;
@@ -46,7 +47,6 @@ import static io.ballerina.stdlib.serdes.Constants.MAP_FIELD_ENTRY;
 import static io.ballerina.stdlib.serdes.Constants.OPTIONAL_LABEL;
 import static io.ballerina.stdlib.serdes.Constants.RECORD_BUILDER;
 import static io.ballerina.stdlib.serdes.Constants.REPEATED_LABEL;
-import static io.ballerina.stdlib.serdes.Constants.STRING;
 import static io.ballerina.stdlib.serdes.Constants.TABLE_BUILDER;
 import static io.ballerina.stdlib.serdes.Constants.TUPLE_BUILDER;
 import static io.ballerina.stdlib.serdes.Constants.TYPE_SEPARATOR;
@@ -78,7 +78,7 @@ public class MapMessageType extends MessageType {
 
     @Override
     public void setByteField(ByteType byteType) {
-        String protoType = DataTypeMapper.mapBallerinaTypeToProtoType(byteType.getTag());
+        String protoType = mapScalarTypeToProtoType(byteType.getTag());
         addValueFieldInMapEntryBuilder(protoType);
         addMapEntryFieldInMessageBuilder();
     }
@@ -99,7 +99,7 @@ public class MapMessageType extends MessageType {
 
     @Override
     public void setStringField(StringType stringType) {
-        String protoType = DataTypeMapper.mapBallerinaTypeToProtoType(stringType.getTag());
+        String protoType = mapScalarTypeToProtoType(stringType.getTag());
         addValueFieldInMapEntryBuilder(protoType);
         addMapEntryFieldInMessageBuilder();
     }
@@ -191,8 +191,8 @@ public class MapMessageType extends MessageType {
     }
 
     private void addKeyFieldInMapEntryBuilder() {
-        ProtobufMessageFieldBuilder keyField = new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, STRING, KEY_NAME,
-                keyFieldNumber);
+        ProtobufMessageFieldBuilder keyField = new ProtobufMessageFieldBuilder(OPTIONAL_LABEL,
+                mapScalarTypeToProtoType(TypeTags.STRING_TAG), KEY_NAME, keyFieldNumber);
         mapEntryBuilder.addField(keyField);
     }
 
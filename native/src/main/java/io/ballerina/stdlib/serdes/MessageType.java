@@ -18,6 +18,7 @@
 
 package io.ballerina.stdlib.serdes;
 
+import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.BooleanType;
 import io.ballerina.runtime.api.types.ByteType;
@@ -41,10 +42,12 @@ import java.util.List;
 import java.util.Map;
 
 import static io.ballerina.stdlib.serdes.Constants.BYTES;
+import static io.ballerina.stdlib.serdes.Constants.COMPACT_VALUE;
 import static io.ballerina.stdlib.serdes.Constants.DECIMAL_VALUE;
 import static io.ballerina.stdlib.serdes.Constants.OPTIONAL_LABEL;
 import static io.ballerina.stdlib.serdes.Constants.PRECISION;
 import static io.ballerina.stdlib.serdes.Constants.SCALE;
+import static io.ballerina.stdlib.serdes.Constants.SINT64;
 import static io.ballerina.stdlib.serdes.Constants.UINT32;
 import static io.ballerina.stdlib.serdes.Constants.VALUE;
 
@@ -108,10 +111,22 @@ public abstract class MessageType {
     }
 
     public void setByteField(ByteType byteType) {
-        String protoType = DataTypeMapper.mapBallerinaTypeToProtoType(byteType.getTag());
+        String protoType = mapScalarTypeToProtoType(byteType.getTag());
         addMessageFieldInMessageBuilder(OPTIONAL_LABEL, protoType);
     }
 
+    // Scalar bytes are uint32 fields when the schema uses the varint byte encoding, and strings are uint32 string
+    // table indexes when the schema uses the dictionary string encoding
+    public String mapScalarTypeToProtoType(int typeTag) {
+        if (typeTag == TypeTags.BYTE_TAG && messageGenerator.hasVarintBytes()) {
+            return UINT32;
+        }
+        if (typeTag == TypeTags.STRING_TAG && messageGenerator.hasIndexedStrings()) {
+            return UINT32;
+        }
+        return DataTypeMapper.mapBallerinaTypeToProtoType(typeTag);
+    }
+
     public void setFloatField(FloatType floatType) {
         String protoType = DataTypeMapper.mapBallerinaTypeToProtoType(floatType.getTag());
         addMessageFieldInMessageBuilder(OPTIONAL_LABEL, protoType);
@@ -136,12 +151,16 @@ public abstract class MessageType {
         nestedMessageBuilder.addField(scaleField);
         nestedMessageBuilder.addField(precisionField);
         nestedMessageBuilder.addField(valueField);
+        if (messageGenerator.hasCompactDecimals()) {
+            // Unscaled values that fit in a long are written to this field instead of the value field
+            nestedMessageBuilder.addField(new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, SINT64, COMPACT_VALUE, 4));
+        }
 
         return nestedMessageBuilder;
     }
 
     public void setStringField(StringType stringType) {
-        String protoType = DataTypeMapper.mapBallerinaTypeToProtoType(stringType.getTag());
+        String protoType = mapScalarTypeToProtoType(stringType.getTag());
         addMessageFieldInMessageBuilder(OPTIONAL_LABEL, protoType);
     }
 
@@ -18,6 +18,7 @@
 
 package io.ballerina.stdlib.serdes;
 
+import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.MapType;
@@ -28,12 +29,15 @@ import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.UnionType;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.stdlib.serdes.protobuf.ProtobufMessageBuilder;
+import io.ballerina.stdlib.serdes.protobuf.ProtobufMessageFieldBuilder;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static io.ballerina.stdlib.serdes.Constants.BOOL;
 import static io.ballerina.stdlib.serdes.Constants.MAP_BUILDER;
 import static io.ballerina.stdlib.serdes.Constants.OPTIONAL_LABEL;
 import static io.ballerina.stdlib.serdes.Constants.RECORD_BUILDER;
@@ -92,11 +96,48 @@ public class RecordMessageType extends MessageType {
 
     @Override
     public void setUnionField(UnionType unionType) {
+        // Optional record fields keep the union message, which tells a nil value from an absent field
+        Field recordField = ((RecordType) getBallerinaType()).getFields().get(getCurrentFieldName());
+        Type nilableScalarType = getMessageGenerator().hasOptionalNilableFields()
+                && !ColumnarTableMessageType.isOptional(recordField) ? Utils.getNilableScalarType(unionType) : null;
+        if (nilableScalarType != null) {
+            // Absence of the proto3 optional field means nil
+            String protoType = mapScalarTypeToProtoType(nilableScalarType.getTag());
+            getMessageBuilder().addProto3OptionalField(new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, protoType,
+                    getCurrentFieldName(), getCurrentFieldNumber()));
+            return;
+        }
+        if (getMessageGenerator().hasOneofUnionFields() && UnionMessageType.isSimpleUnion(unionType)) {
+            addOneofFieldsInMessageBuilder(unionType);
+            return;
+        }
         String childMessageName = getCurrentFieldName() + TYPE_SEPARATOR + UNION_BUILDER_NAME;
         addChildMessageDefinitionInMessageBuilder(childMessageName, unionType);
         addMessageFieldInMessageBuilder(OPTIONAL_LABEL, childMessageName);
     }
 
+    // Each member is a field of the oneof named after the record field, the members take consecutive field numbers
+    private void addOneofFieldsInMessageBuilder(UnionType unionType) {
+        List<ProtobufMessageFieldBuilder> memberFields = new ArrayList<>();
+        int memberFieldNumber = getCurrentFieldNumber();
+        List<Map.Entry<String, Type>> members = unionType.getMemberTypes().stream()
+                .map(UnionMessageType::mapMemberToFieldName).sorted(Map.Entry.comparingByKey())
+                .collect(Collectors.toList());
+        for (Map.Entry<String, Type> member : members) {
+            Type memberType = member.getValue();
+            String protoType = memberType.getTag() == TypeTags.NULL_TAG ? BOOL
+                    : mapScalarTypeToProtoType(memberType.getTag());
+            if (memberType.getTag() == TypeTags.DECIMAL_TAG) {
+                getMessageBuilder().addNestedMessage(generateDecimalMessageDefinition());
+            }
+            memberFields.add(new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, protoType,
+                    UnionMessageType.mapMemberToOneofFieldName(getCurrentFieldName(), memberType),
+                    memberFieldNumber++));
+        }
+        getMessageBuilder().addOneof(getCurrentFieldName(), memberFields);
+        setCurrentFieldNumber(memberFieldNumber - 1);
+    }
+
     @Override
     public void setTupleField(TupleType tupleType) {
         String childMessageName = getCurrentFieldName() + TYPE_SEPARATOR + TUPLE_BUILDER;
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.utils.TypeChecker;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.serdes.wire.LazyRecordReader;
+
+import static io.ballerina.stdlib.serdes.Constants.DESERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Constants.FIELD_TYPE_MISMATCH;
+import static io.ballerina.stdlib.serdes.Constants.LAZY_RECORD_READER;
+import static io.ballerina.stdlib.serdes.Constants.RECORD_FIELD_NOT_FOUND;
+import static io.ballerina.stdlib.serdes.Constants.TARGET_TYPE_MISMATCH;
+import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * {@link RecordView} class reads the fields of the record view returned by the deserializeView function. The
+ * encoded record and the fields read so far are kept by the native reader of the view.
+ */
+public class RecordView {
+
+    private RecordView() {
+    }
+
+    @SuppressWarnings("unused")
+    public static Object get(BObject view, BString fieldName, BTypedesc dataType) {
+        LazyRecordReader reader = getReader(view);
+        if (!reader.hasField(fieldName)) {
+            return createSerdesError(RECORD_FIELD_NOT_FOUND + fieldName.getValue(), SERDES_ERROR);
+        }
+        try {
+            Object value = reader.get(fieldName);
+            if (!TypeChecker.checkIsType(value, dataType.getDescribingType())) {
+                return createSerdesError(FIELD_TYPE_MISMATCH + fieldName.getValue(), SERDES_ERROR);
+            }
+            return value;
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (Exception e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static Object toRecord(BObject view, BTypedesc dataType) {
+        try {
+            Object value = getReader(view).getRecord();
+            if (!TypeChecker.checkIsType(value, dataType.getDescribingType())) {
+                return createSerdesError(TARGET_TYPE_MISMATCH + dataType.getDescribingType(), SERDES_ERROR);
+            }
+            return value;
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (Exception e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        }
+    }
+
+    private static LazyRecordReader getReader(BObject view) {
+        return (LazyRecordReader) view.getNativeData(LAZY_RECORD_READER);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.ballerina.stdlib.serdes.Constants.SCHEMA_CACHE_STATISTICS;
+
+/**
+ * {@link SchemaCache} class caches the compiled schemas of typedescs, so creating another schema for the same
+ * typedesc does not generate the proto3 message definition and the plans again.
+ * <p>
+ * Types are compared by identity and held by weak references, and compiled schemas are held by soft references. The
+ * plans of a compiled schema refer to its type, so the weak reference to a type that is no longer used is only cleared
+ * after its schema is evicted or its soft reference is cleared when memory runs low. The cache holds at most
+ * {@link #MAX_ENTRIES} schemas, the least recently used schema is evicted when it is full.
+ */
+public class SchemaCache {
+    static final int MAX_ENTRIES = 512;
+    private static final BString HITS = StringUtils.fromString("hits");
+    private static final BString MISSES = StringUtils.fromString("misses");
+    private static final BString SIZE = StringUtils.fromString("size");
+
+    // Schema creation is rare compared to serialization, so a single lock on an access ordered map is enough
+    private static final Map<CacheKey, SoftReference<CompiledSchema>> COMPILED_SCHEMAS = Collections.synchronizedMap(
+            new LinkedHashMap<CacheKey, SoftReference<CompiledSchema>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, SoftReference<CompiledSchema>> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+    private static final ReferenceQueue<Type> COLLECTED_TYPES = new ReferenceQueue<>();
+    private static final LongAdder HIT_COUNT = new LongAdder();
+    private static final LongAdder MISS_COUNT = new LongAdder();
+
+    private SchemaCache() {
+    }
+
+    /**
+     * Returns the compiled schema of the given type and options, or null if it is not cached.
+     */
+    public static CompiledSchema get(Type ballerinaType, SchemaOptions options) {
+        removeCollectedTypes();
+        SoftReference<CompiledSchema> cachedSchema = COMPILED_SCHEMAS.get(new CacheKey(ballerinaType, options));
+        CompiledSchema compiledSchema = cachedSchema != null ? cachedSchema.get() : null;
+        if (compiledSchema == null) {
+            MISS_COUNT.increment();
+        } else {
+            HIT_COUNT.increment();
+        }
+        return compiledSchema;
+    }
+
+    /**
+     * Caches the compiled schema of the given type and options.
+     * Returns the schema cached by another strand for the same type if there is one, so the compiled schema is shared.
+     */
+    public static CompiledSchema put(Type ballerinaType, SchemaOptions options, CompiledSchema compiledSchema) {
+        CacheKey cacheKey = new CacheKey(ballerinaType, options, COLLECTED_TYPES);
+        synchronized (COMPILED_SCHEMAS) {
+            SoftReference<CompiledSchema> cachedSchema = COMPILED_SCHEMAS.get(cacheKey);
+            CompiledSchema existingSchema = cachedSchema != null ? cachedSchema.get() : null;
+            if (existingSchema != null) {
+                return existingSchema;
+            }
+            // The eldest entry is evicted by the put, which never evicts the schema being cached
+            COMPILED_SCHEMAS.put(cacheKey, new SoftReference<>(compiledSchema));
+            return compiledSchema;
+        }
+    }
+
+    /**
+     * Returns the hit and miss counts and the size of the cache as a serdes:SchemaCacheStatistics record.
+     */
+    @SuppressWarnings("unused")
+    public static BMap<BString, Object> getStatistics() {
+        removeCollectedTypes();
+        BMap<BString, Object> statistics = ValueCreator.createRecordValue(Utils.getModule(), SCHEMA_CACHE_STATISTICS);
+        statistics.put(HITS, HIT_COUNT.sum());
+        statistics.put(MISSES, MISS_COUNT.sum());
+        statistics.put(SIZE, (long) COMPILED_SCHEMAS.size());
+        return statistics;
+    }
+
+    private static void removeCollectedTypes() {
+        Reference<? extends Type> collectedType;
+        while ((collectedType = COLLECTED_TYPES.poll()) != null) {
+            COMPILED_SCHEMAS.remove(collectedType);
+        }
+    }
+
+    private static final class CacheKey extends WeakReference<Type> {
+        private final SchemaOptions options;
+        private final int hashCode;
+
+        // Keys used for lookups are not registered with the queue
+        CacheKey(Type ballerinaType, SchemaOptions options) {
+            this(ballerinaType, options, null);
+        }
+
+        CacheKey(Type ballerinaType, SchemaOptions options, ReferenceQueue<Type> referenceQueue) {
+            super(ballerinaType, referenceQueue);
+            this.options = options;
+            this.hashCode = 31 * System.identityHashCode(ballerinaType) + options.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey otherKey = (CacheKey) other;
+            Type ballerinaType = get();
+            return ballerinaType != null && ballerinaType == otherKey.get() && options.equals(otherKey.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -19,9 +19,12 @@
 package io.ballerina.stdlib.serdes;
 
 import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.TableType;
 import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
@@ -29,6 +32,13 @@ import io.ballerina.stdlib.serdes.protobuf.DataTypeMapper;
 import io.ballerina.stdlib.serdes.protobuf.ProtobufFileBuilder;
 import io.ballerina.stdlib.serdes.protobuf.ProtobufMessageBuilder;
 import io.ballerina.stdlib.serdes.protobuf.ProtobufMessageFieldBuilder;
+import io.ballerina.stdlib.serdes.wire.DeserializationPlan;
+import io.ballerina.stdlib.serdes.wire.DeserializationPlanCompiler;
+import io.ballerina.stdlib.serdes.wire.ParallelDecoder;
+import io.ballerina.stdlib.serdes.wire.ParallelEncoder;
+import io.ballerina.stdlib.serdes.wire.RecordCodecGenerator;
+import io.ballerina.stdlib.serdes.wire.SerializationPlan;
+import io.ballerina.stdlib.serdes.wire.SerializationPlanCompiler;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -38,15 +48,28 @@ import static com.google.protobuf.Descriptors.Descriptor;
 import static com.google.protobuf.Descriptors.DescriptorValidationException;
 import static io.ballerina.stdlib.serdes.Constants.ARRAY_BUILDER_NAME;
 import static io.ballerina.stdlib.serdes.Constants.BYTES;
+import static io.ballerina.stdlib.serdes.Constants.CODEC_MODE;
+import static io.ballerina.stdlib.serdes.Constants.COLUMNAR_TABLE_BUILDER;
+import static io.ballerina.stdlib.serdes.Constants.COLUMNAR_TABLE_NOT_SUPPORTED;
+import static io.ballerina.stdlib.serdes.Constants.COMPACT_VALUE;
 import static io.ballerina.stdlib.serdes.Constants.DECIMAL_VALUE;
+import static io.ballerina.stdlib.serdes.Constants.DESERIALIZATION_PLAN;
 import static io.ballerina.stdlib.serdes.Constants.FAILED_WRITE_FILE;
+import static io.ballerina.stdlib.serdes.Constants.INTERPRETED_CODEC_MODE;
 import static io.ballerina.stdlib.serdes.Constants.MAP_BUILDER;
 import static io.ballerina.stdlib.serdes.Constants.OPTIONAL_LABEL;
 import static io.ballerina.stdlib.serdes.Constants.PRECISION;
 import static io.ballerina.stdlib.serdes.Constants.PROTO3;
+import static io.ballerina.stdlib.serdes.Constants.REPEATED_LABEL;
 import static io.ballerina.stdlib.serdes.Constants.SCALE;
 import static io.ballerina.stdlib.serdes.Constants.SCHEMA_GENERATION_FAILURE;
 import static io.ballerina.stdlib.serdes.Constants.SCHEMA_NAME;
+import static io.ballerina.stdlib.serdes.Constants.SERIALIZATION_PLAN;
+import static io.ballerina.stdlib.serdes.Constants.SINT64;
+import static io.ballerina.stdlib.serdes.Constants.SPECIALIZED_CODEC_MODE;
+import static io.ballerina.stdlib.serdes.Constants.STRING;
+import static io.ballerina.stdlib.serdes.Constants.STRING_TABLE_BUILDER;
+import static io.ballerina.stdlib.serdes.Constants.STRING_TABLE_FIELD_NAME;
 import static io.ballerina.stdlib.serdes.Constants.TABLE_BUILDER;
 import static io.ballerina.stdlib.serdes.Constants.TUPLE_BUILDER;
 import static io.ballerina.stdlib.serdes.Constants.UINT32;
@@ -66,17 +89,24 @@ public class SchemaGenerator {
      *
      * @param serdes    Serializer or Deserializer object.
      * @param bTypedesc Data type that is being serialized.
+     * @param options   Schema options.
      * @return {@code BError}, if there are schema generation errors, null otherwise.
      */
     @SuppressWarnings("unused")
-    public static Object generateSchema(BObject serdes, BTypedesc bTypedesc) {
+    public static Object generateSchema(BObject serdes, BTypedesc bTypedesc, BMap<BString, Object> options) {
         try {
-            ProtobufFileBuilder protobufFile = new ProtobufFileBuilder();
-            ProtobufMessageBuilder protobufMessageBuilder = buildProtobufMessageFromBallerinaTypedesc(
-                    bTypedesc.getDescribingType());
-            Descriptor messageDescriptor = protobufFile.addMessageType(protobufMessageBuilder).build();
-            serdes.addNativeData(SCHEMA_NAME, messageDescriptor);
-            serdes.addNativeData(PROTO3, protobufFile.toString());
+            Type ballerinaType = bTypedesc.getDescribingType();
+            SchemaOptions schemaOptions = SchemaOptions.fromRecord(options);
+            CompiledSchema compiledSchema = SchemaCache.get(ballerinaType, schemaOptions);
+            if (compiledSchema == null) {
+                compiledSchema = SchemaCache.put(ballerinaType, schemaOptions,
+                        compileSchema(ballerinaType, schemaOptions));
+            }
+            serdes.addNativeData(SCHEMA_NAME, compiledSchema.getMessageDescriptor());
+            serdes.addNativeData(PROTO3, compiledSchema.getProto3());
+            serdes.addNativeData(SERIALIZATION_PLAN, compiledSchema.getSerializationPlan());
+            serdes.addNativeData(DESERIALIZATION_PLAN, compiledSchema.getDeserializationPlan());
+            serdes.addNativeData(CODEC_MODE, compiledSchema.getCodecMode());
         } catch (BError ballerinaError) {
             return ballerinaError;
         } catch (DescriptorValidationException e) {
@@ -86,6 +116,50 @@ public class SchemaGenerator {
         return null;
     }
 
+    private static CompiledSchema compileSchema(Type ballerinaType, SchemaOptions options)
+            throws DescriptorValidationException {
+        ProtobufFileBuilder protobufFile = new ProtobufFileBuilder();
+        ProtobufMessageBuilder protobufMessageBuilder = options.isColumnarTableLayout()
+                ? buildColumnarTableMessage(ballerinaType, options)
+                : buildProtobufMessageFromBallerinaTypedesc(ballerinaType, options);
+        // The value message of a schema with the dictionary string encoding is nested in a message holding the
+        // string table, the plans are compiled for the value message
+        boolean hasStringTable = options.isDictionaryStringEncoding();
+        Descriptor messageDescriptor = protobufFile.addMessageType(hasStringTable
+                ? buildStringTableMessage(protobufMessageBuilder) : protobufMessageBuilder).build();
+        Descriptor valueDescriptor = hasStringTable ? messageDescriptor.findFieldByName(VALUE).getMessageType()
+                : messageDescriptor;
+
+        RecordCodecGenerator recordCodecGenerator = null;
+        int parallelThreshold = options.getParallelThreshold();
+        if (SPECIALIZED_CODEC_MODE.equals(options.getCodecMode())) {
+            recordCodecGenerator = new RecordCodecGenerator();
+        }
+        SerializationPlan serializationPlan = SerializationPlanCompiler.compile(valueDescriptor, ballerinaType,
+                recordCodecGenerator, ParallelEncoder.withThreshold(parallelThreshold));
+        DeserializationPlan deserializationPlan = DeserializationPlanCompiler.compile(valueDescriptor,
+                ballerinaType, recordCodecGenerator, ParallelDecoder.withThreshold(parallelThreshold));
+        if (hasStringTable) {
+            serializationPlan = serializationPlan.withStringTable(messageDescriptor);
+            deserializationPlan = deserializationPlan.withStringTable(messageDescriptor);
+        }
+        // The schema is reported as interpreted when none of its record types could be specialized
+        boolean isSpecialized = recordCodecGenerator != null && recordCodecGenerator.getSpecializedRecordCount() > 0;
+        return new CompiledSchema(messageDescriptor, protobufFile.toString(), serializationPlan, deserializationPlan,
+                isSpecialized ? SPECIALIZED_CODEC_MODE : INTERPRETED_CODEC_MODE);
+    }
+
+    /**
+     * Returns the codec mode used by the schema.
+     *
+     * @param serdes Serializer or Deserializer object.
+     * @return {@code INTERPRETED} or {@code SPECIALIZED}.
+     */
+    @SuppressWarnings("unused")
+    public static BString getCodecMode(BObject serdes) {
+        return StringUtils.fromString((String) serdes.getNativeData(CODEC_MODE));
+    }
+
     @SuppressWarnings("unused")
     public static Object generateProtoFile(BObject serdes, BString filePath) {
         String filePathName = filePath.getValue();
@@ -99,7 +173,29 @@ public class SchemaGenerator {
         return null;
     }
 
-    private static ProtobufMessageBuilder buildProtobufMessageFromBallerinaTypedesc(Type ballerinaType) {
+    // Strings of the value are written once to a repeated string field and string fields hold their indexes
+    private static ProtobufMessageBuilder buildStringTableMessage(ProtobufMessageBuilder valueMessageBuilder) {
+        ProtobufMessageBuilder messageBuilder = new ProtobufMessageBuilder(STRING_TABLE_BUILDER);
+        messageBuilder.addField(new ProtobufMessageFieldBuilder(REPEATED_LABEL, STRING, STRING_TABLE_FIELD_NAME, 1));
+        messageBuilder.addNestedMessage(valueMessageBuilder);
+        messageBuilder.addField(new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, valueMessageBuilder.getName(), VALUE,
+                2));
+        return messageBuilder;
+    }
+
+    // The columnar layout applies to the table the schema is created for, tables nested in it use the row layout
+    private static ProtobufMessageBuilder buildColumnarTableMessage(Type ballerinaType, SchemaOptions options) {
+        Type referredType = TypeUtils.getReferredType(ballerinaType);
+        if (referredType.getTag() != TypeTags.TABLE_TAG) {
+            throw createSerdesError(COLUMNAR_TABLE_NOT_SUPPORTED + referredType.getName(), SERDES_ERROR);
+        }
+        ProtobufMessageBuilder messageBuilder = new ProtobufMessageBuilder(COLUMNAR_TABLE_BUILDER);
+        return BallerinaStructuredTypeMessageGenerator.generateColumnarTableMessageDefinition((TableType) referredType,
+                messageBuilder, options);
+    }
+
+    private static ProtobufMessageBuilder buildProtobufMessageFromBallerinaTypedesc(Type ballerinaType,
+                                                                                  SchemaOptions options) {
         ProtobufMessageBuilder messageBuilder;
         String messageName;
 
@@ -113,57 +209,57 @@ public class SchemaGenerator {
             case TypeTags.BOOLEAN_TAG: {
                 messageName = Utils.createMessageName(referredType.getName());
                 messageBuilder = new ProtobufMessageBuilder(messageName);
-                generateMessageDefinitionForPrimitiveType(messageBuilder, referredType);
+                generateMessageDefinitionForPrimitiveType(messageBuilder, referredType, options);
                 break;
             }
 
             case TypeTags.DECIMAL_TAG: {
                 messageName = DECIMAL_VALUE;
                 messageBuilder = new ProtobufMessageBuilder(messageName);
-                generateMessageDefinitionForPrimitiveDecimal(messageBuilder);
+                generateMessageDefinitionForPrimitiveDecimal(messageBuilder, options);
                 break;
             }
 
             case TypeTags.UNION_TAG: {
                 messageName = UNION_BUILDER_NAME;
                 messageBuilder = new ProtobufMessageBuilder(messageName);
-                return new BallerinaStructuredTypeMessageGenerator(referredType,
-                        messageBuilder).generateMessageDefinition();
+                return new BallerinaStructuredTypeMessageGenerator(referredType, messageBuilder, options)
+                        .generateMessageDefinition();
             }
 
             case TypeTags.ARRAY_TAG: {
                 messageName = ARRAY_BUILDER_NAME;
                 messageBuilder = new ProtobufMessageBuilder(messageName);
-                return new BallerinaStructuredTypeMessageGenerator(referredType,
-                        messageBuilder).generateMessageDefinition();
+                return new BallerinaStructuredTypeMessageGenerator(referredType, messageBuilder, options)
+                        .generateMessageDefinition();
             }
 
             case TypeTags.RECORD_TYPE_TAG: {
                 messageName = referredType.getName();
                 messageBuilder = new ProtobufMessageBuilder(messageName);
-                return new BallerinaStructuredTypeMessageGenerator(referredType,
-                        messageBuilder).generateMessageDefinition();
+                return new BallerinaStructuredTypeMessageGenerator(referredType, messageBuilder, options)
+                        .generateMessageDefinition();
             }
 
             case TypeTags.MAP_TAG: {
                 messageName = MAP_BUILDER;
                 messageBuilder = new ProtobufMessageBuilder(messageName);
-                return new BallerinaStructuredTypeMessageGenerator(referredType,
-                        messageBuilder).generateMessageDefinition();
+                return new BallerinaStructuredTypeMessageGenerator(referredType, messageBuilder, options)
+                        .generateMessageDefinition();
             }
 
             case TypeTags.TABLE_TAG: {
                 messageName = TABLE_BUILDER;
                 messageBuilder = new ProtobufMessageBuilder(messageName);
-                return new BallerinaStructuredTypeMessageGenerator(referredType,
-                        messageBuilder).generateMessageDefinition();
+                return new BallerinaStructuredTypeMessageGenerator(referredType, messageBuilder, options)
+                        .generateMessageDefinition();
             }
 
             case TypeTags.TUPLE_TAG: {
                 messageName = TUPLE_BUILDER;
                 messageBuilder = new ProtobufMessageBuilder(messageName);
-                return new BallerinaStructuredTypeMessageGenerator(referredType,
-                        messageBuilder).generateMessageDefinition();
+                return new BallerinaStructuredTypeMessageGenerator(referredType, messageBuilder, options)
+                        .generateMessageDefinition();
             }
 
             default:
@@ -175,15 +271,18 @@ public class SchemaGenerator {
 
     // Generate schema for all ballerina primitive types except for decimal type
     private static void generateMessageDefinitionForPrimitiveType(ProtobufMessageBuilder messageBuilder,
-                                                                  Type ballerinaType) {
-        String protoType = DataTypeMapper.mapBallerinaTypeToProtoType(ballerinaType.getTag());
+                                                                  Type ballerinaType, SchemaOptions options) {
+        boolean isVarintField = ballerinaType.getTag() == TypeTags.BYTE_TAG && options.isVarintByteEncoding()
+                || ballerinaType.getTag() == TypeTags.STRING_TAG && options.isDictionaryStringEncoding();
+        String protoType = isVarintField ? UINT32 : DataTypeMapper.mapBallerinaTypeToProtoType(ballerinaType.getTag());
         ProtobufMessageFieldBuilder messageField = new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, protoType,
                 Constants.ATOMIC_FIELD_NAME, 1);
         messageBuilder.addField(messageField);
     }
 
     // Generates schema for ballerina decimal type
-    private static void generateMessageDefinitionForPrimitiveDecimal(ProtobufMessageBuilder messageBuilder) {
+    private static void generateMessageDefinitionForPrimitiveDecimal(ProtobufMessageBuilder messageBuilder,
+                                                                     SchemaOptions options) {
         // Java BigDecimal representation used for serializing ballerina decimal value
         ProtobufMessageFieldBuilder scaleField = new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, UINT32, SCALE, 1);
         ProtobufMessageFieldBuilder precisionField = new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, UINT32, PRECISION,
@@ -193,5 +292,8 @@ public class SchemaGenerator {
         messageBuilder.addField(scaleField);
         messageBuilder.addField(precisionField);
         messageBuilder.addField(valueField);
+        if (options.isCompactDecimalEncoding()) {
+            messageBuilder.addField(new ProtobufMessageFieldBuilder(OPTIONAL_LABEL, SINT64, COMPACT_VALUE, 4));
+        }
     }
 }
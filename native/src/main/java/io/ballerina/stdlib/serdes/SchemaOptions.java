@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Objects;
+
+import static io.ballerina.stdlib.serdes.Constants.BYTE_ENCODING_OPTION;
+import static io.ballerina.stdlib.serdes.Constants.CODEC_MODE_OPTION;
+import static io.ballerina.stdlib.serdes.Constants.COLUMNAR_TABLE_LAYOUT;
+import static io.ballerina.stdlib.serdes.Constants.COMPACT_DECIMAL_ENCODING;
+import static io.ballerina.stdlib.serdes.Constants.DECIMAL_ENCODING_OPTION;
+import static io.ballerina.stdlib.serdes.Constants.DICTIONARY_STRING_ENCODING;
+import static io.ballerina.stdlib.serdes.Constants.NILABLE_FIELD_ENCODING_OPTION;
+import static io.ballerina.stdlib.serdes.Constants.ONEOF_UNION_ENCODING;
+import static io.ballerina.stdlib.serdes.Constants.OPTIONAL_FIELD_NILABLE_ENCODING;
+import static io.ballerina.stdlib.serdes.Constants.PARALLEL_THRESHOLD_OPTION;
+import static io.ballerina.stdlib.serdes.Constants.STRING_ENCODING_OPTION;
+import static io.ballerina.stdlib.serdes.Constants.TABLE_LAYOUT_OPTION;
+import static io.ballerina.stdlib.serdes.Constants.UNION_ENCODING_OPTION;
+import static io.ballerina.stdlib.serdes.Constants.VARINT_BYTE_ENCODING;
+
+/**
+ * {@link SchemaOptions} class holds the options a schema is created with. Schemas created for the same type with
+ * equal options share a compiled schema.
+ */
+public final class SchemaOptions {
+    private final String codecMode;
+    private final int parallelThreshold;
+    private final String tableLayout;
+    private final String stringEncoding;
+    private final String nilableFieldEncoding;
+    private final String unionEncoding;
+    private final String byteEncoding;
+    private final String decimalEncoding;
+
+    private SchemaOptions(String codecMode, int parallelThreshold, String tableLayout, String stringEncoding,
+                          String nilableFieldEncoding, String unionEncoding, String byteEncoding,
+                          String decimalEncoding) {
+        this.codecMode = codecMode;
+        this.parallelThreshold = parallelThreshold;
+        this.tableLayout = tableLayout;
+        this.stringEncoding = stringEncoding;
+        this.nilableFieldEncoding = nilableFieldEncoding;
+        this.unionEncoding = unionEncoding;
+        this.byteEncoding = byteEncoding;
+        this.decimalEncoding = decimalEncoding;
+    }
+
+    /**
+     * Creates the options from a serdes:SchemaOptions record.
+     */
+    public static SchemaOptions fromRecord(BMap<BString, Object> options) {
+        String stringEncoding = ((BString) options.get(STRING_ENCODING_OPTION)).getValue();
+        // Thresholds below one disable parallel serialization and deserialization and share a single cache entry.
+        // Strings of a message are dictionary encoded in order, so those schemas are never parallel
+        int parallelThreshold = DICTIONARY_STRING_ENCODING.equals(stringEncoding) ? 0
+                : (int) Math.min(Math.max((long) options.get(PARALLEL_THRESHOLD_OPTION), 0), Integer.MAX_VALUE);
+        return new SchemaOptions(((BString) options.get(CODEC_MODE_OPTION)).getValue(), parallelThreshold,
+                ((BString) options.get(TABLE_LAYOUT_OPTION)).getValue(), stringEncoding,
+                ((BString) options.get(NILABLE_FIELD_ENCODING_OPTION)).getValue(),
+                ((BString) options.get(UNION_ENCODING_OPTION)).getValue(),
+                ((BString) options.get(BYTE_ENCODING_OPTION)).getValue(),
+                ((BString) options.get(DECIMAL_ENCODING_OPTION)).getValue());
+    }
+
+    public String getCodecMode() {
+        return codecMode;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public boolean isColumnarTableLayout() {
+        return COLUMNAR_TABLE_LAYOUT.equals(tableLayout);
+    }
+
+    public boolean isDictionaryStringEncoding() {
+        return DICTIONARY_STRING_ENCODING.equals(stringEncoding);
+    }
+
+    public boolean isOptionalFieldNilableEncoding() {
+        return OPTIONAL_FIELD_NILABLE_ENCODING.equals(nilableFieldEncoding);
+    }
+
+    public boolean isOneofUnionEncoding() {
+        return ONEOF_UNION_ENCODING.equals(unionEncoding);
+    }
+
+    public boolean isVarintByteEncoding() {
+        return VARINT_BYTE_ENCODING.equals(byteEncoding);
+    }
+
+    public boolean isCompactDecimalEncoding() {
+        return COMPACT_DECIMAL_ENCODING.equals(decimalEncoding);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SchemaOptions)) {
+            return false;
+        }
+        SchemaOptions otherOptions = (SchemaOptions) other;
+        return codecMode.equals(otherOptions.codecMode) && parallelThreshold == otherOptions.parallelThreshold
+                && tableLayout.equals(otherOptions.tableLayout) && stringEncoding.equals(otherOptions.stringEncoding)
+                && nilableFieldEncoding.equals(otherOptions.nilableFieldEncoding)
+                && unionEncoding.equals(otherOptions.unionEncoding) && byteEncoding.equals(otherOptions.byteEncoding)
+                && decimalEncoding.equals(otherOptions.decimalEncoding);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(codecMode, parallelThreshold, tableLayout, stringEncoding, nilableFieldEncoding,
+                unionEncoding, byteEncoding, decimalEncoding);
+    }
+}
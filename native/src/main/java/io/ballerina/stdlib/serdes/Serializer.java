@@ -18,31 +18,30 @@
 
 package io.ballerina.stdlib.serdes;
 
-import com.google.protobuf.Descriptors.Descriptor;
-import com.google.protobuf.Descriptors.FieldDescriptor;
-import com.google.protobuf.DynamicMessage;
-import com.google.protobuf.DynamicMessage.Builder;
-import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.types.Type;
-import io.ballerina.runtime.api.utils.TypeUtils;
-import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
-import io.ballerina.runtime.api.values.BTypedesc;
-
-import java.math.BigDecimal;
-
-import static io.ballerina.stdlib.serdes.Constants.ATOMIC_FIELD_NAME;
-import static io.ballerina.stdlib.serdes.Constants.BALLERINA_TYPEDESC_ATTRIBUTE_NAME;
-import static io.ballerina.stdlib.serdes.Constants.PRECISION;
-import static io.ballerina.stdlib.serdes.Constants.SCALE;
-import static io.ballerina.stdlib.serdes.Constants.SCHEMA_NAME;
+import io.ballerina.stdlib.serdes.wire.SerializationPlan;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+
+import static io.ballerina.stdlib.serdes.Constants.INVALID_BUFFER_OFFSET;
+import static io.ballerina.stdlib.serdes.Constants.INVALID_FILE_PATH;
+import static io.ballerina.stdlib.serdes.Constants.READ_ONLY_BUFFER;
 import static io.ballerina.stdlib.serdes.Constants.SERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Constants.SERIALIZATION_PLAN;
 import static io.ballerina.stdlib.serdes.Constants.TYPE_MISMATCH_ERROR_MESSAGE;
-import static io.ballerina.stdlib.serdes.Constants.UNSUPPORTED_DATA_TYPE;
-import static io.ballerina.stdlib.serdes.Constants.VALUE;
 import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
 import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
 
@@ -50,6 +49,8 @@ import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
  * Serializer class to create a byte array for a value.
  */
 public class Serializer {
+    private static final ArrayType BYTE_ARRAY_ARRAY_TYPE =
+            TypeCreator.createArrayType(TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE));
 
     /**
      * Creates a BArray for given data after serializing.
@@ -60,76 +61,154 @@ public class Serializer {
      */
     @SuppressWarnings("unused")
     public static Object serialize(BObject ser, Object anydata) {
-        BTypedesc bTypedesc = (BTypedesc) ser.get(BALLERINA_TYPEDESC_ATTRIBUTE_NAME);
-        Descriptor messageDescriptor = (Descriptor) ser.getNativeData(SCHEMA_NAME);
-        DynamicMessage dynamicMessage;
+        return serialize(ser, anydata, false);
+    }
+
+    /**
+     * Creates a BArray for given data after serializing, prefixed by the length of the serialized value.
+     *
+     * @param ser     Serializer object.
+     * @param anydata Data that is being serialized.
+     * @return Byte array of the length prefix and the serialized value.
+     */
+    @SuppressWarnings("unused")
+    public static Object serializeDelimited(BObject ser, Object anydata) {
+        return serialize(ser, anydata, true);
+    }
+
+    /**
+     * Serializes the given data into the buffer starting from the offset.
+     *
+     * @param ser     Serializer object.
+     * @param anydata Data that is being serialized.
+     * @param buffer  Byte array to write the serialized value.
+     * @param offset  Index of the buffer to start writing.
+     * @return Number of bytes written.
+     */
+    @SuppressWarnings("unused")
+    public static Object serializeInto(BObject ser, Object anydata, BArray buffer, long offset) {
+        return serializeInto(ser, anydata, buffer, offset, false);
+    }
+
+    /**
+     * Serializes the given data into the buffer starting from the offset, prefixed by the length of the serialized
+     * value.
+     *
+     * @param ser     Serializer object.
+     * @param anydata Data that is being serialized.
+     * @param buffer  Byte array to write the length prefix and the serialized value.
+     * @param offset  Index of the buffer to start writing.
+     * @return Number of bytes written.
+     */
+    @SuppressWarnings("unused")
+    public static Object serializeDelimitedInto(BObject ser, Object anydata, BArray buffer, long offset) {
+        return serializeInto(ser, anydata, buffer, offset, true);
+    }
+
+    /**
+     * Creates a BArray of byte arrays for the given values after serializing each of them.
+     *
+     * @param ser    Serializer object.
+     * @param values Values that are being serialized.
+     * @return Array of byte arrays of the serialized values.
+     */
+    @SuppressWarnings("unused")
+    public static Object serializeBatch(BObject ser, BArray values) {
+        SerializationPlan serializationPlan = (SerializationPlan) ser.getNativeData(SERIALIZATION_PLAN);
+        byte[][] encodedMessages;
         try {
-            dynamicMessage = buildDynamicMessageFromType(anydata, messageDescriptor,
-                    bTypedesc.getDescribingType()).build();
+            encodedMessages = serializationPlan.serializeBatch(values);
         } catch (BError ballerinaError) {
             return ballerinaError;
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | ClassCastException e) {
             String errorMessage = SERIALIZATION_ERROR_MESSAGE + TYPE_MISMATCH_ERROR_MESSAGE;
             return createSerdesError(errorMessage, SERDES_ERROR);
+        } catch (UncheckedIOException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
-        return ValueCreator.createArrayValue(dynamicMessage.toByteArray());
+        BArray[] encodedMessageArrays = new BArray[encodedMessages.length];
+        for (int i = 0; i < encodedMessages.length; i++) {
+            encodedMessageArrays[i] = ValueCreator.createArrayValue(encodedMessages[i]);
+        }
+        return ValueCreator.createArrayValue(encodedMessageArrays, BYTE_ARRAY_ARRAY_TYPE);
     }
 
-    private static Builder buildDynamicMessageFromType(Object anydata, Descriptor messageDescriptor,
-                                                       Type ballerinaType) {
-        Builder messageBuilder = DynamicMessage.newBuilder(messageDescriptor);
-        Type referredType = TypeUtils.getReferredType(ballerinaType);
-
-        switch (referredType.getTag()) {
-            case TypeTags.INT_TAG:
-            case TypeTags.FLOAT_TAG:
-            case TypeTags.BOOLEAN_TAG:
-                return generateMessageForPrimitiveType(messageBuilder, anydata);
-
-            case TypeTags.BYTE_TAG:
-                byte[] bytes = new byte[]{((Integer) anydata).byteValue()};
-                return generateMessageForPrimitiveType(messageBuilder, bytes);
-
-            case TypeTags.STRING_TAG:
-                String string = ((BString) anydata).getValue();
-                return generateMessageForPrimitiveType(messageBuilder, string);
-
-            case TypeTags.DECIMAL_TAG:
-                return generateMessageForPrimitiveDecimalType(messageBuilder, anydata);
-
-            case TypeTags.ARRAY_TAG:
-            case TypeTags.UNION_TAG:
-            case TypeTags.RECORD_TYPE_TAG:
-            case TypeTags.MAP_TAG:
-            case TypeTags.TABLE_TAG:
-            case TypeTags.TUPLE_TAG:
-                BallerinaStructuredTypeMessageSerializer structuredTypeMessageSerializer
-                        = new BallerinaStructuredTypeMessageSerializer(referredType, anydata, messageBuilder);
-                return structuredTypeMessageSerializer.generateMessage();
-
-            default:
-                throw createSerdesError(UNSUPPORTED_DATA_TYPE + referredType.getName(), SERDES_ERROR);
+    /**
+     * Serializes the given data to a byte channel or a file without creating a byte array of the serialized value.
+     *
+     * @param ser         Serializer object.
+     * @param anydata     Data that is being serialized.
+     * @param destination Byte channel or path of the file to write the serialized value.
+     * @return Error if the data can't be serialized or written, else null.
+     */
+    @SuppressWarnings("unused")
+    public static Object serializeTo(BObject ser, Object anydata, Object destination) {
+        SerializationPlan serializationPlan = (SerializationPlan) ser.getNativeData(SERIALIZATION_PLAN);
+        try {
+            if (destination instanceof BString) {
+                // An existing file is truncated
+                try (OutputStream outputStream = Files.newOutputStream(Paths.get(((BString) destination).getValue()))) {
+                    serializationPlan.serializeTo(anydata, outputStream);
+                }
+            } else {
+                // The channel is owned by the caller, so the stream is not closed
+                serializationPlan.serializeTo(anydata, Channels.newOutputStream(Utils.getByteChannel(
+                        (BObject) destination)));
+            }
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (InvalidPathException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + INVALID_FILE_PATH + e.getMessage(), SERDES_ERROR);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            String errorMessage = SERIALIZATION_ERROR_MESSAGE + TYPE_MISMATCH_ERROR_MESSAGE;
+            return createSerdesError(errorMessage, SERDES_ERROR);
+        } catch (IOException | UncheckedIOException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
+        return null;
     }
 
-    private static Builder generateMessageForPrimitiveType(Builder messageBuilder, Object fieldValue) {
-        Descriptor messageDescriptor = messageBuilder.getDescriptorForType();
-        FieldDescriptor fieldDescriptor = messageDescriptor.findFieldByName(ATOMIC_FIELD_NAME);
-        messageBuilder.setField(fieldDescriptor, fieldValue);
-        return messageBuilder;
+    private static Object serialize(BObject ser, Object anydata, boolean delimited) {
+        SerializationPlan serializationPlan = (SerializationPlan) ser.getNativeData(SERIALIZATION_PLAN);
+        byte[] encodedMessage;
+        try {
+            encodedMessage = delimited
+                    ? serializationPlan.serializeDelimited(anydata) : serializationPlan.serialize(anydata);
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (IllegalArgumentException | ClassCastException e) {
+            String errorMessage = SERIALIZATION_ERROR_MESSAGE + TYPE_MISMATCH_ERROR_MESSAGE;
+            return createSerdesError(errorMessage, SERDES_ERROR);
+        } catch (UncheckedIOException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        }
+        return ValueCreator.createArrayValue(encodedMessage);
     }
 
-    private static Builder generateMessageForPrimitiveDecimalType(Builder messageBuilder, Object anydata) {
-        BigDecimal bigDecimal = ((BDecimal) anydata).decimalValue();
-
-        Descriptor decimalSchema = messageBuilder.getDescriptorForType();
-        FieldDescriptor scale = decimalSchema.findFieldByName(SCALE);
-        FieldDescriptor precision = decimalSchema.findFieldByName(PRECISION);
-        FieldDescriptor value = decimalSchema.findFieldByName(VALUE);
+    private static Object serializeInto(BObject ser, Object anydata, BArray buffer, long offset, boolean delimited) {
+        if (buffer.isFrozen()) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + READ_ONLY_BUFFER, SERDES_ERROR);
+        }
+        if (offset < 0 || offset > buffer.size()) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + INVALID_BUFFER_OFFSET + offset, SERDES_ERROR);
+        }
 
-        messageBuilder.setField(scale, bigDecimal.scale());
-        messageBuilder.setField(precision, bigDecimal.precision());
-        messageBuilder.setField(value, bigDecimal.unscaledValue().toByteArray());
-        return messageBuilder;
+        SerializationPlan serializationPlan = (SerializationPlan) ser.getNativeData(SERIALIZATION_PLAN);
+        int bufferOffset = (int) offset;
+        int length = buffer.size() - bufferOffset;
+        try {
+            // getByteArray returns the backing array of the ballerina byte array, the value is written in place
+            byte[] byteArray = buffer.getByteArray();
+            return (long) (delimited
+                    ? serializationPlan.serializeDelimitedInto(anydata, byteArray, bufferOffset, length)
+                    : serializationPlan.serializeInto(anydata, byteArray, bufferOffset, length));
+        } catch (BError ballerinaError) {
+            return ballerinaError;
+        } catch (IllegalArgumentException | ClassCastException e) {
+            String errorMessage = SERIALIZATION_ERROR_MESSAGE + TYPE_MISMATCH_ERROR_MESSAGE;
+            return createSerdesError(errorMessage, SERDES_ERROR);
+        } catch (UncheckedIOException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        }
     }
 }
@@ -120,10 +120,52 @@ public class UnionMessageType extends MessageType {
         throw createSerdesError(UNSUPPORTED_DATA_TYPE + referredType.getName(), SERDES_ERROR);
     }
 
+    /**
+     * Returns true when the members of the union are nil or basic types other than enums, such unions can be
+     * encoded as a oneof of the enclosing record message.
+     */
+    public static boolean isSimpleUnion(UnionType unionType) {
+        for (Type memberType : unionType.getMemberTypes()) {
+            switch (TypeUtils.getReferredType(memberType).getTag()) {
+                case TypeTags.NULL_TAG:
+                case TypeTags.INT_TAG:
+                case TypeTags.BYTE_TAG:
+                case TypeTags.FLOAT_TAG:
+                case TypeTags.DECIMAL_TAG:
+                case TypeTags.STRING_TAG:
+                case TypeTags.BOOLEAN_TAG:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    // Oneof member fields are prefixed with the oneof name since they share the scope of the record fields
+    public static String mapMemberToOneofFieldName(String oneofName, Type memberType) {
+        return oneofName + TYPE_SEPARATOR + mapMemberToFieldName(memberType).getKey();
+    }
+
+    /**
+     * Returns the member type encoded by a field of the oneof generated for a simple union.
+     */
+    public static Type getOneofMemberType(UnionType unionType, String oneofName, String fieldName) {
+        for (Type memberType : unionType.getMemberTypes()) {
+            if (mapMemberToOneofFieldName(oneofName, memberType).equals(fieldName)) {
+                return TypeUtils.getReferredType(memberType);
+            }
+        }
+        throw createSerdesError(UNSUPPORTED_DATA_TYPE + unionType.getName(), SERDES_ERROR);
+    }
+
     @Override
     public void setEnumField(FiniteType finiteType) {
         Type referredMemberType = TypeUtils.getType(finiteType.getEmptyValue());
-        String protoType = DataTypeMapper.mapBallerinaTypeToProtoType(referredMemberType.getTag());
+        // Singleton strings are string table indexes like the other strings of the schema
+        String protoType = referredMemberType.getTag() == TypeTags.STRING_TAG
+                ? mapScalarTypeToProtoType(referredMemberType.getTag())
+                : DataTypeMapper.mapBallerinaTypeToProtoType(referredMemberType.getTag());
         if (referredMemberType.getTag() == TypeTags.DECIMAL_TAG) {
             ProtobufMessageBuilder decimalMessageDefinition = generateDecimalMessageDefinition();
             getMessageBuilder().addNestedMessage(decimalMessageDefinition);
@@ -25,10 +25,15 @@ import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.stdlib.io.channels.base.Channel;
+import io.ballerina.stdlib.io.utils.IOConstants;
 
+import java.nio.channels.ByteChannel;
 import java.util.Locale;
 
 import static io.ballerina.stdlib.serdes.Constants.CURLY_BRACE;
@@ -56,6 +61,11 @@ public class Utils {
         return ErrorCreator.createError(getModule(), typeId, StringUtils.fromString(message), null, null);
     }
 
+    // The runtime has no lookup for module types, the distinct error type is taken from an error value
+    public static Type getSerdesErrorType() {
+        return createSerdesError("", SERDES_ERROR).getType();
+    }
+
     public static String typeNotSupportedErrorMessage(Type type) {
         return "Type `" + type + "` not supported, use a reference type instead: " + "`type MyType " + type + ";`";
     }
@@ -98,9 +108,44 @@ public class Utils {
         return ballerinaType.getName().contains(CURLY_BRACE);
     }
 
+    // Returns T of a nilable type T? where T is int, byte, float, string or boolean, null for other union types
+    public static Type getNilableScalarType(UnionType unionType) {
+        if (unionType.getMemberTypes().size() != 2) {
+            return null;
+        }
+        Type scalarType = null;
+        boolean hasNil = false;
+        for (Type memberType : unionType.getMemberTypes()) {
+            Type referredType = TypeUtils.getReferredType(memberType);
+            if (referredType.getTag() == TypeTags.NULL_TAG) {
+                hasNil = true;
+            } else {
+                scalarType = referredType;
+            }
+        }
+        if (!hasNil || scalarType == null) {
+            return null;
+        }
+        switch (scalarType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return scalarType;
+            default:
+                return null;
+        }
+    }
+
     // Create protobuf message name for the given ballerina primitive type (string -> StringValue)
     public static String createMessageName(String ballerinaPrimitiveType) {
         return ballerinaPrimitiveType.substring(0, 1).toUpperCase(Locale.ENGLISH) + ballerinaPrimitiveType.substring(1)
                 + Constants.VALUE_SUFFIX;
     }
+
+    // The java channel of a ballerina/io byte channel, reads and writes start from the current position of the channel
+    public static ByteChannel getByteChannel(BObject byteChannel) {
+        return ((Channel) byteChannel.getNativeData(IOConstants.BYTE_CHANNEL_NAME)).getByteChannel();
+    }
 }
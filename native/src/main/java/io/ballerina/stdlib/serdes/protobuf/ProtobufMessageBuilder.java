@@ -19,22 +19,31 @@
 package io.ballerina.stdlib.serdes.protobuf;
 
 import com.google.protobuf.DescriptorProtos.DescriptorProto.Builder;
+import com.google.protobuf.DescriptorProtos.OneofDescriptorProto;
 
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.google.protobuf.DescriptorProtos.DescriptorProto;
+import static com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import static io.ballerina.stdlib.serdes.Constants.SPACE;
 
 /**
  * Dynamically creates a Protocol Buffer message type.
  */
 public class ProtobufMessageBuilder {
+    private static final String SYNTHETIC_ONEOF_PREFIX = "_";
 
     private final Builder messageDescriptorProtoBuilder;
     private final HashMap<String, ProtobufMessageBuilder> nestedMessages = new HashMap<>();
     private final HashMap<String, ProtobufMessageFieldBuilder> messageFields = new HashMap<>();
     private final String messageName;
     private final ProtobufMessageBuilder parentMessage;
+    private int oneofCount = 0;
 
     public ProtobufMessageBuilder(String msgName) {
         this(msgName, null);
@@ -63,6 +72,34 @@ public class ProtobufMessageBuilder {
         }
     }
 
+    // Adds a proto3 optional field along with the synthetic oneof named after the field, as protoc does
+    public void addProto3OptionalField(ProtobufMessageFieldBuilder messageFieldBuilder) {
+        if (messageFields.get(messageFieldBuilder.getFieldName()) == null) {
+            int oneofIndex = messageDescriptorProtoBuilder.getOneofDeclCount();
+            messageDescriptorProtoBuilder.addOneofDecl(OneofDescriptorProto.newBuilder()
+                    .setName(SYNTHETIC_ONEOF_PREFIX + messageFieldBuilder.getFieldName()));
+            messageFieldBuilder.setProto3Optional(oneofIndex);
+            addField(messageFieldBuilder);
+        }
+    }
+
+    // Adds the member fields of a oneof. Oneofs are declared before the synthetic oneofs of proto3 optional fields,
+    // so the synthetic oneofs declared so far are shifted
+    public void addOneof(String oneofName, List<ProtobufMessageFieldBuilder> memberFieldBuilders) {
+        int oneofIndex = oneofCount++;
+        messageDescriptorProtoBuilder.addOneofDecl(oneofIndex, OneofDescriptorProto.newBuilder().setName(oneofName));
+        for (int i = 0; i < messageDescriptorProtoBuilder.getFieldCount(); i++) {
+            if (messageDescriptorProtoBuilder.getField(i).getProto3Optional()) {
+                FieldDescriptorProto.Builder fieldBuilder = messageDescriptorProtoBuilder.getFieldBuilder(i);
+                fieldBuilder.setOneofIndex(fieldBuilder.getOneofIndex() + 1);
+            }
+        }
+        for (ProtobufMessageFieldBuilder memberFieldBuilder : memberFieldBuilders) {
+            memberFieldBuilder.setOneof(oneofName, oneofIndex);
+            addField(memberFieldBuilder);
+        }
+    }
+
     public void addNestedMessage(ProtobufMessageBuilder nestedMessage) {
         Builder nestedProtobufMessage = nestedMessage.getProtobufMessage();
         boolean isDefined = nestedMessages.get(nestedMessage.getName()) != null;
@@ -94,9 +131,22 @@ public class ProtobufMessageBuilder {
         nestedMessages.values()
                 .forEach(nestedMessage -> msgContent.append(nestedMessage.toString(levelSpace)).append("\n"));
 
-        // Build string for field
-        messageFields.values().stream().sorted(Comparator.comparingInt(ProtobufMessageFieldBuilder::getFieldNumber))
-                .forEach(messageField -> msgContent.append(messageField.toString(levelSpace)));
+        // Build string for field, members of a oneof are written in a oneof block at the first member
+        List<ProtobufMessageFieldBuilder> sortedFields = messageFields.values().stream()
+                .sorted(Comparator.comparingInt(ProtobufMessageFieldBuilder::getFieldNumber))
+                .collect(Collectors.toList());
+        Set<String> writtenOneofs = new HashSet<>();
+        for (ProtobufMessageFieldBuilder messageField : sortedFields) {
+            String oneofName = messageField.getOneofName();
+            if (oneofName == null) {
+                msgContent.append(messageField.toString(levelSpace));
+            } else if (writtenOneofs.add(oneofName)) {
+                msgContent.append(levelSpace).append(SPACE).append("oneof ").append(oneofName).append(" {\n");
+                sortedFields.stream().filter(oneofField -> oneofName.equals(oneofField.getOneofName()))
+                        .forEach(oneofField -> msgContent.append(oneofField.toString(levelSpace + "  ")));
+                msgContent.append(levelSpace).append(SPACE).append("}\n");
+            }
+        }
 
         String protoEnd = space + "}\n";
 
@@ -33,6 +33,8 @@ public class ProtobufMessageFieldBuilder {
     private final String fieldName;
     private final String fieldType;
     private final int fieldNumber;
+    private boolean proto3Optional = false;
+    private String oneofName = null;
 
     public ProtobufMessageFieldBuilder(String label, String type, String name, int number) {
         FieldDescriptorProto.Label fieldLabel = ProtobufMessageFieldProperties.getFieldLabel(label);
@@ -55,6 +57,28 @@ public class ProtobufMessageFieldBuilder {
         }
     }
 
+    // Marks the field as a proto3 optional field, which has explicit presence through its synthetic oneof
+    public void setProto3Optional(int oneofIndex) {
+        proto3Optional = true;
+        messageFieldBuilder.setProto3Optional(true);
+        messageFieldBuilder.setOneofIndex(oneofIndex);
+    }
+
+    public boolean isProto3Optional() {
+        return proto3Optional;
+    }
+
+    // Marks the field as a member of a oneof declared by the message
+    public void setOneof(String oneofName, int oneofIndex) {
+        this.oneofName = oneofName;
+        messageFieldBuilder.setOneofIndex(oneofIndex);
+    }
+
+    // Returns null when the field is not a member of a oneof
+    public String getOneofName() {
+        return oneofName;
+    }
+
     public FieldDescriptorProto getMessageField() {
         return messageFieldBuilder.build();
     }
@@ -76,7 +100,8 @@ public class ProtobufMessageFieldBuilder {
     }
 
     public String toString(String indentation) {
-        String fieldLabel = getFieldLabel().equals(REPEATED_LABEL) ? REPEATED_LABEL + SPACE : EMPTY_STRING;
+        String fieldLabel = getFieldLabel().equals(REPEATED_LABEL) || proto3Optional ? getFieldLabel() + SPACE
+                : EMPTY_STRING;
         return indentation + SPACE + fieldLabel + getFieldType() + SPACE + getFieldName() + SPACE + " = "
                 + getFieldNumber() + ";\n";
     }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.serdes.wire;
+
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Arrays;
+
+/**
+ * {@link BStringCache} class holds the strings decoded from short UTF-8 encoded values, such as map keys, so a value
+ * that is read again is not decoded into another string.
+ * <p>
+ * The cache has a fixed number of slots and a value replaces the value of its slot. A cache is shared by the
+ * deserializations of a schema, which may run concurrently. Entries are immutable, so a racing read sees either the
+ * old or the new entry of a slot.
+ */
+final class BStringCache {
+    static final int MAX_VALUE_LENGTH = 64;
+    private static final int SLOT_COUNT = 512;
+
+    private final Entry[] slots = new Entry[SLOT_COUNT];
+
+    // Returns the string of the encoded value in the range of the buffer, or null if it is not cached
+    BString get(byte[] buffer, int offset, int length) {
+        Entry entry = slots[slotOf(buffer, offset, length)];
+        if (entry != null && Arrays.equals(entry.encodedValue, 0, entry.encodedValue.length, buffer, offset,
+                offset + length)) {
+            return entry.value;
+        }
+        return null;
+    }
+
+    void put(byte[] buffer, int offset, int length, BString value) {
+        slots[slotOf(buffer, offset, length)] = new Entry(Arrays.copyOfRange(buffer, offset, offset + length), value);
+    }
+
+    private static int slotOf(byte[] buffer, int offset, int length) {
+        int hash = length;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        return (hash ^ (hash >>> 16)) & (SLOT_COUNT - 1);
+    }
+
+    private static final class Entry {
+        private final byte[] encodedValue;
+        private final BString value;
+
+        Entry(byte[] encodedValue, BString value) {
+            this.encodedValue = encodedValue;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * {@link CodedStreamOutput} class writes protobuf wire format fields to a {@link CodedOutputStream}.
+ * Payload sizes of length delimited fields and pre-encoded fields are taken from a prior size computing pass.
+ */
+public class CodedStreamOutput extends MessageOutput {
+    private final CodedOutputStream codedOutputStream;
+    private final NestedMessageSizes nestedMessageSizes;
+    private final PreEncodedFields preEncodedFields;
+    private final StringDictionary stringDictionary;
+
+    public CodedStreamOutput(CodedOutputStream codedOutputStream, NestedMessageSizes nestedMessageSizes,
+                             PreEncodedFields preEncodedFields) {
+        this(codedOutputStream, nestedMessageSizes, preEncodedFields, null);
+    }
+
+    // Strings are written as string table indexes when the string dictionary is not null
+    CodedStreamOutput(CodedOutputStream codedOutputStream, NestedMessageSizes nestedMessageSizes,
+                      PreEncodedFields preEncodedFields, StringDictionary stringDictionary) {
+        this.codedOutputStream = codedOutputStream;
+        this.nestedMessageSizes = nestedMessageSizes;
+        this.preEncodedFields = preEncodedFields;
+        this.stringDictionary = stringDictionary;
+    }
+
+    @Override
+    public void writeSInt64(int fieldNumber, long value) {
+        try {
+            codedOutputStream.writeSInt64(fieldNumber, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writeDouble(int fieldNumber, double value) {
+        try {
+            codedOutputStream.writeDouble(fieldNumber, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writeBool(int fieldNumber, boolean value) {
+        try {
+            codedOutputStream.writeBool(fieldNumber, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writeUInt32(int fieldNumber, int value) {
+        try {
+            codedOutputStream.writeUInt32(fieldNumber, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writeString(int fieldNumber, String value) {
+        try {
+            if (stringDictionary != null) {
+                codedOutputStream.writeUInt32(fieldNumber, stringDictionary.lookupOrAdd(value));
+                return;
+            }
+            codedOutputStream.writeString(fieldNumber, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writeByteArray(int fieldNumber, byte[] value, int offset, int length) {
+        try {
+            codedOutputStream.writeByteArray(fieldNumber, value, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writeSingleByte(int fieldNumber, byte value) {
+        try {
+            codedOutputStream.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            codedOutputStream.writeUInt32NoTag(1);
+            codedOutputStream.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writePackedSInt64(int fieldNumber, long[] values, int length) {
+        try {
+            codedOutputStream.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            codedOutputStream.writeUInt32NoTag(nestedMessageSizes.next());
+            for (int i = 0; i < length; i++) {
+                codedOutputStream.writeSInt64NoTag(values[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writePackedDouble(int fieldNumber, double[] values, int length) {
+        try {
+            codedOutputStream.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            codedOutputStream.writeUInt32NoTag(length * Double.BYTES);
+            for (int i = 0; i < length; i++) {
+                codedOutputStream.writeDoubleNoTag(values[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writePackedBool(int fieldNumber, boolean[] values, int length) {
+        try {
+            codedOutputStream.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            codedOutputStream.writeUInt32NoTag(length);
+            for (int i = 0; i < length; i++) {
+                codedOutputStream.write(values[i] ? (byte) 1 : (byte) 0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writePackedUInt32(int fieldNumber, int[] values, int length) {
+        try {
+            codedOutputStream.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            codedOutputStream.writeUInt32NoTag(nestedMessageSizes.next());
+            for (int i = 0; i < length; i++) {
+                codedOutputStream.writeUInt32NoTag(values[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int lookupStringIndex(String value) {
+        return stringDictionary.lookupOrAdd(value);
+    }
+
+    @Override
+    public void beginLengthDelimited(int fieldNumber) {
+        try {
+            codedOutputStream.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            codedOutputStream.writeUInt32NoTag(nestedMessageSizes.next());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void endLengthDelimited() {
+        // payload size was written upfront
+    }
+
+    @Override
+    public void writePreEncoded(Supplier<byte[][]> encoder) {
+        try {
+            for (byte[] chunk : preEncodedFields.next()) {
+                codedOutputStream.writeRawBytes(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
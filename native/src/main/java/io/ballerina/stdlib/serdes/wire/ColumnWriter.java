@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.serdes.wire;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import static io.ballerina.stdlib.serdes.Constants.TYPE_MISMATCH_ERROR_MESSAGE;
+
+/**
+ * {@link ColumnWriter} class writes the values of a record field of all rows of a table as a single column.
+ * A writer is specialized for the ballerina type of the field when the serialization plan is compiled.
+ */
+public abstract class ColumnWriter {
+    private final BString fieldKey;
+    protected final int fieldNumber;
+    // Field number of the presence bitmap, 0 when every row has a value
+    private final int presenceFieldNumber;
+
+    protected ColumnWriter(BString fieldKey, int fieldNumber, int presenceFieldNumber) {
+        this.fieldKey = fieldKey;
+        this.fieldNumber = fieldNumber;
+        this.presenceFieldNumber = presenceFieldNumber;
+    }
+
+    /**
+     * Writes the column of the rows, values is used to collect the values and has at least as many elements as rows.
+     */
+    @SuppressWarnings("unchecked")
+    public void write(Object[] rows, Object[] values, MessageOutput output) {
+        byte[] presence = presenceFieldNumber != 0 ? new byte[(rows.length + Byte.SIZE - 1) / Byte.SIZE] : null;
+        int count = 0;
+        for (int i = 0; i < rows.length; i++) {
+            Object value = ((BMap<BString, Object>) rows[i]).get(fieldKey);
+            if (value != null) {
+                values[count++] = value;
+                if (presence != null) {
+                    presence[i / Byte.SIZE] |= (byte) (1 << (i % Byte.SIZE));
+                }
+            } else if (presence == null) {
+                throw new IllegalArgumentException(TYPE_MISMATCH_ERROR_MESSAGE);
+            }
+        }
+        // An empty column and a missing bitmap are read as a column without values
+        if (count > 0) {
+            writeValues(values, count, output);
+            if (presence != null) {
+                output.writeByteArray(presenceFieldNumber, presence, 0, presence.length);
+            }
+        }
+    }
+
+    abstract void writeValues(Object[] values, int count, MessageOutput output);
+
+    static final class IntColumnWriter extends ColumnWriter {
+        IntColumnWriter(BString fieldKey, int fieldNumber, int presenceFieldNumber) {
+            super(fieldKey, fieldNumber, presenceFieldNumber);
+        }
+
+        @Override
+        void writeValues(Object[] values, int count, MessageOutput output) {
+            long[] intValues = new long[count];
+            for (int i = 0; i < count; i++) {
+                intValues[i] = (Long) values[i];
+            }
+            output.writePackedSInt64(fieldNumber, intValues, count);
+        }
+    }
+
+    static final class ByteColumnWriter extends ColumnWriter {
+        ByteColumnWriter(BString fieldKey, int fieldNumber, int presenceFieldNumber) {
+            super(fieldKey, fieldNumber, presenceFieldNumber);
+        }
+
+        @Override
+        void writeValues(Object[] values, int count, MessageOutput output) {
+            byte[] byteValues = new byte[count];
+            for (int i = 0; i < count; i++) {
+                byteValues[i] = ((Integer) values[i]).byteValue();
+            }
+            output.writeByteArray(fieldNumber, byteValues, 0, count);
+        }
+    }
+
+    static final class FloatColumnWriter extends ColumnWriter {
+        FloatColumnWriter(BString fieldKey, int fieldNumber, int presenceFieldNumber) {
+            super(fieldKey, fieldNumber, presenceFieldNumber);
+        }
+
+        @Override
+        void writeValues(Object[] values, int count, MessageOutput output) {
+            double[] floatValues = new double[count];
+            for (int i = 0; i < count; i++) {
+                floatValues[i] = (Double) values[i];
+            }
+            output.writePackedDouble(fieldNumber, floatValues, count);
+        }
+    }
+
+    static final class BooleanColumnWriter extends ColumnWriter {
+        BooleanColumnWriter(BString fieldKey, int fieldNumber, int presenceFieldNumber) {
+            super(fieldKey, fieldNumber, presenceFieldNumber);
+        }
+
+        @Override
+        void writeValues(Object[] values, int count, MessageOutput output) {
+            boolean[] booleanValues = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                booleanValues[i] = (Boolean) values[i];
+            }
+            output.writePackedBool(fieldNumber, booleanValues, count);
+        }
+    }
+
+    // Empty strings are written too, every value of the column is an occurrence of the repeated field
+    static final class StringColumnWriter extends ColumnWriter {
+        StringColumnWriter(BString fieldKey, int fieldNumber, int presenceFieldNumber) {
+            super(fieldKey, fieldNumber, presenceFieldNumber);
+        }
+
+        @Override
+        void writeValues(Object[] values, int count, MessageOutput output) {
+            for (int i = 0; i < count; i++) {
+                output.writeString(fieldNumber, ((BString) values[i]).getValue());
+            }
+        }
+    }
+
+    static final class StringIndexColumnWriter extends ColumnWriter {
+        StringIndexColumnWriter(BString fieldKey, int fieldNumber, int presenceFieldNumber) {
+            super(fieldKey, fieldNumber, presenceFieldNumber);
+        }
+
+        @Override
+        void writeValues(Object[] values, int count, MessageOutput output) {
+            int[] indexes = new int[count];
+            for (int i = 0; i < count; i++) {
+                indexes[i] = output.lookupStringIndex(((BString) values[i]).getValue());
+            }
+            output.writePackedUInt32(fieldNumber, indexes, count);
+        }
+    }
+
+    // Writes each value as a nested message, used for decimal columns
+    static final class MessageColumnWriter extends ColumnWriter {
+        private final FieldWriter valueWriter;
+
+        MessageColumnWriter(BString fieldKey, int fieldNumber, int presenceFieldNumber, FieldWriter valueWriter) {
+            super(fieldKey, fieldNumber, presenceFieldNumber);
+            this.valueWriter = valueWriter;
+        }
+
+        @Override
+        void writeValues(Object[] values, int count, MessageOutput output) {
+            for (int i = 0; i < count; i++) {
+                valueWriter.write(values[i], output);
+            }
+        }
+    }
+}
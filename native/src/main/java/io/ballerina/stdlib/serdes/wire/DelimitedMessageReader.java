@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.io.IOException;
+
+/**
+ * {@link DelimitedMessageReader} class reads a sequence of messages prefixed by their length as a varint, the framing
+ * used by protobuf writeDelimitedTo and parseDelimitedFrom.
+ * <p>
+ * The input is either a single byte array or blocks of bytes appended as they become available. A message split
+ * between blocks is read after the block containing its last byte is appended.
+ */
+public class DelimitedMessageReader {
+    private static final int MAX_PREFIX_SIZE = 5;
+    private static final byte[] EMPTY_BUFFER = new byte[0];
+
+    private final DeserializationPlan deserializationPlan;
+    private byte[] buffer;
+    private int position = 0;
+    private int limit;
+    // Offset of the message whose length was read last
+    private int messageOffset;
+    // Whether appended blocks can be copied into the buffer, an array passed by the caller is never modified
+    private boolean ownsBuffer;
+
+    public DelimitedMessageReader(DeserializationPlan deserializationPlan) {
+        this(deserializationPlan, EMPTY_BUFFER, 0);
+    }
+
+    public DelimitedMessageReader(DeserializationPlan deserializationPlan, byte[] buffer, int length) {
+        this.deserializationPlan = deserializationPlan;
+        this.buffer = buffer;
+        this.limit = length;
+        this.ownsBuffer = false;
+    }
+
+    public void append(byte[] block, int length) {
+        if (length == 0) {
+            return;
+        }
+        int remaining = limit - position;
+        if (!ownsBuffer || buffer.length - limit < length) {
+            int requiredCapacity = remaining + length;
+            byte[] target = ownsBuffer && requiredCapacity <= buffer.length
+                    ? buffer : new byte[Math.max(requiredCapacity, buffer.length * 2)];
+            System.arraycopy(buffer, position, target, 0, remaining);
+            buffer = target;
+            ownsBuffer = true;
+            position = 0;
+            limit = remaining;
+        }
+        System.arraycopy(block, 0, buffer, limit, length);
+        limit += length;
+    }
+
+    public boolean hasMessage() throws IOException {
+        return readMessageLength() >= 0;
+    }
+
+    // Deserializes the next message, hasMessage must have returned true before calling this
+    public Object readMessage() throws IOException {
+        int messageLength = readMessageLength();
+        if (messageLength < 0) {
+            throw new InvalidProtocolBufferException("Delimited message is truncated");
+        }
+        position = messageOffset + messageLength;
+        return deserializationPlan.deserialize(buffer, messageOffset, messageLength);
+    }
+
+    public int getRemainingBytes() {
+        return limit - position;
+    }
+
+    // Returns the length of the message at the current position, or -1 if the message is not fully available
+    private int readMessageLength() throws IOException {
+        int result = 0;
+        int index = position;
+        for (int shift = 0; shift < MAX_PREFIX_SIZE * 7; shift += 7) {
+            if (index == limit) {
+                return -1;
+            }
+            byte b = buffer[index++];
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (result < 0) {
+                    throw new InvalidProtocolBufferException("Delimited message has a negative length: " + result);
+                }
+                messageOffset = index;
+                return limit - index >= result ? result : -1;
+            }
+        }
+        throw new InvalidProtocolBufferException("Delimited message has a malformed length prefix");
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors.Descriptor;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.TypeChecker;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.ballerina.stdlib.serdes.Constants.RECORD_VIEW_NOT_SUPPORTED;
+import static io.ballerina.stdlib.serdes.Constants.STRING_TABLE_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.TARGET_TYPE_MISMATCH;
+import static io.ballerina.stdlib.serdes.Constants.VALUE;
+import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * {@link DeserializationPlan} class holds the compiled message reader of a schema and deserializes values with it.
+ * Plans that read values into narrower target types are compiled when they are first requested and kept by the plan.
+ * <p>
+ * Messages of schemas with the dictionary string encoding hold a string table and the value, whose strings are indexes
+ * into the table. The table and the value are located before the value is read, see {@link StringTable}.
+ */
+public class DeserializationPlan {
+    private static final int MAX_PROJECTIONS = 64;
+    private static final int MAX_FIELD_PATHS = 256;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final MessageReader rootMessageReader;
+    private final Descriptor messageDescriptor;
+    // Referred type of the schema
+    private final Type ballerinaType;
+    private final ParallelDecoder parallelDecoder;
+    // Field numbers of the string table and the value of the message, -1 when the schema has no string table
+    private final int stringTableFieldNumber;
+    private final int valueFieldNumber;
+    // Type that the values of the schema type are checked against, null when values are read into their own type
+    private final Type checkedTargetType;
+    // Plans of the target types requested so far
+    private final Map<Type, DeserializationPlan> projections = new ConcurrentHashMap<>();
+    // Field paths extracted so far, resolved to field numbers
+    private final Map<String, FieldPath> fieldPaths = new ConcurrentHashMap<>();
+    // Compiled when rows are first scanned
+    private volatile RowScanner rowScanner;
+
+    DeserializationPlan(MessageReader rootMessageReader, Descriptor messageDescriptor, Type ballerinaType,
+                        ParallelDecoder parallelDecoder) {
+        this(rootMessageReader, messageDescriptor, ballerinaType, parallelDecoder, -1, -1, null);
+    }
+
+    private DeserializationPlan(MessageReader rootMessageReader, Descriptor messageDescriptor, Type ballerinaType,
+                                ParallelDecoder parallelDecoder, int stringTableFieldNumber, int valueFieldNumber,
+                                Type checkedTargetType) {
+        this.rootMessageReader = rootMessageReader;
+        this.messageDescriptor = messageDescriptor;
+        this.ballerinaType = ballerinaType;
+        this.parallelDecoder = parallelDecoder;
+        this.stringTableFieldNumber = stringTableFieldNumber;
+        this.valueFieldNumber = valueFieldNumber;
+        this.checkedTargetType = checkedTargetType;
+    }
+
+    // Plan that reads the value from the value field of a string table message
+    public DeserializationPlan withStringTable(Descriptor stringTableDescriptor) {
+        return new DeserializationPlan(rootMessageReader, messageDescriptor, ballerinaType, parallelDecoder,
+                stringTableDescriptor.findFieldByName(STRING_TABLE_FIELD_NAME).getNumber(),
+                stringTableDescriptor.findFieldByName(VALUE).getNumber(), checkedTargetType);
+    }
+
+    /**
+     * Returns the plan that reads values into the target type. Target types that are narrower than the schema type,
+     * such as closed records with a subset of the fields, are projected and the other fields are skipped. Values of
+     * other target types are read into the schema type, and an error is returned when they don't belong to the target
+     * type, so wider target types such as open records and unions get the values of the schema type.
+     */
+    public DeserializationPlan forTargetType(Type targetType) {
+        Type referredTargetType = TypeUtils.getReferredType(targetType);
+        if (referredTargetType == ballerinaType) {
+            return this;
+        }
+        DeserializationPlan projection = projections.get(referredTargetType);
+        if (projection != null) {
+            return projection;
+        }
+        MessageReader projectedReader = DeserializationPlanCompiler.compileProjection(messageDescriptor,
+                ballerinaType, referredTargetType, parallelDecoder);
+        projection = projectedReader == null
+                ? new DeserializationPlan(rootMessageReader, messageDescriptor, ballerinaType, parallelDecoder,
+                        stringTableFieldNumber, valueFieldNumber, referredTargetType)
+                : new DeserializationPlan(projectedReader, messageDescriptor, referredTargetType, parallelDecoder,
+                        stringTableFieldNumber, valueFieldNumber, null);
+        // Target types are usually a few types declared by the caller, other types are compiled on each call
+        if (projections.size() < MAX_PROJECTIONS) {
+            projections.putIfAbsent(referredTargetType, projection);
+        }
+        return projection;
+    }
+
+    public Object deserialize(byte[] encodedMessage, int length) throws IOException {
+        return deserialize(encodedMessage, 0, length);
+    }
+
+    public Object deserialize(byte[] encodedMessage, int offset, int length) throws IOException {
+        return checkTargetType(readMessage(encodedMessage, offset, length));
+    }
+
+    // Reads a message into the type of the plan, without checking it against the target type
+    private Object readMessage(byte[] encodedMessage, int offset, int length) throws IOException {
+        return rootMessageReader.readContent(createValueInput(encodedMessage, offset, length));
+    }
+
+    // Input reading the value of an encoded message, which is nested in the message when the schema has a string table
+    private MessageInput createValueInput(byte[] encodedMessage, int offset, int length) throws IOException {
+        if (valueFieldNumber < 0) {
+            return new MessageInput(CodedInputStream.newInstance(encodedMessage, offset, length), encodedMessage,
+                    offset, length);
+        }
+        return StringTable.read(encodedMessage, offset, length, stringTableFieldNumber, valueFieldNumber)
+                .createValueInput();
+    }
+
+    // Reads a message until the end of the stream through a bounded buffer, the stream is not closed
+    public Object deserialize(InputStream inputStream) throws IOException {
+        MessageInput input = new MessageInput(CodedInputStream.newInstance(inputStream, STREAM_BUFFER_SIZE));
+        if (valueFieldNumber < 0 || !input.readStringTable(stringTableFieldNumber, valueFieldNumber)) {
+            // A message without a value field has the default value, which is read from the end of the input
+            return checkTargetType(rootMessageReader.readContent(input));
+        }
+        int oldLimit = input.pushLengthLimit();
+        Object value = rootMessageReader.readContent(input);
+        input.popLimit(oldLimit);
+        return checkTargetType(value);
+    }
+
+    /**
+     * Reads the field at a dot separated path of record field names from an encoded record. The other fields are
+     * skipped without being read.
+     */
+    public Object extractField(byte[] encodedMessage, int length, String path) throws IOException {
+        FieldPath fieldPath = fieldPaths.get(path);
+        if (fieldPath == null) {
+            fieldPath = DeserializationPlanCompiler.compileFieldPath(messageDescriptor, ballerinaType, path);
+            if (fieldPaths.size() < MAX_FIELD_PATHS) {
+                fieldPaths.putIfAbsent(path, fieldPath);
+            }
+        }
+        return fieldPath.read(createValueInput(encodedMessage, 0, length));
+    }
+
+    /**
+     * Reads the rows of an encoded array or table of records that match all the predicates into the type of the plan.
+     * Columnar tables are deserialized before the rows are filtered.
+     */
+    public Object scan(byte[] encodedMessage, int length, RowPredicate[] predicates) throws IOException {
+        RowScanner scanner = rowScanner;
+        if (scanner == null) {
+            scanner = DeserializationPlanCompiler.compileRowScanner(messageDescriptor, ballerinaType);
+            rowScanner = scanner;
+        }
+        // Predicates are checked before the message is read, so invalid predicates are reported for any message
+        BString[] keys = scanner.resolve(predicates);
+        Object rows = scanner.canScanMessages()
+                ? scanner.scan(createValueInput(encodedMessage, 0, length), predicates, keys)
+                : scanner.filter(readMessage(encodedMessage, 0, length), predicates, keys);
+        return checkTargetType(rows);
+    }
+
+    private Object checkTargetType(Object value) {
+        if (checkedTargetType != null && !TypeChecker.checkIsType(value, checkedTargetType)) {
+            throw createSerdesError(TARGET_TYPE_MISMATCH + checkedTargetType, SERDES_ERROR);
+        }
+        return value;
+    }
+
+    // Reader of the fields of an encoded record, the buffer is owned by the reader
+    public LazyRecordReader createLazyRecordReader(byte[] buffer, int length) throws IOException {
+        if (!(rootMessageReader instanceof MessageReader.RecordMessageReader)) {
+            throw createSerdesError(RECORD_VIEW_NOT_SUPPORTED, SERDES_ERROR);
+        }
+        return LazyRecordReader.create((MessageReader.RecordMessageReader) rootMessageReader,
+                createValueInput(buffer, 0, length));
+    }
+
+    // Deserializes each byte array of the encoded messages and appends the values to the given array
+    public void deserializeBatch(BArray encodedMessages, BArray values) throws IOException {
+        int count = encodedMessages.size();
+        for (int i = 0; i < count; i++) {
+            BArray encodedMessage = (BArray) encodedMessages.get(i);
+            values.append(deserialize(encodedMessage.getByteArray(), encodedMessage.size()));
+        }
+    }
+}
@@ -0,0 +1,633 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.OneofDescriptor;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.serdes.ColumnarTableMessageType;
+import io.ballerina.stdlib.serdes.UnionMessageType;
+import io.ballerina.stdlib.serdes.Utils;
+import io.ballerina.stdlib.serdes.wire.FieldReader.ArrayFieldReader;
+import io.ballerina.stdlib.serdes.wire.FieldReader.ElementWiseArrayFieldReader;
+import io.ballerina.stdlib.serdes.wire.MessageReader.ColumnarTableMessageReader;
+import io.ballerina.stdlib.serdes.wire.MessageReader.MapMessageReader;
+import io.ballerina.stdlib.serdes.wire.MessageReader.RecordMessageReader;
+import io.ballerina.stdlib.serdes.wire.MessageReader.TableMessageReader;
+import io.ballerina.stdlib.serdes.wire.MessageReader.TupleMessageReader;
+import io.ballerina.stdlib.serdes.wire.MessageReader.UnionMessageReader;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.ballerina.stdlib.serdes.Constants.ARRAY_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.ATOMIC_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.COLUMNAR_TABLE_BUILDER;
+import static io.ballerina.stdlib.serdes.Constants.FIELD_EXTRACTION_NOT_SUPPORTED;
+import static io.ballerina.stdlib.serdes.Constants.INVALID_FIELD_PATH;
+import static io.ballerina.stdlib.serdes.Constants.KEY_NAME;
+import static io.ballerina.stdlib.serdes.Constants.MAP_FIELD;
+import static io.ballerina.stdlib.serdes.Constants.PRECISION;
+import static io.ballerina.stdlib.serdes.Constants.PRESENCE_SUFFIX;
+import static io.ballerina.stdlib.serdes.Constants.ROW_COUNT_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.SCAN_NOT_SUPPORTED;
+import static io.ballerina.stdlib.serdes.Constants.SCALE;
+import static io.ballerina.stdlib.serdes.Constants.TABLE_ENTRY;
+import static io.ballerina.stdlib.serdes.Constants.UNSUPPORTED_DATA_TYPE;
+import static io.ballerina.stdlib.serdes.Constants.VALUE;
+import static io.ballerina.stdlib.serdes.Constants.VALUE_NAME;
+import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+import static io.ballerina.stdlib.serdes.wire.SerializationPlanCompiler.getCompactValueFieldNumber;
+import static io.ballerina.stdlib.serdes.wire.SerializationPlanCompiler.getFiniteValueType;
+import static io.ballerina.stdlib.serdes.wire.SerializationPlanCompiler.isUInt32Field;
+
+/**
+ * {@link DeserializationPlanCompiler} class compiles the message and field readers of a schema.
+ * <p>
+ * Readers of records, tuples and unions look fields up in arrays indexed by field number, so the descriptor is not
+ * searched while deserializing. Record field keys and array types are created here once instead of per value.
+ */
+public class DeserializationPlanCompiler {
+    private final Map<ReaderKey, MessageReader> compiledMessageReaders = new HashMap<>();
+
+    // Generates specialized record readers, null when the interpreted readers are used
+    private final RecordCodecGenerator recordCodecGenerator;
+    private final ParallelDecoder parallelDecoder;
+
+    private DeserializationPlanCompiler(RecordCodecGenerator recordCodecGenerator, ParallelDecoder parallelDecoder) {
+        this.recordCodecGenerator = recordCodecGenerator;
+        this.parallelDecoder = parallelDecoder;
+    }
+
+    public static DeserializationPlan compile(Descriptor messageDescriptor, Type ballerinaType) {
+        return compile(messageDescriptor, ballerinaType, null, ParallelDecoder.SEQUENTIAL);
+    }
+
+    public static DeserializationPlan compile(Descriptor messageDescriptor, Type ballerinaType,
+                                              RecordCodecGenerator recordCodecGenerator,
+                                              ParallelDecoder parallelDecoder) {
+        DeserializationPlanCompiler compiler = new DeserializationPlanCompiler(recordCodecGenerator, parallelDecoder);
+        Type referredType = TypeUtils.getReferredType(ballerinaType);
+        return new DeserializationPlan(compiler.compileMessageReader(messageDescriptor, referredType),
+                messageDescriptor, referredType, parallelDecoder);
+    }
+
+    /**
+     * Compiles a reader that reads the messages of a schema into a narrower target type. Fields of the schema type
+     * that the target records don't have are skipped without being read.
+     *
+     * @return The message reader or null when the target type can't be read from the messages of the schema
+     */
+    static MessageReader compileProjection(Descriptor messageDescriptor, Type schemaType, Type targetType,
+                                           ParallelDecoder parallelDecoder) {
+        if (COLUMNAR_TABLE_BUILDER.equals(messageDescriptor.getName())) {
+            return null;
+        }
+        try {
+            if (!isProjectable(schemaType, targetType, Collections.newSetFromMap(new IdentityHashMap<>()))) {
+                return null;
+            }
+        } catch (BError e) {
+            // Union members of the target type that serdes doesn't support
+            return null;
+        }
+        // Specialized readers are generated for the schema type, so projections use the interpreted readers
+        DeserializationPlanCompiler compiler = new DeserializationPlanCompiler(null, parallelDecoder);
+        return compiler.compileMessageReader(messageDescriptor, TypeUtils.getReferredType(targetType));
+    }
+
+    /**
+     * Compiles a dot separated path of record field names, such as {@code order.region}, against the messages of a
+     * record schema. The fields before the last one must be record fields.
+     */
+    static FieldPath compileFieldPath(Descriptor messageDescriptor, Type schemaType, String path) {
+        if (schemaType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            throw createSerdesError(FIELD_EXTRACTION_NOT_SUPPORTED, SERDES_ERROR);
+        }
+        String[] fieldNames = path.split("\\.", -1);
+        if (fieldNames.length > FieldPath.MAX_DEPTH) {
+            throw createSerdesError(INVALID_FIELD_PATH + path, SERDES_ERROR);
+        }
+        int parentCount = fieldNames.length - 1;
+        int[] parentFieldNumbers = new int[parentCount];
+        BString[] keys = new BString[fieldNames.length];
+        RecordType[] recordTypes = new RecordType[fieldNames.length];
+        Descriptor descriptor = messageDescriptor;
+        RecordType recordType = (RecordType) schemaType;
+        for (int i = 0; i < parentCount; i++) {
+            Field field = recordType.getFields().get(fieldNames[i]);
+            FieldDescriptor fieldDescriptor = descriptor.findFieldByName(fieldNames[i]);
+            if (field == null || fieldDescriptor == null || fieldDescriptor.isRepeated()
+                    || fieldDescriptor.getJavaType() != FieldDescriptor.JavaType.MESSAGE
+                    || TypeUtils.getReferredType(field.getFieldType()).getTag() != TypeTags.RECORD_TYPE_TAG) {
+                throw createSerdesError(INVALID_FIELD_PATH + path, SERDES_ERROR);
+            }
+            parentFieldNumbers[i] = fieldDescriptor.getNumber();
+            keys[i] = StringUtils.fromString(fieldNames[i]);
+            recordTypes[i] = recordType;
+            descriptor = fieldDescriptor.getMessageType();
+            recordType = (RecordType) TypeUtils.getReferredType(field.getFieldType());
+        }
+
+        String fieldName = fieldNames[parentCount];
+        Field field = recordType.getFields().get(fieldName);
+        if (field == null) {
+            throw createSerdesError(INVALID_FIELD_PATH + path, SERDES_ERROR);
+        }
+        keys[parentCount] = StringUtils.fromString(fieldName);
+        recordTypes[parentCount] = recordType;
+        DeserializationPlanCompiler compiler = new DeserializationPlanCompiler(null, ParallelDecoder.SEQUENTIAL);
+        FieldReader[] fieldReaders = new FieldReader[getMaxFieldNumber(descriptor) + 1];
+        for (FieldDescriptor fieldDescriptor : descriptor.getFields()) {
+            // The members of a oneof are read into the record field the oneof is named after
+            OneofDescriptor oneof = fieldDescriptor.getRealContainingOneof();
+            if (!fieldName.equals(oneof != null ? oneof.getName() : fieldDescriptor.getName())) {
+                continue;
+            }
+            Type fieldType = TypeUtils.getReferredType(field.getFieldType());
+            if (oneof != null) {
+                fieldType = UnionMessageType.getOneofMemberType((UnionType) fieldType, fieldName,
+                        fieldDescriptor.getName());
+            }
+            fieldReaders[fieldDescriptor.getNumber()] = compiler.compileFieldReader(fieldDescriptor, fieldType);
+        }
+        return new FieldPath(parentFieldNumbers, keys, recordTypes, fieldReaders);
+    }
+
+    /**
+     * Compiles a scanner of the rows of a schema created for an array or a table of records. Rows of columnar tables
+     * are not nested messages, so such scanners filter deserialized tables.
+     */
+    static RowScanner compileRowScanner(Descriptor messageDescriptor, Type schemaType) {
+        Type rowType = null;
+        String rowFieldName = null;
+        if (schemaType.getTag() == TypeTags.ARRAY_TAG
+                && ((ArrayType) schemaType).getState() == ArrayType.ArrayState.OPEN) {
+            rowType = TypeUtils.getReferredType(((ArrayType) schemaType).getElementType());
+            rowFieldName = ARRAY_FIELD_NAME;
+        } else if (schemaType.getTag() == TypeTags.TABLE_TAG) {
+            rowType = TypeUtils.getReferredType(((TableType) schemaType).getConstrainedType());
+            rowFieldName = TABLE_ENTRY;
+        }
+        if (rowType == null || rowType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            throw createSerdesError(SCAN_NOT_SUPPORTED, SERDES_ERROR);
+        }
+        if (COLUMNAR_TABLE_BUILDER.equals(messageDescriptor.getName())) {
+            return new RowScanner(schemaType, (RecordType) rowType, null, -1, null);
+        }
+        FieldDescriptor rowField = messageDescriptor.findFieldByName(rowFieldName);
+        DeserializationPlanCompiler compiler = new DeserializationPlanCompiler(null, ParallelDecoder.SEQUENTIAL);
+        RecordMessageReader rowReader = (RecordMessageReader) compiler.compileMessageReader(rowField.getMessageType(),
+                rowType);
+        return new RowScanner(schemaType, (RecordType) rowType, rowField.getMessageType(), rowField.getNumber(),
+                rowReader);
+    }
+
+    // Closed records with a subset of the fields of a record, and arrays, maps, tables, tuples and unions of them, are
+    // projectable. Other types must be the same type.
+    private static boolean isProjectable(Type schemaType, Type targetType, Set<Type> visitedTypes) {
+        Type referredSchemaType = TypeUtils.getReferredType(schemaType);
+        Type referredTargetType = TypeUtils.getReferredType(targetType);
+        if (referredSchemaType == referredTargetType) {
+            return true;
+        }
+        if (referredSchemaType.getTag() != referredTargetType.getTag()) {
+            return false;
+        }
+        switch (referredTargetType.getTag()) {
+            case TypeTags.NULL_TAG:
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return true;
+
+            case TypeTags.ARRAY_TAG:
+                return isProjectable(((ArrayType) referredSchemaType).getElementType(),
+                        ((ArrayType) referredTargetType).getElementType(), visitedTypes);
+
+            case TypeTags.MAP_TAG:
+                return isProjectable(((MapType) referredSchemaType).getConstrainedType(),
+                        ((MapType) referredTargetType).getConstrainedType(), visitedTypes);
+
+            case TypeTags.TABLE_TAG:
+                return isProjectable(((TableType) referredSchemaType).getConstrainedType(),
+                        ((TableType) referredTargetType).getConstrainedType(), visitedTypes);
+
+            case TypeTags.TUPLE_TAG: {
+                List<Type> schemaElementTypes = ((TupleType) referredSchemaType).getTupleTypes();
+                List<Type> targetElementTypes = ((TupleType) referredTargetType).getTupleTypes();
+                if (schemaElementTypes.size() != targetElementTypes.size()) {
+                    return false;
+                }
+                for (int i = 0; i < targetElementTypes.size(); i++) {
+                    if (!isProjectable(schemaElementTypes.get(i), targetElementTypes.get(i), visitedTypes)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            case TypeTags.UNION_TAG:
+                return hasSameMembers((UnionType) referredSchemaType, (UnionType) referredTargetType, visitedTypes);
+
+            case TypeTags.RECORD_TYPE_TAG: {
+                // Cyclic records are assumed to be projectable while their fields are being checked
+                if (!visitedTypes.add(referredTargetType)) {
+                    return true;
+                }
+                RecordType targetRecordType = (RecordType) referredTargetType;
+                if (!targetRecordType.isSealed()) {
+                    return false;
+                }
+                Map<String, Field> schemaFields = ((RecordType) referredSchemaType).getFields();
+                for (Field targetField : targetRecordType.getFields().values()) {
+                    Field schemaField = schemaFields.get(targetField.getFieldName());
+                    if (schemaField == null || !isProjectable(schemaField.getFieldType(), targetField.getFieldType(),
+                            visitedTypes)) {
+                        return false;
+                    }
+                    // Optional fields of the schema can be absent, so they can't be read into required fields
+                    if (SymbolFlags.isFlagOn(schemaField.getFlags(), SymbolFlags.OPTIONAL)
+                            && !SymbolFlags.isFlagOn(targetField.getFlags(), SymbolFlags.OPTIONAL)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            default:
+                return false;
+        }
+    }
+
+    // Union members are encoded as fields named after the member types, so each member of the target union must
+    // have the field name of a member of the schema union
+    private static boolean hasSameMembers(UnionType schemaType, UnionType targetType, Set<Type> visitedTypes) {
+        List<Type> schemaMemberTypes = schemaType.getMemberTypes();
+        List<Type> targetMemberTypes = targetType.getMemberTypes();
+        if (schemaMemberTypes.size() != targetMemberTypes.size()) {
+            return false;
+        }
+        for (Type targetMemberType : targetMemberTypes) {
+            String fieldName = UnionMessageType.mapMemberToFieldName(targetMemberType).getKey();
+            boolean hasMember = false;
+            for (Type schemaMemberType : schemaMemberTypes) {
+                if (fieldName.equals(UnionMessageType.mapMemberToFieldName(schemaMemberType).getKey())) {
+                    hasMember = isProjectable(schemaMemberType, targetMemberType, visitedTypes);
+                    break;
+                }
+            }
+            if (!hasMember) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ballerinaType must be a referred type
+    private MessageReader compileMessageReader(Descriptor messageDescriptor, Type ballerinaType) {
+        ReaderKey readerKey = new ReaderKey(messageDescriptor, ballerinaType);
+        MessageReader compiledReader = compiledMessageReaders.get(readerKey);
+        if (compiledReader != null) {
+            return compiledReader;
+        }
+
+        switch (ballerinaType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG: {
+                FieldDescriptor atomicField = messageDescriptor.findFieldByName(ATOMIC_FIELD_NAME);
+                return new MessageReader.SingleFieldMessageReader(compileFieldReader(atomicField, ballerinaType));
+            }
+
+            case TypeTags.DECIMAL_TAG:
+                return new MessageReader.DecimalMessageReader(messageDescriptor.findFieldByName(SCALE).getNumber(),
+                        messageDescriptor.findFieldByName(PRECISION).getNumber(),
+                        messageDescriptor.findFieldByName(VALUE).getNumber(),
+                        getCompactValueFieldNumber(messageDescriptor));
+
+            case TypeTags.ARRAY_TAG: {
+                FieldDescriptor arrayField = messageDescriptor.findFieldByName(ARRAY_FIELD_NAME);
+                ArrayFieldReader arrayReader = compileArrayFieldReader(arrayField, (ArrayType) ballerinaType);
+                if (parallelDecoder.isEnabled() && arrayReader instanceof ElementWiseArrayFieldReader) {
+                    return new MessageReader.ParallelArrayMessageReader((ElementWiseArrayFieldReader) arrayReader,
+                            parallelDecoder);
+                }
+                return new MessageReader.SingleFieldMessageReader(arrayReader);
+            }
+
+            case TypeTags.UNION_TAG: {
+                UnionMessageReader unionReader = new UnionMessageReader((UnionType) ballerinaType);
+                compiledMessageReaders.put(readerKey, unionReader);
+                FieldReader[] memberReaders = new FieldReader[getMaxFieldNumber(messageDescriptor) + 1];
+                for (Type memberType : ((UnionType) ballerinaType).getMemberTypes()) {
+                    Map.Entry<String, Type> fieldNameAndType = UnionMessageType.mapMemberToFieldName(memberType);
+                    FieldDescriptor memberField = messageDescriptor.findFieldByName(fieldNameAndType.getKey());
+                    if (memberReaders[memberField.getNumber()] == null) {
+                        memberReaders[memberField.getNumber()] = compileFieldReader(memberField,
+                                fieldNameAndType.getValue());
+                    }
+                }
+                unionReader.init(memberReaders);
+                return unionReader;
+            }
+
+            case TypeTags.RECORD_TYPE_TAG: {
+                RecordType recordType = (RecordType) ballerinaType;
+                RecordMessageReader recordReader = createRecordReader(messageDescriptor, recordType);
+                compiledMessageReaders.put(readerKey, recordReader);
+                int maxFieldNumber = getMaxFieldNumber(messageDescriptor);
+                BString[] fieldKeys = new BString[maxFieldNumber + 1];
+                FieldReader[] fieldReaders = new FieldReader[maxFieldNumber + 1];
+                int[] arraySlots = new int[maxFieldNumber + 1];
+                Arrays.fill(arraySlots, -1);
+                int arrayFieldCount = 0;
+                for (FieldDescriptor fieldDescriptor : messageDescriptor.getFields()) {
+                    int fieldNumber = fieldDescriptor.getNumber();
+                    // Each member of a oneof is read into the record field the oneof is named after
+                    OneofDescriptor oneof = fieldDescriptor.getRealContainingOneof();
+                    String fieldName = oneof != null ? oneof.getName() : fieldDescriptor.getName();
+                    Field field = recordType.getFields().get(fieldName);
+                    if (field == null) {
+                        // Fields that a projected record type doesn't have are skipped
+                        continue;
+                    }
+                    Type fieldType = TypeUtils.getReferredType(field.getFieldType());
+                    if (oneof != null) {
+                        fieldType = UnionMessageType.getOneofMemberType((UnionType) fieldType, fieldName,
+                                fieldDescriptor.getName());
+                    }
+                    fieldKeys[fieldNumber] = StringUtils.fromString(fieldName);
+                    fieldReaders[fieldNumber] = compileFieldReader(fieldDescriptor, fieldType);
+                    if (fieldReaders[fieldNumber] instanceof ArrayFieldReader) {
+                        arraySlots[fieldNumber] = arrayFieldCount++;
+                    }
+                }
+                recordReader.init(fieldKeys, fieldReaders, arraySlots, arrayFieldCount);
+                return recordReader;
+            }
+
+            case TypeTags.MAP_TAG: {
+                FieldDescriptor mapField = messageDescriptor.findFieldByName(MAP_FIELD);
+                Descriptor mapEntrySchema = mapField.getMessageType();
+                FieldDescriptor keyField = mapEntrySchema.findFieldByName(KEY_NAME);
+                MapMessageReader mapReader = new MapMessageReader((MapType) ballerinaType, mapField.getNumber(),
+                        keyField.getNumber(), isUInt32Field(keyField));
+                compiledMessageReaders.put(readerKey, mapReader);
+                Type valueType = TypeUtils.getReferredType(((MapType) ballerinaType).getConstrainedType());
+                mapReader.init(compileFieldReader(mapEntrySchema.findFieldByName(VALUE_NAME), valueType));
+                return mapReader;
+            }
+
+            case TypeTags.TABLE_TAG: {
+                if (COLUMNAR_TABLE_BUILDER.equals(messageDescriptor.getName())) {
+                    return compileColumnarTableReader(messageDescriptor, (TableType) ballerinaType);
+                }
+                TableMessageReader tableReader = new TableMessageReader((TableType) ballerinaType, parallelDecoder);
+                compiledMessageReaders.put(readerKey, tableReader);
+                Type rowType = TypeUtils.getReferredType(((TableType) ballerinaType).getConstrainedType());
+                tableReader.init(compileFieldReader(messageDescriptor.findFieldByName(TABLE_ENTRY), rowType));
+                return tableReader;
+            }
+
+            case TypeTags.TUPLE_TAG: {
+                TupleType tupleType = (TupleType) ballerinaType;
+                TupleMessageReader tupleReader = new TupleMessageReader(tupleType);
+                compiledMessageReaders.put(readerKey, tupleReader);
+                List<Type> elementTypes = tupleType.getTupleTypes();
+                int maxFieldNumber = getMaxFieldNumber(messageDescriptor);
+                FieldReader[] elementReaders = new FieldReader[maxFieldNumber + 1];
+                int[] arraySlots = new int[maxFieldNumber + 1];
+                Arrays.fill(arraySlots, -1);
+                int arrayElementCount = 0;
+                for (FieldDescriptor fieldDescriptor : messageDescriptor.getFields()) {
+                    int fieldNumber = fieldDescriptor.getNumber();
+                    Type elementType = TypeUtils.getReferredType(elementTypes.get(fieldNumber - 1));
+                    elementReaders[fieldNumber] = compileFieldReader(fieldDescriptor, elementType);
+                    if (elementReaders[fieldNumber] instanceof ArrayFieldReader) {
+                        arraySlots[fieldNumber] = arrayElementCount++;
+                    }
+                }
+                tupleReader.init(elementReaders, arraySlots, arrayElementCount);
+                return tupleReader;
+            }
+
+            default:
+                throw createSerdesError(UNSUPPORTED_DATA_TYPE + ballerinaType.getName(), SERDES_ERROR);
+        }
+    }
+
+    // ballerinaType must be a referred type
+    private FieldReader compileFieldReader(FieldDescriptor fieldDescriptor, Type ballerinaType) {
+        int fieldNumber = fieldDescriptor.getNumber();
+
+        switch (ballerinaType.getTag()) {
+            case TypeTags.NULL_TAG:
+                return new FieldReader.NullFieldReader(fieldNumber);
+
+            case TypeTags.INT_TAG:
+                return new FieldReader.IntFieldReader(fieldNumber);
+
+            case TypeTags.BYTE_TAG:
+                if (isUInt32Field(fieldDescriptor)) {
+                    return new FieldReader.VarintByteFieldReader(fieldNumber);
+                }
+                return new FieldReader.ByteFieldReader(fieldNumber);
+
+            case TypeTags.FLOAT_TAG:
+                return new FieldReader.FloatFieldReader(fieldNumber);
+
+            case TypeTags.STRING_TAG:
+                if (isUInt32Field(fieldDescriptor)) {
+                    return new FieldReader.StringIndexFieldReader(fieldNumber);
+                }
+                return new FieldReader.StringFieldReader(fieldNumber);
+
+            case TypeTags.BOOLEAN_TAG:
+                return new FieldReader.BooleanFieldReader(fieldNumber);
+
+            case TypeTags.FINITE_TYPE_TAG:
+                // enum members are decoded using the type of their value
+                return compileFieldReader(fieldDescriptor, getFiniteValueType(ballerinaType));
+
+            case TypeTags.ARRAY_TAG:
+                return compileArrayFieldReader(fieldDescriptor, (ArrayType) ballerinaType);
+
+            case TypeTags.UNION_TAG:
+                // An absent optional field is nil, which is the value of the field in the empty record
+                if (fieldDescriptor.hasOptionalKeyword()) {
+                    return compileFieldReader(fieldDescriptor,
+                            Utils.getNilableScalarType((UnionType) ballerinaType));
+                }
+                return new FieldReader.MessageFieldReader(fieldNumber,
+                        compileMessageReader(fieldDescriptor.getMessageType(), ballerinaType));
+
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.RECORD_TYPE_TAG:
+            case TypeTags.MAP_TAG:
+            case TypeTags.TABLE_TAG:
+            case TypeTags.TUPLE_TAG:
+                return new FieldReader.MessageFieldReader(fieldNumber,
+                        compileMessageReader(fieldDescriptor.getMessageType(), ballerinaType));
+
+            default:
+                throw createSerdesError(UNSUPPORTED_DATA_TYPE + ballerinaType.getName(), SERDES_ERROR);
+        }
+    }
+
+    private ArrayFieldReader compileArrayFieldReader(FieldDescriptor fieldDescriptor, ArrayType arrayType) {
+        int fieldNumber = fieldDescriptor.getNumber();
+        Type elementType = TypeUtils.getReferredType(arrayType.getElementType());
+
+        switch (elementType.getTag()) {
+            case TypeTags.BYTE_TAG:
+                return new FieldReader.ByteArrayFieldReader(fieldNumber, elementType);
+
+            case TypeTags.INT_TAG:
+                return new FieldReader.IntArrayFieldReader(fieldNumber, elementType);
+
+            case TypeTags.FLOAT_TAG:
+                return new FieldReader.FloatArrayFieldReader(fieldNumber, elementType);
+
+            case TypeTags.BOOLEAN_TAG:
+                return new FieldReader.BooleanArrayFieldReader(fieldNumber, elementType);
+
+            case TypeTags.STRING_TAG:
+                if (isUInt32Field(fieldDescriptor)) {
+                    return new FieldReader.StringIndexArrayFieldReader(fieldNumber, elementType);
+                }
+                return new FieldReader.StringArrayFieldReader(fieldNumber, elementType);
+
+            case TypeTags.ARRAY_TAG: {
+                FieldDescriptor innerArrayField = fieldDescriptor.getMessageType().findFieldByName(ARRAY_FIELD_NAME);
+                return new FieldReader.NestedArrayFieldReader(fieldNumber, elementType,
+                        compileArrayFieldReader(innerArrayField, (ArrayType) elementType));
+            }
+
+            default:
+                return new FieldReader.RepeatedFieldReader(fieldNumber, elementType,
+                        compileFieldReader(fieldDescriptor, elementType));
+        }
+    }
+
+    private MessageReader compileColumnarTableReader(Descriptor messageDescriptor, TableType tableType) {
+        RecordType rowType = ColumnarTableMessageType.getRowType(tableType);
+        ColumnarTableMessageReader tableReader = new ColumnarTableMessageReader(tableType, rowType,
+                messageDescriptor.findFieldByName(ROW_COUNT_FIELD_NAME).getNumber());
+        int maxFieldNumber = getMaxFieldNumber(messageDescriptor);
+        FieldReader[] fieldReaders = new FieldReader[maxFieldNumber + 1];
+        int[] columnSlots = new int[maxFieldNumber + 1];
+        boolean[] presenceFields = new boolean[maxFieldNumber + 1];
+        Collection<Field> fields = rowType.getFields().values();
+        BString[] columnKeys = new BString[fields.size()];
+        boolean[] optionalColumns = new boolean[fields.size()];
+        boolean[] nilableColumns = new boolean[fields.size()];
+        int column = 0;
+        for (Field field : fields) {
+            FieldDescriptor columnField = messageDescriptor.findFieldByName(field.getFieldName());
+            Type columnType = ColumnarTableMessageType.getColumnType(field);
+            fieldReaders[columnField.getNumber()] = compileArrayFieldReader(columnField,
+                    TypeCreator.createArrayType(columnType));
+            columnSlots[columnField.getNumber()] = column;
+            FieldDescriptor presenceField = messageDescriptor.findFieldByName(field.getFieldName() + PRESENCE_SUFFIX);
+            if (presenceField != null) {
+                fieldReaders[presenceField.getNumber()] = new FieldReader.ByteArrayFieldReader(
+                        presenceField.getNumber(), PredefinedTypes.TYPE_BYTE);
+                columnSlots[presenceField.getNumber()] = column;
+                presenceFields[presenceField.getNumber()] = true;
+            }
+            columnKeys[column] = StringUtils.fromString(field.getFieldName());
+            optionalColumns[column] = presenceField != null;
+            nilableColumns[column] = ColumnarTableMessageType.isNilable(field);
+            column++;
+        }
+        tableReader.init(fieldReaders, columnSlots, presenceFields, columnKeys, optionalColumns, nilableColumns);
+        return tableReader;
+    }
+
+    private RecordMessageReader createRecordReader(Descriptor messageDescriptor, RecordType recordType) {
+        if (recordCodecGenerator != null) {
+            RecordMessageReader specializedReader = recordCodecGenerator.generateReader(messageDescriptor, recordType);
+            if (specializedReader != null) {
+                return specializedReader;
+            }
+        }
+        return new RecordMessageReader(recordType);
+    }
+
+    private static int getMaxFieldNumber(Descriptor messageDescriptor) {
+        int maxFieldNumber = 0;
+        for (FieldDescriptor fieldDescriptor : messageDescriptor.getFields()) {
+            maxFieldNumber = Math.max(maxFieldNumber, fieldDescriptor.getNumber());
+        }
+        return maxFieldNumber;
+    }
+
+    private static final class ReaderKey {
+        private final Descriptor messageDescriptor;
+        private final Type ballerinaType;
+
+        ReaderKey(Descriptor messageDescriptor, Type ballerinaType) {
+            this.messageDescriptor = messageDescriptor;
+            this.ballerinaType = ballerinaType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ReaderKey)) {
+                return false;
+            }
+            ReaderKey otherKey = (ReaderKey) other;
+            return messageDescriptor == otherKey.messageDescriptor && ballerinaType == otherKey.ballerinaType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(messageDescriptor) + System.identityHashCode(ballerinaType);
+        }
+    }
+}
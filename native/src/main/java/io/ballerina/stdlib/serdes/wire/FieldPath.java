@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.serdes.wire.FieldReader.ArrayFieldReader;
+
+import java.io.IOException;
+
+/**
+ * {@link FieldPath} class reads a field of a record, or of a record nested in it, from an encoded message without
+ * deserializing the other fields. The path is resolved to field numbers when it is compiled, so the message is read
+ * by comparing tags and the fields that are not on the path are skipped.
+ */
+public class FieldPath {
+    // Paths are read by recursion, so they are limited like the nesting of messages
+    static final int MAX_DEPTH = 100;
+
+    // Field numbers of the record fields that lead to the record holding the field
+    private final int[] parentFieldNumbers;
+    // Keys of the fields on the path and the record types holding them, starting from the root record
+    private final BString[] keys;
+    private final RecordType[] recordTypes;
+    // Readers of the field indexed by field number, a oneof has a reader for each of its members
+    private final FieldReader[] fieldReaders;
+
+    FieldPath(int[] parentFieldNumbers, BString[] keys, RecordType[] recordTypes, FieldReader[] fieldReaders) {
+        this.parentFieldNumbers = parentFieldNumbers;
+        this.keys = keys;
+        this.recordTypes = recordTypes;
+        this.fieldReaders = fieldReaders;
+    }
+
+    // Reads the field from the input of an encoded record
+    public Object read(MessageInput input) throws IOException {
+        Extraction extraction = new Extraction();
+        readMessage(input, 0, extraction);
+        if (extraction.found) {
+            return extraction.value;
+        }
+        return getDefaultValue(extraction.depth);
+    }
+
+    // Reads a record message on the path, occurrences of a parent field are read one after the other as protobuf
+    // merges them
+    private void readMessage(MessageInput input, int depth, Extraction extraction) throws IOException {
+        extraction.depth = Math.max(extraction.depth, depth);
+        boolean isParent = depth < parentFieldNumbers.length;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (isParent) {
+                if (WireFormat.getTagFieldNumber(tag) == parentFieldNumbers[depth]
+                        && WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                    int oldLimit = input.pushLengthLimit();
+                    readMessage(input, depth + 1, extraction);
+                    input.popLimit(oldLimit);
+                } else {
+                    input.skipField(tag);
+                }
+                continue;
+            }
+            FieldReader fieldReader = MessageReader.getFieldReader(fieldReaders, tag);
+            if (fieldReader == null) {
+                input.skipField(tag);
+            } else if (fieldReader instanceof ArrayFieldReader) {
+                BArray array = extraction.value instanceof BArray ? (BArray) extraction.value : null;
+                extraction.value = ((ArrayFieldReader) fieldReader).readOccurrence(input,
+                        WireFormat.getTagWireType(tag), array);
+                extraction.found = true;
+            } else {
+                extraction.value = fieldReader.read(input);
+                extraction.found = true;
+            }
+        }
+    }
+
+    // Absent fields have the values a deserialized record would have, starting from the deepest record that is
+    // present. An absent optional record field results in nil.
+    private Object getDefaultValue(int depth) {
+        Object value = recordTypes[depth].getEmptyValue();
+        for (int i = depth; i < keys.length; i++) {
+            if (!(value instanceof BMap)) {
+                return null;
+            }
+            value = ((BMap<?, ?>) value).get(keys[i]);
+        }
+        return value;
+    }
+
+    private static final class Extraction {
+        private Object value;
+        private boolean found;
+        // Depth of the deepest record message read on the path
+        private int depth;
+    }
+}
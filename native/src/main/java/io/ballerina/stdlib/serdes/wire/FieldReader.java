@@ -0,0 +1,437 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * {@link FieldReader} class reads a single field of a protobuf message.
+ * A reader is specialized for the ballerina type of the field when the deserialization plan is compiled.
+ */
+public abstract class FieldReader {
+    private static final BString EMPTY_BSTRING = StringUtils.fromString("");
+
+    protected final int fieldNumber;
+    private final int wireType;
+
+    protected FieldReader(int fieldNumber, int wireType) {
+        this.fieldNumber = fieldNumber;
+        this.wireType = wireType;
+    }
+
+    public int getFieldNumber() {
+        return fieldNumber;
+    }
+
+    // Fields with an unexpected wire type are skipped, the same way a parsed dynamic message treats them
+    public boolean acceptsWireType(int tagWireType) {
+        return tagWireType == wireType;
+    }
+
+    public abstract Object read(MessageInput input) throws IOException;
+
+    // Value of the field when it is not present in the input
+    public abstract Object readDefault(MessageInput input) throws IOException;
+
+    static final class NullFieldReader extends FieldReader {
+        NullFieldReader(int fieldNumber) {
+            super(fieldNumber, WireFormat.WIRETYPE_VARINT);
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            input.readBool();
+            return null;
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) {
+            return null;
+        }
+    }
+
+    static final class IntFieldReader extends FieldReader {
+        IntFieldReader(int fieldNumber) {
+            super(fieldNumber, WireFormat.WIRETYPE_VARINT);
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            return input.readSInt64();
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) {
+            return 0L;
+        }
+    }
+
+    static final class ByteFieldReader extends FieldReader {
+        ByteFieldReader(int fieldNumber) {
+            super(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            return input.readSingleByte();
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) {
+            return 0;
+        }
+    }
+
+    static final class VarintByteFieldReader extends FieldReader {
+        VarintByteFieldReader(int fieldNumber) {
+            super(fieldNumber, WireFormat.WIRETYPE_VARINT);
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            return input.readVarintByte();
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) {
+            return 0;
+        }
+    }
+
+    static final class FloatFieldReader extends FieldReader {
+        FloatFieldReader(int fieldNumber) {
+            super(fieldNumber, WireFormat.WIRETYPE_FIXED64);
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            return input.readDouble();
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) {
+            return 0.0;
+        }
+    }
+
+    static final class StringFieldReader extends FieldReader {
+        StringFieldReader(int fieldNumber) {
+            super(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            return input.readBString();
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) {
+            return EMPTY_BSTRING;
+        }
+    }
+
+    // Reads a uint32 field holding the index of a string in the string table of the message, index 0 is the empty
+    // string
+    static final class StringIndexFieldReader extends FieldReader {
+        StringIndexFieldReader(int fieldNumber) {
+            super(fieldNumber, WireFormat.WIRETYPE_VARINT);
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            return input.readStringIndex();
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) {
+            return EMPTY_BSTRING;
+        }
+    }
+
+    static final class BooleanFieldReader extends FieldReader {
+        BooleanFieldReader(int fieldNumber) {
+            super(fieldNumber, WireFormat.WIRETYPE_VARINT);
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            return input.readBool();
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) {
+            return false;
+        }
+    }
+
+    // Reads decimal, union, record, map, table and tuple values from nested messages
+    static final class MessageFieldReader extends FieldReader {
+        private final MessageReader messageReader;
+
+        MessageFieldReader(int fieldNumber, MessageReader messageReader) {
+            super(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            this.messageReader = messageReader;
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            return input.readMessage(messageReader);
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) throws IOException {
+            return input.readAbsentMessage(messageReader);
+        }
+    }
+
+    /**
+     * Reads array elements flattened into a repeated field, each occurrence of the field appends to the array.
+     */
+    abstract static class ArrayFieldReader extends FieldReader {
+        final ArrayType arrayType;
+
+        ArrayFieldReader(int fieldNumber, int wireType, Type elementType) {
+            super(fieldNumber, wireType);
+            this.arrayType = TypeCreator.createArrayType(elementType);
+        }
+
+        @Override
+        public Object read(MessageInput input) throws IOException {
+            return readOccurrence(input, WireFormat.WIRETYPE_LENGTH_DELIMITED, null);
+        }
+
+        @Override
+        public Object readDefault(MessageInput input) {
+            return createArray();
+        }
+
+        BArray createArray() {
+            return ValueCreator.createArrayValue(arrayType);
+        }
+
+        // Appends the elements of one field occurrence, the array is created on the first occurrence
+        abstract BArray readOccurrence(MessageInput input, int tagWireType, BArray array) throws IOException;
+    }
+
+    // Repeated numeric and boolean fields are packed but unpacked occurrences are accepted too
+    abstract static class PackableArrayFieldReader extends ArrayFieldReader {
+        private final int elementWireType;
+
+        PackableArrayFieldReader(int fieldNumber, int elementWireType, Type elementType) {
+            super(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED, elementType);
+            this.elementWireType = elementWireType;
+        }
+
+        @Override
+        public boolean acceptsWireType(int tagWireType) {
+            return tagWireType == WireFormat.WIRETYPE_LENGTH_DELIMITED || tagWireType == elementWireType;
+        }
+
+        @Override
+        BArray readOccurrence(MessageInput input, int tagWireType, BArray array) throws IOException {
+            // A single packed occurrence, which is what the serializer writes, is decoded without boxing
+            if (array == null && tagWireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                return readPackedArray(input);
+            }
+            BArray targetArray = array != null ? array : createArray();
+            if (tagWireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                int oldLimit = input.pushLengthLimit();
+                while (!input.isAtLimit()) {
+                    targetArray.append(readElement(input));
+                }
+                input.popLimit(oldLimit);
+            } else {
+                targetArray.append(readElement(input));
+            }
+            return targetArray;
+        }
+
+        abstract BArray readPackedArray(MessageInput input) throws IOException;
+
+        abstract Object readElement(MessageInput input) throws IOException;
+    }
+
+    static final class IntArrayFieldReader extends PackableArrayFieldReader {
+        IntArrayFieldReader(int fieldNumber, Type elementType) {
+            super(fieldNumber, WireFormat.WIRETYPE_VARINT, elementType);
+        }
+
+        @Override
+        BArray readPackedArray(MessageInput input) throws IOException {
+            return ValueCreator.createArrayValue(input.readPackedSInt64());
+        }
+
+        @Override
+        Object readElement(MessageInput input) throws IOException {
+            return input.readSInt64();
+        }
+    }
+
+    static final class FloatArrayFieldReader extends PackableArrayFieldReader {
+        FloatArrayFieldReader(int fieldNumber, Type elementType) {
+            super(fieldNumber, WireFormat.WIRETYPE_FIXED64, elementType);
+        }
+
+        @Override
+        BArray readPackedArray(MessageInput input) throws IOException {
+            return ValueCreator.createArrayValue(input.readPackedDouble());
+        }
+
+        @Override
+        Object readElement(MessageInput input) throws IOException {
+            return input.readDouble();
+        }
+    }
+
+    static final class BooleanArrayFieldReader extends PackableArrayFieldReader {
+        BooleanArrayFieldReader(int fieldNumber, Type elementType) {
+            super(fieldNumber, WireFormat.WIRETYPE_VARINT, elementType);
+        }
+
+        @Override
+        BArray readPackedArray(MessageInput input) throws IOException {
+            return ValueCreator.createArrayValue(input.readPackedBool());
+        }
+
+        @Override
+        Object readElement(MessageInput input) throws IOException {
+            return input.readBool();
+        }
+    }
+
+    static final class StringIndexArrayFieldReader extends PackableArrayFieldReader {
+        StringIndexArrayFieldReader(int fieldNumber, Type elementType) {
+            super(fieldNumber, WireFormat.WIRETYPE_VARINT, elementType);
+        }
+
+        @Override
+        BArray readPackedArray(MessageInput input) throws IOException {
+            return ValueCreator.createArrayValue(input.readPackedStringIndexes());
+        }
+
+        @Override
+        Object readElement(MessageInput input) throws IOException {
+            return input.readStringIndex();
+        }
+    }
+
+    // byte arrays are encoded as a single bytes field
+    static final class ByteArrayFieldReader extends ArrayFieldReader {
+        ByteArrayFieldReader(int fieldNumber, Type elementType) {
+            super(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED, elementType);
+        }
+
+        @Override
+        BArray createArray() {
+            return ValueCreator.createArrayValue(new byte[0]);
+        }
+
+        @Override
+        BArray readOccurrence(MessageInput input, int tagWireType, BArray array) throws IOException {
+            return ValueCreator.createArrayValue(input.readByteArray());
+        }
+    }
+
+    // Reads one element per occurrence of the repeated field
+    abstract static class ElementWiseArrayFieldReader extends ArrayFieldReader
+            implements ParallelDecoder.ElementReader {
+        ElementWiseArrayFieldReader(int fieldNumber, Type elementType) {
+            super(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED, elementType);
+        }
+
+        @Override
+        BArray readOccurrence(MessageInput input, int tagWireType, BArray array) throws IOException {
+            BArray targetArray = array != null ? array : createArray();
+            targetArray.append(readElement(input));
+            return targetArray;
+        }
+
+        // Creates the array of elements decoded in parallel
+        BArray createArray(Object[] elements) {
+            return ValueCreator.createArrayValue(elements, arrayType);
+        }
+    }
+
+    static final class StringArrayFieldReader extends ElementWiseArrayFieldReader {
+        StringArrayFieldReader(int fieldNumber, Type elementType) {
+            super(fieldNumber, elementType);
+        }
+
+        @Override
+        public Object readElement(MessageInput input) throws IOException {
+            return input.readBString();
+        }
+
+        @Override
+        BArray createArray(Object[] elements) {
+            return ValueCreator.createArrayValue(Arrays.copyOf(elements, elements.length, BString[].class));
+        }
+    }
+
+    // Each inner array is wrapped in an array builder message
+    static final class NestedArrayFieldReader extends ElementWiseArrayFieldReader {
+        private final ArrayFieldReader innerArrayReader;
+
+        NestedArrayFieldReader(int fieldNumber, Type elementType, ArrayFieldReader innerArrayReader) {
+            super(fieldNumber, elementType);
+            this.innerArrayReader = innerArrayReader;
+        }
+
+        @Override
+        public Object readElement(MessageInput input) throws IOException {
+            int oldLimit = input.pushLengthLimit();
+            BArray innerArray = null;
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                if (WireFormat.getTagFieldNumber(tag) == innerArrayReader.getFieldNumber()
+                        && innerArrayReader.acceptsWireType(WireFormat.getTagWireType(tag))) {
+                    innerArray = innerArrayReader.readOccurrence(input, WireFormat.getTagWireType(tag), innerArray);
+                } else {
+                    input.skipField(tag);
+                }
+            }
+            input.popLimit(oldLimit);
+            return innerArray != null ? innerArray : innerArrayReader.createArray();
+        }
+    }
+
+    static final class RepeatedFieldReader extends ElementWiseArrayFieldReader {
+        private final FieldReader elementReader;
+
+        RepeatedFieldReader(int fieldNumber, Type elementType, FieldReader elementReader) {
+            super(fieldNumber, elementType);
+            this.elementReader = elementReader;
+        }
+
+        @Override
+        public Object readElement(MessageInput input) throws IOException {
+            return elementReader.read(input);
+        }
+    }
+}
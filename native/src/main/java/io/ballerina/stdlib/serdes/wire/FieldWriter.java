@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import static io.ballerina.stdlib.serdes.Constants.TYPE_MISMATCH_ERROR_MESSAGE;
+
+/**
+ * {@link FieldWriter} class writes a single field of a protobuf message.
+ * A writer is specialized for the ballerina type of the field when the serialization plan is compiled.
+ */
+public abstract class FieldWriter {
+    protected final int fieldNumber;
+
+    protected FieldWriter(int fieldNumber) {
+        this.fieldNumber = fieldNumber;
+    }
+
+    public int getFieldNumber() {
+        return fieldNumber;
+    }
+
+    public abstract void write(Object value, MessageOutput output);
+
+    static final class NullFieldWriter extends FieldWriter {
+        NullFieldWriter(int fieldNumber) {
+            super(fieldNumber);
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            output.writeBool(fieldNumber, true);
+        }
+    }
+
+    static final class IntFieldWriter extends FieldWriter {
+        IntFieldWriter(int fieldNumber) {
+            super(fieldNumber);
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            long intValue = (Long) value;
+            if (intValue != 0) {
+                output.writeSInt64(fieldNumber, intValue);
+            }
+        }
+    }
+
+    static final class ByteFieldWriter extends FieldWriter {
+        ByteFieldWriter(int fieldNumber) {
+            super(fieldNumber);
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            output.writeSingleByte(fieldNumber, ((Integer) value).byteValue());
+        }
+    }
+
+    static final class VarintByteFieldWriter extends FieldWriter {
+        VarintByteFieldWriter(int fieldNumber) {
+            super(fieldNumber);
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            int byteValue = (Integer) value;
+            if (byteValue != 0) {
+                output.writeUInt32(fieldNumber, byteValue);
+            }
+        }
+    }
+
+    static final class FloatFieldWriter extends FieldWriter {
+        FloatFieldWriter(int fieldNumber) {
+            super(fieldNumber);
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            double floatValue = (Double) value;
+            if (Double.doubleToRawLongBits(floatValue) != 0) {
+                output.writeDouble(fieldNumber, floatValue);
+            }
+        }
+    }
+
+    static final class StringFieldWriter extends FieldWriter {
+        StringFieldWriter(int fieldNumber) {
+            super(fieldNumber);
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            String stringValue = ((BString) value).getValue();
+            if (!stringValue.isEmpty()) {
+                output.writeString(fieldNumber, stringValue);
+            }
+        }
+    }
+
+    static final class BooleanFieldWriter extends FieldWriter {
+        BooleanFieldWriter(int fieldNumber) {
+            super(fieldNumber);
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            if ((Boolean) value) {
+                output.writeBool(fieldNumber, true);
+            }
+        }
+    }
+
+    // Writes T? record fields as proto3 optional fields and scalar oneof members, nil is not written and other
+    // values are always written
+    static final class NilableScalarFieldWriter extends FieldWriter {
+        private final int typeTag;
+        private final boolean varintByte;
+
+        NilableScalarFieldWriter(int fieldNumber, int typeTag, boolean varintByte) {
+            super(fieldNumber);
+            this.typeTag = typeTag;
+            this.varintByte = varintByte;
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            if (value == null) {
+                return;
+            }
+            switch (typeTag) {
+                case TypeTags.INT_TAG:
+                    output.writeSInt64(fieldNumber, (Long) value);
+                    break;
+                case TypeTags.BYTE_TAG:
+                    if (varintByte) {
+                        output.writeUInt32(fieldNumber, (Integer) value);
+                    } else {
+                        output.writeSingleByte(fieldNumber, ((Integer) value).byteValue());
+                    }
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    output.writeDouble(fieldNumber, (Double) value);
+                    break;
+                case TypeTags.STRING_TAG:
+                    output.writeString(fieldNumber, ((BString) value).getValue());
+                    break;
+                default:
+                    output.writeBool(fieldNumber, (Boolean) value);
+                    break;
+            }
+        }
+    }
+
+    // Writes decimal, union, record, map, table and tuple values as nested messages
+    static final class MessageFieldWriter extends FieldWriter {
+        private final MessageWriter messageWriter;
+
+        MessageFieldWriter(int fieldNumber, MessageWriter messageWriter) {
+            super(fieldNumber);
+            this.messageWriter = messageWriter;
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            output.beginLengthDelimited(fieldNumber);
+            messageWriter.writeContent(value, output);
+            output.endLengthDelimited();
+        }
+    }
+
+    // Writes the member field of a union record field that is encoded as a oneof of the record message
+    static final class OneofFieldWriter extends FieldWriter {
+        private final MessageWriter memberWriter;
+
+        OneofFieldWriter(int fieldNumber, MessageWriter memberWriter) {
+            super(fieldNumber);
+            this.memberWriter = memberWriter;
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            memberWriter.writeContent(value, output);
+        }
+    }
+
+    // Elements of an array are flattened into a repeated field of the parent message
+    abstract static class ArrayFieldWriter extends FieldWriter {
+        private final int elementTypeTag;
+
+        ArrayFieldWriter(int fieldNumber, int elementTypeTag) {
+            super(fieldNumber);
+            this.elementTypeTag = elementTypeTag;
+        }
+
+        @Override
+        public void write(Object value, MessageOutput output) {
+            BArray array = (BArray) value;
+            if (TypeUtils.getReferredType(array.getElementType()).getTag() != elementTypeTag) {
+                throw new IllegalArgumentException(TYPE_MISMATCH_ERROR_MESSAGE);
+            }
+            int size = array.size();
+            if (size > 0) {
+                writeElements(array, size, output);
+            }
+        }
+
+        abstract void writeElements(BArray array, int size, MessageOutput output);
+    }
+
+    static final class ByteArrayFieldWriter extends ArrayFieldWriter {
+        ByteArrayFieldWriter(int fieldNumber) {
+            super(fieldNumber, TypeTags.BYTE_TAG);
+        }
+
+        @Override
+        void writeElements(BArray array, int size, MessageOutput output) {
+            // The backing array is written without a copy, it may be longer than the array
+            output.writeByteArray(fieldNumber, array.getByteArray(), 0, size);
+        }
+    }
+
+    static final class IntArrayFieldWriter extends ArrayFieldWriter {
+        IntArrayFieldWriter(int fieldNumber) {
+            super(fieldNumber, TypeTags.INT_TAG);
+        }
+
+        @Override
+        void writeElements(BArray array, int size, MessageOutput output) {
+            output.writePackedSInt64(fieldNumber, array.getIntArray(), size);
+        }
+    }
+
+    static final class FloatArrayFieldWriter extends ArrayFieldWriter {
+        FloatArrayFieldWriter(int fieldNumber) {
+            super(fieldNumber, TypeTags.FLOAT_TAG);
+        }
+
+        @Override
+        void writeElements(BArray array, int size, MessageOutput output) {
+            output.writePackedDouble(fieldNumber, array.getFloatArray(), size);
+        }
+    }
+
+    static final class BooleanArrayFieldWriter extends ArrayFieldWriter {
+        BooleanArrayFieldWriter(int fieldNumber) {
+            super(fieldNumber, TypeTags.BOOLEAN_TAG);
+        }
+
+        @Override
+        void writeElements(BArray array, int size, MessageOutput output) {
+            output.writePackedBool(fieldNumber, array.getBooleanArray(), size);
+        }
+    }
+
+    // String table indexes are packed like the other repeated varints, schemas with a string table are never parallel
+    static final class StringIndexArrayFieldWriter extends ArrayFieldWriter {
+        StringIndexArrayFieldWriter(int fieldNumber) {
+            super(fieldNumber, TypeTags.STRING_TAG);
+        }
+
+        @Override
+        void writeElements(BArray array, int size, MessageOutput output) {
+            int[] indexes = new int[size];
+            for (int i = 0; i < size; i++) {
+                indexes[i] = output.lookupStringIndex(((BString) array.get(i)).getValue());
+            }
+            output.writePackedUInt32(fieldNumber, indexes, size);
+        }
+    }
+
+    // Writes one occurrence of the repeated field per element, large arrays are written by the parallel encoder
+    abstract static class ElementWiseArrayFieldWriter extends ArrayFieldWriter
+            implements ParallelEncoder.ElementWriter<BArray> {
+        private final ParallelEncoder parallelEncoder;
+
+        ElementWiseArrayFieldWriter(int fieldNumber, int elementTypeTag, ParallelEncoder parallelEncoder) {
+            super(fieldNumber, elementTypeTag);
+            this.parallelEncoder = parallelEncoder;
+        }
+
+        @Override
+        void writeElements(BArray array, int size, MessageOutput output) {
+            parallelEncoder.writeElements(this, array, size, output);
+        }
+    }
+
+    static final class StringArrayFieldWriter extends ElementWiseArrayFieldWriter {
+        StringArrayFieldWriter(int fieldNumber, ParallelEncoder parallelEncoder) {
+            super(fieldNumber, TypeTags.STRING_TAG, parallelEncoder);
+        }
+
+        @Override
+        public void writeElement(BArray array, int index, MessageOutput output) {
+            // Repeated strings are written even when empty
+            output.writeString(fieldNumber, ((BString) array.get(index)).getValue());
+        }
+    }
+
+    // Each inner array is wrapped in an array builder message
+    static final class NestedArrayFieldWriter extends ElementWiseArrayFieldWriter {
+        private final ArrayFieldWriter innerArrayWriter;
+
+        NestedArrayFieldWriter(int fieldNumber, ArrayFieldWriter innerArrayWriter, ParallelEncoder parallelEncoder) {
+            super(fieldNumber, TypeTags.ARRAY_TAG, parallelEncoder);
+            this.innerArrayWriter = innerArrayWriter;
+        }
+
+        @Override
+        public void writeElement(BArray array, int index, MessageOutput output) {
+            output.beginLengthDelimited(fieldNumber);
+            innerArrayWriter.write(array.get(index), output);
+            output.endLengthDelimited();
+        }
+    }
+
+    static final class RepeatedFieldWriter extends ElementWiseArrayFieldWriter {
+        private final FieldWriter elementWriter;
+
+        RepeatedFieldWriter(int fieldNumber, int elementTypeTag, FieldWriter elementWriter,
+                            ParallelEncoder parallelEncoder) {
+            super(fieldNumber, elementTypeTag, parallelEncoder);
+            this.elementWriter = elementWriter;
+        }
+
+        @Override
+        public void writeElement(BArray array, int index, MessageOutput output) {
+            elementWriter.write(array.get(index), output);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.serdes.wire.MessageReader.RecordMessageReader;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * {@link LazyRecordReader} class reads the fields of an encoded record message one at a time. The offsets of the
+ * fields are indexed when the reader is created, and a field is read into the record when it is first requested.
+ * The record starts with the default values of the record type, the same as a record read by the plan.
+ */
+public class LazyRecordReader {
+    private final RecordMessageReader recordReader;
+    // Input of the record message, fields are read from ranges of it
+    private final MessageInput input;
+    // Index of the buffer at which the record message ends
+    private final int messageEndOffset;
+    // Offsets of the first and the last occurrence of each field number, -1 when the field is not present
+    private final int[] firstOffsets;
+    private final int[] lastOffsets;
+    private final boolean[] readFields;
+    private final BMap<BString, Object> record;
+    private BArray[] arrayFieldValues;
+
+    private LazyRecordReader(RecordMessageReader recordReader, MessageInput input) {
+        this.recordReader = recordReader;
+        this.input = input;
+        this.messageEndOffset = input.getBufferLimit();
+        int fieldCount = recordReader.fieldKeys.length;
+        this.firstOffsets = new int[fieldCount];
+        this.lastOffsets = new int[fieldCount];
+        this.readFields = new boolean[fieldCount];
+        this.record = recordReader.recordType.getEmptyValue();
+    }
+
+    // The input must read the record message from an array
+    static LazyRecordReader create(RecordMessageReader recordReader, MessageInput input) throws IOException {
+        LazyRecordReader lazyReader = new LazyRecordReader(recordReader, input);
+        lazyReader.indexFields();
+        return lazyReader;
+    }
+
+    // Locates the fields by skipping them, nested messages are skipped without being parsed
+    private void indexFields() throws IOException {
+        Arrays.fill(firstOffsets, -1);
+        Arrays.fill(lastOffsets, -1);
+        while (true) {
+            int offset = input.getBufferPosition();
+            int tag = input.readTag();
+            if (tag == 0) {
+                return;
+            }
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            if (fieldNumber < firstOffsets.length) {
+                if (firstOffsets[fieldNumber] < 0) {
+                    firstOffsets[fieldNumber] = offset;
+                }
+                lastOffsets[fieldNumber] = offset;
+            }
+            input.skipField(tag);
+        }
+    }
+
+    public boolean hasField(BString key) {
+        return recordReader.recordType.getFields().containsKey(key.getValue());
+    }
+
+    // Members of a oneof are different field numbers with the same key. Views are shared between strands, so the
+    // fields are read while holding the lock of the reader
+    public synchronized Object get(BString key) throws IOException {
+        boolean[] selectedFields = null;
+        int startOffset = Integer.MAX_VALUE;
+        int endOffset = -1;
+        for (int fieldNumber = 0; fieldNumber < readFields.length; fieldNumber++) {
+            BString fieldKey = recordReader.fieldKeys[fieldNumber];
+            if (readFields[fieldNumber] || fieldKey == null || !fieldKey.getValue().equals(key.getValue())) {
+                continue;
+            }
+            readFields[fieldNumber] = true;
+            if (firstOffsets[fieldNumber] >= 0) {
+                selectedFields = selectedFields != null ? selectedFields : new boolean[readFields.length];
+                selectedFields[fieldNumber] = true;
+                startOffset = Math.min(startOffset, firstOffsets[fieldNumber]);
+                endOffset = Math.max(endOffset, lastOffsets[fieldNumber]);
+            }
+        }
+        if (selectedFields != null) {
+            readFields(selectedFields, startOffset, endOffset);
+        }
+        return record.get(key);
+    }
+
+    // Reads the fields that are not read yet and returns the record
+    public synchronized BMap<BString, Object> getRecord() throws IOException {
+        boolean[] selectedFields = new boolean[readFields.length];
+        int startOffset = Integer.MAX_VALUE;
+        int endOffset = -1;
+        for (int fieldNumber = 0; fieldNumber < readFields.length; fieldNumber++) {
+            if (!readFields[fieldNumber] && firstOffsets[fieldNumber] >= 0) {
+                selectedFields[fieldNumber] = true;
+                startOffset = Math.min(startOffset, firstOffsets[fieldNumber]);
+                endOffset = Math.max(endOffset, lastOffsets[fieldNumber]);
+            }
+            readFields[fieldNumber] = true;
+        }
+        if (endOffset >= 0) {
+            readFields(selectedFields, startOffset, endOffset);
+        }
+        return record;
+    }
+
+    // Reads the occurrences of the selected fields between the offsets, the other fields in between are skipped
+    private void readFields(boolean[] selectedFields, int startOffset, int endOffset) throws IOException {
+        MessageInput rangeInput = input.createRangeInput(startOffset, messageEndOffset - startOffset);
+        while (rangeInput.getBufferPosition() <= endOffset) {
+            int tag = rangeInput.readTag();
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            if (fieldNumber < selectedFields.length && selectedFields[fieldNumber]) {
+                arrayFieldValues = recordReader.readField(rangeInput, record, arrayFieldValues, tag);
+            } else {
+                rangeInput.skipField(tag);
+            }
+        }
+    }
+}
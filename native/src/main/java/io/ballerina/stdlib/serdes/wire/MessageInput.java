@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * {@link MessageInput} class is the source used by {@link MessageReader} and {@link FieldReader} to read protobuf
+ * wire format fields. It keeps track of nested message limits and the nesting depth.
+ */
+public class MessageInput {
+    private static final int RECURSION_LIMIT = 100;
+    private static final int INITIAL_PACKED_CAPACITY = 16;
+    private static final int MAX_BYTE_VALUE = 255;
+
+    private final CodedInputStream codedInputStream;
+    // Bytes read by the coded input stream from the buffer offset, null when the input is not an array
+    private final byte[] buffer;
+    private final int bufferOffset;
+    private final int bufferLength;
+    private int recursionDepth = 0;
+    // String table of the message, null when the strings of the schema are not string table indexes
+    private StringTable stringTable;
+    private CharsetDecoder utf8Decoder;
+
+    public MessageInput(CodedInputStream codedInputStream) {
+        this(codedInputStream, null, 0, 0);
+    }
+
+    MessageInput(CodedInputStream codedInputStream, byte[] buffer, int bufferOffset, int bufferLength) {
+        this.codedInputStream = codedInputStream;
+        this.buffer = buffer;
+        this.bufferOffset = bufferOffset;
+        this.bufferLength = bufferLength;
+    }
+
+    // Returns 0 at the end of the input or the current limit
+    public int readTag() throws IOException {
+        return codedInputStream.readTag();
+    }
+
+    public void skipField(int tag) throws IOException {
+        codedInputStream.skipField(tag);
+    }
+
+    public long readSInt64() throws IOException {
+        return codedInputStream.readSInt64();
+    }
+
+    public double readDouble() throws IOException {
+        return codedInputStream.readDouble();
+    }
+
+    public boolean readBool() throws IOException {
+        return codedInputStream.readBool();
+    }
+
+    public int readUInt32() throws IOException {
+        return codedInputStream.readUInt32();
+    }
+
+    public BString readBString() throws IOException {
+        return StringUtils.fromString(codedInputStream.readStringRequireUtf8());
+    }
+
+    // Short strings read from an array are looked up in the cache before they are decoded
+    BString readBString(BStringCache cache) throws IOException {
+        if (buffer == null) {
+            return readBString();
+        }
+        int length = codedInputStream.readRawVarint32();
+        int position = getBufferPosition();
+        if (length < 0 || length > BStringCache.MAX_VALUE_LENGTH || position + length > getBufferLimit()) {
+            // Negative and truncated lengths are reported by the coded input stream
+            byte[] bytes = codedInputStream.readRawBytes(length);
+            return StringUtils.fromString(decodeUtf8(bytes, 0, bytes.length));
+        }
+        BString value = cache.get(buffer, position, length);
+        if (value == null) {
+            value = StringUtils.fromString(decodeUtf8(buffer, position, length));
+            cache.put(buffer, position, length, value);
+        }
+        codedInputStream.skipRawBytes(length);
+        return value;
+    }
+
+    // Reads a uint32 field holding the index of a string in the string table of the message
+    BString readStringIndex() throws IOException {
+        return stringTable.get(codedInputStream.readUInt32(), this);
+    }
+
+    // Reads the elements of a packed field of string table indexes
+    BString[] readPackedStringIndexes() throws IOException {
+        int oldLimit = pushLengthLimit();
+        BString[] values = new BString[INITIAL_PACKED_CAPACITY];
+        int count = 0;
+        while (!isAtLimit()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = readStringIndex();
+        }
+        popLimit(oldLimit);
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Reads the strings of a string table message from a stream until the value field, which the input is left at.
+     * The strings precede the value in the messages written by a plan, strings that follow the value are not read.
+     *
+     * @return false when the message has no value field, the input is at its end then
+     */
+    boolean readStringTable(int stringTableFieldNumber, int valueFieldNumber) throws IOException {
+        stringTable = StringTable.create();
+        int tag;
+        while ((tag = readTag()) != 0) {
+            if (tag == (valueFieldNumber << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED)) {
+                return true;
+            } else if (tag == (stringTableFieldNumber << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED)) {
+                stringTable.add(readBString());
+            } else {
+                skipField(tag);
+            }
+        }
+        return false;
+    }
+
+    void setStringTable(StringTable stringTable) {
+        this.stringTable = stringTable;
+    }
+
+    String decodeUtf8(byte[] bytes, int offset, int length) throws IOException {
+        if (utf8Decoder == null) {
+            utf8Decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+        }
+        try {
+            return utf8Decoder.decode(ByteBuffer.wrap(bytes, offset, length)).toString();
+        } catch (CharacterCodingException e) {
+            throw new InvalidProtocolBufferException("Protocol message had invalid UTF-8.");
+        }
+    }
+
+    public byte[] readByteArray() throws IOException {
+        return codedInputStream.readByteArray();
+    }
+
+    // Reads a length delimited field holding a single byte without allocating the payload
+    public int readSingleByte() throws IOException {
+        int length = codedInputStream.readRawVarint32();
+        if (length < 1) {
+            throw new InvalidProtocolBufferException("Byte field has an invalid length: " + length);
+        }
+        byte value = codedInputStream.readRawByte();
+        codedInputStream.skipRawBytes(length - 1);
+        return Byte.toUnsignedInt(value);
+    }
+
+    // Reads a uint32 field holding a byte
+    public int readVarintByte() throws IOException {
+        int value = codedInputStream.readUInt32();
+        if (value < 0 || value > MAX_BYTE_VALUE) {
+            throw new InvalidProtocolBufferException("Byte field has an invalid value: "
+                    + Integer.toUnsignedLong(value));
+        }
+        return value;
+    }
+
+    // Reads the elements of a packed field into an array of the exact size
+    public long[] readPackedSInt64() throws IOException {
+        int length = codedInputStream.readRawVarint32();
+        int oldLimit = codedInputStream.pushLimit(length);
+        long[] values;
+        int count = countVarints(length);
+        if (count >= 0) {
+            values = new long[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = codedInputStream.readSInt64();
+            }
+            checkAtLimit();
+        } else {
+            values = new long[Math.min(length, INITIAL_PACKED_CAPACITY)];
+            count = 0;
+            while (!isAtLimit()) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = codedInputStream.readSInt64();
+            }
+            values = count == values.length ? values : Arrays.copyOf(values, count);
+        }
+        codedInputStream.popLimit(oldLimit);
+        return values;
+    }
+
+    public double[] readPackedDouble() throws IOException {
+        int length = codedInputStream.readRawVarint32();
+        if (length % Double.BYTES != 0) {
+            throw new InvalidProtocolBufferException("Packed double field has an invalid length: " + length);
+        }
+        int oldLimit = codedInputStream.pushLimit(length);
+        double[] values = new double[length / Double.BYTES];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = codedInputStream.readDouble();
+        }
+        codedInputStream.popLimit(oldLimit);
+        return values;
+    }
+
+    public boolean[] readPackedBool() throws IOException {
+        int length = codedInputStream.readRawVarint32();
+        int oldLimit = codedInputStream.pushLimit(length);
+        // Booleans are single byte varints, longer encodings are only counted when the input is an array
+        int count = countVarints(length);
+        boolean[] values = new boolean[count >= 0 ? count : length];
+        int index = 0;
+        while (!isAtLimit() && index < values.length) {
+            values[index++] = codedInputStream.readBool();
+        }
+        checkAtLimit();
+        codedInputStream.popLimit(oldLimit);
+        return index == values.length ? values : Arrays.copyOf(values, index);
+    }
+
+    // Counts the varints of a packed field by their last bytes, which have the most significant bit cleared
+    private int countVarints(int length) {
+        if (buffer == null) {
+            return -1;
+        }
+        int start = bufferOffset + codedInputStream.getTotalBytesRead();
+        int end = Math.min(start + length, bufferOffset + bufferLength);
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (buffer[i] >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void checkAtLimit() throws IOException {
+        if (!isAtLimit()) {
+            throw new InvalidProtocolBufferException("CodedInputStream encountered a malformed varint.");
+        }
+    }
+
+    // Limits the input to the payload of a length delimited field, returns the limit to restore
+    public int pushLengthLimit() throws IOException {
+        int length = codedInputStream.readRawVarint32();
+        return codedInputStream.pushLimit(length);
+    }
+
+    public void popLimit(int oldLimit) {
+        codedInputStream.popLimit(oldLimit);
+    }
+
+    public boolean isAtLimit() {
+        return codedInputStream.getBytesUntilLimit() == 0;
+    }
+
+    boolean hasBuffer() {
+        return buffer != null;
+    }
+
+    byte[] getBuffer() {
+        return buffer;
+    }
+
+    // Index of the buffer at which the next field starts
+    int getBufferPosition() {
+        return bufferOffset + codedInputStream.getTotalBytesRead();
+    }
+
+    // Index of the buffer at which the current limit or the input ends
+    int getBufferLimit() {
+        int bytesUntilLimit = codedInputStream.getBytesUntilLimit();
+        return bytesUntilLimit >= 0 ? getBufferPosition() + bytesUntilLimit : bufferOffset + bufferLength;
+    }
+
+    void skipToLimit() throws IOException {
+        codedInputStream.skipRawBytes(getBufferLimit() - getBufferPosition());
+    }
+
+    // Input reading a range of the buffer at the current nesting depth, used to read fields on another thread
+    MessageInput createRangeInput(int offset, int length) {
+        MessageInput rangeInput = new MessageInput(CodedInputStream.newInstance(buffer, offset, length), buffer, offset,
+                length);
+        rangeInput.recursionDepth = recursionDepth;
+        rangeInput.stringTable = stringTable;
+        return rangeInput;
+    }
+
+    public Object readMessage(MessageReader messageReader) throws IOException {
+        if (++recursionDepth > RECURSION_LIMIT) {
+            throw new InvalidProtocolBufferException("Protocol message had too many levels of nesting");
+        }
+        int oldLimit = pushLengthLimit();
+        Object value = messageReader.readContent(this);
+        popLimit(oldLimit);
+        recursionDepth--;
+        return value;
+    }
+
+    // Reads a message that is not present in the input, which results in a message with default values
+    public Object readAbsentMessage(MessageReader messageReader) throws IOException {
+        int oldLimit = codedInputStream.pushLimit(0);
+        Object value = messageReader.readContent(this);
+        popLimit(oldLimit);
+        return value;
+    }
+}
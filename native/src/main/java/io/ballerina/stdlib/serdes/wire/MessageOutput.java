@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link MessageOutput} class is the sink used by {@link MessageWriter} and {@link FieldWriter} to emit protobuf wire
+ * format fields.
+ * The same traversal runs once against a {@link SizeComputingOutput} and once against a {@link CodedStreamOutput}.
+ */
+public abstract class MessageOutput {
+    private boolean preEncodingEnabled = true;
+
+    public abstract void writeSInt64(int fieldNumber, long value);
+
+    public abstract void writeDouble(int fieldNumber, double value);
+
+    public abstract void writeBool(int fieldNumber, boolean value);
+
+    public abstract void writeUInt32(int fieldNumber, int value);
+
+    public abstract void writeString(int fieldNumber, String value);
+
+    public abstract void writeByteArray(int fieldNumber, byte[] value, int offset, int length);
+
+    // Writes a length delimited field holding a single byte
+    public abstract void writeSingleByte(int fieldNumber, byte value);
+
+    // Packed repeated fields written straight from the backing array of a ballerina array, length may be less than
+    // the length of the backing array
+    public abstract void writePackedSInt64(int fieldNumber, long[] values, int length);
+
+    public abstract void writePackedDouble(int fieldNumber, double[] values, int length);
+
+    public abstract void writePackedBool(int fieldNumber, boolean[] values, int length);
+
+    public abstract void writePackedUInt32(int fieldNumber, int[] values, int length);
+
+    // Index of a string in the string table of the message, only used with the dictionary string encoding
+    public abstract int lookupStringIndex(String value);
+
+    // Starts a nested message, the payload length is resolved by the size computing pass
+    public abstract void beginLengthDelimited(int fieldNumber);
+
+    public abstract void endLengthDelimited();
+
+    // Writes complete fields encoded ahead of time as chunks of bytes. The encoder runs in the size computing pass and
+    // the writing pass copies the chunks it returned
+    public abstract void writePreEncoded(Supplier<byte[][]> encoder);
+
+    // Both passes of a serialization must agree, the chunks recorded by one pass are replayed by the other
+    void setPreEncodingEnabled(boolean preEncodingEnabled) {
+        this.preEncodingEnabled = preEncodingEnabled;
+    }
+
+    boolean isPreEncodingEnabled() {
+        return preEncodingEnabled;
+    }
+}
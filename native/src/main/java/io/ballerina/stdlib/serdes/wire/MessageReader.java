@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.stdlib.serdes.wire.FieldReader.ArrayFieldReader;
+import io.ballerina.stdlib.serdes.wire.FieldReader.ElementWiseArrayFieldReader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import static io.ballerina.stdlib.serdes.Constants.MALFORMED_COLUMN;
+import static io.ballerina.stdlib.serdes.Constants.ROW_COUNT_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.UNSUPPORTED_DATA_TYPE;
+import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * {@link MessageReader} class reads the fields of a protobuf message and creates the ballerina value.
+ * Readers are compiled once per schema by {@link DeserializationPlanCompiler} and are immutable afterwards.
+ * <p>
+ * Readers of messages with many fields dispatch on arrays indexed by field number. A slot without a reader means the
+ * field is unknown and it is skipped.
+ */
+public abstract class MessageReader {
+
+    // Reads fields until the end of the input or the current limit
+    public abstract Object readContent(MessageInput input) throws IOException;
+
+    static FieldReader getFieldReader(FieldReader[] fieldReaders, int tag) {
+        int fieldNumber = WireFormat.getTagFieldNumber(tag);
+        if (fieldNumber >= fieldReaders.length) {
+            return null;
+        }
+        FieldReader fieldReader = fieldReaders[fieldNumber];
+        if (fieldReader == null || !fieldReader.acceptsWireType(WireFormat.getTagWireType(tag))) {
+            return null;
+        }
+        return fieldReader;
+    }
+
+    // Reads messages with a single field, used for primitive values and arrays
+    static final class SingleFieldMessageReader extends MessageReader {
+        private final FieldReader fieldReader;
+
+        SingleFieldMessageReader(FieldReader fieldReader) {
+            this.fieldReader = fieldReader;
+        }
+
+        @Override
+        public Object readContent(MessageInput input) throws IOException {
+            Object value = null;
+            boolean hasValue = false;
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                if (WireFormat.getTagFieldNumber(tag) != fieldReader.getFieldNumber()
+                        || !fieldReader.acceptsWireType(WireFormat.getTagWireType(tag))) {
+                    input.skipField(tag);
+                } else if (fieldReader instanceof ArrayFieldReader) {
+                    value = ((ArrayFieldReader) fieldReader).readOccurrence(input, WireFormat.getTagWireType(tag),
+                            (BArray) value);
+                    hasValue = true;
+                } else {
+                    value = fieldReader.read(input);
+                    hasValue = true;
+                }
+            }
+            return hasValue ? value : fieldReader.readDefault(input);
+        }
+    }
+
+    // Reads array messages, large arrays are decoded by the parallel decoder
+    static final class ParallelArrayMessageReader extends MessageReader {
+        private final ElementWiseArrayFieldReader arrayReader;
+        private final SingleFieldMessageReader sequentialReader;
+        private final ParallelDecoder parallelDecoder;
+
+        ParallelArrayMessageReader(ElementWiseArrayFieldReader arrayReader, ParallelDecoder parallelDecoder) {
+            this.arrayReader = arrayReader;
+            this.sequentialReader = new SingleFieldMessageReader(arrayReader);
+            this.parallelDecoder = parallelDecoder;
+        }
+
+        @Override
+        public Object readContent(MessageInput input) throws IOException {
+            Object[] elements = parallelDecoder.readElements(input, arrayReader.getFieldNumber(), arrayReader);
+            return elements != null ? arrayReader.createArray(elements) : sequentialReader.readContent(input);
+        }
+    }
+
+    static final class DecimalMessageReader extends MessageReader {
+        private final int scaleFieldNumber;
+        private final int precisionFieldNumber;
+        private final int valueFieldNumber;
+        // -1 when the decimal message has no compact value field
+        private final int compactValueFieldNumber;
+
+        DecimalMessageReader(int scaleFieldNumber, int precisionFieldNumber, int valueFieldNumber,
+                             int compactValueFieldNumber) {
+            this.scaleFieldNumber = scaleFieldNumber;
+            this.precisionFieldNumber = precisionFieldNumber;
+            this.valueFieldNumber = valueFieldNumber;
+            this.compactValueFieldNumber = compactValueFieldNumber;
+        }
+
+        @Override
+        public Object readContent(MessageInput input) throws IOException {
+            int scale = 0;
+            int precision = 0;
+            byte[] unscaledValue = new byte[0];
+            long compactValue = 0;
+            boolean isCompact = false;
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                int fieldNumber = WireFormat.getTagFieldNumber(tag);
+                if (fieldNumber == scaleFieldNumber) {
+                    scale = input.readUInt32();
+                } else if (fieldNumber == precisionFieldNumber) {
+                    precision = input.readUInt32();
+                } else if (fieldNumber == valueFieldNumber) {
+                    unscaledValue = input.readByteArray();
+                } else if (fieldNumber == compactValueFieldNumber) {
+                    compactValue = input.readSInt64();
+                    isCompact = true;
+                } else {
+                    input.skipField(tag);
+                }
+            }
+            if (isCompact) {
+                return ValueCreator.createDecimalValue(BigDecimal.valueOf(compactValue, scale));
+            }
+            BigDecimal bigDecimal = new BigDecimal(new BigInteger(unscaledValue), scale, new MathContext(precision));
+            return ValueCreator.createDecimalValue(bigDecimal);
+        }
+    }
+
+    static final class UnionMessageReader extends MessageReader {
+        private final UnionType unionType;
+        // Member readers indexed by field number
+        private FieldReader[] memberReaders;
+
+        UnionMessageReader(UnionType unionType) {
+            this.unionType = unionType;
+        }
+
+        void init(FieldReader[] memberReaders) {
+            this.memberReaders = memberReaders;
+        }
+
+        @Override
+        public Object readContent(MessageInput input) throws IOException {
+            Object value = null;
+            boolean hasValue = false;
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                FieldReader memberReader = getFieldReader(memberReaders, tag);
+                if (memberReader == null) {
+                    input.skipField(tag);
+                } else if (memberReader instanceof ArrayFieldReader) {
+                    BArray array = value instanceof BArray ? (BArray) value : null;
+                    value = ((ArrayFieldReader) memberReader).readOccurrence(input, WireFormat.getTagWireType(tag),
+                            array);
+                    hasValue = true;
+                } else {
+                    value = memberReader.read(input);
+                    hasValue = true;
+                }
+            }
+
+            if (!hasValue) {
+                throw createSerdesError(UNSUPPORTED_DATA_TYPE + unionType.getName(), SERDES_ERROR);
+            }
+            return value;
+        }
+    }
+
+    static class RecordMessageReader extends MessageReader {
+        final RecordType recordType;
+        // Field keys, readers and array slots indexed by field number
+        BString[] fieldKeys;
+        FieldReader[] fieldReaders;
+        int[] arraySlots;
+        int arrayFieldCount;
+
+        RecordMessageReader(RecordType recordType) {
+            this.recordType = recordType;
+        }
+
+        void init(BString[] fieldKeys, FieldReader[] fieldReaders, int[] arraySlots, int arrayFieldCount) {
+            this.fieldKeys = fieldKeys;
+            this.fieldReaders = fieldReaders;
+            this.arraySlots = arraySlots;
+            this.arrayFieldCount = arrayFieldCount;
+        }
+
+        @Override
+        public Object readContent(MessageInput input) throws IOException {
+            // getEmptyValue method is used to set false value to boolean fields in the ballerina record
+            // protobuf doesn't serialize false value in the protobuf message
+            BMap<BString, Object> record = recordType.getEmptyValue();
+            BArray[] arrayFieldValues = null;
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                arrayFieldValues = readField(input, record, arrayFieldValues, tag);
+            }
+            return record;
+        }
+
+        // Reads one field into the record, array field values are allocated when the first array field is read
+        BArray[] readField(MessageInput input, BMap<BString, Object> record, BArray[] arrayFieldValues, int tag)
+                throws IOException {
+            FieldReader fieldReader = getFieldReader(fieldReaders, tag);
+            if (fieldReader == null) {
+                input.skipField(tag);
+                return arrayFieldValues;
+            }
+
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            int arraySlot = arraySlots[fieldNumber];
+            if (arraySlot < 0) {
+                record.put(fieldKeys[fieldNumber], fieldReader.read(input));
+                return arrayFieldValues;
+            }
+
+            BArray[] arrayValues = arrayFieldValues != null ? arrayFieldValues : new BArray[arrayFieldCount];
+            BArray array = ((ArrayFieldReader) fieldReader).readOccurrence(input, WireFormat.getTagWireType(tag),
+                    arrayValues[arraySlot]);
+            if (array != arrayValues[arraySlot]) {
+                arrayValues[arraySlot] = array;
+                record.put(fieldKeys[fieldNumber], array);
+            }
+            return arrayValues;
+        }
+    }
+
+    static final class MapMessageReader extends MessageReader {
+        private static final BString EMPTY_KEY = StringUtils.fromString("");
+
+        private final MapType mapType;
+        // Keys of the maps read by the schema, maps of the same type tend to have the same keys
+        private final BStringCache keyCache = new BStringCache();
+        private final int mapFieldNumber;
+        private final int keyFieldNumber;
+        // Keys are string table indexes instead of strings
+        private final boolean indexedKeys;
+        private FieldReader valueReader;
+
+        MapMessageReader(MapType mapType, int mapFieldNumber, int keyFieldNumber, boolean indexedKeys) {
+            this.mapType = mapType;
+            this.mapFieldNumber = mapFieldNumber;
+            this.keyFieldNumber = keyFieldNumber;
+            this.indexedKeys = indexedKeys;
+        }
+
+        void init(FieldReader valueReader) {
+            this.valueReader = valueReader;
+        }
+
+        @Override
+        public Object readContent(MessageInput input) throws IOException {
+            BMap<BString, Object> map = ValueCreator.createMapValue(mapType);
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                if (WireFormat.getTagFieldNumber(tag) != mapFieldNumber
+                        || WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                    input.skipField(tag);
+                    continue;
+                }
+
+                int oldLimit = input.pushLengthLimit();
+                BString key = EMPTY_KEY;
+                Object value = null;
+                boolean hasValue = false;
+                int entryTag;
+                while ((entryTag = input.readTag()) != 0) {
+                    int fieldNumber = WireFormat.getTagFieldNumber(entryTag);
+                    int wireType = WireFormat.getTagWireType(entryTag);
+                    if (fieldNumber == keyFieldNumber && indexedKeys && wireType == WireFormat.WIRETYPE_VARINT) {
+                        key = input.readStringIndex();
+                    } else if (fieldNumber == keyFieldNumber && !indexedKeys
+                            && wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                        key = input.readBString(keyCache);
+                    } else if (fieldNumber != valueReader.getFieldNumber() || !valueReader.acceptsWireType(wireType)) {
+                        input.skipField(entryTag);
+                    } else if (valueReader instanceof ArrayFieldReader) {
+                        value = ((ArrayFieldReader) valueReader).readOccurrence(input, wireType, (BArray) value);
+                        hasValue = true;
+                    } else {
+                        value = valueReader.read(input);
+                        hasValue = true;
+                    }
+                }
+                if (!hasValue) {
+                    value = valueReader.readDefault(input);
+                }
+                input.popLimit(oldLimit);
+                map.put(key, value);
+            }
+            return map;
+        }
+    }
+
+    // Large tables are decoded by the parallel decoder, the rows are added to the table in their original order
+    static final class TableMessageReader extends MessageReader {
+        private final TableType tableType;
+        private final ParallelDecoder parallelDecoder;
+        private FieldReader rowReader;
+
+        TableMessageReader(TableType tableType, ParallelDecoder parallelDecoder) {
+            this.tableType = tableType;
+            this.parallelDecoder = parallelDecoder;
+        }
+
+        void init(FieldReader rowReader) {
+            this.rowReader = rowReader;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object readContent(MessageInput input) throws IOException {
+            BTable<BString, Object> table = ValueCreator.createTableValue(tableType);
+            Object[] rows = parallelDecoder.readElements(input, rowReader.getFieldNumber(), rowReader::read);
+            if (rows != null) {
+                for (Object row : rows) {
+                    table.add(row);
+                }
+                return table;
+            }
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                if (WireFormat.getTagFieldNumber(tag) == rowReader.getFieldNumber()
+                        && rowReader.acceptsWireType(WireFormat.getTagWireType(tag))) {
+                    table.add(rowReader.read(input));
+                } else {
+                    input.skipField(tag);
+                }
+            }
+            return table;
+        }
+    }
+
+    // Reads all columns before the rows are created, the columns may be in any order
+    static final class ColumnarTableMessageReader extends MessageReader {
+        private final TableType tableType;
+        private final RecordType rowType;
+        private final int rowCountFieldNumber;
+        // Readers, columns and kinds of the value and presence fields indexed by field number
+        private FieldReader[] fieldReaders;
+        private int[] columnSlots;
+        private boolean[] presenceFields;
+        // Record field keys of the columns and whether they have a presence bitmap or are nilable
+        private BString[] columnKeys;
+        private boolean[] optionalColumns;
+        private boolean[] nilableColumns;
+
+        ColumnarTableMessageReader(TableType tableType, RecordType rowType, int rowCountFieldNumber) {
+            this.tableType = tableType;
+            this.rowType = rowType;
+            this.rowCountFieldNumber = rowCountFieldNumber;
+        }
+
+        void init(FieldReader[] fieldReaders, int[] columnSlots, boolean[] presenceFields, BString[] columnKeys,
+                  boolean[] optionalColumns, boolean[] nilableColumns) {
+            this.fieldReaders = fieldReaders;
+            this.columnSlots = columnSlots;
+            this.presenceFields = presenceFields;
+            this.columnKeys = columnKeys;
+            this.optionalColumns = optionalColumns;
+            this.nilableColumns = nilableColumns;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object readContent(MessageInput input) throws IOException {
+            int rowCount = 0;
+            BArray[] columns = new BArray[columnKeys.length];
+            BArray[] presenceBitmaps = new BArray[columnKeys.length];
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                int fieldNumber = WireFormat.getTagFieldNumber(tag);
+                int wireType = WireFormat.getTagWireType(tag);
+                if (fieldNumber == rowCountFieldNumber && wireType == WireFormat.WIRETYPE_VARINT) {
+                    rowCount = input.readUInt32();
+                    continue;
+                }
+                FieldReader fieldReader = getFieldReader(fieldReaders, tag);
+                if (fieldReader == null) {
+                    input.skipField(tag);
+                    continue;
+                }
+                BArray[] fieldValues = presenceFields[fieldNumber] ? presenceBitmaps : columns;
+                int column = columnSlots[fieldNumber];
+                fieldValues[column] = ((ArrayFieldReader) fieldReader).readOccurrence(input, wireType,
+                        fieldValues[column]);
+            }
+            if (rowCount < 0) {
+                throw new InvalidProtocolBufferException(MALFORMED_COLUMN + ROW_COUNT_FIELD_NAME);
+            }
+            for (int column = 0; column < columnKeys.length; column++) {
+                // Columns without a bitmap are checked before the rows are allocated
+                int columnSize = columns[column] != null ? columns[column].size() : 0;
+                if (!optionalColumns[column] && columnSize != rowCount) {
+                    throw new InvalidProtocolBufferException(MALFORMED_COLUMN + columnKeys[column]);
+                }
+            }
+
+            BMap<BString, Object>[] rows = new BMap[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                rows[row] = rowType.getEmptyValue();
+            }
+            for (int column = 0; column < columnKeys.length; column++) {
+                readColumn(rows, column, columns[column], presenceBitmaps[column]);
+            }
+            BTable<BString, Object> table = ValueCreator.createTableValue(tableType);
+            for (BMap<BString, Object> row : rows) {
+                table.add(row);
+            }
+            return table;
+        }
+
+        private void readColumn(BMap<BString, Object>[] rows, int column, BArray values, BArray presenceBitmap)
+                throws IOException {
+            BString columnKey = columnKeys[column];
+            int size = values != null ? values.size() : 0;
+            boolean isByteColumn = values != null && values.getElementType().getTag() == TypeTags.BYTE_TAG;
+            int valueIndex = 0;
+            for (int row = 0; row < rows.length; row++) {
+                if (!optionalColumns[column] || isPresent(presenceBitmap, row)) {
+                    if (valueIndex == size) {
+                        throw new InvalidProtocolBufferException(MALFORMED_COLUMN + columnKey);
+                    }
+                    rows[row].put(columnKey, isByteColumn ? (Object) Byte.toUnsignedInt(values.getByte(valueIndex))
+                            : values.get(valueIndex));
+                    valueIndex++;
+                } else if (nilableColumns[column]) {
+                    rows[row].put(columnKey, null);
+                }
+            }
+            if (valueIndex != size) {
+                throw new InvalidProtocolBufferException(MALFORMED_COLUMN + columnKey);
+            }
+        }
+
+        // A missing bitmap, or a bitmap shorter than the rows, has no bits set for the remaining rows
+        private static boolean isPresent(BArray presenceBitmap, int row) {
+            int byteIndex = row / Byte.SIZE;
+            return presenceBitmap != null && byteIndex < presenceBitmap.size()
+                    && (presenceBitmap.getByte(byteIndex) & (1 << (row % Byte.SIZE))) != 0;
+        }
+    }
+
+    static final class TupleMessageReader extends MessageReader {
+        private final TupleType tupleType;
+        // Element readers and array slots indexed by field number, element index is field number - 1
+        private FieldReader[] elementReaders;
+        private int[] arraySlots;
+        private int arrayElementCount;
+
+        TupleMessageReader(TupleType tupleType) {
+            this.tupleType = tupleType;
+        }
+
+        void init(FieldReader[] elementReaders, int[] arraySlots, int arrayElementCount) {
+            this.elementReaders = elementReaders;
+            this.arraySlots = arraySlots;
+            this.arrayElementCount = arrayElementCount;
+        }
+
+        @Override
+        public Object readContent(MessageInput input) throws IOException {
+            BArray tuple = ValueCreator.createTupleValue(tupleType);
+            BArray[] arrayElementValues = null;
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                FieldReader elementReader = getFieldReader(elementReaders, tag);
+                if (elementReader == null) {
+                    input.skipField(tag);
+                    continue;
+                }
+
+                int fieldNumber = WireFormat.getTagFieldNumber(tag);
+                int arraySlot = arraySlots[fieldNumber];
+                if (arraySlot < 0) {
+                    tuple.add(fieldNumber - 1, elementReader.read(input));
+                    continue;
+                }
+
+                if (arrayElementValues == null) {
+                    arrayElementValues = new BArray[arrayElementCount];
+                }
+                BArray array = ((ArrayFieldReader) elementReader).readOccurrence(input,
+                        WireFormat.getTagWireType(tag), arrayElementValues[arraySlot]);
+                if (array != arrayElementValues[arraySlot]) {
+                    arrayElementValues[arraySlot] = array;
+                    tuple.add(fieldNumber - 1, array);
+                }
+            }
+            return tuple;
+        }
+    }
+}
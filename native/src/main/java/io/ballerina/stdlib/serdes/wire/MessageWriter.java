@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.stdlib.serdes.UnionMessageType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static io.ballerina.stdlib.serdes.Constants.TYPE_MISMATCH_ERROR_MESSAGE;
+
+/**
+ * {@link MessageWriter} class writes the fields of a protobuf message for a ballerina value.
+ * Writers are compiled once per schema by {@link SerializationPlanCompiler} and are immutable afterwards.
+ */
+public abstract class MessageWriter {
+
+    public abstract void writeContent(Object value, MessageOutput output);
+
+    // Writes messages with a single field, used for primitive values and arrays
+    static final class SingleFieldMessageWriter extends MessageWriter {
+        private final FieldWriter fieldWriter;
+
+        SingleFieldMessageWriter(FieldWriter fieldWriter) {
+            this.fieldWriter = fieldWriter;
+        }
+
+        @Override
+        public void writeContent(Object value, MessageOutput output) {
+            fieldWriter.write(value, output);
+        }
+    }
+
+    static final class DecimalMessageWriter extends MessageWriter {
+        private final int scaleFieldNumber;
+        private final int precisionFieldNumber;
+        private final int valueFieldNumber;
+        // -1 when the decimal message has no compact value field
+        private final int compactValueFieldNumber;
+
+        DecimalMessageWriter(int scaleFieldNumber, int precisionFieldNumber, int valueFieldNumber,
+                             int compactValueFieldNumber) {
+            this.scaleFieldNumber = scaleFieldNumber;
+            this.precisionFieldNumber = precisionFieldNumber;
+            this.valueFieldNumber = valueFieldNumber;
+            this.compactValueFieldNumber = compactValueFieldNumber;
+        }
+
+        @Override
+        public void writeContent(Object value, MessageOutput output) {
+            BigDecimal bigDecimal = ((BDecimal) value).decimalValue();
+            int scale = bigDecimal.scale();
+            if (scale != 0) {
+                output.writeUInt32(scaleFieldNumber, scale);
+            }
+            BigInteger unscaled = bigDecimal.unscaledValue();
+            if (compactValueFieldNumber != -1 && unscaled.bitLength() < Long.SIZE) {
+                // The precision follows from the unscaled value, and zero is written to tell the forms apart
+                output.writeSInt64(compactValueFieldNumber, unscaled.longValue());
+                return;
+            }
+            output.writeUInt32(precisionFieldNumber, bigDecimal.precision());
+            byte[] unscaledValue = unscaled.toByteArray();
+            output.writeByteArray(valueFieldNumber, unscaledValue, 0, unscaledValue.length);
+        }
+    }
+
+    /**
+     * Writes the union member field of the runtime type of a value. Members of simple basic types are selected by
+     * the class of the value. The writers of other runtime types are looked up by field name once and kept in a
+     * bounded map, which is replaced rather than modified so writers running on other threads can read it.
+     */
+    static final class UnionMessageWriter extends MessageWriter {
+        private static final int MAX_RESOLVED_TYPES = 64;
+
+        private Map<String, FieldWriter> memberWriters;
+        // Writers of the simple basic types, null when the union has no member of the type
+        private FieldWriter nilWriter;
+        private FieldWriter intWriter;
+        private FieldWriter floatWriter;
+        private FieldWriter decimalWriter;
+        private FieldWriter stringWriter;
+        private FieldWriter booleanWriter;
+        private volatile Map<Type, FieldWriter> resolvedWriters = new IdentityHashMap<>();
+
+        void init(Map<String, FieldWriter> memberWriters) {
+            this.memberWriters = memberWriters;
+            nilWriter = findMemberWriter(PredefinedTypes.TYPE_NULL);
+            intWriter = findMemberWriter(PredefinedTypes.TYPE_INT);
+            floatWriter = findMemberWriter(PredefinedTypes.TYPE_FLOAT);
+            decimalWriter = findMemberWriter(PredefinedTypes.TYPE_DECIMAL);
+            stringWriter = findMemberWriter(PredefinedTypes.TYPE_STRING);
+            booleanWriter = findMemberWriter(PredefinedTypes.TYPE_BOOLEAN);
+        }
+
+        @Override
+        public void writeContent(Object value, MessageOutput output) {
+            FieldWriter memberWriter = getMemberWriter(value);
+            if (memberWriter == null) {
+                throw new IllegalArgumentException(TYPE_MISMATCH_ERROR_MESSAGE);
+            }
+            memberWriter.write(value, output);
+        }
+
+        private FieldWriter getMemberWriter(Object value) {
+            if (value == null) {
+                return nilWriter;
+            } else if (value instanceof Long) {
+                return intWriter;
+            } else if (value instanceof Double) {
+                return floatWriter;
+            } else if (value instanceof BDecimal) {
+                return decimalWriter;
+            } else if (value instanceof BString) {
+                return stringWriter;
+            } else if (value instanceof Boolean) {
+                return booleanWriter;
+            }
+            Type valueType = TypeUtils.getType(value);
+            Map<Type, FieldWriter> writers = resolvedWriters;
+            FieldWriter memberWriter = writers.get(valueType);
+            if (memberWriter == null) {
+                memberWriter = findMemberWriter(valueType);
+                if (memberWriter != null && writers.size() < MAX_RESOLVED_TYPES) {
+                    Map<Type, FieldWriter> updatedWriters = new IdentityHashMap<>(writers);
+                    updatedWriters.put(valueType, memberWriter);
+                    resolvedWriters = updatedWriters;
+                }
+            }
+            return memberWriter;
+        }
+
+        private FieldWriter findMemberWriter(Type memberType) {
+            return memberWriters.get(UnionMessageType.mapMemberToFieldName(memberType).getKey());
+        }
+    }
+
+    static class RecordMessageWriter extends MessageWriter {
+        // Record fields in field number order
+        BString[] fieldKeys;
+        FieldWriter[] fieldWriters;
+
+        void init(BString[] fieldKeys, FieldWriter[] fieldWriters) {
+            this.fieldKeys = fieldKeys;
+            this.fieldWriters = fieldWriters;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void writeContent(Object value, MessageOutput output) {
+            BMap<BString, Object> record = (BMap<BString, Object>) value;
+            for (int i = 0; i < fieldKeys.length; i++) {
+                BString fieldKey = fieldKeys[i];
+                if (record.containsKey(fieldKey)) {
+                    fieldWriters[i].write(record.get(fieldKey), output);
+                }
+            }
+        }
+    }
+
+    static final class MapMessageWriter extends MessageWriter {
+        private final int mapFieldNumber;
+        private final int keyFieldNumber;
+        private FieldWriter valueWriter;
+
+        MapMessageWriter(int mapFieldNumber, int keyFieldNumber) {
+            this.mapFieldNumber = mapFieldNumber;
+            this.keyFieldNumber = keyFieldNumber;
+        }
+
+        void init(FieldWriter valueWriter) {
+            this.valueWriter = valueWriter;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void writeContent(Object value, MessageOutput output) {
+            BMap<BString, Object> map = (BMap<BString, Object>) value;
+            for (Map.Entry<BString, Object> entry : map.entrySet()) {
+                output.beginLengthDelimited(mapFieldNumber);
+                String key = entry.getKey().getValue();
+                if (!key.isEmpty()) {
+                    output.writeString(keyFieldNumber, key);
+                }
+                valueWriter.write(entry.getValue(), output);
+                output.endLengthDelimited();
+            }
+        }
+    }
+
+    // Large tables are written by the parallel encoder, which needs the rows in an array
+    static final class TableMessageWriter extends MessageWriter implements ParallelEncoder.ElementWriter<Object[]> {
+        private final ParallelEncoder parallelEncoder;
+        private FieldWriter rowWriter;
+
+        TableMessageWriter(ParallelEncoder parallelEncoder) {
+            this.parallelEncoder = parallelEncoder;
+        }
+
+        void init(FieldWriter rowWriter) {
+            this.rowWriter = rowWriter;
+        }
+
+        @Override
+        public void writeContent(Object value, MessageOutput output) {
+            BTable<?, ?> table = (BTable<?, ?>) value;
+            int size = table.size();
+            if (parallelEncoder.isParallel(size, output)) {
+                // The rows are only collected when the chunks are encoded in the size computing pass
+                output.writePreEncoded(() -> ParallelEncoder.encode(this, table.values().toArray(), size));
+                return;
+            }
+            for (Object row : table.values()) {
+                rowWriter.write(row, output);
+            }
+        }
+
+        @Override
+        public void writeElement(Object[] rows, int index, MessageOutput output) {
+            rowWriter.write(rows[index], output);
+        }
+    }
+
+    // Writes the number of rows followed by the columns of the rows
+    static final class ColumnarTableMessageWriter extends MessageWriter {
+        private final int rowCountFieldNumber;
+        private ColumnWriter[] columnWriters;
+
+        ColumnarTableMessageWriter(int rowCountFieldNumber) {
+            this.rowCountFieldNumber = rowCountFieldNumber;
+        }
+
+        void init(ColumnWriter[] columnWriters) {
+            this.columnWriters = columnWriters;
+        }
+
+        @Override
+        public void writeContent(Object value, MessageOutput output) {
+            Object[] rows = ((BTable<?, ?>) value).values().toArray();
+            if (rows.length == 0) {
+                return;
+            }
+            output.writeUInt32(rowCountFieldNumber, rows.length);
+            Object[] values = new Object[rows.length];
+            for (ColumnWriter columnWriter : columnWriters) {
+                columnWriter.write(rows, values, output);
+            }
+        }
+    }
+
+    static final class TupleMessageWriter extends MessageWriter {
+        // Tuple elements in field number order
+        private int[] elementIndexes;
+        private FieldWriter[] elementWriters;
+
+        void init(int[] elementIndexes, FieldWriter[] elementWriters) {
+            this.elementIndexes = elementIndexes;
+            this.elementWriters = elementWriters;
+        }
+
+        @Override
+        public void writeContent(Object value, MessageOutput output) {
+            BArray tuple = (BArray) value;
+            for (int i = 0; i < elementIndexes.length; i++) {
+                elementWriters[i].write(tuple.get(elementIndexes[i]), output);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import java.util.Arrays;
+
+/**
+ * {@link NestedMessageSizes} class holds the payload sizes of length delimited fields in the order they are visited.
+ * Sizes are recorded by {@link SizeComputingOutput} and replayed by {@link CodedStreamOutput}.
+ */
+public class NestedMessageSizes {
+    private static final int INITIAL_CAPACITY = 16;
+    // Larger arrays are not kept when the sizes are reused by another serialization
+    private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+    private int[] sizes = new int[INITIAL_CAPACITY];
+    private int count = 0;
+    private int cursor = 0;
+
+    int reserve() {
+        if (count == sizes.length) {
+            sizes = Arrays.copyOf(sizes, count * 2);
+        }
+        return count++;
+    }
+
+    void set(int slot, int size) {
+        sizes[slot] = size;
+    }
+
+    int next() {
+        return sizes[cursor++];
+    }
+
+    void reset() {
+        count = 0;
+        cursor = 0;
+        if (sizes.length > MAX_RETAINED_CAPACITY) {
+            sizes = new int[INITIAL_CAPACITY];
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * {@link ParallelDecoder} class decodes the elements of large repeated fields in parallel.
+ * <p>
+ * Elements are length delimited, so the offsets of the elements are found by reading their tags and length prefixes
+ * without decoding them. The elements are then split into chunks of consecutive elements, each chunk is decoded by
+ * one of the {@link ParallelWorkers} and the values are returned in the original order.
+ * <p>
+ * Only messages that consist of a single repeated field read from a byte array are decoded in parallel. Other
+ * messages, and input that is not well formed, are decoded sequentially, which reports malformed input the same way.
+ */
+public final class ParallelDecoder {
+    public static final ParallelDecoder SEQUENTIAL = new ParallelDecoder(Integer.MAX_VALUE);
+
+    private static final int INITIAL_ELEMENT_CAPACITY = 1024;
+    private static final int MAX_VARINT32_SIZE = 5;
+
+    private final int threshold;
+
+    private ParallelDecoder(int threshold) {
+        this.threshold = threshold;
+    }
+
+    // Repeated fields with fewer elements than the threshold are decoded on the calling thread
+    public static ParallelDecoder withThreshold(int threshold) {
+        return threshold > 0 ? new ParallelDecoder(threshold) : SEQUENTIAL;
+    }
+
+    boolean isEnabled() {
+        return this != SEQUENTIAL;
+    }
+
+    /**
+     * Decodes the rest of the message in parallel when it consists of at least threshold occurrences of the length
+     * delimited field. Returns null, without reading the input, when the message is decoded sequentially.
+     */
+    Object[] readElements(MessageInput input, int fieldNumber, ElementReader elementReader) throws IOException {
+        if (!input.hasBuffer() || ParallelWorkers.isWorkerThread()) {
+            return null;
+        }
+        byte[] buffer = input.getBuffer();
+        int limit = input.getBufferLimit();
+        int[] elementOffsets = findElementOffsets(buffer, input.getBufferPosition(), limit,
+                fieldNumber << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        if (elementOffsets == null) {
+            return null;
+        }
+
+        int elementCount = elementOffsets.length;
+        Object[] elements = new Object[elementCount];
+        int chunkCount = ParallelWorkers.getChunkCount(elementCount);
+        int chunkSize = (elementCount + chunkCount - 1) / chunkCount;
+        List<Callable<Void>> chunkDecoders = new ArrayList<>(chunkCount);
+        for (int start = 0; start < elementCount; start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, elementCount);
+            int chunkOffset = elementOffsets[from];
+            int chunkEnd = to < elementCount ? elementOffsets[to] : limit;
+            chunkDecoders.add(() -> {
+                MessageInput chunkInput = input.createRangeInput(chunkOffset, chunkEnd - chunkOffset);
+                for (int i = from; i < to; i++) {
+                    chunkInput.readTag();
+                    elements[i] = elementReader.readElement(chunkInput);
+                }
+                return null;
+            });
+        }
+        ParallelWorkers.invokeAll(chunkDecoders);
+        input.skipToLimit();
+        return elements;
+    }
+
+    // Offsets of the fields from position to limit, null if there are other fields or fewer than threshold fields
+    private int[] findElementOffsets(byte[] buffer, int position, int limit, int expectedTag) {
+        int[] offsets = new int[Math.min(INITIAL_ELEMENT_CAPACITY, threshold)];
+        int count = 0;
+        int index = position;
+        while (index < limit) {
+            int tagEnd = findVarintEnd(buffer, index, limit);
+            if (tagEnd < 0 || readVarint(buffer, index, tagEnd) != expectedTag) {
+                return null;
+            }
+            int lengthEnd = findVarintEnd(buffer, tagEnd, limit);
+            if (lengthEnd < 0) {
+                return null;
+            }
+            long fieldEnd = lengthEnd + readVarint(buffer, tagEnd, lengthEnd);
+            if (fieldEnd > limit) {
+                return null;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = index;
+            index = (int) fieldEnd;
+        }
+        return count >= threshold ? Arrays.copyOf(offsets, count) : null;
+    }
+
+    // Returns the index after a varint of at most five bytes, or -1 if it is longer or runs past the limit
+    private static int findVarintEnd(byte[] buffer, int index, int limit) {
+        int end = Math.min(index + MAX_VARINT32_SIZE, limit);
+        for (int i = index; i < end; i++) {
+            if (buffer[i] >= 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static long readVarint(byte[] buffer, int index, int end) {
+        long result = 0;
+        for (int i = index, shift = 0; i < end; i++, shift += 7) {
+            result |= (long) (buffer[i] & 0x7F) << shift;
+        }
+        return result;
+    }
+
+    /**
+     * Reads a single element of a repeated field, after its tag is read.
+     */
+    interface ElementReader {
+        Object readElement(MessageInput input) throws IOException;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * {@link ParallelEncoder} class encodes the elements of large repeated fields in parallel.
+ * <p>
+ * The elements are split into chunks of consecutive elements. Each chunk is encoded into its own byte array by one of
+ * the {@link ParallelWorkers}, and the chunks are written one after another in element order. A chunk holds complete
+ * fields of the parent message, so the output is identical to encoding the elements one after another. The chunks
+ * are encoded in the size computing pass, which needs their sizes, and copied in the writing pass.
+ * <p>
+ * Repeated fields nested in a chunk are encoded on the worker that encodes the chunk.
+ */
+public final class ParallelEncoder {
+    public static final ParallelEncoder SEQUENTIAL = new ParallelEncoder(Integer.MAX_VALUE);
+
+    private final int threshold;
+
+    private ParallelEncoder(int threshold) {
+        this.threshold = threshold;
+    }
+
+    // Elements of repeated fields with fewer elements than the threshold are encoded on the calling thread
+    public static ParallelEncoder withThreshold(int threshold) {
+        return threshold > 0 ? new ParallelEncoder(threshold) : SEQUENTIAL;
+    }
+
+    // Outputs that don't hold pre-encoded chunks, such as the outputs of streamed values, are written sequentially
+    boolean isParallel(int elementCount, MessageOutput output) {
+        return elementCount >= threshold && output.isPreEncodingEnabled() && !ParallelWorkers.isWorkerThread();
+    }
+
+    <T> void writeElements(ElementWriter<T> elementWriter, T elements, int elementCount, MessageOutput output) {
+        if (isParallel(elementCount, output)) {
+            output.writePreEncoded(() -> encode(elementWriter, elements, elementCount));
+            return;
+        }
+        for (int i = 0; i < elementCount; i++) {
+            elementWriter.writeElement(elements, i, output);
+        }
+    }
+
+    static <T> byte[][] encode(ElementWriter<T> elementWriter, T elements, int elementCount) {
+        int chunkCount = ParallelWorkers.getChunkCount(elementCount);
+        int chunkSize = (elementCount + chunkCount - 1) / chunkCount;
+        List<Callable<byte[]>> chunkEncoders = new ArrayList<>(chunkCount);
+        for (int start = 0; start < elementCount; start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, elementCount);
+            chunkEncoders.add(() -> encodeChunk(elementWriter, elements, from, to));
+        }
+        try {
+            return ParallelWorkers.invokeAll(chunkEncoders).toArray(new byte[0][]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> byte[] encodeChunk(ElementWriter<T> elementWriter, T elements, int from, int to) {
+        SerializationScratch scratch = SerializationScratch.acquire();
+        try {
+            for (int i = from; i < to; i++) {
+                elementWriter.writeElement(elements, i, scratch.sizeComputingOutput);
+            }
+            byte[] chunk = new byte[scratch.sizeComputingOutput.getSerializedSize()];
+            CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(chunk);
+            MessageOutput output = scratch.createCodedStreamOutput(codedOutputStream);
+            for (int i = from; i < to; i++) {
+                elementWriter.writeElement(elements, i, output);
+            }
+            codedOutputStream.checkNoSpaceLeft();
+            return chunk;
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * Writes a single element of a repeated field, elements are read concurrently by the workers.
+     *
+     * @param <T> Type of the value holding the elements
+     */
+    interface ElementWriter<T> {
+        void writeElement(T elements, int index, MessageOutput output);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+
+/**
+ * {@link ParallelWorkers} class runs the chunks of {@link ParallelEncoder} and {@link ParallelDecoder} on a fork join
+ * pool with one worker per available processor. The pool is created when a chunk is first submitted.
+ */
+final class ParallelWorkers {
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private ParallelWorkers() {
+    }
+
+    // Chunks run sequentially on the worker that runs them, so only the outermost repeated field is split
+    static boolean isWorkerThread() {
+        return ForkJoinTask.inForkJoinPool();
+    }
+
+    static int getChunkCount(int elementCount) {
+        return Math.min(elementCount, Pool.POOL.getParallelism() * CHUNKS_PER_WORKER);
+    }
+
+    // Runs the tasks and returns their results in order, the exception of the first failed task is rethrown
+    static <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException {
+        List<Future<T>> futures = Pool.POOL.invokeAll(tasks);
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Parallel worker was interrupted");
+        }
+        return results;
+    }
+
+    private static final class Pool {
+        private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+}
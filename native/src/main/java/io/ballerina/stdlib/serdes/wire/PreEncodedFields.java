@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link PreEncodedFields} class holds the fields encoded ahead of time in the order they are visited.
+ * Fields are encoded by {@link SizeComputingOutput} and copied by {@link CodedStreamOutput}.
+ */
+public class PreEncodedFields {
+    private final List<byte[][]> encodedFields = new ArrayList<>();
+    private int cursor = 0;
+
+    void add(byte[][] chunks) {
+        encodedFields.add(chunks);
+    }
+
+    byte[][] next() {
+        return encodedFields.get(cursor++);
+    }
+
+    void reset() {
+        encodedFields.clear();
+        cursor = 0;
+    }
+}
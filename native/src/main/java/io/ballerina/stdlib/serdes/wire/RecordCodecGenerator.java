@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.stdlib.serdes.wire.MessageReader.RecordMessageReader;
+import io.ballerina.stdlib.serdes.wire.MessageWriter.RecordMessageWriter;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DLOAD;
+import static org.objectweb.asm.Opcodes.DSTORE;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_1;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.IFNONNULL;
+import static org.objectweb.asm.Opcodes.IFNULL;
+import static org.objectweb.asm.Opcodes.IF_ICMPNE;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.ISTORE;
+import static org.objectweb.asm.Opcodes.IUSHR;
+import static org.objectweb.asm.Opcodes.LCMP;
+import static org.objectweb.asm.Opcodes.LCONST_0;
+import static org.objectweb.asm.Opcodes.LLOAD;
+import static org.objectweb.asm.Opcodes.LSTORE;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.RETURN;
+
+/**
+ * {@link RecordCodecGenerator} class generates record writers and readers specialized for a single record type.
+ * <p>
+ * The generated classes extend {@link RecordMessageWriter} and {@link RecordMessageReader}. Int, byte, float,
+ * string and boolean fields are read and written with straight-line code, other fields are handled by the compiled
+ * field writers and readers of the super class. Records that have no such scalar fields, or too many fields, are
+ * not specialized and the compilers use the interpreted writers and readers for them.
+ * <p>
+ * The generated code only depends on the field numbers and the scalar field types of a record, so a class is
+ * generated once for each such shape and shared by the schemas of all the records of that shape. The classes are
+ * defined in the package of the super classes to access their package-private members, which means they are never
+ * unloaded, and the number of shapes is bounded by the record types of the program.
+ */
+public class RecordCodecGenerator {
+    // Keeps the generated methods well below the JIT inlining and method size limits
+    private static final int MAX_SPECIALIZED_FIELDS = 256;
+    private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    // Generated classes by the shape of the records they were generated for
+    private static final Map<String, Class<?>> WRITER_CLASSES = new ConcurrentHashMap<>();
+    private static final Map<String, Class<?>> READER_CLASSES = new ConcurrentHashMap<>();
+    // Number of low bits of a tag that hold the wire type
+    private static final int TAG_TYPE_BITS = 3;
+    private static final String WIRE_PACKAGE = "io/ballerina/stdlib/serdes/wire/";
+
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String STRING = Type.getInternalName(String.class);
+    private static final String B_MAP = "io/ballerina/runtime/api/values/BMap";
+    private static final String B_STRING = "io/ballerina/runtime/api/values/BString";
+    private static final String B_ARRAY = "io/ballerina/runtime/api/values/BArray";
+    private static final String RECORD_TYPE = "io/ballerina/runtime/api/types/RecordType";
+    private static final String MESSAGE_OUTPUT = Type.getInternalName(MessageOutput.class);
+    private static final String MESSAGE_INPUT = Type.getInternalName(MessageInput.class);
+    private static final String FIELD_WRITER = Type.getInternalName(FieldWriter.class);
+    private static final String RECORD_WRITER = Type.getInternalName(RecordMessageWriter.class);
+    private static final String RECORD_READER = Type.getInternalName(RecordMessageReader.class);
+
+    private static final String OBJECT_DESC = "L" + OBJECT + ";";
+    private static final String B_STRING_ARRAY_DESC = "[L" + B_STRING + ";";
+    private static final String B_ARRAY_ARRAY_DESC = "[L" + B_ARRAY + ";";
+    private static final String MESSAGE_OUTPUT_DESC = "L" + MESSAGE_OUTPUT + ";";
+    private static final String MESSAGE_INPUT_DESC = "L" + MESSAGE_INPUT + ";";
+
+    // Local variable slots of the generated writeContent method
+    private static final int WRITER_OUTPUT = 2;
+    private static final int WRITER_RECORD = 3;
+    private static final int WRITER_FIELD_VALUE = 4;
+    private static final int WRITER_SCALAR_VALUE = 5;
+
+    // Local variable slots of the generated readContent method
+    private static final int READER_INPUT = 1;
+    private static final int READER_RECORD = 2;
+    private static final int READER_ARRAY_VALUES = 3;
+    private static final int READER_TAG = 4;
+
+    private int specializedRecordCount = 0;
+
+    /**
+     * Returns the number of writers and readers specialized by this generator, which is zero when no record was
+     * specialized.
+     */
+    public int getSpecializedRecordCount() {
+        return specializedRecordCount;
+    }
+
+    /**
+     * Generates a writer for the given record, or returns null when the record is not specialized.
+     * The writer must be initialized with the field keys and writers in the order of the descriptor fields.
+     */
+    RecordMessageWriter generateWriter(Descriptor messageDescriptor, RecordType recordType) {
+        int[] scalarTags = getScalarFieldTags(messageDescriptor, recordType);
+        if (scalarTags == null) {
+            return null;
+        }
+        try {
+            Class<?> writerClass = WRITER_CLASSES.computeIfAbsent(getShape(messageDescriptor, scalarTags),
+                    shape -> defineClass(generateWriterClass(
+                            WIRE_PACKAGE + "SpecializedRecordMessageWriter$" + CLASS_COUNTER.incrementAndGet(),
+                            messageDescriptor.getFields(), scalarTags)));
+            RecordMessageWriter recordWriter = (RecordMessageWriter) writerClass.getConstructor().newInstance();
+            specializedRecordCount++;
+            return recordWriter;
+        } catch (ReflectiveOperationException | LinkageError | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Generates a reader for the given record, or returns null when the record is not specialized.
+     */
+    RecordMessageReader generateReader(Descriptor messageDescriptor, RecordType recordType) {
+        int[] scalarTags = getScalarFieldTags(messageDescriptor, recordType);
+        if (scalarTags == null) {
+            return null;
+        }
+        try {
+            Class<?> readerClass = READER_CLASSES.computeIfAbsent(getShape(messageDescriptor, scalarTags),
+                    shape -> defineClass(generateReaderClass(
+                            WIRE_PACKAGE + "SpecializedRecordMessageReader$" + CLASS_COUNTER.incrementAndGet(),
+                            messageDescriptor.getFields(), scalarTags)));
+            RecordMessageReader recordReader = (RecordMessageReader) readerClass.getConstructor(RecordType.class)
+                    .newInstance(recordType);
+            specializedRecordCount++;
+            return recordReader;
+        } catch (ReflectiveOperationException | LinkageError | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> defineClass(byte[] classBytes) {
+        try {
+            return LOOKUP.defineClass(classBytes);
+        } catch (IllegalAccessException e) {
+            // The lookup has full access to its own package, so this is not expected
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Field numbers and scalar field types of a record, which are all that the generated code depends on
+    private static String getShape(Descriptor messageDescriptor, int[] scalarTags) {
+        List<FieldDescriptor> fieldDescriptors = messageDescriptor.getFields();
+        StringBuilder shape = new StringBuilder();
+        for (int i = 0; i < fieldDescriptors.size(); i++) {
+            shape.append(fieldDescriptors.get(i).getNumber()).append(':').append(scalarTags[i]).append(',');
+        }
+        return shape.toString();
+    }
+
+    // Returns the type tag of each scalar field and -1 for other fields, or null if the record is not specialized
+    private static int[] getScalarFieldTags(Descriptor messageDescriptor, RecordType recordType) {
+        List<FieldDescriptor> fieldDescriptors = messageDescriptor.getFields();
+        // The fields of a record with oneofs are not the fields of its message, such records are interpreted
+        if (fieldDescriptors.size() > MAX_SPECIALIZED_FIELDS || messageDescriptor.getOneofs().stream()
+                .anyMatch(oneof -> !oneof.isSynthetic())) {
+            return null;
+        }
+        int[] scalarTags = new int[fieldDescriptors.size()];
+        Arrays.fill(scalarTags, -1);
+        boolean hasScalarField = false;
+        for (int i = 0; i < fieldDescriptors.size(); i++) {
+            FieldDescriptor fieldDescriptor = fieldDescriptors.get(i);
+            io.ballerina.runtime.api.types.Type fieldType = TypeUtils.getReferredType(
+                    recordType.getFields().get(fieldDescriptor.getName()).getFieldType());
+            if (fieldType.getTag() == TypeTags.FINITE_TYPE_TAG) {
+                fieldType = SerializationPlanCompiler.getFiniteValueType(fieldType);
+            }
+            // Varint bytes and string table indexes are written and read by the compiled plan
+            if (SerializationPlanCompiler.isUInt32Field(fieldDescriptor)) {
+                continue;
+            }
+            switch (fieldType.getTag()) {
+                case TypeTags.INT_TAG:
+                case TypeTags.BYTE_TAG:
+                case TypeTags.FLOAT_TAG:
+                case TypeTags.STRING_TAG:
+                case TypeTags.BOOLEAN_TAG:
+                    scalarTags[i] = fieldType.getTag();
+                    hasScalarField = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return hasScalarField ? scalarTags : null;
+    }
+
+    private static byte[] generateWriterClass(String className, List<FieldDescriptor> fieldDescriptors,
+                                              int[] scalarTags) {
+        ClassWriter classWriter = new GeneratedClassWriter();
+        classWriter.visit(Opcodes.V11, ACC_FINAL | ACC_SUPER, className, null, RECORD_WRITER, null);
+        generateConstructor(classWriter, RECORD_WRITER, "()V");
+
+        MethodVisitor mv = classWriter.visitMethod(ACC_PUBLIC, "writeContent",
+                "(" + OBJECT_DESC + MESSAGE_OUTPUT_DESC + ")V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, B_MAP);
+        mv.visitVarInsn(ASTORE, WRITER_RECORD);
+        for (int i = 0; i < fieldDescriptors.size(); i++) {
+            Label nextField = new Label();
+            // Object fieldValue = record.get(fieldKeys[i]);
+            mv.visitVarInsn(ALOAD, WRITER_RECORD);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, RECORD_WRITER, "fieldKeys", B_STRING_ARRAY_DESC);
+            mv.visitLdcInsn(i);
+            mv.visitInsn(AALOAD);
+            mv.visitMethodInsn(INVOKEINTERFACE, B_MAP, "get", "(" + OBJECT_DESC + ")" + OBJECT_DESC, true);
+            mv.visitVarInsn(ASTORE, WRITER_FIELD_VALUE);
+
+            int fieldNumber = fieldDescriptors.get(i).getNumber();
+            if (scalarTags[i] < 0) {
+                generateDelegatedFieldWrite(mv, i, nextField);
+            } else {
+                // Scalar fields are never nil, so a null value means an absent optional field
+                mv.visitVarInsn(ALOAD, WRITER_FIELD_VALUE);
+                mv.visitJumpInsn(IFNULL, nextField);
+                generateScalarFieldWrite(mv, scalarTags[i], fieldNumber, nextField);
+            }
+            mv.visitLabel(nextField);
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static void generateDelegatedFieldWrite(MethodVisitor mv, int fieldIndex, Label nextField) {
+        // if (fieldValue != null || record.containsKey(fieldKeys[i])) fieldWriters[i].write(fieldValue, output);
+        Label writeField = new Label();
+        mv.visitVarInsn(ALOAD, WRITER_FIELD_VALUE);
+        mv.visitJumpInsn(IFNONNULL, writeField);
+        mv.visitVarInsn(ALOAD, WRITER_RECORD);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, RECORD_WRITER, "fieldKeys", B_STRING_ARRAY_DESC);
+        mv.visitLdcInsn(fieldIndex);
+        mv.visitInsn(AALOAD);
+        mv.visitMethodInsn(INVOKEINTERFACE, B_MAP, "containsKey", "(" + OBJECT_DESC + ")Z", true);
+        mv.visitJumpInsn(IFEQ, nextField);
+        mv.visitLabel(writeField);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, RECORD_WRITER, "fieldWriters", "[L" + FIELD_WRITER + ";");
+        mv.visitLdcInsn(fieldIndex);
+        mv.visitInsn(AALOAD);
+        mv.visitVarInsn(ALOAD, WRITER_FIELD_VALUE);
+        mv.visitVarInsn(ALOAD, WRITER_OUTPUT);
+        mv.visitMethodInsn(INVOKEVIRTUAL, FIELD_WRITER, "write", "(" + OBJECT_DESC + MESSAGE_OUTPUT_DESC + ")V",
+                false);
+    }
+
+    // Mirrors the scalar field writers, default values are not written
+    private static void generateScalarFieldWrite(MethodVisitor mv, int typeTag, int fieldNumber, Label nextField) {
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+                mv.visitVarInsn(ALOAD, WRITER_FIELD_VALUE);
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Long");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Long", "longValue", "()J", false);
+                mv.visitVarInsn(LSTORE, WRITER_SCALAR_VALUE);
+                mv.visitVarInsn(LLOAD, WRITER_SCALAR_VALUE);
+                mv.visitInsn(LCONST_0);
+                mv.visitInsn(LCMP);
+                mv.visitJumpInsn(IFEQ, nextField);
+                mv.visitVarInsn(ALOAD, WRITER_OUTPUT);
+                mv.visitLdcInsn(fieldNumber);
+                mv.visitVarInsn(LLOAD, WRITER_SCALAR_VALUE);
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_OUTPUT, "writeSInt64", "(IJ)V", false);
+                break;
+
+            case TypeTags.BYTE_TAG:
+                mv.visitVarInsn(ALOAD, WRITER_OUTPUT);
+                mv.visitLdcInsn(fieldNumber);
+                mv.visitVarInsn(ALOAD, WRITER_FIELD_VALUE);
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Integer");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Integer", "byteValue", "()B", false);
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_OUTPUT, "writeSingleByte", "(IB)V", false);
+                break;
+
+            case TypeTags.FLOAT_TAG:
+                mv.visitVarInsn(ALOAD, WRITER_FIELD_VALUE);
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Double");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Double", "doubleValue", "()D", false);
+                mv.visitVarInsn(DSTORE, WRITER_SCALAR_VALUE);
+                mv.visitVarInsn(DLOAD, WRITER_SCALAR_VALUE);
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "doubleToRawLongBits", "(D)J", false);
+                mv.visitInsn(LCONST_0);
+                mv.visitInsn(LCMP);
+                mv.visitJumpInsn(IFEQ, nextField);
+                mv.visitVarInsn(ALOAD, WRITER_OUTPUT);
+                mv.visitLdcInsn(fieldNumber);
+                mv.visitVarInsn(DLOAD, WRITER_SCALAR_VALUE);
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_OUTPUT, "writeDouble", "(ID)V", false);
+                break;
+
+            case TypeTags.STRING_TAG:
+                mv.visitVarInsn(ALOAD, WRITER_FIELD_VALUE);
+                mv.visitTypeInsn(CHECKCAST, B_STRING);
+                mv.visitMethodInsn(INVOKEINTERFACE, B_STRING, "getValue", "()L" + STRING + ";", true);
+                mv.visitVarInsn(ASTORE, WRITER_SCALAR_VALUE);
+                mv.visitVarInsn(ALOAD, WRITER_SCALAR_VALUE);
+                mv.visitMethodInsn(INVOKEVIRTUAL, STRING, "isEmpty", "()Z", false);
+                mv.visitJumpInsn(IFNE, nextField);
+                mv.visitVarInsn(ALOAD, WRITER_OUTPUT);
+                mv.visitLdcInsn(fieldNumber);
+                mv.visitVarInsn(ALOAD, WRITER_SCALAR_VALUE);
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_OUTPUT, "writeString", "(IL" + STRING + ";)V", false);
+                break;
+
+            case TypeTags.BOOLEAN_TAG:
+                mv.visitVarInsn(ALOAD, WRITER_FIELD_VALUE);
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Boolean");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z", false);
+                mv.visitJumpInsn(IFEQ, nextField);
+                mv.visitVarInsn(ALOAD, WRITER_OUTPUT);
+                mv.visitLdcInsn(fieldNumber);
+                mv.visitInsn(ICONST_1);
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_OUTPUT, "writeBool", "(IZ)V", false);
+                break;
+
+            default:
+                throw new IllegalStateException("Unexpected scalar type tag: " + typeTag);
+        }
+    }
+
+    private static byte[] generateReaderClass(String className, List<FieldDescriptor> fieldDescriptors,
+                                              int[] scalarTags) {
+        ClassWriter classWriter = new GeneratedClassWriter();
+        classWriter.visit(Opcodes.V11, ACC_FINAL | ACC_SUPER, className, null, RECORD_READER, null);
+        generateConstructor(classWriter, RECORD_READER, "(L" + RECORD_TYPE + ";)V");
+
+        MethodVisitor mv = classWriter.visitMethod(ACC_PUBLIC, "readContent",
+                "(" + MESSAGE_INPUT_DESC + ")" + OBJECT_DESC, null, new String[]{"java/io/IOException"});
+        mv.visitCode();
+        // BMap record = (BMap) recordType.getEmptyValue(); BArray[] arrayFieldValues = null;
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, RECORD_READER, "recordType", "L" + RECORD_TYPE + ";");
+        mv.visitMethodInsn(INVOKEINTERFACE, RECORD_TYPE, "getEmptyValue", "()" + OBJECT_DESC, true);
+        mv.visitTypeInsn(CHECKCAST, B_MAP);
+        mv.visitVarInsn(ASTORE, READER_RECORD);
+        mv.visitInsn(ACONST_NULL);
+        mv.visitVarInsn(ASTORE, READER_ARRAY_VALUES);
+
+        // while ((tag = input.readTag()) != 0) switch (tag >>> 3) { ... }
+        Label readTag = new Label();
+        Label endOfInput = new Label();
+        Label otherField = new Label();
+        mv.visitLabel(readTag);
+        mv.visitVarInsn(ALOAD, READER_INPUT);
+        mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_INPUT, "readTag", "()I", false);
+        mv.visitInsn(DUP);
+        mv.visitVarInsn(ISTORE, READER_TAG);
+        mv.visitJumpInsn(IFEQ, endOfInput);
+
+        int maxFieldNumber = 0;
+        for (FieldDescriptor fieldDescriptor : fieldDescriptors) {
+            maxFieldNumber = Math.max(maxFieldNumber, fieldDescriptor.getNumber());
+        }
+        Label[] fieldLabels = new Label[maxFieldNumber];
+        Arrays.fill(fieldLabels, otherField);
+        for (int i = 0; i < fieldDescriptors.size(); i++) {
+            if (scalarTags[i] >= 0) {
+                fieldLabels[fieldDescriptors.get(i).getNumber() - 1] = new Label();
+            }
+        }
+        mv.visitVarInsn(ILOAD, READER_TAG);
+        mv.visitLdcInsn(TAG_TYPE_BITS);
+        mv.visitInsn(IUSHR);
+        mv.visitTableSwitchInsn(1, maxFieldNumber, otherField, fieldLabels);
+
+        for (int i = 0; i < fieldDescriptors.size(); i++) {
+            if (scalarTags[i] < 0) {
+                continue;
+            }
+            int fieldNumber = fieldDescriptors.get(i).getNumber();
+            mv.visitLabel(fieldLabels[fieldNumber - 1]);
+            // A field with an unexpected wire type is handled by the interpreted reader, which skips it
+            mv.visitVarInsn(ILOAD, READER_TAG);
+            mv.visitLdcInsn(fieldNumber << TAG_TYPE_BITS | getWireType(scalarTags[i]));
+            mv.visitJumpInsn(IF_ICMPNE, otherField);
+            // record.put(fieldKeys[fieldNumber], value);
+            mv.visitVarInsn(ALOAD, READER_RECORD);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, RECORD_READER, "fieldKeys", B_STRING_ARRAY_DESC);
+            mv.visitLdcInsn(fieldNumber);
+            mv.visitInsn(AALOAD);
+            generateScalarFieldRead(mv, scalarTags[i]);
+            mv.visitMethodInsn(INVOKEINTERFACE, B_MAP, "put", "(" + OBJECT_DESC + OBJECT_DESC + ")" + OBJECT_DESC,
+                    true);
+            mv.visitInsn(POP);
+            mv.visitJumpInsn(GOTO, readTag);
+        }
+
+        // arrayFieldValues = readField(input, record, arrayFieldValues, tag);
+        mv.visitLabel(otherField);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, READER_INPUT);
+        mv.visitVarInsn(ALOAD, READER_RECORD);
+        mv.visitVarInsn(ALOAD, READER_ARRAY_VALUES);
+        mv.visitVarInsn(ILOAD, READER_TAG);
+        mv.visitMethodInsn(INVOKEVIRTUAL, RECORD_READER, "readField",
+                "(" + MESSAGE_INPUT_DESC + "L" + B_MAP + ";" + B_ARRAY_ARRAY_DESC + "I)" + B_ARRAY_ARRAY_DESC, false);
+        mv.visitVarInsn(ASTORE, READER_ARRAY_VALUES);
+        mv.visitJumpInsn(GOTO, readTag);
+
+        mv.visitLabel(endOfInput);
+        mv.visitVarInsn(ALOAD, READER_RECORD);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    // Mirrors the scalar field readers, leaves the boxed value on the stack
+    private static void generateScalarFieldRead(MethodVisitor mv, int typeTag) {
+        mv.visitVarInsn(ALOAD, READER_INPUT);
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_INPUT, "readSInt64", "()J", false);
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Long", "valueOf", "(J)Ljava/lang/Long;", false);
+                break;
+
+            case TypeTags.BYTE_TAG:
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_INPUT, "readSingleByte", "()I", false);
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", false);
+                break;
+
+            case TypeTags.FLOAT_TAG:
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_INPUT, "readDouble", "()D", false);
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;", false);
+                break;
+
+            case TypeTags.STRING_TAG:
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_INPUT, "readBString", "()L" + B_STRING + ";", false);
+                break;
+
+            case TypeTags.BOOLEAN_TAG:
+                mv.visitMethodInsn(INVOKEVIRTUAL, MESSAGE_INPUT, "readBool", "()Z", false);
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;", false);
+                break;
+
+            default:
+                throw new IllegalStateException("Unexpected scalar type tag: " + typeTag);
+        }
+    }
+
+    private static int getWireType(int typeTag) {
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return WireFormat.WIRETYPE_VARINT;
+            case TypeTags.FLOAT_TAG:
+                return WireFormat.WIRETYPE_FIXED64;
+            default:
+                return WireFormat.WIRETYPE_LENGTH_DELIMITED;
+        }
+    }
+
+    private static void generateConstructor(ClassWriter classWriter, String superClass, String descriptor) {
+        MethodVisitor mv = classWriter.visitMethod(ACC_PUBLIC, "<init>", descriptor, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        int parameterCount = Type.getArgumentTypes(descriptor).length;
+        for (int i = 1; i <= parameterCount; i++) {
+            mv.visitVarInsn(ALOAD, i);
+        }
+        mv.visitMethodInsn(INVOKESPECIAL, superClass, "<init>", descriptor, false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    // Stack map frames are computed without loading classes, the generated code never merges two reference types
+    // that need a common super class other than Object
+    private static final class GeneratedClassWriter extends ClassWriter {
+        GeneratedClassWriter() {
+            super(ClassWriter.COMPUTE_FRAMES);
+        }
+
+        @Override
+        protected String getCommonSuperClass(String firstType, String secondType) {
+            return OBJECT;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * {@link RowPredicate} class compares a field of the rows read by a {@link RowScanner} with a value. Fields of type
+ * {@code int}, {@code byte}, {@code float}, {@code decimal} and {@code string} are ordered, {@code boolean} fields
+ * are only compared for equality.
+ */
+public class RowPredicate {
+    private static final String EQUAL = "EQUAL";
+    private static final String NOT_EQUAL = "NOT_EQUAL";
+    private static final String LESS_THAN = "LESS_THAN";
+    private static final String LESS_THAN_OR_EQUAL = "LESS_THAN_OR_EQUAL";
+    private static final String GREATER_THAN = "GREATER_THAN";
+    private static final String GREATER_THAN_OR_EQUAL = "GREATER_THAN_OR_EQUAL";
+
+    private final String fieldName;
+    private final String operator;
+    private final Object value;
+
+    public RowPredicate(String fieldName, String operator, Object value) {
+        this.fieldName = fieldName;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    String getFieldName() {
+        return fieldName;
+    }
+
+    // fieldType must be a referred type
+    boolean acceptsFieldType(Type fieldType) {
+        switch (fieldType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+                return value instanceof Long;
+            case TypeTags.FLOAT_TAG:
+                return value instanceof Double;
+            case TypeTags.DECIMAL_TAG:
+                return value instanceof BDecimal;
+            case TypeTags.STRING_TAG:
+                return value instanceof BString;
+            case TypeTags.BOOLEAN_TAG:
+                return value instanceof Boolean && (EQUAL.equals(operator) || NOT_EQUAL.equals(operator));
+            default:
+                return false;
+        }
+    }
+
+    // The value of an absent optional field is null, which doesn't match any predicate
+    boolean matches(Object fieldValue) {
+        if (fieldValue == null) {
+            return false;
+        }
+        int comparison = compare(fieldValue);
+        switch (operator) {
+            case EQUAL:
+                return comparison == 0;
+            case NOT_EQUAL:
+                return comparison != 0;
+            case LESS_THAN:
+                return comparison < 0;
+            case LESS_THAN_OR_EQUAL:
+                return comparison <= 0;
+            case GREATER_THAN:
+                return comparison > 0;
+            case GREATER_THAN_OR_EQUAL:
+                return comparison >= 0;
+            default:
+                return false;
+        }
+    }
+
+    private int compare(Object fieldValue) {
+        if (value instanceof Long) {
+            // byte values are read as integers
+            return Long.compare(((Number) fieldValue).longValue(), (Long) value);
+        }
+        if (value instanceof Double) {
+            double doubleValue = (Double) fieldValue;
+            return doubleValue == (Double) value ? 0 : Double.compare(doubleValue, (Double) value);
+        }
+        if (value instanceof BDecimal) {
+            return ((BDecimal) fieldValue).decimalValue().compareTo(((BDecimal) value).decimalValue());
+        }
+        if (value instanceof BString) {
+            return ((BString) fieldValue).getValue().compareTo(((BString) value).getValue());
+        }
+        return fieldValue.equals(value) ? 0 : 1;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.stdlib.serdes.wire.MessageReader.RecordMessageReader;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static io.ballerina.stdlib.serdes.Constants.INVALID_PREDICATE;
+import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+import static io.ballerina.stdlib.serdes.wire.SerializationPlanCompiler.getFiniteValueType;
+
+/**
+ * {@link RowScanner} class reads the rows of an encoded array or table of records that match a set of predicates.
+ * Only the fields that the predicates refer to are read from each row, and a row is deserialized when all the
+ * predicates match. The other rows are skipped without being deserialized.
+ */
+public class RowScanner {
+    // Referred array or table type of the schema
+    private final Type collectionType;
+    private final RecordType rowType;
+    // Descriptor and field number of the rows, null and -1 when the rows are not encoded as nested messages
+    private final Descriptor rowDescriptor;
+    private final int rowFieldNumber;
+    private final RecordMessageReader rowReader;
+
+    RowScanner(Type collectionType, RecordType rowType, Descriptor rowDescriptor, int rowFieldNumber,
+               RecordMessageReader rowReader) {
+        this.collectionType = collectionType;
+        this.rowType = rowType;
+        this.rowDescriptor = rowDescriptor;
+        this.rowFieldNumber = rowFieldNumber;
+        this.rowReader = rowReader;
+    }
+
+    boolean canScanMessages() {
+        return rowReader != null;
+    }
+
+    /**
+     * Returns the keys of the fields the predicates refer to. An error is returned when a predicate refers to a field
+     * that the row type doesn't have or has a value that can't be compared with the field.
+     */
+    BString[] resolve(RowPredicate[] predicates) {
+        BString[] keys = new BString[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            keys[i] = resolve(predicates[i]);
+        }
+        return keys;
+    }
+
+    // Reads the rows of the encoded collection that match the predicates, keys are the resolved predicate fields
+    Object scan(MessageInput input, RowPredicate[] predicates, BString[] keys) throws IOException {
+        // Each field a predicate refers to has a slot holding the value of the field in the current row
+        int[] fieldSlots = new int[rowReader.fieldReaders.length];
+        Arrays.fill(fieldSlots, -1);
+        int[] predicateSlots = new int[predicates.length];
+        Object[] defaultValues = new Object[predicates.length];
+        BMap<BString, Object> emptyRow = rowType.getEmptyValue();
+        int slotCount = 0;
+        for (int i = 0; i < predicates.length; i++) {
+            int fieldNumber = rowDescriptor.findFieldByName(predicates[i].getFieldName()).getNumber();
+            if (fieldSlots[fieldNumber] < 0) {
+                fieldSlots[fieldNumber] = slotCount;
+                // Fields with default values are not written, absent fields have the values of the empty record
+                defaultValues[slotCount++] = emptyRow.get(keys[i]);
+            }
+            predicateSlots[i] = fieldSlots[fieldNumber];
+        }
+
+        Object rows = createRows();
+        Object[] fieldValues = new Object[slotCount];
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) != rowFieldNumber
+                    || WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                input.skipField(tag);
+                continue;
+            }
+            int oldLimit = input.pushLengthLimit();
+            int rowOffset = input.getBufferPosition();
+            System.arraycopy(defaultValues, 0, fieldValues, 0, slotCount);
+            int rowTag;
+            while ((rowTag = input.readTag()) != 0) {
+                int fieldNumber = WireFormat.getTagFieldNumber(rowTag);
+                FieldReader fieldReader = fieldNumber < fieldSlots.length && fieldSlots[fieldNumber] >= 0
+                        ? MessageReader.getFieldReader(rowReader.fieldReaders, rowTag) : null;
+                if (fieldReader == null) {
+                    input.skipField(rowTag);
+                } else {
+                    fieldValues[fieldSlots[fieldNumber]] = fieldReader.read(input);
+                }
+            }
+            int rowLength = input.getBufferPosition() - rowOffset;
+            input.popLimit(oldLimit);
+            if (matches(predicates, predicateSlots, fieldValues)) {
+                addRow(rows, rowReader.readContent(input.createRangeInput(rowOffset, rowLength)));
+            }
+        }
+        return rows;
+    }
+
+    // Filters the rows of a deserialized collection, used when the rows can't be read one at a time
+    @SuppressWarnings("unchecked")
+    Object filter(Object collection, RowPredicate[] predicates, BString[] keys) {
+        Object rows = createRows();
+        Object[] fieldValues = new Object[predicates.length];
+        for (Object row : getRows(collection)) {
+            for (int i = 0; i < predicates.length; i++) {
+                fieldValues[i] = ((BMap<BString, Object>) row).get(keys[i]);
+            }
+            if (matches(predicates, null, fieldValues)) {
+                addRow(rows, row);
+            }
+        }
+        return rows;
+    }
+
+    // Returns the key of the field the predicate refers to, enum fields are compared as strings
+    private BString resolve(RowPredicate predicate) {
+        Field field = rowType.getFields().get(predicate.getFieldName());
+        if (field == null) {
+            throw createSerdesError(INVALID_PREDICATE + predicate.getFieldName(), SERDES_ERROR);
+        }
+        Type fieldType = TypeUtils.getReferredType(field.getFieldType());
+        if (fieldType.getTag() == TypeTags.FINITE_TYPE_TAG) {
+            fieldType = getFiniteValueType(fieldType);
+        }
+        FieldDescriptor fieldDescriptor = rowDescriptor != null
+                ? rowDescriptor.findFieldByName(predicate.getFieldName()) : null;
+        if (!predicate.acceptsFieldType(fieldType) || (rowDescriptor != null && fieldDescriptor == null)) {
+            throw createSerdesError(INVALID_PREDICATE + predicate.getFieldName(), SERDES_ERROR);
+        }
+        return StringUtils.fromString(predicate.getFieldName());
+    }
+
+    // predicateSlots is null when the field values are in the order of the predicates
+    private static boolean matches(RowPredicate[] predicates, int[] predicateSlots, Object[] fieldValues) {
+        for (int i = 0; i < predicates.length; i++) {
+            if (!predicates[i].matches(fieldValues[predicateSlots != null ? predicateSlots[i] : i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object[] getRows(Object collection) {
+        if (collection instanceof BTable) {
+            return ((BTable<?, Object>) collection).values().toArray();
+        }
+        BArray array = (BArray) collection;
+        Object[] rows = new Object[array.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = array.get(i);
+        }
+        return rows;
+    }
+
+    private Object createRows() {
+        if (collectionType.getTag() == TypeTags.TABLE_TAG) {
+            return ValueCreator.createTableValue((TableType) collectionType);
+        }
+        return ValueCreator.createArrayValue((ArrayType) collectionType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addRow(Object rows, Object row) {
+        if (rows instanceof BTable) {
+            ((BTable<BString, Object>) rows).add(row);
+        } else {
+            ((BArray) rows).append(row);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import static io.ballerina.stdlib.serdes.Constants.BUFFER_TOO_SMALL;
+import static io.ballerina.stdlib.serdes.Constants.SERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Constants.STRING_TABLE_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.VALUE;
+import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * {@link SerializationPlan} class holds the compiled message writer of a schema and serializes values with it.
+ * <p>
+ * Serialization runs in two passes over the same writers. The first pass computes the size of every length
+ * delimited field, the second writes the bytes into an array of the exact size, into a caller supplied buffer or
+ * into a stream.
+ * The state of the first pass is reused between serializations. It holds the size of each nested message, and the
+ * chunks of repeated fields encoded in parallel until they are copied, so it grows with the number of nested messages
+ * of the value. Streamed values are encoded sequentially, so only the nested message sizes are held for them.
+ * <p>
+ * Schemas with the dictionary string encoding write the distinct strings of the value to the string table of the
+ * message, followed by the value whose strings are indexes into the table. The strings are collected by the first
+ * pass.
+ */
+public class SerializationPlan {
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final MessageWriter rootMessageWriter;
+    // Field numbers of the string table and the value of the message, -1 when the schema has no string table
+    private final int stringTableFieldNumber;
+    private final int valueFieldNumber;
+
+    SerializationPlan(MessageWriter rootMessageWriter) {
+        this(rootMessageWriter, -1, -1);
+    }
+
+    private SerializationPlan(MessageWriter rootMessageWriter, int stringTableFieldNumber, int valueFieldNumber) {
+        this.rootMessageWriter = rootMessageWriter;
+        this.stringTableFieldNumber = stringTableFieldNumber;
+        this.valueFieldNumber = valueFieldNumber;
+    }
+
+    // Plan that writes the value into the value field of a string table message and its strings as indexes
+    public SerializationPlan withStringTable(Descriptor stringTableDescriptor) {
+        return new SerializationPlan(rootMessageWriter,
+                stringTableDescriptor.findFieldByName(STRING_TABLE_FIELD_NAME).getNumber(),
+                stringTableDescriptor.findFieldByName(VALUE).getNumber());
+    }
+
+    public byte[] serialize(Object value) {
+        return serialize(value, false);
+    }
+
+    // Prefixes the encoded message with its length as a varint, the same framing as protobuf writeDelimitedTo
+    public byte[] serializeDelimited(Object value) {
+        return serialize(value, true);
+    }
+
+    // Writes the encoded message to the buffer starting from the offset and returns the number of bytes written
+    public int serializeInto(Object value, byte[] buffer, int offset, int length) {
+        return serializeInto(value, buffer, offset, length, false);
+    }
+
+    public int serializeDelimitedInto(Object value, byte[] buffer, int offset, int length) {
+        return serializeInto(value, buffer, offset, length, true);
+    }
+
+    // Writes the encoded message to the stream through a bounded buffer, the stream is flushed but not closed
+    public void serializeTo(Object value, OutputStream outputStream) throws IOException {
+        SerializationScratch scratch = acquireScratch();
+        try {
+            // Chunks encoded in parallel would hold the encoded repeated fields in memory until they are written
+            scratch.disablePreEncoding();
+            computeSerializedSize(value, scratch);
+            CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(outputStream, STREAM_BUFFER_SIZE);
+            writeMessage(value, codedOutputStream, scratch);
+            codedOutputStream.flush();
+            outputStream.flush();
+        } finally {
+            scratch.release();
+        }
+    }
+
+    // Serializes the values of the array with a single scratch, the encoded messages are in the order of the values
+    public byte[][] serializeBatch(BArray values) {
+        int count = values.size();
+        byte[][] encodedMessages = new byte[count][];
+        SerializationScratch scratch = acquireScratch();
+        try {
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    scratch.reset();
+                }
+                Object value = values.get(i);
+                int serializedSize = computeSerializedSize(value, scratch);
+                encodedMessages[i] = new byte[serializedSize];
+                writeTo(value, encodedMessages[i], 0, 0, serializedSize, scratch);
+            }
+            return encodedMessages;
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private byte[] serialize(Object value, boolean delimited) {
+        SerializationScratch scratch = acquireScratch();
+        try {
+            int serializedSize = computeSerializedSize(value, scratch);
+            int prefixSize = delimited ? CodedOutputStream.computeUInt32SizeNoTag(serializedSize) : 0;
+            byte[] encodedMessage = new byte[prefixSize + serializedSize];
+            writeTo(value, encodedMessage, 0, prefixSize, serializedSize, scratch);
+            return encodedMessage;
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private int serializeInto(Object value, byte[] buffer, int offset, int length, boolean delimited) {
+        SerializationScratch scratch = acquireScratch();
+        try {
+            int serializedSize = computeSerializedSize(value, scratch);
+            int prefixSize = delimited ? CodedOutputStream.computeUInt32SizeNoTag(serializedSize) : 0;
+            int requiredSize = prefixSize + serializedSize;
+            if (requiredSize > length) {
+                throw createSerdesError(SERIALIZATION_ERROR_MESSAGE + String.format(BUFFER_TOO_SMALL, requiredSize,
+                        length), SERDES_ERROR);
+            }
+            writeTo(value, buffer, offset, prefixSize, serializedSize, scratch);
+            return requiredSize;
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private SerializationScratch acquireScratch() {
+        SerializationScratch scratch = SerializationScratch.acquire();
+        if (valueFieldNumber >= 0) {
+            scratch.useStringDictionary();
+        }
+        return scratch;
+    }
+
+    private int computeSerializedSize(Object value, SerializationScratch scratch) {
+        rootMessageWriter.writeContent(value, scratch.sizeComputingOutput);
+        int valueSize = scratch.sizeComputingOutput.getSerializedSize();
+        if (valueFieldNumber < 0) {
+            return valueSize;
+        }
+        return scratch.stringDictionary.computeTableSize(stringTableFieldNumber)
+                + CodedOutputStream.computeTagSize(valueFieldNumber)
+                + CodedOutputStream.computeUInt32SizeNoTag(valueSize) + valueSize;
+    }
+
+    // The string table is written before the value, so it can be read before the strings of the value
+    private void writeMessage(Object value, CodedOutputStream codedOutputStream, SerializationScratch scratch)
+            throws IOException {
+        if (valueFieldNumber >= 0) {
+            scratch.stringDictionary.writeTable(stringTableFieldNumber, codedOutputStream);
+            codedOutputStream.writeTag(valueFieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            codedOutputStream.writeUInt32NoTag(scratch.sizeComputingOutput.getSerializedSize());
+        }
+        rootMessageWriter.writeContent(value, scratch.createCodedStreamOutput(codedOutputStream));
+    }
+
+    private void writeTo(Object value, byte[] buffer, int offset, int prefixSize, int serializedSize,
+                         SerializationScratch scratch) {
+        CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(buffer, offset,
+                prefixSize + serializedSize);
+        try {
+            if (prefixSize > 0) {
+                codedOutputStream.writeUInt32NoTag(serializedSize);
+            }
+            writeMessage(value, codedOutputStream, scratch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        codedOutputStream.checkNoSpaceLeft();
+    }
+}
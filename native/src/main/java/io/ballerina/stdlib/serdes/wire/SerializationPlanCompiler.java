@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.OneofDescriptor;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.serdes.ColumnarTableMessageType;
+import io.ballerina.stdlib.serdes.UnionMessageType;
+import io.ballerina.stdlib.serdes.Utils;
+import io.ballerina.stdlib.serdes.wire.FieldWriter.ArrayFieldWriter;
+import io.ballerina.stdlib.serdes.wire.MessageWriter.ColumnarTableMessageWriter;
+import io.ballerina.stdlib.serdes.wire.MessageWriter.MapMessageWriter;
+import io.ballerina.stdlib.serdes.wire.MessageWriter.RecordMessageWriter;
+import io.ballerina.stdlib.serdes.wire.MessageWriter.TableMessageWriter;
+import io.ballerina.stdlib.serdes.wire.MessageWriter.TupleMessageWriter;
+import io.ballerina.stdlib.serdes.wire.MessageWriter.UnionMessageWriter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.stdlib.serdes.Constants.ARRAY_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.ATOMIC_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.COLUMNAR_TABLE_BUILDER;
+import static io.ballerina.stdlib.serdes.Constants.COMPACT_VALUE;
+import static io.ballerina.stdlib.serdes.Constants.KEY_NAME;
+import static io.ballerina.stdlib.serdes.Constants.MAP_FIELD;
+import static io.ballerina.stdlib.serdes.Constants.PRECISION;
+import static io.ballerina.stdlib.serdes.Constants.PRESENCE_SUFFIX;
+import static io.ballerina.stdlib.serdes.Constants.ROW_COUNT_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.Constants.SCALE;
+import static io.ballerina.stdlib.serdes.Constants.TABLE_ENTRY;
+import static io.ballerina.stdlib.serdes.Constants.UNSUPPORTED_DATA_TYPE;
+import static io.ballerina.stdlib.serdes.Constants.VALUE;
+import static io.ballerina.stdlib.serdes.Constants.VALUE_NAME;
+import static io.ballerina.stdlib.serdes.Utils.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * {@link SerializationPlanCompiler} class compiles the message and field writers of a schema.
+ * <p>
+ * Field descriptors, field numbers and referred types are resolved here once, so serializing a value only walks the
+ * compiled writers. Writers of structured types are registered before their fields are compiled, which lets cyclic
+ * types refer back to a writer that is still being compiled.
+ */
+public class SerializationPlanCompiler {
+    private final Map<WriterKey, MessageWriter> compiledMessageWriters = new HashMap<>();
+
+    // Generates specialized record writers, null when the interpreted writers are used
+    private final RecordCodecGenerator recordCodecGenerator;
+    private final ParallelEncoder parallelEncoder;
+
+    private SerializationPlanCompiler(RecordCodecGenerator recordCodecGenerator, ParallelEncoder parallelEncoder) {
+        this.recordCodecGenerator = recordCodecGenerator;
+        this.parallelEncoder = parallelEncoder;
+    }
+
+    public static SerializationPlan compile(Descriptor messageDescriptor, Type ballerinaType) {
+        return compile(messageDescriptor, ballerinaType, null, ParallelEncoder.SEQUENTIAL);
+    }
+
+    public static SerializationPlan compile(Descriptor messageDescriptor, Type ballerinaType,
+                                            RecordCodecGenerator recordCodecGenerator,
+                                            ParallelEncoder parallelEncoder) {
+        SerializationPlanCompiler compiler = new SerializationPlanCompiler(recordCodecGenerator, parallelEncoder);
+        return new SerializationPlan(compiler.compileMessageWriter(messageDescriptor,
+                TypeUtils.getReferredType(ballerinaType)));
+    }
+
+    // ballerinaType must be a referred type
+    private MessageWriter compileMessageWriter(Descriptor messageDescriptor, Type ballerinaType) {
+        WriterKey writerKey = new WriterKey(messageDescriptor, ballerinaType);
+        MessageWriter compiledWriter = compiledMessageWriters.get(writerKey);
+        if (compiledWriter != null) {
+            return compiledWriter;
+        }
+
+        switch (ballerinaType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG: {
+                FieldDescriptor atomicField = messageDescriptor.findFieldByName(ATOMIC_FIELD_NAME);
+                return new MessageWriter.SingleFieldMessageWriter(compileFieldWriter(atomicField, ballerinaType));
+            }
+
+            case TypeTags.DECIMAL_TAG:
+                return new MessageWriter.DecimalMessageWriter(messageDescriptor.findFieldByName(SCALE).getNumber(),
+                        messageDescriptor.findFieldByName(PRECISION).getNumber(),
+                        messageDescriptor.findFieldByName(VALUE).getNumber(),
+                        getCompactValueFieldNumber(messageDescriptor));
+
+            case TypeTags.ARRAY_TAG: {
+                FieldDescriptor arrayField = messageDescriptor.findFieldByName(ARRAY_FIELD_NAME);
+                return new MessageWriter.SingleFieldMessageWriter(compileArrayFieldWriter(arrayField,
+                        (ArrayType) ballerinaType));
+            }
+
+            case TypeTags.UNION_TAG: {
+                UnionMessageWriter unionWriter = new UnionMessageWriter();
+                compiledMessageWriters.put(writerKey, unionWriter);
+                Map<String, FieldWriter> memberWriters = new HashMap<>();
+                for (Type memberType : ((UnionType) ballerinaType).getMemberTypes()) {
+                    Map.Entry<String, Type> fieldNameAndType = UnionMessageType.mapMemberToFieldName(memberType);
+                    String fieldName = fieldNameAndType.getKey();
+                    if (!memberWriters.containsKey(fieldName)) {
+                        FieldDescriptor memberField = messageDescriptor.findFieldByName(fieldName);
+                        Type referredMemberType = fieldNameAndType.getValue();
+                        // A union message needs a member field, so a zero varint byte is written too
+                        memberWriters.put(fieldName, referredMemberType.getTag() == TypeTags.BYTE_TAG
+                                && isUInt32Field(memberField) ? new FieldWriter.NilableScalarFieldWriter(
+                                memberField.getNumber(), TypeTags.BYTE_TAG, true)
+                                : compileFieldWriter(memberField, referredMemberType));
+                    }
+                }
+                unionWriter.init(memberWriters);
+                return unionWriter;
+            }
+
+            case TypeTags.RECORD_TYPE_TAG: {
+                RecordType recordType = (RecordType) ballerinaType;
+                RecordMessageWriter recordWriter = createRecordWriter(messageDescriptor, recordType);
+                compiledMessageWriters.put(writerKey, recordWriter);
+                List<BString> fieldKeys = new ArrayList<>();
+                List<FieldWriter> fieldWriters = new ArrayList<>();
+                for (FieldDescriptor fieldDescriptor : messageDescriptor.getFields()) {
+                    // A oneof is written by a single writer registered at its first member
+                    OneofDescriptor oneof = fieldDescriptor.getRealContainingOneof();
+                    if (oneof != null && oneof.getField(0) != fieldDescriptor) {
+                        continue;
+                    }
+                    String fieldName = oneof != null ? oneof.getName() : fieldDescriptor.getName();
+                    Type fieldType = TypeUtils.getReferredType(recordType.getFields().get(fieldName).getFieldType());
+                    fieldKeys.add(StringUtils.fromString(fieldName));
+                    fieldWriters.add(oneof != null ? compileOneofFieldWriter(messageDescriptor, oneof,
+                            (UnionType) fieldType) : compileFieldWriter(fieldDescriptor, fieldType));
+                }
+                recordWriter.init(fieldKeys.toArray(new BString[0]), fieldWriters.toArray(new FieldWriter[0]));
+                return recordWriter;
+            }
+
+            case TypeTags.MAP_TAG: {
+                FieldDescriptor mapField = messageDescriptor.findFieldByName(MAP_FIELD);
+                Descriptor mapEntrySchema = mapField.getMessageType();
+                MapMessageWriter mapWriter = new MapMessageWriter(mapField.getNumber(),
+                        mapEntrySchema.findFieldByName(KEY_NAME).getNumber());
+                compiledMessageWriters.put(writerKey, mapWriter);
+                Type valueType = TypeUtils.getReferredType(((MapType) ballerinaType).getConstrainedType());
+                mapWriter.init(compileFieldWriter(mapEntrySchema.findFieldByName(VALUE_NAME), valueType));
+                return mapWriter;
+            }
+
+            case TypeTags.TABLE_TAG: {
+                if (COLUMNAR_TABLE_BUILDER.equals(messageDescriptor.getName())) {
+                    return compileColumnarTableWriter(messageDescriptor, (TableType) ballerinaType);
+                }
+                TableMessageWriter tableWriter = new TableMessageWriter(parallelEncoder);
+                compiledMessageWriters.put(writerKey, tableWriter);
+                Type rowType = TypeUtils.getReferredType(((TableType) ballerinaType).getConstrainedType());
+                tableWriter.init(compileFieldWriter(messageDescriptor.findFieldByName(TABLE_ENTRY), rowType));
+                return tableWriter;
+            }
+
+            case TypeTags.TUPLE_TAG: {
+                TupleMessageWriter tupleWriter = new TupleMessageWriter();
+                compiledMessageWriters.put(writerKey, tupleWriter);
+                List<Type> elementTypes = ((TupleType) ballerinaType).getTupleTypes();
+                List<FieldDescriptor> fieldDescriptors = messageDescriptor.getFields();
+                int[] elementIndexes = new int[fieldDescriptors.size()];
+                FieldWriter[] elementWriters = new FieldWriter[fieldDescriptors.size()];
+                for (int i = 0; i < fieldDescriptors.size(); i++) {
+                    FieldDescriptor fieldDescriptor = fieldDescriptors.get(i);
+                    elementIndexes[i] = fieldDescriptor.getNumber() - 1;
+                    Type elementType = TypeUtils.getReferredType(elementTypes.get(elementIndexes[i]));
+                    elementWriters[i] = compileFieldWriter(fieldDescriptor, elementType);
+                }
+                tupleWriter.init(elementIndexes, elementWriters);
+                return tupleWriter;
+            }
+
+            default:
+                throw createSerdesError(UNSUPPORTED_DATA_TYPE + ballerinaType.getName(), SERDES_ERROR);
+        }
+    }
+
+    // Members are dispatched by the union writer, which writes them to the record message instead of a union message
+    private FieldWriter compileOneofFieldWriter(Descriptor messageDescriptor, OneofDescriptor oneof,
+                                                UnionType unionType) {
+        Map<String, FieldWriter> memberWriters = new HashMap<>();
+        for (Type memberType : unionType.getMemberTypes()) {
+            String memberKey = UnionMessageType.mapMemberToFieldName(memberType).getKey();
+            if (memberWriters.containsKey(memberKey)) {
+                continue;
+            }
+            FieldDescriptor memberField = messageDescriptor.findFieldByName(
+                    UnionMessageType.mapMemberToOneofFieldName(oneof.getName(), memberType));
+            Type referredMemberType = TypeUtils.getReferredType(memberType);
+            switch (referredMemberType.getTag()) {
+                case TypeTags.INT_TAG:
+                case TypeTags.BYTE_TAG:
+                case TypeTags.FLOAT_TAG:
+                case TypeTags.STRING_TAG:
+                case TypeTags.BOOLEAN_TAG:
+                    // The case of a oneof is its present member, so zero values are written too
+                    memberWriters.put(memberKey, new FieldWriter.NilableScalarFieldWriter(memberField.getNumber(),
+                            referredMemberType.getTag(), isUInt32Field(memberField)));
+                    break;
+                default:
+                    memberWriters.put(memberKey, compileFieldWriter(memberField, referredMemberType));
+                    break;
+            }
+        }
+        UnionMessageWriter unionWriter = new UnionMessageWriter();
+        unionWriter.init(memberWriters);
+        return new FieldWriter.OneofFieldWriter(oneof.getField(0).getNumber(), unionWriter);
+    }
+
+    // ballerinaType must be a referred type
+    private FieldWriter compileFieldWriter(FieldDescriptor fieldDescriptor, Type ballerinaType) {
+        int fieldNumber = fieldDescriptor.getNumber();
+
+        switch (ballerinaType.getTag()) {
+            case TypeTags.NULL_TAG:
+                return new FieldWriter.NullFieldWriter(fieldNumber);
+
+            case TypeTags.INT_TAG:
+                return new FieldWriter.IntFieldWriter(fieldNumber);
+
+            case TypeTags.BYTE_TAG:
+                if (isUInt32Field(fieldDescriptor)) {
+                    return new FieldWriter.VarintByteFieldWriter(fieldNumber);
+                }
+                return new FieldWriter.ByteFieldWriter(fieldNumber);
+
+            case TypeTags.FLOAT_TAG:
+                return new FieldWriter.FloatFieldWriter(fieldNumber);
+
+            case TypeTags.STRING_TAG:
+                return new FieldWriter.StringFieldWriter(fieldNumber);
+
+            case TypeTags.BOOLEAN_TAG:
+                return new FieldWriter.BooleanFieldWriter(fieldNumber);
+
+            case TypeTags.FINITE_TYPE_TAG:
+                // enum members are encoded using the type of their value
+                return compileFieldWriter(fieldDescriptor, getFiniteValueType(ballerinaType));
+
+            case TypeTags.ARRAY_TAG:
+                return compileArrayFieldWriter(fieldDescriptor, (ArrayType) ballerinaType);
+
+            case TypeTags.UNION_TAG:
+                if (fieldDescriptor.hasOptionalKeyword()) {
+                    return new FieldWriter.NilableScalarFieldWriter(fieldNumber,
+                            Utils.getNilableScalarType((UnionType) ballerinaType).getTag(),
+                            isUInt32Field(fieldDescriptor));
+                }
+                return new FieldWriter.MessageFieldWriter(fieldNumber,
+                        compileMessageWriter(fieldDescriptor.getMessageType(), ballerinaType));
+
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.RECORD_TYPE_TAG:
+            case TypeTags.MAP_TAG:
+            case TypeTags.TABLE_TAG:
+            case TypeTags.TUPLE_TAG:
+                return new FieldWriter.MessageFieldWriter(fieldNumber,
+                        compileMessageWriter(fieldDescriptor.getMessageType(), ballerinaType));
+
+            default:
+                throw createSerdesError(UNSUPPORTED_DATA_TYPE + ballerinaType.getName(), SERDES_ERROR);
+        }
+    }
+
+    private ArrayFieldWriter compileArrayFieldWriter(FieldDescriptor fieldDescriptor, ArrayType arrayType) {
+        int fieldNumber = fieldDescriptor.getNumber();
+        Type elementType = TypeUtils.getReferredType(arrayType.getElementType());
+
+        switch (elementType.getTag()) {
+            case TypeTags.BYTE_TAG:
+                return new FieldWriter.ByteArrayFieldWriter(fieldNumber);
+
+            case TypeTags.INT_TAG:
+                return new FieldWriter.IntArrayFieldWriter(fieldNumber);
+
+            case TypeTags.FLOAT_TAG:
+                return new FieldWriter.FloatArrayFieldWriter(fieldNumber);
+
+            case TypeTags.BOOLEAN_TAG:
+                return new FieldWriter.BooleanArrayFieldWriter(fieldNumber);
+
+            case TypeTags.STRING_TAG:
+                if (isUInt32Field(fieldDescriptor)) {
+                    return new FieldWriter.StringIndexArrayFieldWriter(fieldNumber);
+                }
+                return new FieldWriter.StringArrayFieldWriter(fieldNumber, parallelEncoder);
+
+            case TypeTags.ARRAY_TAG: {
+                FieldDescriptor innerArrayField = fieldDescriptor.getMessageType().findFieldByName(ARRAY_FIELD_NAME);
+                return new FieldWriter.NestedArrayFieldWriter(fieldNumber,
+                        compileArrayFieldWriter(innerArrayField, (ArrayType) elementType), parallelEncoder);
+            }
+
+            default:
+                return new FieldWriter.RepeatedFieldWriter(fieldNumber, elementType.getTag(),
+                        compileFieldWriter(fieldDescriptor, elementType), parallelEncoder);
+        }
+    }
+
+    private MessageWriter compileColumnarTableWriter(Descriptor messageDescriptor, TableType tableType) {
+        ColumnarTableMessageWriter tableWriter = new ColumnarTableMessageWriter(
+                messageDescriptor.findFieldByName(ROW_COUNT_FIELD_NAME).getNumber());
+        Collection<Field> fields = ColumnarTableMessageType.getRowType(tableType).getFields().values();
+        List<ColumnWriter> columnWriters = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            FieldDescriptor columnField = messageDescriptor.findFieldByName(field.getFieldName());
+            FieldDescriptor presenceField = messageDescriptor.findFieldByName(field.getFieldName() + PRESENCE_SUFFIX);
+            columnWriters.add(compileColumnWriter(columnField, presenceField != null ? presenceField.getNumber() : 0,
+                    ColumnarTableMessageType.getColumnType(field)));
+        }
+        columnWriters.sort(Comparator.comparingInt(columnWriter -> columnWriter.fieldNumber));
+        tableWriter.init(columnWriters.toArray(new ColumnWriter[0]));
+        return tableWriter;
+    }
+
+    // columnType must be a referred type
+    private ColumnWriter compileColumnWriter(FieldDescriptor columnField, int presenceFieldNumber, Type columnType) {
+        BString fieldKey = StringUtils.fromString(columnField.getName());
+        int fieldNumber = columnField.getNumber();
+
+        switch (columnType.getTag()) {
+            case TypeTags.INT_TAG:
+                return new ColumnWriter.IntColumnWriter(fieldKey, fieldNumber, presenceFieldNumber);
+
+            case TypeTags.BYTE_TAG:
+                return new ColumnWriter.ByteColumnWriter(fieldKey, fieldNumber, presenceFieldNumber);
+
+            case TypeTags.FLOAT_TAG:
+                return new ColumnWriter.FloatColumnWriter(fieldKey, fieldNumber, presenceFieldNumber);
+
+            case TypeTags.BOOLEAN_TAG:
+                return new ColumnWriter.BooleanColumnWriter(fieldKey, fieldNumber, presenceFieldNumber);
+
+            case TypeTags.STRING_TAG:
+                if (isUInt32Field(columnField)) {
+                    return new ColumnWriter.StringIndexColumnWriter(fieldKey, fieldNumber, presenceFieldNumber);
+                }
+                return new ColumnWriter.StringColumnWriter(fieldKey, fieldNumber, presenceFieldNumber);
+
+            case TypeTags.DECIMAL_TAG:
+                return new ColumnWriter.MessageColumnWriter(fieldKey, fieldNumber, presenceFieldNumber,
+                        compileFieldWriter(columnField, columnType));
+
+            default:
+                throw createSerdesError(UNSUPPORTED_DATA_TYPE + columnType.getName(), SERDES_ERROR);
+        }
+    }
+
+    private RecordMessageWriter createRecordWriter(Descriptor messageDescriptor, RecordType recordType) {
+        if (recordCodecGenerator != null) {
+            RecordMessageWriter specializedWriter = recordCodecGenerator.generateWriter(messageDescriptor, recordType);
+            if (specializedWriter != null) {
+                return specializedWriter;
+            }
+        }
+        return new RecordMessageWriter();
+    }
+
+    static Type getFiniteValueType(Type finiteType) {
+        return TypeUtils.getReferredType(TypeUtils.getType(finiteType.getEmptyValue()));
+    }
+
+    // Bytes of schemas with the varint byte encoding and strings of schemas with the dictionary string encoding are
+    // uint32 fields, callers tell them apart by the ballerina type of the field
+    static boolean isUInt32Field(FieldDescriptor fieldDescriptor) {
+        return fieldDescriptor.getType() == FieldDescriptor.Type.UINT32;
+    }
+
+    // Decimal messages of schemas with the compact decimal encoding have a compact value field
+    static int getCompactValueFieldNumber(Descriptor decimalDescriptor) {
+        FieldDescriptor compactValueField = decimalDescriptor.findFieldByName(COMPACT_VALUE);
+        return compactValueField != null ? compactValueField.getNumber() : -1;
+    }
+
+    private static final class WriterKey {
+        private final Descriptor messageDescriptor;
+        private final Type ballerinaType;
+
+        WriterKey(Descriptor messageDescriptor, Type ballerinaType) {
+            this.messageDescriptor = messageDescriptor;
+            this.ballerinaType = ballerinaType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof WriterKey)) {
+                return false;
+            }
+            WriterKey otherKey = (WriterKey) other;
+            return messageDescriptor == otherKey.messageDescriptor && ballerinaType == otherKey.ballerinaType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(messageDescriptor) + System.identityHashCode(ballerinaType);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.CodedOutputStream;
+
+/**
+ * {@link SerializationScratch} class holds the state of the size computing pass, which is reused by the
+ * serializations that run on the same thread.
+ * <p>
+ * A serialization runs to completion without yielding the strand, so a scratch acquired by it is never observed by
+ * another strand scheduled on the same thread. A nested acquire on a thread whose scratch is in use, for example by a
+ * task that a waiting fork join worker picks up, gets a new scratch.
+ */
+final class SerializationScratch {
+    private static final ThreadLocal<SerializationScratch> THREAD_SCRATCH =
+            ThreadLocal.withInitial(SerializationScratch::new);
+
+    final NestedMessageSizes nestedMessageSizes = new NestedMessageSizes();
+    final PreEncodedFields preEncodedFields = new PreEncodedFields();
+    final SizeComputingOutput sizeComputingOutput = new SizeComputingOutput(nestedMessageSizes, preEncodedFields);
+    final StringDictionary stringDictionary = new StringDictionary();
+    private boolean usesStringDictionary = false;
+    private boolean preEncodingEnabled = true;
+    private boolean inUse = false;
+
+    private SerializationScratch() {
+    }
+
+    static SerializationScratch acquire() {
+        SerializationScratch scratch = THREAD_SCRATCH.get();
+        if (scratch.inUse) {
+            scratch = new SerializationScratch();
+        }
+        scratch.inUse = true;
+        scratch.reset();
+        return scratch;
+    }
+
+    // Clears the state of the previous serialization, a scratch is reused by the values of a batch
+    void reset() {
+        nestedMessageSizes.reset();
+        preEncodedFields.reset();
+        sizeComputingOutput.reset();
+        stringDictionary.reset();
+    }
+
+    // Writes the strings of the serializations that acquired the scratch as string table indexes
+    void useStringDictionary() {
+        usesStringDictionary = true;
+        sizeComputingOutput.setStringDictionary(stringDictionary);
+    }
+
+    // Encodes large repeated fields sequentially, so the chunks encoded in parallel are not held until they are written
+    void disablePreEncoding() {
+        preEncodingEnabled = false;
+        sizeComputingOutput.setPreEncodingEnabled(false);
+    }
+
+    // Output of the writing pass, which replays the state recorded by the size computing pass
+    CodedStreamOutput createCodedStreamOutput(CodedOutputStream codedOutputStream) {
+        CodedStreamOutput output;
+        if (!usesStringDictionary) {
+            output = new CodedStreamOutput(codedOutputStream, nestedMessageSizes, preEncodedFields);
+        } else {
+            // The writing pass finds the strings added by the size computing pass
+            output = new CodedStreamOutput(codedOutputStream, nestedMessageSizes, preEncodedFields, stringDictionary);
+        }
+        output.setPreEncodingEnabled(preEncodingEnabled);
+        return output;
+    }
+
+    void release() {
+        // Chunks encoded in parallel and the strings of the dictionary are not retained by an idle scratch
+        preEncodedFields.reset();
+        stringDictionary.reset();
+        usesStringDictionary = false;
+        sizeComputingOutput.setStringDictionary(null);
+        preEncodingEnabled = true;
+        sizeComputingOutput.setPreEncodingEnabled(true);
+        inUse = false;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * {@link SizeComputingOutput} class computes the serialized size of a message without writing any bytes.
+ */
+public class SizeComputingOutput extends MessageOutput {
+    private static final int INITIAL_DEPTH = 8;
+
+    private final NestedMessageSizes nestedMessageSizes;
+    private final PreEncodedFields preEncodedFields;
+    // Set when strings are written as string table indexes, see StringDictionary
+    private StringDictionary stringDictionary;
+    private int[] openFieldNumbers = new int[INITIAL_DEPTH];
+    private int[] openFieldStarts = new int[INITIAL_DEPTH];
+    private int[] openFieldSlots = new int[INITIAL_DEPTH];
+    private int depth = 0;
+    private int size = 0;
+
+    public SizeComputingOutput(NestedMessageSizes nestedMessageSizes, PreEncodedFields preEncodedFields) {
+        this.nestedMessageSizes = nestedMessageSizes;
+        this.preEncodedFields = preEncodedFields;
+    }
+
+    public int getSerializedSize() {
+        return size;
+    }
+
+    void setStringDictionary(StringDictionary stringDictionary) {
+        this.stringDictionary = stringDictionary;
+    }
+
+    // Prepares the output for another size computing pass
+    void reset() {
+        depth = 0;
+        size = 0;
+    }
+
+    @Override
+    public void writeSInt64(int fieldNumber, long value) {
+        size += CodedOutputStream.computeSInt64Size(fieldNumber, value);
+    }
+
+    @Override
+    public void writeDouble(int fieldNumber, double value) {
+        size += CodedOutputStream.computeDoubleSize(fieldNumber, value);
+    }
+
+    @Override
+    public void writeBool(int fieldNumber, boolean value) {
+        size += CodedOutputStream.computeBoolSize(fieldNumber, value);
+    }
+
+    @Override
+    public void writeUInt32(int fieldNumber, int value) {
+        size += CodedOutputStream.computeUInt32Size(fieldNumber, value);
+    }
+
+    @Override
+    public void writeString(int fieldNumber, String value) {
+        if (stringDictionary != null) {
+            size += CodedOutputStream.computeUInt32Size(fieldNumber, stringDictionary.lookupOrAdd(value));
+            return;
+        }
+        size += CodedOutputStream.computeStringSize(fieldNumber, value);
+    }
+
+    @Override
+    public void writeByteArray(int fieldNumber, byte[] value, int offset, int length) {
+        size += CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(length)
+                + length;
+    }
+
+    @Override
+    public void writeSingleByte(int fieldNumber, byte value) {
+        // tag, one byte length prefix and the byte itself
+        size += CodedOutputStream.computeTagSize(fieldNumber) + 2;
+    }
+
+    @Override
+    public void writePackedSInt64(int fieldNumber, long[] values, int length) {
+        int payloadSize = 0;
+        for (int i = 0; i < length; i++) {
+            payloadSize += CodedOutputStream.computeSInt64SizeNoTag(values[i]);
+        }
+        // The payload size of varints is kept for the writing pass, which avoids computing it twice
+        nestedMessageSizes.set(nestedMessageSizes.reserve(), payloadSize);
+        size += computeLengthDelimitedSize(fieldNumber, payloadSize);
+    }
+
+    @Override
+    public void writePackedDouble(int fieldNumber, double[] values, int length) {
+        size += computeLengthDelimitedSize(fieldNumber, length * Double.BYTES);
+    }
+
+    @Override
+    public void writePackedBool(int fieldNumber, boolean[] values, int length) {
+        // Each boolean is a single byte varint
+        size += computeLengthDelimitedSize(fieldNumber, length);
+    }
+
+    @Override
+    public void writePackedUInt32(int fieldNumber, int[] values, int length) {
+        int payloadSize = 0;
+        for (int i = 0; i < length; i++) {
+            payloadSize += CodedOutputStream.computeUInt32SizeNoTag(values[i]);
+        }
+        nestedMessageSizes.set(nestedMessageSizes.reserve(), payloadSize);
+        size += computeLengthDelimitedSize(fieldNumber, payloadSize);
+    }
+
+    @Override
+    public int lookupStringIndex(String value) {
+        return stringDictionary.lookupOrAdd(value);
+    }
+
+    @Override
+    public void beginLengthDelimited(int fieldNumber) {
+        if (depth == openFieldNumbers.length) {
+            openFieldNumbers = Arrays.copyOf(openFieldNumbers, depth * 2);
+            openFieldStarts = Arrays.copyOf(openFieldStarts, depth * 2);
+            openFieldSlots = Arrays.copyOf(openFieldSlots, depth * 2);
+        }
+        openFieldNumbers[depth] = fieldNumber;
+        openFieldStarts[depth] = size;
+        openFieldSlots[depth] = nestedMessageSizes.reserve();
+        depth++;
+    }
+
+    @Override
+    public void endLengthDelimited() {
+        depth--;
+        int payloadSize = size - openFieldStarts[depth];
+        nestedMessageSizes.set(openFieldSlots[depth], payloadSize);
+        size += CodedOutputStream.computeTagSize(openFieldNumbers[depth])
+                + CodedOutputStream.computeUInt32SizeNoTag(payloadSize);
+    }
+
+    @Override
+    public void writePreEncoded(Supplier<byte[][]> encoder) {
+        byte[][] chunks = encoder.get();
+        preEncodedFields.add(chunks);
+        for (byte[] chunk : chunks) {
+            size += chunk.length;
+        }
+    }
+
+    private static int computeLengthDelimitedSize(int fieldNumber, int payloadSize) {
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(payloadSize)
+                + payloadSize;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link StringDictionary} class assigns indexes to the distinct strings of a value in the order of their first
+ * occurrence. The strings are written to the string table of the message and the string fields of the value hold
+ * their indexes.
+ * <p>
+ * Index 0 is the empty string, which is not added to the table, so an absent string field is read as an empty string
+ * like a proto3 string field. Index i refers to the i-th string of the table.
+ */
+final class StringDictionary {
+    private static final int MAX_RETAINED_ENTRIES = 1024;
+
+    private Map<String, Integer> indexes = new HashMap<>();
+    private List<String> strings = new ArrayList<>();
+
+    // The size computing pass adds the strings of the value, the writing pass finds them at the same indexes
+    int lookupOrAdd(String value) {
+        if (value.isEmpty()) {
+            return 0;
+        }
+        Integer index = indexes.get(value);
+        if (index == null) {
+            strings.add(value);
+            index = strings.size();
+            indexes.put(value, index);
+        }
+        return index;
+    }
+
+    int computeTableSize(int fieldNumber) {
+        int size = 0;
+        for (String value : strings) {
+            size += CodedOutputStream.computeStringSize(fieldNumber, value);
+        }
+        return size;
+    }
+
+    void writeTable(int fieldNumber, CodedOutputStream codedOutputStream) throws IOException {
+        for (String value : strings) {
+            codedOutputStream.writeString(fieldNumber, value);
+        }
+    }
+
+    void reset() {
+        if (strings.size() > MAX_RETAINED_ENTRIES) {
+            indexes = new HashMap<>();
+            strings = new ArrayList<>();
+        } else {
+            indexes.clear();
+            strings.clear();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.wire;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * {@link StringTable} class holds the string table of a message of a schema with the dictionary string encoding. The
+ * string fields of the value are indexes into the table, index 0 is the empty string and index i is the i-th string
+ * of the table, see {@link StringDictionary}.
+ * <p>
+ * The strings of a table read from an array are decoded when they are first referred to, so reading a few fields of
+ * a value doesn't decode the whole table.
+ */
+final class StringTable {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final BString EMPTY_BSTRING = StringUtils.fromString("");
+
+    // Buffer holding the strings of the table, null when the strings are read from a stream
+    private final byte[] buffer;
+    private int[] offsets;
+    private int[] lengths;
+    private BString[] strings = new BString[INITIAL_CAPACITY];
+    private int size = 0;
+    // Range of the buffer holding the value, which is empty when the value field is absent
+    private int valueOffset;
+    private int valueLength = 0;
+
+    private StringTable(byte[] buffer) {
+        this.buffer = buffer;
+        if (buffer != null) {
+            offsets = new int[INITIAL_CAPACITY];
+            lengths = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    // Locates the strings and the value of a message in the buffer, the strings may precede or follow the value
+    static StringTable read(byte[] buffer, int offset, int length, int stringTableFieldNumber, int valueFieldNumber)
+            throws IOException {
+        StringTable stringTable = new StringTable(buffer);
+        stringTable.valueOffset = offset + length;
+        CodedInputStream codedInputStream = CodedInputStream.newInstance(buffer, offset, length);
+        int stringTag = stringTableFieldNumber << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+        int valueTag = valueFieldNumber << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+        int tag;
+        while ((tag = codedInputStream.readTag()) != 0) {
+            if (tag != stringTag && tag != valueTag) {
+                codedInputStream.skipField(tag);
+                continue;
+            }
+            int payloadLength = codedInputStream.readRawVarint32();
+            int payloadOffset = offset + codedInputStream.getTotalBytesRead();
+            // Negative and truncated lengths are reported by the coded input stream
+            codedInputStream.skipRawBytes(payloadLength);
+            if (tag == stringTag) {
+                stringTable.add(payloadOffset, payloadLength);
+            } else {
+                stringTable.valueOffset = payloadOffset;
+                stringTable.valueLength = payloadLength;
+            }
+        }
+        return stringTable;
+    }
+
+    // Table of strings read from a stream, the strings are added as they are read
+    static StringTable create() {
+        return new StringTable(null);
+    }
+
+    // Input reading the value of the message from the buffer
+    MessageInput createValueInput() {
+        MessageInput input = new MessageInput(CodedInputStream.newInstance(buffer, valueOffset, valueLength), buffer,
+                valueOffset, valueLength);
+        input.setStringTable(this);
+        return input;
+    }
+
+    void add(BString value) {
+        ensureCapacity();
+        strings[size++] = value;
+    }
+
+    private void add(int offset, int length) {
+        ensureCapacity();
+        offsets[size] = offset;
+        lengths[size] = length;
+        size++;
+    }
+
+    private void ensureCapacity() {
+        if (size == strings.length) {
+            strings = Arrays.copyOf(strings, size * 2);
+            if (buffer != null) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+        }
+    }
+
+    // The index is an unsigned varint, so indexes beyond the range of int are negative
+    BString get(int index, MessageInput input) throws IOException {
+        if (index == 0) {
+            return EMPTY_BSTRING;
+        }
+        if (index < 0 || index > size) {
+            throw new InvalidProtocolBufferException("String table index is out of range: "
+                    + Integer.toUnsignedLong(index));
+        }
+        BString value = strings[index - 1];
+        if (value == null) {
+            value = StringUtils.fromString(input.decodeUtf8(buffer, offsets[index - 1], lengths[index - 1]));
+            strings[index - 1] = value;
+        }
+        return value;
+    }
+}
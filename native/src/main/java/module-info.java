@@ -20,4 +20,6 @@ module io.ballerina.stdlib.serdes {
     requires io.ballerina.runtime;
     requires io.ballerina.lang;
     requires com.google.protobuf;
+    requires org.objectweb.asm;
+    requires io.ballerina.stdlib.io;
 }